@@ -4,7 +4,6 @@ import com.valorant.backoffice.managers.*;
 import com.valorant.models.ModelFactory;
 import com.valorant.repositories.RepositoryFactory;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import java.io.BufferedReader;
@@ -30,11 +29,11 @@ public class App {
 
         String repositoryFactoryClassName = properties.getProperty("repositoryFactory");
         if (repositoryFactoryClassName.contains("JpaRepositoryFactory")) {
+            // The repositories open an entity manager per operation from this factory
             EntityManagerFactory emf = Persistence.createEntityManagerFactory("valorant-mysql");
-            EntityManager entityManager = emf.createEntityManager();
             repositoryFactory = (RepositoryFactory) Class.forName(repositoryFactoryClassName)
-                    .getConstructor(EntityManager.class)
-                    .newInstance(entityManager);
+                    .getConstructor(EntityManagerFactory.class)
+                    .newInstance(emf);
         } else {
             repositoryFactory = (RepositoryFactory) Class.forName(repositoryFactoryClassName).getDeclaredConstructor().newInstance();
         }
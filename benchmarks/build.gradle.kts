@@ -0,0 +1,39 @@
+/*
+ * JMH benchmarks of the file, JDBC and JPA repository backends, and of the services server.
+ *
+ * Run them all with `./gradlew :benchmarks:jmh`, or a subset with e.g.
+ * `./gradlew :benchmarks:jmh -Pbenchmarks='RepositoryBenchmark.get'`.
+ * Add profilers with e.g. `-Pprofilers=gc` to also report the bytes allocated per operation.
+ * Results are written as JSON to build/results/jmh/results.json.
+ */
+
+plugins {
+    id("buildlogic.java-common-conventions")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+dependencies {
+    jmh(project(":domain"))
+    jmh(project(":domain-implementations:file"))
+    jmh(project(":domain-implementations:jdbc"))
+    jmh(project(":domain-implementations:jpa"))
+    jmh(project(":services"))
+    // The requests and responses of the services routers
+    jmh("com.athaydes.rawhttp:rawhttp-core:2.6.0")
+
+    // Embedded databases for the JDBC and JPA backends, run in MySQL mode
+    jmh("com.h2database:h2:2.2.224")
+    jmh("org.hibernate:hibernate-core:6.5.0.Final")
+
+    // JSON encodings compared with the one of the services controllers
+    jmh("com.fasterxml.jackson.core:jackson-databind:2.17.2")
+    jmh("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.17.2")
+    jmh("com.fasterxml.jackson.module:jackson-module-blackbird:2.17.2")
+}
+
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    providers.gradleProperty("benchmarks").orNull?.let { includes = listOf(it) }
+    providers.gradleProperty("profilers").orNull?.let { profilers = it.split(",") }
+}
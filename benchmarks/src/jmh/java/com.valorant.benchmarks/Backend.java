@@ -0,0 +1,116 @@
+package com.valorant.benchmarks;
+
+import com.valorant.domain.jdbc.pool.ConnectionPool;
+import com.valorant.domain.jdbc.pool.ConnectionPoolConfig;
+import com.valorant.domain.jdbc.repositories.JdbcMatchRepository;
+import com.valorant.domain.jdbc.repositories.JdbcPlayerRepository;
+import com.valorant.domain.jpa.repositories.JpaMatchRepository;
+import com.valorant.domain.jpa.repositories.JpaPlayerRepository;
+import com.valorant.file.repositories.MapRepository;
+import com.valorant.file.repositories.MatchRepository;
+import com.valorant.file.repositories.PlayerRepository;
+import jakarta.persistence.Persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+
+/**
+ * The repository backends that can be benchmarked. Each one is opened on fresh storage holding the given number
+ * of players and matches; the JDBC and JPA backends run on in-memory H2 databases in MySQL mode, the file backend
+ * in a temporary directory.
+ */
+public enum Backend {
+
+    FILE {
+        @Override
+        BackendFixture open(int rows) throws IOException {
+            var directory = Files.createTempDirectory("file-benchmark");
+            var maps = new MapRepository(directory.resolve("maps.ser").toString());
+            var players = new PlayerRepository(directory.resolve("players.ser").toString());
+            var matches = new MatchRepository(directory.resolve("matches.ser").toString());
+            maps.saveAll(BenchmarkData.maps());
+            players.saveAll(BenchmarkData.players(rows));
+            matches.saveAll(BenchmarkData.matches(rows));
+            return new BackendFixture(players, matches, () -> deleteDirectory(directory));
+        }
+    },
+
+    JDBC {
+        @Override
+        BackendFixture open(int rows) throws IOException, SQLException {
+            try (var connection = DriverManager.getConnection(JDBC_URL)) {
+                createSchema(connection);
+                BenchmarkData.insert(connection, rows);
+            }
+            var config = new ConnectionPoolConfig(4, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                    Duration.ofMinutes(10), Duration.ZERO);
+            var pool = new ConnectionPool(config, () -> DriverManager.getConnection(JDBC_URL));
+            return new BackendFixture(new JdbcPlayerRepository(pool), new JdbcMatchRepository(pool), () -> {
+                pool.close();
+                dropDatabase(JDBC_URL);
+            });
+        }
+    },
+
+    JPA {
+        @Override
+        BackendFixture open(int rows) throws SQLException {
+            // Hibernate creates the tables from the entities, which are then filled like the JDBC ones
+            var entityManagerFactory = Persistence.createEntityManagerFactory("valorant-benchmarks");
+            var url = (String) entityManagerFactory.getProperties().get("jakarta.persistence.jdbc.url");
+            try (var connection = DriverManager.getConnection(url, "sa", "")) {
+                BenchmarkData.insert(connection, rows);
+            }
+            // Each operation has an entity manager of its own, so there is no persistence context to clear
+            return new BackendFixture(new JpaPlayerRepository(entityManagerFactory), new JpaMatchRepository(entityManagerFactory),
+                    entityManagerFactory::close);
+        }
+    };
+
+    private static final String JDBC_URL =
+            "jdbc:h2:mem:jdbc_benchmark;MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Creates the storage of the backend and fills it with {@link BenchmarkData}.
+     *
+     * @param rows the number of players and of matches to store.
+     * @return the repositories of the backend.
+     * @throws Exception if the storage cannot be created or filled.
+     */
+    abstract BackendFixture open(int rows) throws Exception;
+
+    private static void createSchema(Connection connection) throws IOException, SQLException {
+        String script;
+        try (InputStream in = Backend.class.getResourceAsStream("/benchmark-schema.sql")) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (var statement = connection.createStatement()) {
+            for (var sql : script.replaceAll("--[^\n]*", "").split(";")) {
+                if (!sql.isBlank()) statement.execute(sql);
+            }
+        }
+    }
+
+    private static void dropDatabase(String url) throws SQLException {
+        try (var connection = DriverManager.getConnection(url);
+             var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
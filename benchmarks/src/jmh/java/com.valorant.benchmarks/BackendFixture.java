@@ -0,0 +1,20 @@
+package com.valorant.benchmarks;
+
+import com.valorant.repositories.MatchRepository;
+import com.valorant.repositories.PlayerRepository;
+
+/**
+ * The repositories of a backend filled with {@link BenchmarkData}, and what has to be released once the
+ * backend has been measured.
+ *
+ * @param players   the player repository under test.
+ * @param matches   the match repository under test.
+ * @param resources closes the connections and deletes the data.
+ */
+record BackendFixture(PlayerRepository players, MatchRepository matches, AutoCloseable resources) implements AutoCloseable {
+
+    @Override
+    public void close() throws Exception {
+        resources.close();
+    }
+}
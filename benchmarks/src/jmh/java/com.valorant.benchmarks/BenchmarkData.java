@@ -0,0 +1,132 @@
+package com.valorant.benchmarks;
+
+import com.valorant.models.Map;
+import com.valorant.models.MapImpl;
+import com.valorant.models.Match;
+import com.valorant.models.MatchImpl;
+import com.valorant.models.Player;
+import com.valorant.models.PlayerImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data every backend is filled with before it is measured, so that all of them answer the same queries
+ * over the same rows.
+ * <p>
+ * The n-th player (counting from 1) has ID n and username {@code player<n>}; the n-th match has ID n and was
+ * played on map {@code n % MAPS + 1}, so every map has the same number of matches.
+ */
+final class BenchmarkData {
+
+    /**
+     * Number of maps the matches are spread over.
+     */
+    static final int MAPS = 100;
+
+    private static final String[] REGIONS = {"EU", "NA", "APAC", "LATAM", "KR"};
+    private static final LocalDateTime FIRST_MATCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int BATCH_SIZE = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    static String username(int id) {
+        return "player" + id;
+    }
+
+    static Player player(int id) {
+        var player = new PlayerImpl();
+        player.setUsername(username(id));
+        player.setDisplayName("Player#" + id);
+        player.setEmail("player" + id + "@example.com");
+        player.setRegion(REGIONS[id % REGIONS.length]);
+        player.setRank("Gold 1");
+        return player;
+    }
+
+    static Map map(int id) {
+        var map = new MapImpl();
+        map.setName("Map " + id);
+        map.setType("Competitive");
+        return map;
+    }
+
+    static Match match(int id) {
+        var match = new MatchImpl();
+        match.setPlayedOn(FIRST_MATCH.plusMinutes(id));
+        match.setMapId(id % MAPS + 1);
+        match.setOutcome(id % 2 == 0 ? "Victory" : "Defeat");
+        return match;
+    }
+
+    static List<Player> players(int rows) {
+        var players = new ArrayList<Player>(rows);
+        for (int id = 1; id <= rows; id++) players.add(player(id));
+        return players;
+    }
+
+    static List<Map> maps() {
+        var maps = new ArrayList<Map>(MAPS);
+        for (int id = 1; id <= MAPS; id++) maps.add(map(id));
+        return maps;
+    }
+
+    static List<Match> matches(int rows) {
+        var matches = new ArrayList<Match>(rows);
+        for (int id = 1; id <= rows; id++) matches.add(match(id));
+        return matches;
+    }
+
+    /**
+     * Inserts the maps, the given number of players and as many matches into empty PLAYER, MAP and MATCH
+     * tables with batched statements, which is much faster than saving them through a repository.
+     *
+     * @param connection a connection to the database holding the tables.
+     * @param rows       the number of players and of matches.
+     * @throws SQLException if an insert fails.
+     */
+    static void insert(Connection connection, int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        try (var statement = connection.prepareStatement("INSERT INTO MAP (NAME, TYPE) VALUES (?, ?)")) {
+            for (var map : maps()) {
+                statement.setString(1, map.getName());
+                statement.setString(2, map.getType());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        try (var statement = connection.prepareStatement(
+                "INSERT INTO PLAYER (USERNAME, DISPLAY_NAME, EMAIL, REGION, `RANK`) VALUES (?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                var player = player(id);
+                statement.setString(1, player.getUsername());
+                statement.setString(2, player.getDisplayName());
+                statement.setString(3, player.getEmail());
+                statement.setString(4, player.getRegion());
+                statement.setString(5, player.getRank());
+                statement.addBatch();
+                if (id % BATCH_SIZE == 0) statement.executeBatch();
+            }
+            statement.executeBatch();
+        }
+        try (var statement = connection.prepareStatement(
+                "INSERT INTO `MATCH` (PLAYED_ON, MAP_ID, OUTCOME) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                var match = match(id);
+                statement.setTimestamp(1, Timestamp.valueOf(match.getPlayedOn()));
+                statement.setInt(2, match.getMapId());
+                statement.setString(3, match.getOutcome());
+                statement.addBatch();
+                if (id % BATCH_SIZE == 0) statement.executeBatch();
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+}
@@ -0,0 +1,64 @@
+package com.valorant.benchmarks;
+
+import com.valorant.models.Player;
+import com.valorant.repositories.PlayerRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Player repository held in a map, so that controller benchmarks measure serialization rather than storage.
+ */
+final class InMemoryPlayerRepository implements PlayerRepository {
+    private final TreeMap<Integer, Player> players = new TreeMap<>();
+
+    @Override
+    public void save(Player model) {
+        if (model.getId() <= 0) model.setId(players.isEmpty() ? 1 : players.lastKey() + 1);
+        players.put(model.getId(), model);
+    }
+
+    @Override
+    public void delete(Player model) {
+        players.remove(model.getId());
+    }
+
+    @Override
+    public Player get(Integer id) {
+        return players.get(id);
+    }
+
+    @Override
+    public Set<Player> getAll() {
+        return new HashSet<>(players.values());
+    }
+
+    @Override
+    public List<Player> getPage(Integer afterId, int limit) {
+        return players.tailMap(afterId == null ? Integer.MIN_VALUE : afterId, false).values().stream()
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Player getByUsername(String username) {
+        return players.values().stream().filter(player -> player.getUsername().equals(username))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Set<Player> getByRegion(String region) {
+        return players.values().stream().filter(player -> region.equals(player.getRegion()))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<Player> getByDisplayName(String displayName) {
+        return players.values().stream().filter(player -> player.getDisplayName().equals(displayName))
+                .collect(Collectors.toSet());
+    }
+}
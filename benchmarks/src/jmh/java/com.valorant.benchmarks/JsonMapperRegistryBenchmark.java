@@ -0,0 +1,55 @@
+package com.valorant.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.valorant.models.Match;
+import com.valorant.models.MatchImpl;
+import com.valorant.services.JsonMapperRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request JSON cost of building a new {@link ObjectMapper} for every request, as the services did
+ * before, against reusing the readers and writers of a shared {@link JsonMapperRegistry}. Each request deserializes
+ * a POST body and serializes the entity back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonMapperRegistryBenchmark {
+
+    private static final String MATCH_JSON = "{\"playedOn\":\"2024-10-20T10:00:00\",\"mapId\":1,\"outcome\":\"Defeat\"}";
+
+    private final JsonMapperRegistry registry = new JsonMapperRegistry();
+
+    @Benchmark
+    public String perRequestMapper() throws IOException {
+        var mapper = new ObjectMapper();
+        var module = new SimpleModule();
+        module.addAbstractTypeMapping(Match.class, MatchImpl.class);
+        mapper.registerModule(module);
+        mapper.registerModule(new JavaTimeModule());
+        var match = mapper.readValue(MATCH_JSON, Match.class);
+        return mapper.writeValueAsString(match);
+    }
+
+    @Benchmark
+    public String sharedRegistry() throws IOException {
+        Match match = registry.readerFor(Match.class).readValue(MATCH_JSON);
+        return registry.writerFor(Match.class).writeValueAsString(match);
+    }
+}
@@ -0,0 +1,158 @@
+package com.valorant.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.valorant.models.Match;
+import com.valorant.repositories.PlayerRepository;
+import com.valorant.services.JsonMapperRegistry;
+import com.valorant.services.controllers.PlayerController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast {@link PlayerController#writeAll} and {@link PlayerController#writeTo} write players as JSON to
+ * an output stream, as the services do, for lists of 10 to 1000 players with a few matches each, with four encoding
+ * strategies:
+ * <ul>
+ *     <li>{@code controller}: the current path, pre-built writers from the shared {@link JsonMapperRegistry};</li>
+ *     <li>{@code objectMapper}: the former path, an {@link ObjectMapper} per controller whose
+ *     {@code writeValue} resolves the serializer of the runtime type on every call;</li>
+ *     <li>{@code blackbird}: the current path with the Blackbird module, which replaces reflective getter calls
+ *     with generated lambdas (the successor of Afterburner for Java 11 and later);</li>
+ *     <li>{@code generator}: hand-written {@link com.fasterxml.jackson.core.JsonGenerator} calls.</li>
+ * </ul>
+ * Every strategy writes into the same reused buffer, and the repository is in memory, so the scores are dominated
+ * by serialization. Run with {@code -Pprofilers=gc} to get the bytes allocated per operation too. All strategies
+ * are checked to produce the same JSON.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int MATCHES_PER_PLAYER = 5;
+
+    @Param({"10", "100", "1000"})
+    public int players;
+
+    private PlayerRepository repository;
+    private PlayerController controller;
+    private PlayerController blackbirdController;
+    private ObjectMapper objectMapper;
+    private PlayerJsonGenerator generator;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Setup
+    public void setUp() throws Exception {
+        repository = new InMemoryPlayerRepository();
+        for (int id = 1; id <= players; id++) {
+            var player = BenchmarkData.player(id);
+            var matches = new HashSet<Match>();
+            for (int i = 0; i < MATCHES_PER_PLAYER; i++) {
+                var match = BenchmarkData.match(id * MATCHES_PER_PLAYER + i);
+                match.setId(id * MATCHES_PER_PLAYER + i);
+                matches.add(match);
+            }
+            player.setMatches(matches);
+            repository.save(player);
+        }
+
+        var jsonMappers = new JsonMapperRegistry();
+        controller = new PlayerController(repository, jsonMappers);
+        blackbirdController = new PlayerController(repository, new JsonMapperRegistry(new BlackbirdModule()));
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        generator = new PlayerJsonGenerator(jsonMappers.getMapper().getFactory());
+
+        controllerGetAll();
+        var expected = jsonMappers.getMapper().readTree(out.toByteArray());
+        List<Callable<Integer>> strategies = List.of(this::objectMapperGetAll, this::blackbirdGetAll, this::generatorGetAll);
+        for (var strategy : strategies) {
+            strategy.call();
+            if (!expected.equals(jsonMappers.getMapper().readTree(out.toByteArray()))) {
+                var json = out.toString();
+                throw new IllegalStateException("Encodings differ: " + json.substring(0, Math.min(json.length(), 200)));
+            }
+        }
+    }
+
+    @Benchmark
+    public int controllerGetAll() throws IOException {
+        out.reset();
+        controller.writeAll(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int objectMapperGetAll() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, repository.getAll());
+        return out.size();
+    }
+
+    @Benchmark
+    public int blackbirdGetAll() throws IOException {
+        out.reset();
+        blackbirdController.writeAll(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int generatorGetAll() throws IOException {
+        out.reset();
+        generator.writeAll(repository.getAll(), out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int controllerGet() throws IOException {
+        out.reset();
+        controller.writeTo(randomId(), out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int objectMapperGet() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, repository.get(randomId()));
+        return out.size();
+    }
+
+    @Benchmark
+    public int blackbirdGet() throws IOException {
+        out.reset();
+        blackbirdController.writeTo(randomId(), out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int generatorGet() throws IOException {
+        out.reset();
+        generator.write(repository.get(randomId()), out);
+        return out.size();
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(players) + 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.valorant.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.valorant.models.Match;
+import com.valorant.models.Player;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Writes players with hand-written {@link JsonGenerator} calls instead of Jackson's bean serializers, producing
+ * the same JSON as {@code JsonMapperRegistry}: dates as {@code [year, month, day, hour, minute(, second(, nano))]}
+ * arrays, as the JavaTimeModule writes them by default.
+ */
+final class PlayerJsonGenerator {
+    private final JsonFactory factory;
+
+    PlayerJsonGenerator(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    void write(Player player, OutputStream out) throws IOException {
+        try (var generator = factory.createGenerator(out)) {
+            writePlayer(generator, player);
+        }
+    }
+
+    void writeAll(Collection<Player> players, OutputStream out) throws IOException {
+        try (var generator = factory.createGenerator(out)) {
+            generator.writeStartArray();
+            for (var player : players) writePlayer(generator, player);
+            generator.writeEndArray();
+        }
+    }
+
+    private static void writePlayer(JsonGenerator generator, Player player) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", player.getId());
+        generator.writeStringField("username", player.getUsername());
+        generator.writeStringField("displayName", player.getDisplayName());
+        generator.writeStringField("email", player.getEmail());
+        generator.writeStringField("region", player.getRegion());
+        generator.writeStringField("rank", player.getRank());
+        if (player.getMatches() == null) {
+            generator.writeNullField("matches");
+        } else {
+            generator.writeArrayFieldStart("matches");
+            for (var match : player.getMatches()) writeMatch(generator, match);
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeMatch(JsonGenerator generator, Match match) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", match.getId());
+        generator.writeFieldName("playedOn");
+        writeDateTime(generator, match.getPlayedOn());
+        generator.writeNumberField("mapId", match.getMapId());
+        generator.writeStringField("outcome", match.getOutcome());
+        generator.writeEndObject();
+    }
+
+    private static void writeDateTime(JsonGenerator generator, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        generator.writeNumber(dateTime.getYear());
+        generator.writeNumber(dateTime.getMonthValue());
+        generator.writeNumber(dateTime.getDayOfMonth());
+        generator.writeNumber(dateTime.getHour());
+        generator.writeNumber(dateTime.getMinute());
+        if (dateTime.getSecond() > 0 || dateTime.getNano() > 0) {
+            generator.writeNumber(dateTime.getSecond());
+            if (dateTime.getNano() > 0) generator.writeNumber(dateTime.getNano());
+        }
+        generator.writeEndArray();
+    }
+}
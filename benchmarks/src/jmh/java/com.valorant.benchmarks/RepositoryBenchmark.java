@@ -0,0 +1,90 @@
+package com.valorant.benchmarks;
+
+import com.valorant.models.Match;
+import com.valorant.models.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the average time of the main repository operations on every backend and table size, so that backends
+ * can be compared on the same data and regressions show up between runs.
+ * <p>
+ * Every operation works on a random row: {@code save} updates an existing player, so the tables keep their size
+ * across iterations. No backend keeps a cache between operations, so the lookups measure the storage; JPA opens an
+ * entity manager per operation, so it starts empty.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+
+    @Param({"FILE", "JDBC", "JPA"})
+    public Backend backend;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BackendFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = backend.open(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Player save() {
+        int id = randomId();
+        var player = BenchmarkData.player(id);
+        player.setId(id);
+        player.setRank(ThreadLocalRandom.current().nextBoolean() ? "Gold 1" : "Gold 2");
+        fixture.players().save(player);
+        return player;
+    }
+
+    @Benchmark
+    public Player get() {
+        return fixture.players().get(randomId());
+    }
+
+    @Benchmark
+    public Set<Player> getAll() {
+        return fixture.players().getAll();
+    }
+
+    @Benchmark
+    public Player getByUsername() {
+        return fixture.players().getByUsername(BenchmarkData.username(randomId()));
+    }
+
+    @Benchmark
+    public Set<Match> getByMapId() {
+        return fixture.matches().getByMapId(ThreadLocalRandom.current().nextInt(BenchmarkData.MAPS) + 1);
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(rows) + 1;
+    }
+}
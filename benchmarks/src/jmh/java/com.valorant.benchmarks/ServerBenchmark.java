@@ -0,0 +1,107 @@
+package com.valorant.benchmarks;
+
+import com.valorant.services.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rawhttp.core.RawHttp;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the request throughput of {@link Server} grows with the number of concurrent clients.
+ * <p>
+ * Every request is answered by a router that simulates a {@value #ROUTER_LATENCY_MS} ms repository call, so a server
+ * that handled one connection at a time would serve as many requests with 32 clients as with one. An operation sends
+ * one request from each client at once, each on a new connection, and waits for all the responses: multiply the
+ * score by {@code clients} to get requests per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerBenchmark {
+
+    private static final long ROUTER_LATENCY_MS = 20;
+    private static final RawHttp rawHttp = new RawHttp();
+    private static final byte[] REQUEST =
+            "GET /agent HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Param({"1", "8", "32"})
+    public int clients;
+
+    private Server server;
+    private Thread serverThread;
+    private ExecutorService clientPool;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        server = new Server(request -> {
+            try {
+                Thread.sleep(ROUTER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawHttp.parseResponse("HTTP/1.1 200 OK\r\n" +
+                    "Content-Type: application/json\r\n" +
+                    "Content-Length: 2\r\n" +
+                    "\r\n" +
+                    "[]");
+        }, 0, Server.DEFAULT_MAX_CONCURRENCY, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        serverThread = new Thread(server::start);
+        serverThread.start();
+        while (server.getLocalPort() <= 0) {
+            Thread.sleep(1);
+        }
+        clientPool = Executors.newFixedThreadPool(clients);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        clientPool.shutdown();
+        server.stop();
+        serverThread.join(5_000);
+    }
+
+    @Benchmark
+    public int requests() throws Exception {
+        var port = server.getLocalPort();
+        List<Future<Integer>> responses = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            responses.add(clientPool.submit(() -> sendRequest(port)));
+        }
+        int bytes = 0;
+        for (var response : responses) {
+            bytes += response.get(60, TimeUnit.SECONDS);
+        }
+        return bytes;
+    }
+
+    // Sends one request on a new connection and returns the size of the response
+    private static int sendRequest(int port) throws IOException {
+        try (var socket = new Socket("localhost", port)) {
+            socket.getOutputStream().write(REQUEST);
+            return socket.getInputStream().readAllBytes().length;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.valorant.benchmarks;
+
+import com.valorant.domain.jdbc.pool.ConnectionPool;
+import com.valorant.domain.jdbc.pool.ConnectionPoolConfig;
+import com.valorant.domain.jdbc.repositories.JdbcPlayerRepository;
+import com.valorant.models.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the hot player lookups, {@code get(id)} and {@code getByUsername}, against an in-memory H2
+ * database, with the prepared statement cache of the connection pool disabled ({@code 0}) and at its default size
+ * ({@link ConnectionPoolConfig#DEFAULT_STATEMENT_CACHE_SIZE}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementCacheBenchmark {
+
+    private static final String URL =
+            "jdbc:h2:mem:statement_cache_benchmark;MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int PLAYERS = 100;
+
+    @Param({"0", "64"})
+    public int statementCacheSize;
+
+    private ConnectionPool pool;
+    private JdbcPlayerRepository repository;
+
+    @Setup
+    public void setUp() throws SQLException {
+        try (var connection = DriverManager.getConnection(URL);
+             var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE PLAYER (PLAYER_ID INT PRIMARY KEY AUTO_INCREMENT, "
+                    + "USERNAME VARCHAR(50) NOT NULL, DISPLAY_NAME VARCHAR(50) NOT NULL, EMAIL VARCHAR(100) NOT NULL, "
+                    + "REGION VARCHAR(50), `RANK` VARCHAR(20))");
+        }
+        var config = new ConnectionPoolConfig(1, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                Duration.ofMinutes(10), Duration.ZERO, statementCacheSize);
+        pool = new ConnectionPool(config, () -> DriverManager.getConnection(URL));
+        repository = new JdbcPlayerRepository(pool);
+        for (int id = 1; id <= PLAYERS; id++) {
+            repository.save(BenchmarkData.player(id));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        pool.close();
+        try (var connection = DriverManager.getConnection(URL);
+             var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Benchmark
+    public Player get() {
+        return repository.get(randomId());
+    }
+
+    @Benchmark
+    public Player getByUsername() {
+        return repository.getByUsername(BenchmarkData.username(randomId()));
+    }
+
+    private static int randomId() {
+        return ThreadLocalRandom.current().nextInt(PLAYERS) + 1;
+    }
+}
@@ -0,0 +1,27 @@
+-- Tables read and written by the JDBC benchmarks, as in database/VALORANT.sql but with the
+-- ENUM columns as VARCHAR so that the script runs on H2 in MySQL mode.
+
+CREATE TABLE PLAYER (
+    PLAYER_ID INT PRIMARY KEY AUTO_INCREMENT,
+    USERNAME VARCHAR(50) NOT NULL,
+    DISPLAY_NAME VARCHAR(50) NOT NULL,
+    EMAIL VARCHAR(100) NOT NULL,
+    REGION VARCHAR(50),
+    `RANK` VARCHAR(20)
+);
+
+CREATE TABLE MAP (
+    MAP_ID INT PRIMARY KEY AUTO_INCREMENT,
+    NAME VARCHAR(100) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL
+);
+
+CREATE TABLE `MATCH` (
+    MATCH_ID INT PRIMARY KEY AUTO_INCREMENT,
+    PLAYED_ON DATETIME NOT NULL,
+    MAP_ID INT,
+    OUTCOME VARCHAR(10) NOT NULL,
+    FOREIGN KEY (MAP_ID) REFERENCES MAP(MAP_ID)
+);
+
+CREATE INDEX IDX_MATCH_PLAYED_ON ON `MATCH` (PLAYED_ON);
@@ -2,75 +2,52 @@ package com.valorant.file.repositories;
 
 import com.valorant.models.Agent;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 // Repository implementation for managing agents' data stored in a file.
 public class AgentRepository implements com.valorant.repositories.AgentRepository {
-    private final Map<Integer, Agent> agents = new HashMap<>();
-    private final String dataPath;  // File path where the data is stored.
+    // Memory-mapped snapshot and change log of the file where the data is stored, read in ID order so that pages
+    // can be read with keyset cursors.
+    private final EntityStore<Agent> agents;
+    // Hash index of the name lookup, kept up to date on save and delete.
+    private final HashIndex<Agent, String> byName;
 
     // Constructor to initialize the repository with the data file path.
     public AgentRepository(String dataPath) {
-        this.dataPath = dataPath;
+        this.agents = new EntityStore<>(dataPath, RecordCodecs.AGENT);
+        this.byName = agents.addIndex(Agent::getName);
         load();  // Load existing data from the file when the repository is created.
     }
 
-    // Load method to read data from the file and populate the repository.
+    // Load method to map the snapshot and replay the changes logged since, populating the repository.
     protected void load() {
-        try {
-            Path path = Path.of(dataPath);
-            // Check if the file exists and is not empty.
-            if (Files.exists(path) && Files.readAllBytes(path).length > 0) {
-                try (var inputStream = new ObjectInputStream(new FileInputStream(dataPath))) {
-                    Object obj = inputStream.readObject();
-                    // Check if the loaded object is a Map of agents.
-                    if (obj instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<Integer, Agent> loadedAgents = (Map<Integer, Agent>) obj;
-                        agents.putAll(loadedAgents);  // Populate the repository with loaded agents.
-                    } else {
-                        throw new RuntimeException("Invalid data format");
-                    }
-                } catch (IOException | ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    // Method to write the repository data back to the file.
-    private void write() {
-        try (var outputStream = new ObjectOutputStream(new FileOutputStream(dataPath))) {
-            outputStream.writeObject(agents);  // Write the agents map to the file.
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        agents.load();
     }
 
-    // Save method to add or update an agent in the repository and then write the changes to the file.
+    // Save method to add or update an agent in the repository and then append the change to the log.
     @Override
     public void save(Agent agent) {
         if (agent.getId() <= 0) {
             // Generate a new ID if the agent doesn't have one.
-            int newId = agents.keySet().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+            int newId = agents.isEmpty() ? 1 : agents.lastKey() + 1;
             agent.setId(newId);
         }
         agents.put(agent.getId(), agent);  // Add or update the agent in the repository.
-        write();  // Write the changes to the file.
     }
 
-    // Delete method to remove an agent from the repository and then write the changes to the file.
+    // Save all the given agents with at most one compaction, rather than one every time the log is full.
+    @Override
+    public void saveAll(Collection<Agent> agents) {
+        this.agents.putAllAssigningIds(agents, Agent::getId, Agent::setId);
+    }
+
+    // Delete method to remove an agent from the repository and then append the change to the log.
     @Override
     public void delete(Agent agent) {
         agents.remove(agent.getId());  // Remove the agent from the repository.
-        write();  // Write the changes to the file.
     }
 
     // Method to retrieve an agent by its ID from the repository.
@@ -82,14 +59,25 @@ public class AgentRepository implements com.valorant.repositories.AgentRepositor
     // Method to retrieve all agents stored in the repository.
     @Override
     public Set<Agent> getAll() {
-        return Set.copyOf(agents.values());  // Return a copy of all agents in the repository.
+        return Set.copyOf(agents.values().toList());  // Return a copy of all agents in the repository.
+    }
+
+    // Method to stream all agents in ID order, decoding them from the snapshot one at a time as the stream reaches them.
+    @Override
+    public Stream<Agent> stream() {
+        return agents.values();
+    }
+
+    // Method to retrieve a page of agents ordered by ID, starting right after the given ID.
+    @Override
+    public List<Agent> getPage(Integer afterId, int limit) {
+        return agents.valuesAfter(afterId).limit(limit).toList();
     }
 
     // Method to retrieve an agent by its name from the repository.
     @Override
     public Agent getByName(String name) {
-        return agents.values().stream()
-                .filter(agent -> agent.getName().equals(name))
+        return agents.find(byName, name)
                 .findFirst()
                 .orElse(null);  // Return the first agent with the specified name or null if not found.
     }
@@ -0,0 +1,339 @@
+package com.valorant.file.repositories;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Entities of a file repository, kept as a memory-mapped binary snapshot plus the changes made since it was written.
+// Changes live in memory and in the WriteAheadLog until there are enough of them to compact everything into a new
+// snapshot; entities that did not change are decoded from the mapped file whenever they are read.
+// Hash indexes on entity fields are built on the first lookup, or on the first save when an index is unique, with one
+// pass over the entities, and are then kept up to date as entities are saved and deleted.
+// Snapshots written with Java serialization, the format used before, are read as they are and only rewritten as
+// binary ones on the first change, so that opening a store never writes to it.
+final class EntityStore<V> {
+    // Number of logged changes after which they are compacted into a new snapshot.
+    static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+    private final Path snapshotPath;
+    private final RecordCodec<V> codec;
+    private final WriteAheadLog<V> log;
+    private final int compactionThreshold;
+    private MappedSnapshot<V> snapshot;
+    // Entities saved since the snapshot was written, sorted by ID like the snapshot
+    private final NavigableMap<Integer, V> changes = new TreeMap<>();
+    // IDs of snapshot entities deleted since the snapshot was written
+    private final Set<Integer> deleted = new HashSet<>();
+    // Number of IDs in changes that are not in the snapshot
+    private int added;
+    private final List<HashIndex<V, ?>> indexes = new ArrayList<>();
+    private boolean indexesBuilt;
+    // Whether the snapshot file is still Java-serialized, its entities then being held in changes
+    private boolean javaSerialized;
+
+    EntityStore(String dataPath, RecordCodec<V> codec) {
+        this(dataPath, codec, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    EntityStore(String dataPath, RecordCodec<V> codec, int compactionThreshold) {
+        this.snapshotPath = Path.of(dataPath);
+        this.codec = codec;
+        this.log = new WriteAheadLog<>(WriteAheadLog.logPathOf(dataPath), codec);
+        this.compactionThreshold = compactionThreshold;
+        this.snapshot = MappedSnapshot.empty(codec);
+    }
+
+    // Maps the snapshot and replays the changes logged since it was written.
+    @SuppressWarnings("unchecked")
+    void load() {
+        changes.clear();
+        deleted.clear();
+        added = 0;
+        indexes.forEach(HashIndex::clear);
+        indexesBuilt = false;
+        try {
+            javaSerialized = MappedSnapshot.isJavaSerialized(snapshotPath);
+            if (javaSerialized) {
+                snapshot = MappedSnapshot.empty(codec);
+                try (var in = new ObjectInputStream(Files.newInputStream(snapshotPath))) {
+                    ((Map<Integer, V>) in.readObject()).forEach(this::apply);
+                }
+                log.replay(this::apply, this::applyDelete);
+                return;
+            }
+            snapshot = MappedSnapshot.open(snapshotPath, codec);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+        log.replay(this::apply, this::applyDelete);
+        compactIfNeeded();
+    }
+
+    V get(int id) {
+        V changed = changes.get(id);
+        if (changed != null || deleted.contains(id)) return changed;
+        return snapshot.get(id);
+    }
+
+    // Throws IllegalArgumentException, saving nothing, if the entity has the key of another one in a unique index.
+    void put(int id, V entity) {
+        checkUnique(Map.of(id, entity));
+        migrateIfNeeded();
+        apply(id, entity);
+        log.put(id, entity);
+        compactIfNeeded();
+    }
+
+    // Saves a batch of entities, compacting at most once after all of them rather than every time the threshold
+    // is reached. A batch that would be compacted right away anyway is written straight into a new snapshot,
+    // without logging it first.
+    // Like put, a batch that breaks a unique index is rejected as a whole.
+    void putAll(Map<Integer, V> entities) {
+        checkUnique(entities);
+        migrateIfNeeded();
+        entities.forEach(this::apply);
+        if (log.size() + entities.size() >= compactionThreshold) {
+            compact();
+            return;
+        }
+        log.putAll(entities);
+    }
+
+    // Saves a batch of entities with putAll, first giving each one without an ID (0 or less) the next free one,
+    // in the order of the batch, as the repositories do when saving a single entity.
+    void putAllAssigningIds(Collection<V> entities, ToIntFunction<V> idOf, ObjIntConsumer<V> setId) {
+        var byId = new LinkedHashMap<Integer, V>();
+        int lastId = lastKey();
+        for (V entity : entities) {
+            if (idOf.applyAsInt(entity) <= 0) setId.accept(entity, lastId + 1);
+            int id = idOf.applyAsInt(entity);
+            lastId = Math.max(lastId, id);
+            byId.put(id, entity);
+        }
+        putAll(byId);
+    }
+
+    void remove(int id) {
+        migrateIfNeeded();
+        applyDelete(id);
+        log.delete(id);
+        compactIfNeeded();
+    }
+
+    // Adds a hash index on the field returned by keyOf, to look entities up with find.
+    <K> HashIndex<V, K> addIndex(Function<V, K> keyOf) {
+        var index = new HashIndex<>(keyOf, false);
+        indexes.add(index);
+        indexesBuilt = false;
+        return index;
+    }
+
+    // Adds a hash index on a field that no two entities may share, such as a username; see put.
+    <K> HashIndex<V, K> addUniqueIndex(Function<V, K> keyOf) {
+        var index = new HashIndex<>(keyOf, true);
+        indexes.add(index);
+        indexesBuilt = false;
+        return index;
+    }
+
+    // Adds a sorted index on the field returned by keyOf, to look entities up with find and findBetween.
+    <K extends Comparable<? super K>> SortedIndex<V, K> addSortedIndex(Function<V, K> keyOf) {
+        var index = new SortedIndex<>(keyOf);
+        indexes.add(index);
+        indexesBuilt = false;
+        return index;
+    }
+
+    // Entities indexed under a key between from and to, both inclusive, ordered by key and then by ID.
+    <K extends Comparable<? super K>> Stream<V> findBetween(SortedIndex<V, K> index, K from, K to) {
+        if (!indexesBuilt) buildIndexes();
+        return index.between(from, to).map(this::get);
+    }
+
+    // Entities indexed under the given key, in increasing ID order.
+    <K> Stream<V> find(HashIndex<V, K> index, K key) {
+        if (!indexesBuilt) buildIndexes();
+        return index.get(key).stream().map(this::get);
+    }
+
+    int size() {
+        return snapshot.size() - deleted.size() + added;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Highest ID in the store, or 0 if it is empty.
+    int lastKey() {
+        int last = changes.isEmpty() ? 0 : changes.lastKey();
+        for (int index = snapshot.size() - 1; index >= 0; index--) {
+            int id = snapshot.idAt(index);
+            if (id <= last) break;
+            if (!deleted.contains(id)) return id;
+        }
+        return last;
+    }
+
+    // All entities, in increasing ID order. Snapshot entities are decoded as the stream reaches them.
+    // The stream reads the store as it goes, so it must be consumed before the store is changed again.
+    Stream<V> values() {
+        return valuesAfter(null);
+    }
+
+    // Entities whose ID is greater than the given one (all of them if null), in increasing ID order.
+    Stream<V> valuesAfter(Integer afterId) {
+        var iterator = new MergingIterator(afterId);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    // Writes every entity into a new snapshot, replaces the current one with it and empties the log.
+    // The new snapshot is written next to the current one and moved over it, so a crash leaves one or the other.
+    void compact() {
+        var tmpPath = Path.of(snapshotPath + ".tmp");
+        try {
+            try (var writer = new MappedSnapshot.Writer(tmpPath, size())) {
+                var changed = changes.entrySet().iterator();
+                var nextChange = changed.hasNext() ? changed.next() : null;
+                for (int index = 0; index < snapshot.size(); index++) {
+                    int id = snapshot.idAt(index);
+                    boolean replaced = false;
+                    while (nextChange != null && nextChange.getKey() <= id) {
+                        replaced = nextChange.getKey() == id;
+                        writer.add(nextChange.getKey(), encode(nextChange.getValue()));
+                        nextChange = changed.hasNext() ? changed.next() : null;
+                    }
+                    // Unchanged records are copied as they are, without decoding them
+                    if (!replaced && !deleted.contains(id)) writer.add(id, snapshot.recordAt(index));
+                }
+                while (nextChange != null) {
+                    writer.add(nextChange.getKey(), encode(nextChange.getValue()));
+                    nextChange = changed.hasNext() ? changed.next() : null;
+                }
+                writer.finish();
+            }
+            Files.move(tmpPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshot = MappedSnapshot.open(snapshotPath, codec);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        changes.clear();
+        deleted.clear();
+        added = 0;
+        javaSerialized = false;
+        log.clear();
+    }
+
+    private void buildIndexes() {
+        indexes.forEach(HashIndex::clear);
+        for (int index = 0; index < snapshot.size(); index++) {
+            int id = snapshot.idAt(index);
+            if (deleted.contains(id) || changes.containsKey(id)) continue;
+            V entity = snapshot.valueAt(index);
+            indexes.forEach(hashIndex -> hashIndex.put(id, entity));
+        }
+        changes.forEach((id, entity) -> indexes.forEach(hashIndex -> hashIndex.put(id, entity)));
+        indexesBuilt = true;
+    }
+
+    private void checkUnique(Map<Integer, V> entities) {
+        if (indexes.stream().noneMatch(HashIndex::isUnique)) return;
+        if (!indexesBuilt) buildIndexes();
+        indexes.forEach(index -> index.checkUnique(entities));
+    }
+
+    // Rewrites a Java-serialized snapshot as a binary one before the first change, so that only stores that are
+    // written to anyway are migrated.
+    private void migrateIfNeeded() {
+        if (javaSerialized) {
+            compact();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (log.size() >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    private void apply(int id, V entity) {
+        boolean inSnapshot = snapshot.contains(id);
+        if (changes.put(id, entity) == null && !inSnapshot) added++;
+        if (inSnapshot) deleted.remove(id);
+        if (indexesBuilt) indexes.forEach(index -> index.put(id, entity));
+    }
+
+    private void applyDelete(int id) {
+        boolean inSnapshot = snapshot.contains(id);
+        if (changes.remove(id) != null && !inSnapshot) added--;
+        if (inSnapshot) deleted.add(id);
+        if (indexesBuilt) indexes.forEach(index -> index.remove(id));
+    }
+
+    private ByteBuffer encode(V entity) {
+        return ByteBuffer.wrap(RecordCodecs.toBytes(codec, entity));
+    }
+
+    // Walks the snapshot and the changes side by side, in ID order, preferring the changed version of an entity.
+    private final class MergingIterator implements Iterator<V> {
+        private final Iterator<Map.Entry<Integer, V>> changed;
+        private Map.Entry<Integer, V> nextChange;
+        private int index;
+        private V next;
+
+        private MergingIterator(Integer afterId) {
+            this.changed = (afterId == null ? changes : changes.tailMap(afterId, false)).entrySet().iterator();
+            this.nextChange = changed.hasNext() ? changed.next() : null;
+            this.index = afterId == null ? 0 : snapshot.indexAfter(afterId);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                while (index < snapshot.size() && deleted.contains(snapshot.idAt(index))) index++;
+                int snapshotId = index < snapshot.size() ? snapshot.idAt(index) : Integer.MAX_VALUE;
+                if (nextChange != null && nextChange.getKey() <= snapshotId) {
+                    // A changed entity replaces the snapshot one with the same ID
+                    if (nextChange.getKey() == snapshotId) index++;
+                    next = nextChange.getValue();
+                    nextChange = changed.hasNext() ? changed.next() : null;
+                } else if (index < snapshot.size()) {
+                    next = snapshot.valueAt(index++);
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            V value = next;
+            next = null;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.valorant.file.repositories;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+// Hash index from a field of the entities of an EntityStore to the IDs of the entities having that value,
+// kept in increasing order so lookups need not sort them.
+// The key of every indexed ID is remembered too, so an entity can be unindexed after the caller has changed
+// the instance that was saved.
+// A unique index rejects saving an entity whose key another entity already has; entities without a key (null)
+// are never rejected.
+class HashIndex<V, K> {
+    private final Function<V, K> keyOf;
+    private final boolean unique;
+    private final Map<K, Set<Integer>> idsByKey;
+    private final Map<Integer, K> keyById = new HashMap<>();
+
+    HashIndex(Function<V, K> keyOf, boolean unique) {
+        this(keyOf, unique, new HashMap<>());
+    }
+
+    // For indexes that keep their keys in another kind of map, such as SortedIndex.
+    HashIndex(Function<V, K> keyOf, boolean unique, Map<K, Set<Integer>> idsByKey) {
+        this.keyOf = keyOf;
+        this.unique = unique;
+        this.idsByKey = idsByKey;
+    }
+
+    // Indexes the entity under its current key, replacing the key it had before.
+    void put(int id, V entity) {
+        remove(id);
+        K key = keyOf.apply(entity);
+        keyById.put(id, key);
+        idsByKey.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+    }
+
+    void remove(int id) {
+        if (!keyById.containsKey(id)) return;
+        K key = keyById.remove(id);
+        var ids = idsByKey.get(key);
+        ids.remove(id);
+        if (ids.isEmpty()) idsByKey.remove(key);
+    }
+
+    // IDs of the entities indexed under the given key, in increasing order.
+    Set<Integer> get(K key) {
+        return idsByKey.getOrDefault(key, Set.of());
+    }
+
+    boolean isUnique() {
+        return unique;
+    }
+
+    // Throws if one of the entities about to be saved would share its key with another entity, whether an indexed
+    // one or another one of the batch. Indexed entities that are saved again in the batch only conflict through
+    // their new key.
+    void checkUnique(Map<Integer, V> entities) {
+        if (!unique) return;
+        var idByKey = new HashMap<K, Integer>();
+        entities.forEach((id, entity) -> {
+            K key = keyOf.apply(entity);
+            if (key == null) return;
+            Integer other = idByKey.putIfAbsent(key, id);
+            if (other == null) {
+                other = get(key).stream()
+                        .filter(indexed -> indexed != id && !entities.containsKey(indexed))
+                        .findFirst()
+                        .orElse(null);
+            }
+            if (other != null) {
+                throw new IllegalArgumentException("Duplicate key " + key + " of entity " + id + ", already used by entity " + other);
+            }
+        });
+    }
+
+    void clear() {
+        idsByKey.clear();
+        keyById.clear();
+    }
+}
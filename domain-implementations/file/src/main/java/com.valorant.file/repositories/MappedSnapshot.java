@@ -0,0 +1,169 @@
+package com.valorant.file.repositories;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Read-only view of a binary snapshot file, mapped into memory with FileChannel.map.
+// Layout, big-endian:
+//   header  magic "VLRT", format version, record count (3 ints)
+//   index   one entry per record, sorted by ID: ID, offset of the record in the file, record length (3 ints)
+//   records the encoded entities, see RecordCodecs
+// Opening a snapshot only maps the file and checks the header, so it takes the same time whatever the file size;
+// a record is decoded when it is read, after a binary search of the index.
+final class MappedSnapshot<V> {
+    private static final int MAGIC = 0x564C5254;  // "VLRT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3;
+    private static final int INDEX_ENTRY_SIZE = Integer.BYTES * 3;
+    // First bytes of a file written by ObjectOutputStream, the format snapshots had before this one
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+    private final ByteBuffer buffer;  // Null for an empty snapshot.
+    private final int count;
+    private final RecordCodec<V> codec;
+
+    private MappedSnapshot(ByteBuffer buffer, int count, RecordCodec<V> codec) {
+        this.buffer = buffer;
+        this.count = count;
+        this.codec = codec;
+    }
+
+    static <V> MappedSnapshot<V> empty(RecordCodec<V> codec) {
+        return new MappedSnapshot<>(null, 0, codec);
+    }
+
+    // Maps the snapshot at the given path; a missing or empty file is an empty snapshot.
+    static <V> MappedSnapshot<V> open(Path path, RecordCodec<V> codec) throws IOException {
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return empty(codec);
+        }
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary snapshot: " + path);
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + buffer.getInt(Integer.BYTES) + ": " + path);
+        }
+        int count = buffer.getInt(Integer.BYTES * 2);
+        if (HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE > buffer.limit()) {
+            throw new IOException("Truncated snapshot: " + path);
+        }
+        return new MappedSnapshot<>(buffer, count, codec);
+    }
+
+    // Whether the file at the given path was written with Java serialization, before binary snapshots existed.
+    static boolean isJavaSerialized(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < 2) return false;
+        try (InputStream in = Files.newInputStream(path)) {
+            return (in.read() << 8 | in.read()) == JAVA_SERIALIZATION_MAGIC;
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    int idAt(int index) {
+        return buffer.getInt(HEADER_SIZE + index * INDEX_ENTRY_SIZE);
+    }
+
+    V valueAt(int index) {
+        return codec.decode(idAt(index), recordAt(index));
+    }
+
+    // The encoded record at the given index, as a buffer of its own.
+    ByteBuffer recordAt(int index) {
+        int entry = HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+        return buffer.slice(buffer.getInt(entry + Integer.BYTES), buffer.getInt(entry + Integer.BYTES * 2));
+    }
+
+    V get(int id) {
+        int index = indexOf(id);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    // Index of the record with the given ID, or (-(insertion point) - 1) like Arrays.binarySearch.
+    int indexOf(int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = idAt(middle);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // Index of the first record whose ID is greater than the given one, or size() if there is none.
+    int indexAfter(int id) {
+        int index = indexOf(id);
+        return index >= 0 ? index + 1 : -(index + 1);
+    }
+
+    // Writes a new snapshot file. Records must be added in increasing ID order, exactly as many as announced.
+    static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final int count;
+        private final ByteBuffer index;
+        private int added;
+        private long offset;
+        private int lastId = Integer.MIN_VALUE;
+
+        Writer(Path path, int count) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.count = count;
+            this.index = ByteBuffer.allocate(HEADER_SIZE + count * INDEX_ENTRY_SIZE);
+            this.offset = index.capacity();
+            index.putInt(MAGIC).putInt(VERSION).putInt(count);
+        }
+
+        void add(int id, ByteBuffer record) throws IOException {
+            if (added == count) throw new IllegalStateException("More records than announced: " + count);
+            if (added > 0 && id <= lastId) throw new IllegalStateException("Records out of ID order: " + id);
+            if (offset + record.remaining() > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2GB");
+            int length = record.remaining();
+            index.putInt(id).putInt((int) offset).putInt(length);
+            while (record.hasRemaining()) {
+                offset += channel.write(record, offset);
+            }
+            lastId = id;
+            added++;
+        }
+
+        // Writes the header and index, then forces the file to disk.
+        void finish() throws IOException {
+            if (added != count) throw new IllegalStateException("Expected " + count + " records but got " + added);
+            index.flip();
+            long position = 0;
+            while (index.hasRemaining()) {
+                position += channel.write(index, position);
+            }
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
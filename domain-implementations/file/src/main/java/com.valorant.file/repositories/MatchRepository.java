@@ -2,77 +2,56 @@ package com.valorant.file.repositories;
 
 import com.valorant.models.Match;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 // Repository implementation for managing match data stored in a file.
 public class MatchRepository implements com.valorant.repositories.MatchRepository {
-    private final Map<Integer, Match> matches = new HashMap<>();
-    private final String dataPath;  // File path where the data is stored.
+    // Memory-mapped snapshot and change log of the file where the data is stored, read in ID order so that pages
+    // can be read with keyset cursors.
+    private final EntityStore<Match> matches;
+    // Hash indexes of the lookups below, kept up to date on save and delete.
+    private final SortedIndex<Match, LocalDateTime> byPlayedOn;  // Sorted, for time-range queries
+    private final HashIndex<Match, Integer> byMapId;
 
     // Constructor to initialize the repository with the data file path.
     public MatchRepository(String dataPath) {
-        this.dataPath = dataPath;
+        this.matches = new EntityStore<>(dataPath, RecordCodecs.MATCH);
+        this.byPlayedOn = matches.addSortedIndex(Match::getPlayedOn);
+        this.byMapId = matches.addIndex(Match::getMapId);
         load();  // Load existing data from the file when the repository is created.
     }
 
-    // Load method to read data from the file and populate the repository.
+    // Load method to map the snapshot and replay the changes logged since, populating the repository.
     protected void load() {
-        Path path = Path.of(dataPath);
-        try {
-            // Check if the file exists and is not empty.
-            if (Files.exists(path) && Files.size(path) > 0) {
-                try (var inputStream = new ObjectInputStream(new FileInputStream(dataPath))) {
-                    Object obj = inputStream.readObject();
-                    // Check if the loaded object is a Map of matches.
-                    if (obj instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<Integer, Match> loadedMatches = (Map<Integer, Match>) obj;
-                        matches.putAll(loadedMatches);  // Populate the repository with loaded matches.
-                    } else {
-                        throw new RuntimeException("Invalid data format");
-                    }
-                } catch (IOException | ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    // Method to write the repository data back to the file.
-    private void write() {
-        try (var outputStream = new ObjectOutputStream(new FileOutputStream(dataPath))) {
-            outputStream.writeObject(matches);  // Write the matches Map to the file.
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        matches.load();
     }
 
-    // Save method to add or update a match in the repository and then write the changes to the file.
+    // Save method to add or update a match in the repository and then append the change to the log.
     @Override
     public void save(Match match) {
         if (match.getId() <= 0) {
             // Generate a new ID if the match doesn't have one.
-            int newId = matches.keySet().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+            int newId = matches.isEmpty() ? 1 : matches.lastKey() + 1;
             match.setId(newId);
         }
         matches.put(match.getId(), match);  // Add or update the match in the repository.
-        write();  // Write the changes to the file.
     }
 
-    // Delete method to remove a match from the repository and then write the changes to the file.
+    // Save all the given matches with at most one compaction, rather than one every time the log is full.
+    @Override
+    public void saveAll(Collection<Match> matches) {
+        this.matches.putAllAssigningIds(matches, Match::getId, Match::setId);
+    }
+
+    // Delete method to remove a match from the repository and then append the change to the log.
     @Override
     public void delete(Match match) {
         matches.remove(match.getId());  // Remove the match from the repository.
-        write();  // Write the changes to the file.
     }
 
     // Method to retrieve a match by its ID from the repository.
@@ -84,22 +63,50 @@ public class MatchRepository implements com.valorant.repositories.MatchRepositor
     // Method to retrieve all matches stored in the repository.
     @Override
     public Set<Match> getAll() {
-        return Set.copyOf(matches.values());  // Return a copy of all matches in the repository.
+        return Set.copyOf(matches.values().toList());  // Return a copy of all matches in the repository.
+    }
+
+    // Method to stream all matches in ID order, decoding them from the snapshot one at a time as the stream reaches them.
+    @Override
+    public Stream<Match> stream() {
+        return matches.values();
+    }
+
+    // Method to retrieve a page of matches ordered by ID, starting right after the given ID.
+    @Override
+    public List<Match> getPage(Integer afterId, int limit) {
+        return matches.valuesAfter(afterId).limit(limit).toList();
     }
 
     // Method to retrieve matches played on a specific date and time from the repository.
     @Override
     public Set<Match> getByPlayedOn(LocalDateTime playedOn) {
-        return matches.values().stream()
-                .filter(match -> match.getPlayedOn().equals(playedOn))
+        return matches.find(byPlayedOn, playedOn)
                 .collect(Collectors.toSet());  // Return matches with the specified playedOn date and time.
     }
 
+    // Method to retrieve the matches played between two dates and times, ordered by when they were played.
+    @Override
+    public List<Match> getByPlayedOnBetween(LocalDateTime from, LocalDateTime to) {
+        return streamByPlayedOnBetween(from, to).toList();
+    }
+
+    // Method to stream the matches played between two dates and times, decoding them one at a time.
+    @Override
+    public Stream<Match> streamByPlayedOnBetween(LocalDateTime from, LocalDateTime to) {
+        return matches.findBetween(byPlayedOn, from, to);
+    }
+
     // Method to retrieve matches played on a specific map from the repository.
     @Override
     public Set<Match> getByMapId(int mapId) {
-        return matches.values().stream()
-                .filter(match -> match.getMapId() == mapId)
+        return matches.find(byMapId, mapId)
                 .collect(Collectors.toSet());  // Return matches played on the specified map.
     }
+
+    // Method to stream the matches played on a specific map, in ID order, decoding them one at a time.
+    @Override
+    public Stream<Match> streamByMapId(int mapId) {
+        return matches.find(byMapId, mapId);
+    }
 }
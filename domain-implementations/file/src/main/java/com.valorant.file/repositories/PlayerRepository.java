@@ -2,67 +2,51 @@ package com.valorant.file.repositories;
 
 import com.valorant.models.Player;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class PlayerRepository implements com.valorant.repositories.PlayerRepository {
-    private final Map<Integer, Player> players = new HashMap<>();
-    private final String dataPath;
+    // Memory-mapped snapshot and change log of the file where the data is stored, read in ID order so that pages
+    // can be read with keyset cursors.
+    private final EntityStore<Player> players;
+    private final HashIndex<Player, String> byUsername;
+    private final HashIndex<Player, String> byRegion;
+    private final HashIndex<Player, String> byDisplayName;
 
     public PlayerRepository(String dataPath) {
-        this.dataPath = dataPath;
+        this.players = new EntityStore<>(dataPath, RecordCodecs.PLAYER);
+        this.byUsername = players.addUniqueIndex(Player::getUsername);
+        this.byRegion = players.addIndex(Player::getRegion);
+        this.byDisplayName = players.addIndex(Player::getDisplayName);
         load();
     }
 
     protected void load() {
-        Path path = Path.of(dataPath);
-        try {
-            if (Files.exists(path) && Files.size(path) > 0) {
-                try (var inputStream = new ObjectInputStream(new FileInputStream(dataPath))) {
-                    Object obj = inputStream.readObject();
-                    if (obj instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<Integer, Player> loadedPlayers = (Map<Integer, Player>) obj;
-                        players.putAll(loadedPlayers);
-                    } else {
-                        throw new RuntimeException("Invalid data format");
-                    }
-                } catch (IOException | ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private void write() {
-        try (var outputStream = new ObjectOutputStream(new FileOutputStream(dataPath))) {
-            outputStream.writeObject(players);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        players.load();
     }
 
+    // Throws IllegalArgumentException if another player already has the username.
     @Override
     public void save(Player player) {
         if (player.getId() <= 0) {
-            int newId = players.keySet().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+            int newId = players.isEmpty() ? 1 : players.lastKey() + 1;
             player.setId(newId);
         }
         players.put(player.getId(), player);
-        write();
+    }
+
+    // Save all the given players with at most one compaction, rather than one every time the log is full.
+    @Override
+    public void saveAll(Collection<Player> players) {
+        this.players.putAllAssigningIds(players, Player::getId, Player::setId);
     }
 
     @Override
     public void delete(Player player) {
         players.remove(player.getId());
-        write();
     }
 
     @Override
@@ -72,28 +56,40 @@ public class PlayerRepository implements com.valorant.repositories.PlayerReposit
 
     @Override
     public Set<Player> getAll() {
-        return Set.copyOf(players.values());
+        return Set.copyOf(players.values().toList());
+    }
+
+    @Override
+    public Stream<Player> stream() {
+        return players.values();
+    }
+
+    @Override
+    public List<Player> getPage(Integer afterId, int limit) {
+        return players.valuesAfter(afterId).limit(limit).toList();
     }
 
     @Override
     public Player getByUsername(String username) {
-        return players.values().stream()
-                .filter(player -> player.getUsername().equals(username))
+        return players.find(byUsername, username)
                 .findFirst()
                 .orElse(null);
     }
 
     @Override
     public Set<Player> getByRegion(String region) {
-        return players.values().stream()
-                .filter(player -> player.getRegion().equals(region))
+        return players.find(byRegion, region)
                 .collect(Collectors.toSet());
     }
 
+    @Override
+    public Stream<Player> streamByRegion(String region) {
+        return players.find(byRegion, region);
+    }
+
     @Override
     public Set<Player> getByDisplayName(String displayName) {
-        return players.values().stream()
-                .filter(player -> player.getDisplayName().equals(displayName))
+        return players.find(byDisplayName, displayName)
                 .collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,16 @@
+package com.valorant.file.repositories;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Converts an entity to and from the binary record stored for it in snapshots and in the change log.
+// The ID is not part of the record: it is kept in the snapshot index and in each log record.
+interface RecordCodec<V> {
+
+    // Writes the fields of the entity.
+    void encode(V entity, DataOutput out) throws IOException;
+
+    // Reads the fields of an entity from a buffer positioned at the start of its record.
+    V decode(int id, ByteBuffer in);
+}
@@ -0,0 +1,183 @@
+package com.valorant.file.repositories;
+
+import com.valorant.models.Agent;
+import com.valorant.models.Map;
+import com.valorant.models.Match;
+import com.valorant.models.Player;
+import com.valorant.models.Weapon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+// Binary record layouts of the file backend entities.
+// Strings are written as their UTF-8 length followed by the bytes (-1 for null), dates as epoch seconds in UTC
+// followed by the nanoseconds (Long.MIN_VALUE for null). Decoding always creates the file backend models.
+final class RecordCodecs {
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    static final RecordCodec<Agent> AGENT = new RecordCodec<>() {
+        @Override
+        public void encode(Agent agent, DataOutput out) throws IOException {
+            writeString(out, agent.getName());
+            writeString(out, agent.getDescription());
+            writeString(out, agent.getRole());
+        }
+
+        @Override
+        public Agent decode(int id, ByteBuffer in) {
+            var agent = new com.valorant.file.models.Agent();
+            agent.setId(id);
+            agent.setName(readString(in));
+            agent.setDescription(readString(in));
+            agent.setRole(readString(in));
+            return agent;
+        }
+    };
+
+    static final RecordCodec<Map> MAP = new RecordCodec<>() {
+        @Override
+        public void encode(Map map, DataOutput out) throws IOException {
+            writeString(out, map.getName());
+            writeString(out, map.getType());
+        }
+
+        @Override
+        public Map decode(int id, ByteBuffer in) {
+            var map = new com.valorant.file.models.Map();
+            map.setId(id);
+            map.setName(readString(in));
+            map.setType(readString(in));
+            return map;
+        }
+    };
+
+    static final RecordCodec<Match> MATCH = new RecordCodec<>() {
+        @Override
+        public void encode(Match match, DataOutput out) throws IOException {
+            writeDateTime(out, match.getPlayedOn());
+            out.writeInt(match.getMapId());
+            writeString(out, match.getOutcome());
+        }
+
+        @Override
+        public Match decode(int id, ByteBuffer in) {
+            var match = new com.valorant.file.models.Match();
+            match.setId(id);
+            match.setPlayedOn(readDateTime(in));
+            match.setMapId(in.getInt());
+            match.setOutcome(readString(in));
+            return match;
+        }
+    };
+
+    // The matches of a player are stored inside the player record, each as its ID followed by a match record
+    static final RecordCodec<Player> PLAYER = new RecordCodec<>() {
+        @Override
+        public void encode(Player player, DataOutput out) throws IOException {
+            writeString(out, player.getUsername());
+            writeString(out, player.getDisplayName());
+            writeString(out, player.getEmail());
+            writeString(out, player.getRegion());
+            writeString(out, player.getRank());
+            Set<Match> matches = player.getMatches() == null ? Set.of() : player.getMatches();
+            out.writeInt(matches.size());
+            for (Match match : matches) {
+                out.writeInt(match.getId());
+                MATCH.encode(match, out);
+            }
+        }
+
+        @Override
+        public Player decode(int id, ByteBuffer in) {
+            var player = new com.valorant.file.models.Player();
+            player.setId(id);
+            player.setUsername(readString(in));
+            player.setDisplayName(readString(in));
+            player.setEmail(readString(in));
+            player.setRegion(readString(in));
+            player.setRank(readString(in));
+            int matchCount = in.getInt();
+            Set<Match> matches = new HashSet<>();
+            for (int i = 0; i < matchCount; i++) {
+                matches.add(MATCH.decode(in.getInt(), in));
+            }
+            player.setMatches(matches);
+            return player;
+        }
+    };
+
+    static final RecordCodec<Weapon> WEAPON = new RecordCodec<>() {
+        @Override
+        public void encode(Weapon weapon, DataOutput out) throws IOException {
+            writeString(out, weapon.getName());
+            writeString(out, weapon.getType());
+        }
+
+        @Override
+        public Weapon decode(int id, ByteBuffer in) {
+            var weapon = new com.valorant.file.models.Weapon();
+            weapon.setId(id);
+            weapon.setName(readString(in));
+            weapon.setType(readString(in));
+            return weapon;
+        }
+    };
+
+    private RecordCodecs() {
+    }
+
+    // Encodes an entity into a new byte array.
+    static <V> byte[] toBytes(RecordCodec<V> codec, V entity) {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            codec.encode(entity, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_DATE);
+            out.writeInt(0);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        long seconds = in.getLong();
+        int nanos = in.getInt();
+        return seconds == NULL_DATE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
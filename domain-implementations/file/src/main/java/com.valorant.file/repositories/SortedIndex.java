@@ -0,0 +1,30 @@
+package com.valorant.file.repositories;
+
+import java.util.Comparator;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Index whose keys are kept sorted, so that it can also answer range queries.
+// Entities without a key (null) are indexed first and never fall in a range.
+final class SortedIndex<V, K extends Comparable<? super K>> extends HashIndex<V, K> {
+    private final NavigableMap<K, Set<Integer>> idsByKey;
+
+    SortedIndex(Function<V, K> keyOf) {
+        this(keyOf, new TreeMap<>(Comparator.nullsFirst(Comparator.<K>naturalOrder())));
+    }
+
+    private SortedIndex(Function<V, K> keyOf, NavigableMap<K, Set<Integer>> idsByKey) {
+        super(keyOf, false, idsByKey);
+        this.idsByKey = idsByKey;
+    }
+
+    // IDs of the entities whose key is between from and to, both inclusive, ordered by key and then by ID.
+    Stream<Integer> between(K from, K to) {
+        if (from == null || to == null || from.compareTo(to) > 0) return Stream.empty();
+        return idsByKey.subMap(from, true, to, true).values().stream()
+                .flatMap(Set::stream);
+    }
+}
@@ -0,0 +1,154 @@
+package com.valorant.file.repositories;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+// Append-only log of the changes made to a file repository since its last snapshot was written.
+// Every save or delete appends one small record to "<dataPath>.log" instead of rewriting the whole snapshot;
+// EntityStore replays the log on load and deletes it once the changes have been compacted into a new snapshot.
+// A record is its payload length and CRC32 followed by the payload: the operation, the entity ID and,
+// for a save, the entity encoded by its RecordCodec.
+// Records are forced to disk before a save or delete returns, so they survive a crash of the process or of the
+// machine; a batch is forced once, after its last record. A record cut short by a crash fails its checks and is
+// dropped when the log is replayed.
+final class WriteAheadLog<V> {
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // Length and CRC32 of the payload, written before it
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final Path logPath;
+    private final RecordCodec<V> codec;
+    private FileChannel log;
+    private int records;
+
+    WriteAheadLog(Path logPath, RecordCodec<V> codec) {
+        this.logPath = logPath;
+        this.codec = codec;
+    }
+
+    // Path of the log kept next to the given data file.
+    static Path logPathOf(String dataPath) {
+        return Path.of(dataPath + ".log");
+    }
+
+    // Replays the logged changes in order, passing saved entities to onPut and the IDs of deleted ones to onDelete.
+    synchronized void replay(BiConsumer<Integer, V> onPut, IntConsumer onDelete) {
+        records = 0;
+        if (!Files.exists(logPath)) return;
+        try {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(logPath));
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < Byte.BYTES + Integer.BYTES || length > buffer.remaining()
+                        || checksum(buffer.array(), buffer.position(), length) != checksum) {
+                    buffer.position(start);
+                    break;
+                }
+                byte operation = buffer.get();
+                int id = buffer.getInt();
+                if (operation == PUT) {
+                    onPut.accept(id, codec.decode(id, buffer.slice(buffer.position(), length - Byte.BYTES - Integer.BYTES)));
+                } else {
+                    onDelete.accept(id);
+                }
+                buffer.position(start + HEADER_SIZE + length);
+                records++;
+            }
+            // Drop a record cut short by a crash, so that new records are appended after the last complete one
+            if (buffer.hasRemaining()) {
+                openLog().truncate(buffer.position());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Records that the entity with the given ID was saved.
+    synchronized void put(int id, V entity) {
+        append(PUT, id, RecordCodecs.toBytes(codec, entity));
+        force();
+    }
+
+    // Records that the given entities were saved, forcing the log to disk once for the whole batch.
+    synchronized void putAll(Map<Integer, V> entities) {
+        entities.forEach((id, entity) -> append(PUT, id, RecordCodecs.toBytes(codec, entity)));
+        force();
+    }
+
+    // Records that the entity with the given ID was deleted.
+    synchronized void delete(int id) {
+        append(DELETE, id, new byte[0]);
+        force();
+    }
+
+    // Empties the log, once its changes are in a snapshot, by deleting it until the next change is recorded.
+    synchronized void clear() {
+        try {
+            if (log != null) log.close();
+            Files.deleteIfExists(logPath);
+            records = 0;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Number of records in the log.
+    synchronized int size() {
+        return records;
+    }
+
+    private void append(byte operation, int id, byte[] entity) {
+        var payload = ByteBuffer.allocate(Byte.BYTES + Integer.BYTES + entity.length)
+                .put(operation)
+                .putInt(id)
+                .put(entity)
+                .array();
+        var record = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt(checksum(payload, 0, payload.length))
+                .put(payload)
+                .flip();
+        try {
+            var channel = openLog();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        records++;
+    }
+
+    // File metadata such as the modification time is left to the operating system; the size is always written.
+    private void force() {
+        try {
+            openLog().force(false);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private FileChannel openLog() throws IOException {
+        if (log == null || !log.isOpen()) {
+            log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return log;
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        var crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -53,13 +53,19 @@ class AgentRepositoryTest {
         // Delete the test data file after each test
         System.out.println("Deleting test data file...");
         Files.deleteIfExists(Path.of(testDataPath));
+        // Delete the change logs of the data files the tests saved to, so the committed files are left as they were
+        try (var logs = Files.newDirectoryStream(Path.of(testDataPath).getParent(), "*.ser.log")) {
+            for (var log : logs) {
+                Files.deleteIfExists(log);
+            }
+        }
     }
 
     // Test case for saving a new agent
     @Test
     void saveNewAgent() {
-        // Create a new repository instance
-        var repository = new AgentRepository(System.getProperty("user.dir") + "/src/main/resources/data/agents.ser");
+        // Create a new repository instance with the test data
+        var repository = new AgentRepository(testDataPath);
 
         // Create a new agent
         var jett = createAgent("Jett", "Duelist", "Representing her home country of South Korea, Jett's agile and evasive fighting style lets her take risks no one else can. She runs circles around every skirmish, cutting enemies before they even know what hit them.");
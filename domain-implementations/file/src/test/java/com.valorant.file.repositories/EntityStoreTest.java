@@ -0,0 +1,128 @@
+package com.valorant.file.repositories;
+
+import com.valorant.models.Agent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityStoreTest {
+    private final String testDataPath = System.getProperty("user.dir") + "/src/test/resources/data/agent-tests/test-store-agents.ser";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tearDown();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(testDataPath));
+        Files.deleteIfExists(WriteAheadLog.logPathOf(testDataPath));
+    }
+
+    @Test
+    void readCompactedSnapshot() throws IOException {
+        var store = new EntityStore<>(testDataPath, RecordCodecs.AGENT);
+        for (int id = 1; id <= 5; id++) {
+            store.put(id, createAgent(id, "Agent " + id));
+        }
+        store.compact();
+
+        assertFalse(Files.exists(WriteAheadLog.logPathOf(testDataPath)));
+
+        var reloaded = new EntityStore<>(testDataPath, RecordCodecs.AGENT);
+        reloaded.load();
+
+        assertEquals(5, reloaded.size());
+        assertEquals(5, reloaded.lastKey());
+        assertEquals("Agent 3", reloaded.get(3).getName());
+        assertEquals("Sentinel", reloaded.get(3).getRole());
+        assertNull(reloaded.get(6));
+    }
+
+    @Test
+    void mergeChangesWithSnapshot() {
+        var store = new EntityStore<>(testDataPath, RecordCodecs.AGENT);
+        for (int id = 1; id <= 4; id++) {
+            store.put(id, createAgent(id, "Agent " + id));
+        }
+        store.compact();
+
+        store.put(2, createAgent(2, "Sova"));
+        store.remove(3);
+        store.put(6, createAgent(6, "Omen"));
+
+        var reloaded = new EntityStore<>(testDataPath, RecordCodecs.AGENT);
+        reloaded.load();
+
+        assertEquals(4, reloaded.size());
+        assertEquals(6, reloaded.lastKey());
+        assertNull(reloaded.get(3));
+        assertEquals(List.of("Agent 1", "Sova", "Agent 4", "Omen"),
+                reloaded.values().map(Agent::getName).toList());
+        assertEquals(List.of("Agent 4", "Omen"),
+                reloaded.valuesAfter(2).map(Agent::getName).toList());
+    }
+
+    @Test
+    void compactAfterThreshold() throws IOException {
+        var store = new EntityStore<>(testDataPath, RecordCodecs.AGENT, 3);
+        for (int id = 1; id <= 3; id++) {
+            store.put(id, createAgent(id, "Agent " + id));
+        }
+
+        assertFalse(Files.exists(WriteAheadLog.logPathOf(testDataPath)));
+        assertTrue(Files.size(Path.of(testDataPath)) > 0);
+
+        var reloaded = new EntityStore<>(testDataPath, RecordCodecs.AGENT);
+        reloaded.load();
+
+        assertEquals(3, reloaded.size());
+        assertEquals("Agent 3", reloaded.get(3).getName());
+    }
+
+    @Test
+    void migrateJavaSerializedSnapshot() throws IOException {
+        var agents = new TreeMap<Integer, Agent>();
+        agents.put(1, createAgent(1, "Sage"));
+        agents.put(2, createAgent(2, "Jett"));
+        try (var out = new ObjectOutputStream(Files.newOutputStream(Path.of(testDataPath)))) {
+            out.writeObject(agents);
+        }
+
+        var store = new EntityStore<>(testDataPath, RecordCodecs.AGENT);
+        store.load();
+
+        // Opening the store leaves the file as it is
+        assertTrue(MappedSnapshot.isJavaSerialized(Path.of(testDataPath)));
+        assertFalse(Files.exists(WriteAheadLog.logPathOf(testDataPath)));
+        assertEquals(2, store.size());
+        assertEquals("Jett", store.get(2).getName());
+
+        // The first change rewrites it in the binary format
+        store.put(3, createAgent(3, "Omen"));
+
+        assertFalse(MappedSnapshot.isJavaSerialized(Path.of(testDataPath)));
+        var reloaded = new EntityStore<>(testDataPath, RecordCodecs.AGENT);
+        reloaded.load();
+        assertEquals(3, reloaded.size());
+        assertEquals("Jett", reloaded.get(2).getName());
+        assertEquals("Omen", reloaded.get(3).getName());
+    }
+
+    private Agent createAgent(int id, String name) {
+        var agent = new com.valorant.file.models.Agent();
+        agent.setId(id);
+        agent.setName(name);
+        agent.setRole("Sentinel");
+        return agent;
+    }
+}
@@ -53,6 +53,12 @@ class MapRepositoryTest {
         // Delete the test data file after each test
         System.out.println("Deleting test data file...");
         Files.deleteIfExists(Path.of(testDataPath));
+        // Delete the change logs of the data files the tests saved to, so the committed files are left as they were
+        try (var logs = Files.newDirectoryStream(Path.of(testDataPath).getParent(), "*.ser.log")) {
+            for (var log : logs) {
+                Files.deleteIfExists(log);
+            }
+        }
     }
 
     // Test case for updating a map
@@ -84,8 +90,8 @@ class MapRepositoryTest {
     // Test case for saving a new map
     @Test
     void saveNewMap() {
-        // Create a new repository instance
-        var repository = new MapRepository(System.getProperty("user.dir") + "/src/main/resources/data/maps.ser");
+        // Create a new repository instance with the test data
+        var repository = new MapRepository(testDataPath);
 
         // Create a new map
         var bind = createMap("Bind");
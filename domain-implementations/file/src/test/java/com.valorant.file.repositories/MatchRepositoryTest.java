@@ -1,6 +1,7 @@
 // This class contains test cases for the MatchRepository class.
 package com.valorant.file.repositories;
 
+import com.valorant.models.Match;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,6 +56,12 @@ class MatchRepositoryTest {
         // Delete the test data file after each test
         System.out.println("Deleting test data file...");
         Files.deleteIfExists(Path.of(testDataPath));
+        // Delete the change logs of the data files the tests saved to, so the committed files are left as they were
+        try (var logs = Files.newDirectoryStream(Path.of(testDataPath).getParent(), "*.ser.log")) {
+            for (var log : logs) {
+                Files.deleteIfExists(log);
+            }
+        }
     }
 
     // Test case for retrieving matches by map ID
@@ -78,8 +86,8 @@ class MatchRepositoryTest {
     // Test case for updating a match
     @Test
     void updateMatch() {
-        // Create a repository instance
-        var repository = new MatchRepository(System.getProperty("user.dir") + "/src/main/resources/data/matches.ser");
+        // Create a repository instance with the test data
+        var repository = new MatchRepository(testDataPath);
 
         // Create a new match
         var match = createMatch(LocalDateTime.now(), 1, "Win");
@@ -105,8 +113,8 @@ class MatchRepositoryTest {
     // Test case for saving a new match
     @Test
     void saveNewMatch() {
-        // Create a new repository instance
-        var repository = new MatchRepository(System.getProperty("user.dir") + "/src/main/resources/data/matches.ser");
+        // Create a new repository instance with the test data
+        var repository = new MatchRepository(testDataPath);
 
         // Create a new match
         var match = createMatch(LocalDateTime.now(), 1, "Win");
@@ -227,6 +235,60 @@ class MatchRepositoryTest {
         assertEquals(2, matchesByPlayedOn.size());
     }
 
+    // Test case for retrieving the matches played in a time range, in the order they were played
+    @Test
+    void getByPlayedOnBetween() {
+        // Create a repository without any match
+        var repository = new MatchRepository(testDataPath);
+        repository.getAll().forEach(repository::delete);
+
+        var start = LocalDateTime.of(2024, 5, 1, 0, 0);
+        var late = createMatch(start.plusHours(20), 1, "Win");
+        var early = createMatch(start.plusHours(2), 2, "Loss");
+        var outside = createMatch(start.plusDays(2), 1, "Win");
+
+        // Save the matches out of order
+        repository.save(late);
+        repository.save(outside);
+        repository.save(early);
+
+        // Retrieve the matches of the first day, bounds included
+        var matches = repository.getByPlayedOnBetween(start, start.plusHours(20));
+
+        // Verify that the matches in the range are returned ordered by playedOn
+        assertEquals(List.of(early.getId(), late.getId()), matches.stream().map(Match::getId).toList());
+
+        // Verify that the range follows updates
+        late.setPlayedOn(start.plusDays(3));
+        repository.save(late);
+        assertEquals(1, repository.getByPlayedOnBetween(start, start.plusHours(20)).size());
+        assertTrue(repository.getByPlayedOnBetween(start.plusHours(20), start).isEmpty());
+    }
+
+    // Test case for streaming all matches, and the matches of a map, in ID order
+    @Test
+    void streamMatches() {
+        // Create a repository without any match
+        var repository = new MatchRepository(testDataPath);
+        repository.getAll().forEach(repository::delete);
+
+        var start = LocalDateTime.of(2024, 5, 1, 0, 0);
+        var first = createMatch(start, 1, "Win");
+        var second = createMatch(start.plusHours(1), 2, "Loss");
+        var third = createMatch(start.plusHours(2), 1, "Loss");
+        repository.save(first);
+        repository.save(second);
+        repository.save(third);
+
+        // Stream the matches, closing the streams as callers must
+        try (var matches = repository.stream()) {
+            assertEquals(List.of(first.getId(), second.getId(), third.getId()), matches.map(Match::getId).toList());
+        }
+        try (var matches = repository.streamByMapId(1)) {
+            assertEquals(List.of(first.getId(), third.getId()), matches.map(Match::getId).toList());
+        }
+    }
+
     // Helper method to create a new Match instance
     private com.valorant.file.models.Match createMatch(LocalDateTime playedOn, int mapId, String outcome) {
         var match = new com.valorant.file.models.Match();
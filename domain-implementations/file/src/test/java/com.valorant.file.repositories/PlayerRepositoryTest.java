@@ -9,6 +9,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +38,12 @@ class PlayerRepositoryTest {
     @AfterEach
     void tearDown() throws IOException {
         Files.deleteIfExists(Path.of(testDataPath));
+        // Delete the change logs of the data files the tests saved to, so the committed files are left as they were
+        try (var logs = Files.newDirectoryStream(Path.of(testDataPath).getParent(), "*.ser.log")) {
+            for (var log : logs) {
+                Files.deleteIfExists(log);
+            }
+        }
     }
 
     @Test
@@ -83,6 +91,9 @@ class PlayerRepositoryTest {
 
         var repository = new PlayerRepository(dataPath);
 
+        // Usernames are unique, so start from an empty repository
+        repository.getAll().forEach(repository::delete);
+
         var player = createPlayer("ItzSebiii", "Puppeteer#EUW", "bladesilviu526@gmail.com", "EUW", "Immortal2");
 
         repository.save(player);
@@ -115,6 +126,9 @@ class PlayerRepositoryTest {
 
         var repository = new PlayerRepository(dataPath);
 
+        // Usernames are unique, so start from an empty repository
+        repository.getAll().forEach(repository::delete);
+
         var player = createPlayer("player1", "Player One", "player1@example.com", "NA", "Platinum");
 
         repository.save(player);
@@ -128,6 +142,9 @@ class PlayerRepositoryTest {
 
         var repository = new PlayerRepository(dataPath);
 
+        // Usernames are unique, so start from an empty repository
+        repository.getAll().forEach(repository::delete);
+
         var player = createPlayer("player2", "Player Two", "player2@example.com", "EUW", "Radiant");
 
         repository.save(player);
@@ -141,6 +158,9 @@ class PlayerRepositoryTest {
 
         var repository = new PlayerRepository(dataPath);
 
+        // Usernames are unique, so start from an empty repository
+        repository.getAll().forEach(repository::delete);
+
         var player1 = createPlayer("Max", "Maxito#fire", "maxdelacruz@gmail.com", "NA", "Gold");
         var player2 = createPlayer("Zoe", "ItzZoeee#2207", "zoe.balint@gmail.com", "EUW", "Silver");
         var player3 = createPlayer("Carles", "Carglass#Cambia", "carlgasscambia@gmail.com", "APAC", "Platinum");
@@ -169,6 +189,9 @@ class PlayerRepositoryTest {
 
         var repository = new PlayerRepository(dataPath);
 
+        // Usernames are unique, so start from an empty repository
+        repository.getAll().forEach(repository::delete);
+
         var player1 = createPlayer("Max", "Maxito#fire", "maxdelacruz@gmail.com", "NA", "Gold");
         var player2 = createPlayer("Zoe", "ItzZoeee#2207", "zoe.balint@gmail.com", "EUW", "Silver");
         var player3 = createPlayer("Carles", "Carglass#Cambia", "carlgasscambia@gmail.com", "APAC", "Platinum");
@@ -196,6 +219,132 @@ class PlayerRepositoryTest {
         assertEquals(expectedPlayersWithNameCarles, playersWithNameCarles.size());
     }
 
+    @Test
+    void getPageOfPlayers() {
+        var repository = new PlayerRepository(testDataPath);
+
+        repository.getAll().forEach(repository::delete);
+
+        for (int i = 1; i <= 5; i++) {
+            repository.save(createPlayer("player" + i, "Player " + i, "player" + i + "@example.com", "EUW", "Gold"));
+        }
+
+        var firstPage = repository.getPage(null, 2);
+        var secondPage = repository.getPage(firstPage.get(1).getId(), 2);
+        var lastPage = repository.getPage(secondPage.get(1).getId(), 2);
+
+        assertEquals(List.of("player1", "player2"), firstPage.stream().map(Player::getUsername).toList());
+        assertEquals(List.of("player3", "player4"), secondPage.stream().map(Player::getUsername).toList());
+        assertEquals(List.of("player5"), lastPage.stream().map(Player::getUsername).toList());
+        assertTrue(repository.getPage(lastPage.get(0).getId(), 2).isEmpty());
+    }
+
+    @Test
+    void streamPlayers() {
+        var repository = new PlayerRepository(testDataPath);
+
+        repository.getAll().forEach(repository::delete);
+
+        for (int i = 1; i <= 5; i++) {
+            repository.save(createPlayer("player" + i, "Player " + i, "player" + i + "@example.com", i % 2 == 0 ? "NA" : "EUW", "Gold"));
+        }
+        repository.load();  // Read the players back from the snapshot and the log
+        repository.save(createPlayer("player6", "Player 6", "player6@example.com", "NA", "Gold"));
+
+        try (var players = repository.stream()) {
+            assertEquals(List.of("player1", "player2", "player3", "player4", "player5", "player6"),
+                    players.map(Player::getUsername).toList());
+        }
+        try (var players = repository.streamByRegion("NA")) {
+            assertEquals(List.of("player2", "player4", "player6"), players.map(Player::getUsername).toList());
+        }
+        try (var players = repository.streamByRegion("APAC")) {
+            assertEquals(0, players.count());
+        }
+    }
+
+    @Test
+    void indexedLookupsFollowUpdates() {
+        var repository = new PlayerRepository(testDataPath);
+
+        repository.getAll().forEach(repository::delete);
+
+        var player = createPlayer("Max", "Maxito#fire", "maxdelacruz@gmail.com", "NA", "Gold");
+        repository.save(player);
+        repository.save(createPlayer("Zoe", "ItzZoeee#2207", "zoe.balint@gmail.com", "NA", "Silver"));
+
+        assertEquals(2, repository.getByRegion("NA").size());
+
+        player.setUsername("MaxDLC");
+        player.setRegion("EUW");
+        repository.save(player);
+
+        assertNull(repository.getByUsername("Max"));
+        assertEquals(player.getId(), repository.getByUsername("MaxDLC").getId());
+        assertEquals(1, repository.getByRegion("NA").size());
+        assertEquals(1, repository.getByRegion("EUW").size());
+
+        repository.delete(player);
+        repository.load();
+
+        assertNull(repository.getByUsername("MaxDLC"));
+        assertTrue(repository.getByRegion("EUW").isEmpty());
+        assertEquals("Zoe", repository.getByDisplayName("ItzZoeee#2207").iterator().next().getUsername());
+    }
+
+    @Test
+    void rejectDuplicateUsername() {
+        var repository = new PlayerRepository(testDataPath);
+
+        repository.getAll().forEach(repository::delete);
+
+        var player = createPlayer("Max", "Maxito#fire", "maxdelacruz@gmail.com", "NA", "Gold");
+        repository.save(player);
+
+        var duplicate = createPlayer("Max", "Max#2", "max2@gmail.com", "EUW", "Silver");
+        assertThrows(IllegalArgumentException.class, () -> repository.save(duplicate));
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(List.of(
+                createPlayer("Zoe", "ItzZoeee#2207", "zoe.balint@gmail.com", "NA", "Silver"),
+                createPlayer("Zoe", "Zoe#2", "zoe2@gmail.com", "EUW", "Gold"))));
+
+        // Nothing of a rejected save is stored
+        repository.load();
+        assertEquals(1, repository.getAll().size());
+        assertNull(repository.getByUsername("Zoe"));
+        assertEquals(player.getId(), repository.getByUsername("Max").getId());
+
+        // Saving a player again keeps its own username
+        player.setRegion("EUW");
+        repository.save(player);
+        assertEquals("EUW", repository.getByUsername("Max").getRegion());
+    }
+
+    @Test
+    void saveAllPlayersInBulk() {
+        var repository = new PlayerRepository(testDataPath);
+        int lastId = repository.getAll().stream().mapToInt(Player::getId).max().orElse(0);
+
+        // More players than the compaction threshold, so they are written straight into a new snapshot
+        var players = new ArrayList<Player>();
+        for (int i = 0; i < EntityStore.DEFAULT_COMPACTION_THRESHOLD + 10; i++) {
+            players.add(createPlayer("bulk" + i, "Bulk#" + i, "bulk" + i + "@gmail.com", "EUW", "Gold"));
+        }
+        repository.saveAll(players);
+
+        assertEquals(lastId + 1, players.get(0).getId());
+        assertEquals(lastId + players.size(), players.get(players.size() - 1).getId());
+        assertEquals(players.get(5).getId(), repository.getByUsername("bulk5").getId());
+
+        // A small batch goes through the log
+        var last = createPlayer("bulkLast", "Bulk#Last", "bulklast@gmail.com", "EUW", "Gold");
+        repository.saveAll(List.of(last));
+
+        repository.load();
+        assertEquals("bulk5", repository.get(players.get(5).getId()).getUsername());
+        assertEquals(last.getId(), repository.getByUsername("bulkLast").getId());
+        assertEquals(lastId + players.size() + 1, last.getId());
+    }
+
     private com.valorant.file.models.Player createPlayer(String username, String displayName, String email, String region, String rank) {
         var player = new com.valorant.file.models.Player();
         player.setUsername(username);
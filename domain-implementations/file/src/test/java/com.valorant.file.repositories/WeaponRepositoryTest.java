@@ -54,13 +54,19 @@ public class WeaponRepositoryTest {
         // Delete the test data file after each test
         System.out.println("Deleting test data file...");
         Files.deleteIfExists(Path.of(testDataPath));
+        // Delete the change logs of the data files the tests saved to, so the committed files are left as they were
+        try (var logs = Files.newDirectoryStream(Path.of(testDataPath).getParent(), "*.ser.log")) {
+            for (var log : logs) {
+                Files.deleteIfExists(log);
+            }
+        }
     }
 
     // Test case for saving a new weapon
     @Test
     void saveNewWeapon() {
-        // Create a new repository instance
-        var repository = new WeaponRepository(System.getProperty("user.dir") + "/src/main/resources/data/weapons.ser");
+        // Create a new repository instance with the test data
+        var repository = new WeaponRepository(testDataPath);
 
         // Create a new weapon
         var vandal = createWeapon("Vandal", "Rifle");
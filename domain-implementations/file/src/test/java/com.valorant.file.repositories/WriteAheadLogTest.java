@@ -0,0 +1,105 @@
+package com.valorant.file.repositories;
+
+import com.valorant.models.Agent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+    private final String testDataPath = System.getProperty("user.dir") + "/src/test/resources/data/agent-tests/test-log-agents.ser";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tearDown();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(testDataPath));
+        Files.deleteIfExists(WriteAheadLog.logPathOf(testDataPath));
+    }
+
+    @Test
+    void replayLoggedChanges() {
+        var log = new WriteAheadLog<>(logPath(), RecordCodecs.AGENT);
+
+        log.put(1, createAgent(1, "Sage"));
+        log.put(2, createAgent(2, "Jett"));
+        log.put(1, createAgent(1, "Sova"));
+        log.delete(2);
+
+        assertFalse(Files.exists(Path.of(testDataPath)));
+
+        var reloaded = replay();
+
+        assertEquals(1, reloaded.size());
+        assertEquals("Sova", reloaded.get(1).getName());
+    }
+
+    @Test
+    void dropRecordCutShortByCrash() throws IOException {
+        var log = new WriteAheadLog<>(logPath(), RecordCodecs.AGENT);
+        log.put(1, createAgent(1, "Sage"));
+        long completeLength = Files.size(logPath());
+        log.put(2, createAgent(2, "Jett"));
+
+        // Simulate a crash halfway through appending the second record
+        try (var channel = FileChannel.open(logPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(completeLength + 10);
+        }
+
+        var recovered = new TreeMap<Integer, Agent>();
+        var recoveredLog = new WriteAheadLog<>(logPath(), RecordCodecs.AGENT);
+        recoveredLog.replay(recovered::put, recovered::remove);
+
+        assertEquals(1, recovered.size());
+        assertEquals(1, recoveredLog.size());
+
+        recoveredLog.put(3, createAgent(3, "Omen"));
+
+        var reloaded = replay();
+
+        assertEquals(2, reloaded.size());
+        assertEquals("Sage", reloaded.get(1).getName());
+        assertEquals("Omen", reloaded.get(3).getName());
+    }
+
+    @Test
+    void clearLog() throws IOException {
+        var log = new WriteAheadLog<>(logPath(), RecordCodecs.AGENT);
+        log.put(1, createAgent(1, "Sage"));
+
+        log.clear();
+
+        assertEquals(0, log.size());
+        assertFalse(Files.exists(logPath()));
+        assertTrue(replay().isEmpty());
+    }
+
+    private Path logPath() {
+        return WriteAheadLog.logPathOf(testDataPath);
+    }
+
+    private TreeMap<Integer, Agent> replay() {
+        var agents = new TreeMap<Integer, Agent>();
+        new WriteAheadLog<>(logPath(), RecordCodecs.AGENT).replay(agents::put, agents::remove);
+        return agents;
+    }
+
+    private Agent createAgent(int id, String name) {
+        var agent = new com.valorant.file.models.Agent();
+        agent.setId(id);
+        agent.setName(name);
+        agent.setRole("Sentinel");
+        return agent;
+    }
+}
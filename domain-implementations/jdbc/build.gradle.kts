@@ -12,4 +12,5 @@ dependencies {
 
     testImplementation ("org.junit.jupiter:junit-jupiter-api:5.10.0")
     testImplementation(project(":utilities"))
+    testImplementation("com.h2database:h2:2.2.224")
 }
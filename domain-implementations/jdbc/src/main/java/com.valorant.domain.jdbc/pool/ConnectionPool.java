@@ -0,0 +1,285 @@
+package com.valorant.domain.jdbc.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight JDBC connection pool.
+ * <p>
+ * At most {@code maxSize} connections are open at the same time; a borrower that finds them all in use
+ * waits up to the borrow timeout, in arrival order, for one to be returned. Idle connections are reused
+ * most-recently-returned first and validated before being handed out again, unless they were returned
+ * moments ago. A background task closes connections that stayed idle for longer than the idle timeout
+ * and reports connections borrowed for longer than the leak detection threshold: each one is counted in the
+ * {@link ConnectionPoolMetrics} and logged as a warning through {@link System.Logger}, together with the stack
+ * trace of the code that borrowed it.
+ * <p>
+ * Connections are returned to the pool by closing them, so borrowers use them in try-with-resources.
+ * A returned connection has any open transaction rolled back and auto-commit restored.
+ * <p>
+ * Each connection keeps its prepared statements open in a {@link StatementCache} of up to
+ * {@code statementCacheSize} statements, so closing a {@link java.sql.PreparedStatement} and preparing the same SQL
+ * again on a later borrow reuses the statement already prepared by the database.
+ */
+public class ConnectionPool extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Opens new physical connections for the pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private static final System.Logger LOGGER = System.getLogger(ConnectionPool.class.getName());
+    // Connections returned this recently are handed out again without a validation round trip
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final Duration MAX_HOUSEKEEPING_PERIOD = Duration.ofSeconds(30);
+    private static final Duration MIN_HOUSEKEEPING_PERIOD = Duration.ofMillis(100);
+
+    private final ConnectionPoolConfig config;
+    private final ConnectionFactory connectionFactory;
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idleConnections = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param config            the pool settings.
+     * @param connectionFactory opens the physical connections.
+     */
+    public ConnectionPool(ConnectionPoolConfig config, ConnectionFactory connectionFactory) {
+        this.config = config;
+        this.connectionFactory = connectionFactory;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var period = housekeepingPeriod(config).toMillis();
+        housekeeper.scheduleAtFixedRate(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout if they are all in use.
+     * Closing the returned connection gives it back to the pool.
+     *
+     * @return a validated connection.
+     * @throws SQLTransientConnectionException if no connection became available within the borrow timeout.
+     * @throws SQLException                    if the pool is closed or a new connection cannot be opened.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                timeoutCount.increment();
+                throw new SQLTransientConnectionException("Timed out after " + config.getBorrowTimeout().toMillis()
+                        + "ms waiting for a connection: " + getMetrics());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+
+        try {
+            if (closed) throw new SQLException("Connection pool is closed");
+            var idle = takeIdleOrCreate();
+            var pooledConnection = new PooledConnection(idle.connection, idle.statementCache, this,
+                    isLeakDetectionEnabled());
+            borrowedConnections.add(pooledConnection);
+            borrowCount.increment();
+            return pooledConnection.getProxy();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return a snapshot of the pool state and counters.
+     */
+    public ConnectionPoolMetrics getMetrics() {
+        return new ConnectionPoolMetrics(
+                borrowedConnections.size(),
+                idleConnections.size(),
+                config.getMaxSize(),
+                permits.getQueueLength(),
+                borrowCount.sum(),
+                timeoutCount.sum(),
+                leakCount.sum(),
+                totalWaitNanos.sum(),
+                maxWaitNanos.get(),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum());
+    }
+
+    public ConnectionPoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Closes the idle connections and stops the background task.
+     * Borrowed connections are closed as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        closeIdleConnections();
+    }
+
+    // Called by PooledConnection when the borrower closes it
+    void release(PooledConnection pooledConnection) {
+        if (!borrowedConnections.remove(pooledConnection)) return;
+        var idle = new IdleConnection(pooledConnection.getPhysicalConnection(),
+                pooledConnection.getStatementCache(), System.nanoTime());
+        try {
+            if (closed || idle.connection.isClosed() || !reset(idle.connection)) {
+                closeQuietly(idle);
+            } else {
+                idleConnections.offerFirst(idle);
+                // The pool may have been closed while the connection was being returned
+                if (closed) closeIdleConnections();
+            }
+        } catch (SQLException e) {
+            closeQuietly(idle);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private IdleConnection takeIdleOrCreate() throws SQLException {
+        IdleConnection idle;
+        while ((idle = idleConnections.pollFirst()) != null) {
+            if (System.nanoTime() - idle.returnedAt < VALIDATION_BYPASS_NANOS || isValid(idle.connection)) {
+                return idle;
+            }
+            closeQuietly(idle);
+        }
+        var connection = connectionFactory.create();
+        var statementCache = config.getStatementCacheSize() == 0 ? null
+                : new StatementCache(connection, config.getStatementCacheSize(), statementCacheHits, statementCacheMisses);
+        return new IdleConnection(connection, statementCache, System.nanoTime());
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid((int) Math.max(1, config.getValidationTimeout().toSeconds()));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Leaves the connection as a new borrower expects it: no open transaction and auto-commit on
+    private static boolean reset(Connection connection) {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void housekeep() {
+        evictIdleConnections();
+        if (isLeakDetectionEnabled()) detectLeaks();
+    }
+
+    private void evictIdleConnections() {
+        long idleTimeout = config.getIdleTimeout().toNanos();
+        long now = System.nanoTime();
+        for (var idle : idleConnections) {
+            if (now - idle.returnedAt > idleTimeout && idleConnections.remove(idle)) {
+                closeQuietly(idle);
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        long threshold = config.getLeakDetectionThreshold().toNanos();
+        long now = System.nanoTime();
+        for (var pooledConnection : borrowedConnections) {
+            if (!pooledConnection.isLeakReported() && now - pooledConnection.getBorrowedAt() > threshold) {
+                pooledConnection.markLeakReported();
+                leakCount.increment();
+                LOGGER.log(System.Logger.Level.WARNING, "Possible connection leak: connection borrowed for more than "
+                        + config.getLeakDetectionThreshold().toMillis() + "ms has not been returned",
+                        pooledConnection.getBorrowSite());
+            }
+        }
+    }
+
+    private boolean isLeakDetectionEnabled() {
+        return !config.getLeakDetectionThreshold().isZero();
+    }
+
+    private void closeIdleConnections() {
+        IdleConnection idle;
+        while ((idle = idleConnections.pollFirst()) != null) {
+            closeQuietly(idle);
+        }
+    }
+
+    private static Duration housekeepingPeriod(ConnectionPoolConfig config) {
+        var period = config.getIdleTimeout();
+        if (!config.getLeakDetectionThreshold().isZero() && config.getLeakDetectionThreshold().compareTo(period) < 0) {
+            period = config.getLeakDetectionThreshold();
+        }
+        period = period.dividedBy(2);
+        if (period.compareTo(MAX_HOUSEKEEPING_PERIOD) > 0) return MAX_HOUSEKEEPING_PERIOD;
+        if (period.compareTo(MIN_HOUSEKEEPING_PERIOD) < 0) return MIN_HOUSEKEEPING_PERIOD;
+        return period;
+    }
+
+    private static void closeQuietly(IdleConnection idle) {
+        if (idle.statementCache != null) idle.statementCache.close();
+        try {
+            idle.connection.close();
+        } catch (SQLException e) {
+            // The connection is discarded either way
+        }
+    }
+
+    private static final class IdleConnection {
+        private final Connection connection;
+        private final StatementCache statementCache;
+        private final long returnedAt;
+
+        private IdleConnection(Connection connection, StatementCache statementCache, long returnedAt) {
+            this.connection = connection;
+            this.statementCache = statementCache;
+            this.returnedAt = returnedAt;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.valorant.domain.jdbc.pool;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Settings of a {@link ConnectionPool}.
+ * They are read from the {@code pool.*} keys of {@code datasource.properties};
+ * every key is optional and falls back to the default documented on its constant.
+ */
+public class ConnectionPoolConfig {
+
+    // Maximum number of connections open at the same time, borrowed or idle
+    public static final int DEFAULT_MAX_SIZE = 10;
+    // How long a borrower waits for a free connection before failing
+    public static final Duration DEFAULT_BORROW_TIMEOUT = Duration.ofSeconds(30);
+    // Maximum time a validation query may take on borrow
+    public static final Duration DEFAULT_VALIDATION_TIMEOUT = Duration.ofSeconds(5);
+    // Idle connections unused for longer than this are closed
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+    // Connections held for longer than this are reported as possible leaks; zero disables detection
+    public static final Duration DEFAULT_LEAK_DETECTION_THRESHOLD = Duration.ofMinutes(1);
+    // Prepared statements kept open per connection for reuse; zero disables the statement cache
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    private final int maxSize;
+    private final Duration borrowTimeout;
+    private final Duration validationTimeout;
+    private final Duration idleTimeout;
+    private final Duration leakDetectionThreshold;
+    private final int statementCacheSize;
+
+    public ConnectionPoolConfig(int maxSize, Duration borrowTimeout, Duration validationTimeout,
+                                Duration idleTimeout, Duration leakDetectionThreshold) {
+        this(maxSize, borrowTimeout, validationTimeout, idleTimeout, leakDetectionThreshold,
+                DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    public ConnectionPoolConfig(int maxSize, Duration borrowTimeout, Duration validationTimeout,
+                                Duration idleTimeout, Duration leakDetectionThreshold, int statementCacheSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("pool.maxSize must be at least 1");
+        if (statementCacheSize < 0) throw new IllegalArgumentException("pool.statementCacheSize must not be negative");
+        this.maxSize = maxSize;
+        this.borrowTimeout = borrowTimeout;
+        this.validationTimeout = validationTimeout;
+        this.idleTimeout = idleTimeout;
+        this.leakDetectionThreshold = leakDetectionThreshold;
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * @return a configuration with every setting at its default value.
+     */
+    public static ConnectionPoolConfig defaults() {
+        return fromProperties(new Properties());
+    }
+
+    /**
+     * Reads the pool settings from the given properties:
+     * {@code pool.maxSize}, {@code pool.borrowTimeoutMillis}, {@code pool.validationTimeoutSeconds},
+     * {@code pool.idleTimeoutSeconds}, {@code pool.leakDetectionThresholdSeconds} and {@code pool.statementCacheSize}.
+     *
+     * @param properties the data source properties.
+     * @return the pool configuration.
+     */
+    public static ConnectionPoolConfig fromProperties(Properties properties) {
+        return new ConnectionPoolConfig(
+                Integer.parseInt(properties.getProperty("pool.maxSize", String.valueOf(DEFAULT_MAX_SIZE))),
+                Duration.ofMillis(Long.parseLong(properties.getProperty("pool.borrowTimeoutMillis",
+                        String.valueOf(DEFAULT_BORROW_TIMEOUT.toMillis())))),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("pool.validationTimeoutSeconds",
+                        String.valueOf(DEFAULT_VALIDATION_TIMEOUT.toSeconds())))),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("pool.idleTimeoutSeconds",
+                        String.valueOf(DEFAULT_IDLE_TIMEOUT.toSeconds())))),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("pool.leakDetectionThresholdSeconds",
+                        String.valueOf(DEFAULT_LEAK_DETECTION_THRESHOLD.toSeconds())))),
+                Integer.parseInt(properties.getProperty("pool.statementCacheSize",
+                        String.valueOf(DEFAULT_STATEMENT_CACHE_SIZE))));
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getBorrowTimeout() {
+        return borrowTimeout;
+    }
+
+    public Duration getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public Duration getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+}
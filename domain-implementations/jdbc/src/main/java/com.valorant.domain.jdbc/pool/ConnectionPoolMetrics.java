@@ -0,0 +1,147 @@
+package com.valorant.domain.jdbc.pool;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time snapshot of the state and counters of a {@link ConnectionPool}.
+ */
+public class ConnectionPoolMetrics {
+
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int maxSize;
+    private final int threadsAwaiting;
+    private final long borrowCount;
+    private final long timeoutCount;
+    private final long leakCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    ConnectionPoolMetrics(int activeConnections, int idleConnections, int maxSize, int threadsAwaiting,
+                          long borrowCount, long timeoutCount, long leakCount, long totalWaitNanos, long maxWaitNanos,
+                          long statementCacheHits, long statementCacheMisses) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.maxSize = maxSize;
+        this.threadsAwaiting = threadsAwaiting;
+        this.borrowCount = borrowCount;
+        this.timeoutCount = timeoutCount;
+        this.leakCount = leakCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    /**
+     * @return the number of connections currently borrowed.
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * @return the number of open connections waiting in the pool to be borrowed.
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return activeConnections + idleConnections;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of threads currently waiting for a connection.
+     */
+    public int getThreadsAwaiting() {
+        return threadsAwaiting;
+    }
+
+    /**
+     * @return the number of successful borrows since the pool was created.
+     */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * @return the number of borrows that gave up after the borrow timeout.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * @return the number of connections reported as held for longer than the leak detection threshold.
+     */
+    public long getLeakCount() {
+        return leakCount;
+    }
+
+    /**
+     * @return the time borrowers spent waiting for a free connection, summed over all borrows.
+     */
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(totalWaitNanos);
+    }
+
+    /**
+     * @return the average time a successful borrow waited for a free connection.
+     */
+    public Duration getAverageWaitTime() {
+        return borrowCount == 0 ? Duration.ZERO : Duration.ofNanos(totalWaitNanos / borrowCount);
+    }
+
+    /**
+     * @return the longest time a single borrow waited for a free connection.
+     */
+    public Duration getMaxWaitTime() {
+        return Duration.ofNanos(maxWaitNanos);
+    }
+
+    /**
+     * @return the number of prepared statements served from a connection's statement cache.
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    /**
+     * @return the number of cacheable prepared statements that had to be prepared on the database.
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    /**
+     * @return the fraction of cacheable prepared statements served from the cache, between 0 and 1.
+     */
+    public double getStatementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolMetrics{" +
+                "active=" + activeConnections +
+                ", idle=" + idleConnections +
+                ", maxSize=" + maxSize +
+                ", threadsAwaiting=" + threadsAwaiting +
+                ", borrows=" + borrowCount +
+                ", timeouts=" + timeoutCount +
+                ", leaks=" + leakCount +
+                ", averageWait=" + getAverageWaitTime() +
+                ", maxWait=" + getMaxWaitTime() +
+                ", statementCacheHits=" + statementCacheHits +
+                ", statementCacheMisses=" + statementCacheMisses +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package com.valorant.domain.jdbc.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A physical connection lent out by a {@link ConnectionPool}.
+ * Borrowers get a proxy whose {@code close()} returns the physical connection to the pool
+ * instead of closing it; any other call made after that fails.
+ * Prepared statements are served from the connection's {@link StatementCache} when the pool has one.
+ */
+final class PooledConnection implements InvocationHandler {
+
+    private final Connection physicalConnection;
+    private final StatementCache statementCache;
+    private final ConnectionPool pool;
+    private final Connection proxy;
+    private final long borrowedAt = System.nanoTime();
+    // Where the connection was borrowed from, kept only when leak detection is enabled
+    private final Throwable borrowSite;
+    private volatile boolean closed;
+    private volatile boolean leakReported;
+
+    PooledConnection(Connection physicalConnection, StatementCache statementCache, ConnectionPool pool,
+                     boolean recordBorrowSite) {
+        this.physicalConnection = physicalConnection;
+        this.statementCache = statementCache;
+        this.pool = pool;
+        this.borrowSite = recordBorrowSite ? new Throwable("Connection borrowed here") : null;
+        this.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                if (!closed) {
+                    closed = true;
+                    pool.release(this);
+                }
+                return null;
+            case "isClosed":
+                return closed || physicalConnection.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "PooledConnection[" + physicalConnection + "]";
+            default:
+                if (closed) throw new SQLException("Connection has already been returned to the pool");
+                if (statementCache != null && StatementCache.isCacheable(method)) {
+                    return statementCache.prepare(args);
+                }
+                try {
+                    return method.invoke(physicalConnection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+
+    Connection getProxy() {
+        return proxy;
+    }
+
+    Connection getPhysicalConnection() {
+        return physicalConnection;
+    }
+
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    Throwable getBorrowSite() {
+        return borrowSite;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void markLeakReported() {
+        leakReported = true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.valorant.domain.jdbc.pool;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+/**
+ * Data source that always hands out the same connection.
+ * Closing a connection obtained from it does not close the underlying connection,
+ * so callers that borrow a connection per operation keep working on a single connection
+ * and any transaction the owner started on it.
+ */
+public class SingleConnectionDataSource extends AbstractDataSource {
+
+    private final Connection connection;
+
+    /**
+     * @param connection the connection to hand out; its lifecycle stays with the caller.
+     */
+    public SingleConnectionDataSource(Connection connection) {
+        this.connection = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) return null;
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+}
@@ -0,0 +1,184 @@
+package com.valorant.domain.jdbc.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least-recently-used cache of the prepared statements of one physical connection, keyed by SQL text.
+ * <p>
+ * A cached statement is checked out while in use: preparing the same SQL twice on one connection before
+ * the first statement is closed prepares a second one. Closing the statement handed out clears its
+ * parameters and puts it back in the cache instead of closing it; the least recently used statement is
+ * closed when the cache grows past its size. The cache lives as long as the physical connection, so it is
+ * reused by every borrower of that connection.
+ * <p>
+ * Only {@code prepareStatement(sql)} and {@code prepareStatement(sql, autoGeneratedKeys)} are cached.
+ * Statements prepared with a result set type are the ones streamed through cursors, which tune their
+ * fetch size, so they are always prepared afresh.
+ */
+final class StatementCache {
+
+    private final Connection physicalConnection;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<Key, PreparedStatement> idleStatements;
+
+    /**
+     * @param physicalConnection the connection the statements are prepared on.
+     * @param maxSize            the maximum number of idle statements kept open.
+     * @param hits               counter of statements served from the cache, shared by the whole pool.
+     * @param misses             counter of statements prepared because none was cached.
+     */
+    StatementCache(Connection physicalConnection, int maxSize, LongAdder hits, LongAdder misses) {
+        this.physicalConnection = physicalConnection;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.idleStatements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.maxSize) return false;
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return true if calls to the given {@code prepareStatement} overload are served by this cache.
+     */
+    static boolean isCacheable(Method method) {
+        var parameterTypes = method.getParameterTypes();
+        return method.getName().equals("prepareStatement")
+                && (parameterTypes.length == 1
+                || parameterTypes.length == 2 && parameterTypes[1] == int.class);
+    }
+
+    /**
+     * Returns a cached statement for the given {@code prepareStatement} call, or prepares a new one.
+     *
+     * @param args the arguments of a {@link #isCacheable cacheable} {@code prepareStatement} call.
+     * @return a statement whose {@code close()} puts it back in the cache.
+     * @throws SQLException if the statement cannot be prepared.
+     */
+    PreparedStatement prepare(Object[] args) throws SQLException {
+        var key = new Key((String) args[0], args.length == 2 ? (Integer) args[1] : -1);
+        PreparedStatement statement;
+        synchronized (this) {
+            statement = idleStatements.remove(key);
+        }
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = key.autoGeneratedKeys < 0
+                    ? physicalConnection.prepareStatement(key.sql)
+                    : physicalConnection.prepareStatement(key.sql, key.autoGeneratedKeys);
+        }
+        return new CachedStatement(key, statement).proxy;
+    }
+
+    /**
+     * @return the number of idle statements currently cached.
+     */
+    synchronized int size() {
+        return idleStatements.size();
+    }
+
+    /**
+     * Closes every cached statement. Called before the physical connection is closed.
+     */
+    void close() {
+        List<PreparedStatement> statements;
+        synchronized (this) {
+            statements = new ArrayList<>(idleStatements.values());
+            idleStatements.clear();
+        }
+        statements.forEach(StatementCache::closeQuietly);
+    }
+
+    private void giveBack(Key key, PreparedStatement statement) {
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+        PreparedStatement duplicate;
+        synchronized (this) {
+            duplicate = idleStatements.put(key, statement);
+        }
+        // The same SQL was prepared twice while both statements were in use; keep only one of them
+        if (duplicate != null) closeQuietly(duplicate);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // The statement is discarded either way
+        }
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    /**
+     * A checked-out statement. Borrowers get a proxy whose {@code close()} gives the statement back
+     * to the cache; any other call made after that fails.
+     */
+    private final class CachedStatement implements InvocationHandler {
+
+        private final Key key;
+        private final PreparedStatement statement;
+        private final PreparedStatement proxy;
+        private boolean closed;
+
+        private CachedStatement(Key key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        giveBack(key, statement);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + statement + "]";
+                default:
+                    if (closed) throw new SQLException("Statement has already been closed");
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.valorant.domain.jdbc.repositories;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Agent;
 import com.valorant.models.AgentImpl;
 import com.valorant.repositories.AgentRepository;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
 
 /**
  * JDBC implementation of the {@link AgentRepository} interface for managing agents in the Valorant game.
@@ -14,20 +21,31 @@ import java.util.Set;
 public class JdbcAgentRepository implements AgentRepository {
 
     private static final String SELECT_ALL_AGENTS = "SELECT * FROM AGENT";
+    private static final String SELECT_AGENTS_PAGE = "SELECT * FROM AGENT WHERE AGENT_ID > ? ORDER BY AGENT_ID LIMIT ?";
     private static final String SELECT_AGENT_BY_ID = "SELECT * FROM AGENT WHERE AGENT_ID = ?";
+    private static final String SELECT_AGENTS_BY_IDS = "SELECT * FROM AGENT WHERE AGENT_ID IN (%s)";
     private static final String SELECT_AGENT_BY_NAME = "SELECT * FROM AGENT WHERE NAME = ?";
     private static final String INSERT_AGENT = "INSERT INTO AGENT (NAME, DESCRIPTION, ROLE) VALUES (?, ?, ?)";
     private static final String DELETE_AGENT = "DELETE FROM AGENT WHERE AGENT_ID = ?";
     private static final String UPDATE_AGENT = "UPDATE AGENT SET NAME = ?, DESCRIPTION = ?, ROLE = ? WHERE AGENT_ID = ?";
-    private final Connection connection;
+    private final DataSource dataSource;
 
     /**
-     * Constructs a new JdbcAgentRepository with the given database connection.
+     * Constructs a new JdbcAgentRepository that borrows a connection from the given data source for every operation.
+     *
+     * @param dataSource the data source, usually a connection pool.
+     */
+    public JdbcAgentRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Constructs a new JdbcAgentRepository that runs every operation on the given database connection.
      *
      * @param connection the database connection.
      */
     public JdbcAgentRepository(Connection connection) {
-        this.connection = connection;
+        this(new SingleConnectionDataSource(connection));
     }
 
     /**
@@ -38,7 +56,8 @@ public class JdbcAgentRepository implements AgentRepository {
      */
     @Override
     public Agent getByName(String name) {
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_AGENT_BY_NAME)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_AGENT_BY_NAME)) {
             statement.setString(1, name);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -61,7 +80,8 @@ public class JdbcAgentRepository implements AgentRepository {
         try {
             if (agent.getId() == 0) {
                 // Insert a new agent
-                try (PreparedStatement statement = connection.prepareStatement(INSERT_AGENT, Statement.RETURN_GENERATED_KEYS)) {
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement statement = connection.prepareStatement(INSERT_AGENT, Statement.RETURN_GENERATED_KEYS)) {
                     statement.setString(1, agent.getName());
                     statement.setString(2, agent.getDescription());
                     statement.setString(3, agent.getRole());
@@ -75,7 +95,8 @@ public class JdbcAgentRepository implements AgentRepository {
                 }
             } else {
                 // Update an existing agent
-                try (PreparedStatement statement = connection.prepareStatement(UPDATE_AGENT)) {
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement statement = connection.prepareStatement(UPDATE_AGENT)) {
                     statement.setString(1, agent.getName());
                     statement.setString(2, agent.getDescription());
                     statement.setString(3, agent.getRole());
@@ -95,7 +116,8 @@ public class JdbcAgentRepository implements AgentRepository {
      */
     @Override
     public void delete(Agent agent) {
-        try (PreparedStatement statement = connection.prepareStatement(DELETE_AGENT)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_AGENT)) {
             statement.setInt(1, agent.getId());
             statement.executeUpdate();
         } catch (SQLException e) {
@@ -111,7 +133,8 @@ public class JdbcAgentRepository implements AgentRepository {
      */
     @Override
     public Agent get(Integer id) {
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_AGENT_BY_ID)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_AGENT_BY_ID)) {
             statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -124,6 +147,21 @@ public class JdbcAgentRepository implements AgentRepository {
         return null;
     }
 
+    /**
+     * Retrieves the agents with the given IDs, with one query per {@value JdbcIdLookup#MAX_IDS_PER_QUERY} IDs.
+     *
+     * @param ids the IDs of the agents.
+     * @return the agents found, keyed by ID; IDs without a agent are left out.
+     */
+    @Override
+    public Map<Integer, Agent> getAllById(Collection<Integer> ids) {
+        try {
+            return JdbcIdLookup.getAllById(dataSource, SELECT_AGENTS_BY_IDS, "AGENT_ID", ids, this::mapResultSetToAgent);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching agents by IDs", e);
+        }
+    }
+
     /**
      * Retrieves all agents from the database.
      *
@@ -132,7 +170,8 @@ public class JdbcAgentRepository implements AgentRepository {
     @Override
     public Set<Agent> getAll() {
         Set<Agent> agents = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL_AGENTS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_AGENTS)) {
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     agents.add(mapResultSetToAgent(resultSet));
@@ -144,6 +183,41 @@ public class JdbcAgentRepository implements AgentRepository {
         return agents;
     }
 
+    /**
+     * Streams all agents from the database through a forward-only cursor.
+     *
+     * @return a stream of agents that must be closed to release the cursor.
+     */
+    @Override
+    public Stream<Agent> stream() {
+        return JdbcCursor.stream(dataSource, SELECT_ALL_AGENTS, this::mapResultSetToAgent);
+    }
+
+    /**
+     * Retrieves a page of agents ordered by ID, using the primary key as a keyset cursor.
+     *
+     * @param afterId the ID of the last agent of the previous page, or null to start from the first one.
+     * @param limit   the maximum number of agents to return.
+     * @return the agents whose ID is greater than afterId, in ascending ID order.
+     */
+    @Override
+    public List<Agent> getPage(Integer afterId, int limit) {
+        List<Agent> agents = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_AGENTS_PAGE)) {
+            statement.setInt(1, afterId == null ? Integer.MIN_VALUE : afterId);
+            statement.setInt(2, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    agents.add(mapResultSetToAgent(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching agent page after ID: " + afterId, e);
+        }
+        return agents;
+    }
+
     /**
      * Helper method to map ResultSet to Agent object.
      *
@@ -0,0 +1,145 @@
+package com.valorant.domain.jdbc.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import javax.sql.DataSource;
+
+/**
+ * Writes many models with JDBC batching: rows are sent with {@code addBatch}/{@code executeBatch}
+ * in chunks of a given size, all inside one transaction, instead of one round trip per model.
+ */
+final class JdbcBatch {
+
+    /**
+     * Number of rows sent to the database per {@code executeBatch} when no batch size is given.
+     */
+    static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Sets the parameters of a statement from a model.
+     *
+     * @param <T> the type of the model.
+     */
+    @FunctionalInterface
+    interface ParameterSetter<T> {
+        void setParameters(PreparedStatement statement, T model) throws SQLException;
+    }
+
+    /**
+     * Work run on the connection of a transaction.
+     */
+    @FunctionalInterface
+    interface TransactionWork {
+        void run(Connection connection) throws SQLException;
+    }
+
+    private JdbcBatch() {
+    }
+
+    /**
+     * Borrows a connection and runs the given work in a single transaction, committed when the work completes
+     * and rolled back if it fails. A connection that is already inside a transaction, because auto-commit was
+     * turned off by its owner, is left for the owner to commit or roll back.
+     *
+     * @param dataSource the data source to borrow the connection from.
+     * @param work       the work to run.
+     * @param onRollback called after the transaction has been rolled back, e.g. to undo changes made to the models.
+     * @throws SQLException if the work fails or the transaction cannot be committed.
+     */
+    static void inTransaction(DataSource dataSource, TransactionWork work, Runnable onRollback) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.getAutoCommit()) {
+                work.run(connection);
+                return;
+            }
+            connection.setAutoCommit(false);
+            try {
+                work.run(connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                onRollback.run();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Inserts the given models in batches and assigns the generated IDs back to them, in order.
+     *
+     * @param connection the connection to insert on.
+     * @param sql        the insert statement.
+     * @param models     the models to insert.
+     * @param batchSize  the number of rows sent per batch.
+     * @param setter     sets the statement parameters from a model.
+     * @param idSetter   assigns a generated ID to a model.
+     * @param <T>        the type of the models.
+     * @throws SQLException if a batch fails or fewer IDs than rows are generated.
+     */
+    static <T> void insertAll(Connection connection, String sql, List<T> models, int batchSize,
+                              ParameterSetter<T> setter, ObjIntConsumer<T> idSetter) throws SQLException {
+        if (models.isEmpty()) return;
+        try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int start = 0; start < models.size(); start += batchSize) {
+                var chunk = models.subList(start, Math.min(start + batchSize, models.size()));
+                for (T model : chunk) {
+                    setter.setParameters(statement, model);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    for (T model : chunk) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Failed to retrieve auto-generated IDs.");
+                        }
+                        idSetter.accept(model, generatedKeys.getInt(1));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the given models in batches.
+     *
+     * @param connection the connection to update on.
+     * @param sql        the update statement.
+     * @param models     the models to update.
+     * @param batchSize  the number of rows sent per batch.
+     * @param setter     sets the statement parameters from a model.
+     * @param <T>        the type of the models.
+     * @throws SQLException if a batch fails.
+     */
+    static <T> void updateAll(Connection connection, String sql, Collection<T> models, int batchSize,
+                              ParameterSetter<T> setter) throws SQLException {
+        if (models.isEmpty()) return;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (T model : models) {
+                setter.setParameters(statement, model);
+                statement.addBatch();
+                if (++pending == batchSize) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) statement.executeBatch();
+        }
+    }
+
+    /**
+     * @param batchSize the requested batch size.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    static void checkBatchSize(int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+    }
+}
@@ -0,0 +1,121 @@
+package com.valorant.domain.jdbc.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.sql.DataSource;
+
+/**
+ * Exposes the rows of a query as a lazily evaluated {@link Stream} backed by a forward-only {@link ResultSet}.
+ * Rows are mapped one at a time as the stream is consumed; closing the stream closes the result set and statement
+ * and returns the connection.
+ * <p>
+ * The driver is asked to fetch {@value #DEFAULT_FETCH_SIZE} rows per round trip, so memory stays bounded however
+ * many rows the query returns. MySQL only honours the fetch size with {@code useCursorFetch=true} in the connection
+ * parameters; without it, the driver reads the whole result before the first row is returned.
+ */
+final class JdbcCursor {
+    static final int DEFAULT_FETCH_SIZE = 500;
+
+    /**
+     * Maps the current row of a {@link ResultSet} to a model object.
+     *
+     * @param <T> the type of the mapped object.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    /**
+     * Binds the parameters of the query before it is executed.
+     */
+    @FunctionalInterface
+    interface ParameterBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    private JdbcCursor() {
+    }
+
+    /**
+     * Borrows a connection, executes the given query and returns its rows as a stream.
+     * The connection is held until the stream is closed.
+     *
+     * @param dataSource the data source to borrow the connection from.
+     * @param sql        the query to execute.
+     * @param rowMapper  the mapper applied to every row.
+     * @param <T>        the type of the mapped objects.
+     * @return a stream of mapped rows that must be closed by the caller.
+     */
+    static <T> Stream<T> stream(DataSource dataSource, String sql, RowMapper<T> rowMapper) {
+        return stream(dataSource, sql, statement -> {
+        }, rowMapper);
+    }
+
+    /**
+     * Borrows a connection, executes the given parameterized query and returns its rows as a stream.
+     * The connection is held until the stream is closed.
+     *
+     * @param dataSource the data source to borrow the connection from.
+     * @param sql        the query to execute.
+     * @param binder     binds the query parameters.
+     * @param rowMapper  the mapper applied to every row.
+     * @param <T>        the type of the mapped objects.
+     * @return a stream of mapped rows that must be closed by the caller.
+     */
+    static <T> Stream<T> stream(DataSource dataSource, String sql, ParameterBinder binder, RowMapper<T> rowMapper) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(DEFAULT_FETCH_SIZE);
+            binder.bind(statement);
+            ResultSet resultSet = statement.executeQuery();
+            Connection openConnection = connection;
+            PreparedStatement openStatement = statement;
+            return StreamSupport.stream(new RowSpliterator<>(resultSet, rowMapper), false)
+                    .onClose(() -> close(resultSet, openStatement, openConnection));
+        } catch (SQLException e) {
+            close(null, statement, connection);
+            throw new RuntimeException("Error while opening cursor: " + sql, e);
+        }
+    }
+
+    private static void close(ResultSet resultSet, PreparedStatement statement, Connection connection) {
+        try (connection; statement; resultSet) {
+            // Closed in reverse order by try-with-resources, skipping the ones that were never opened
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while closing cursor", e);
+        }
+    }
+
+    private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final ResultSet resultSet;
+        private final RowMapper<T> rowMapper;
+
+        private RowSpliterator(ResultSet resultSet, RowMapper<T> rowMapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) return false;
+                action.accept(rowMapper.map(resultSet));
+                return true;
+            } catch (SQLException e) {
+                throw new RuntimeException("Error while reading cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.valorant.domain.jdbc.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Looks many rows up by ID with {@code WHERE ID IN (...)} queries, instead of one query per ID.
+ * <p>
+ * The IDs are sent in chunks of up to {@value #MAX_IDS_PER_QUERY} per query, all on one connection. The number of
+ * placeholders of a chunk is rounded up to a power of two, the extra ones repeating the last ID, so the few distinct
+ * statements stay in the statement cache of the pool however many IDs are asked for.
+ */
+final class JdbcIdLookup {
+
+    /**
+     * IDs bound per query, well below the placeholder limits of common databases.
+     */
+    static final int MAX_IDS_PER_QUERY = 512;
+
+    private JdbcIdLookup() {
+    }
+
+    /**
+     * Borrows a connection and reads the rows with the given IDs.
+     *
+     * @param dataSource the data source to borrow the connection from.
+     * @param sql        the query, with {@code %s} where the placeholders of the IN list go.
+     * @param idColumn   the column holding the ID of a row.
+     * @param ids        the IDs to look up; duplicates are looked up once.
+     * @param rowMapper  the mapper applied to every row.
+     * @param <T>        the type of the mapped objects.
+     * @return the mapped rows keyed by ID; IDs without a row are left out.
+     * @throws SQLException if a database access error occurs.
+     */
+    static <T> Map<Integer, T> getAllById(DataSource dataSource, String sql, String idColumn, Collection<Integer> ids,
+                                          JdbcCursor.RowMapper<T> rowMapper) throws SQLException {
+        Map<Integer, T> rowsById = new HashMap<>();
+        forEachRow(dataSource, sql, ids,
+                resultSet -> rowsById.put(resultSet.getInt(idColumn), rowMapper.map(resultSet)));
+        return rowsById;
+    }
+
+    /**
+     * Borrows a connection and passes every row of the query to the handler, for queries that return any number of
+     * rows per ID, such as a join.
+     *
+     * @param dataSource the data source to borrow the connection from.
+     * @param sql        the query, with {@code %s} where the placeholders of the IN list go.
+     * @param ids        the IDs to look up; duplicates are looked up once.
+     * @param rowHandler the handler called with the result set positioned on each row.
+     * @throws SQLException if a database access error occurs.
+     */
+    static void forEachRow(DataSource dataSource, String sql, Collection<Integer> ids, RowHandler rowHandler)
+            throws SQLException {
+        List<Integer> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinctIds.isEmpty()) return;
+        try (Connection connection = dataSource.getConnection()) {
+            for (int start = 0; start < distinctIds.size(); start += MAX_IDS_PER_QUERY) {
+                var chunk = distinctIds.subList(start, Math.min(start + MAX_IDS_PER_QUERY, distinctIds.size()));
+                int placeholders = paddedSize(chunk.size());
+                try (PreparedStatement statement = connection.prepareStatement(
+                        String.format(sql, String.join(", ", Collections.nCopies(placeholders, "?"))))) {
+                    for (int i = 0; i < placeholders; i++) {
+                        statement.setInt(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            rowHandler.handle(resultSet);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Smallest power of two that is at least size
+    static int paddedSize(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * Handles one row of a lookup.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+        void handle(ResultSet resultSet) throws SQLException;
+    }
+}
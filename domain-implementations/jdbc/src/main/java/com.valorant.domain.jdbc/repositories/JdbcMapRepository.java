@@ -1,5 +1,6 @@
 package com.valorant.domain.jdbc.repositories;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Map;
 import com.valorant.models.MapImpl;
 import com.valorant.repositories.MapRepository;
@@ -8,8 +9,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
 
 /**
  * JDBC implementation of the {@link MapRepository} interface for managing maps in the Valorant game.
@@ -17,19 +23,31 @@ import java.util.Set;
 public class JdbcMapRepository implements MapRepository {
 
     private static final String SELECT_ALL_MAPS = "SELECT * FROM map";
+    private static final String SELECT_MAPS_PAGE = "SELECT * FROM map WHERE MAP_ID > ? ORDER BY MAP_ID LIMIT ?";
     private static final String SELECT_MAP_BY_ID = "SELECT * FROM map WHERE map_id = ?";
+    private static final String SELECT_MAPS_BY_IDS = "SELECT * FROM map WHERE map_id IN (%s)";
     private static final String SELECT_MAP_BY_NAME = "SELECT * FROM map WHERE name = ?";
     private static final String INSERT_MAP = "INSERT INTO map (name, type) VALUES (?, ?)";
     private static final String DELETE_MAP = "DELETE FROM map WHERE map_id = ?";
-    private final Connection connection;
+    private static final String UPDATE_MAP = "UPDATE map SET name = ?, type = ? WHERE map_id = ?";
+    private final DataSource dataSource;
 
     /**
-     * Constructs a new JdbcMapRepository with the given database connection.
+     * Constructs a new JdbcMapRepository that borrows a connection from the given data source for every operation.
+     *
+     * @param dataSource the data source, usually a connection pool.
+     */
+    public JdbcMapRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Constructs a new JdbcMapRepository that runs every operation on the given database connection.
      *
      * @param connection the database connection.
      */
     public JdbcMapRepository(Connection connection) {
-        this.connection = connection;
+        this(new SingleConnectionDataSource(connection));
     }
 
     /**
@@ -40,7 +58,8 @@ public class JdbcMapRepository implements MapRepository {
      */
     @Override
     public Map getByName(String name) {
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_MAP_BY_NAME)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MAP_BY_NAME)) {
             statement.setString(1, name);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -76,7 +95,8 @@ public class JdbcMapRepository implements MapRepository {
      * @param map the map to be inserted.
      */
     private void insertMap(Map map) {
-        try (PreparedStatement statement = connection.prepareStatement(INSERT_MAP, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_MAP, PreparedStatement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, map.getName());
             statement.setString(2, map.getType());
             statement.executeUpdate();
@@ -96,8 +116,8 @@ public class JdbcMapRepository implements MapRepository {
      * @param map the map to be updated.
      */
     private void updateMap(Map map) {
-        String UPDATE_MAP = "UPDATE map SET name = ?, type = ? WHERE map_id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(UPDATE_MAP)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_MAP)) {
             statement.setString(1, map.getName());
             statement.setString(2, map.getType());
             statement.setInt(3, map.getId());
@@ -114,7 +134,8 @@ public class JdbcMapRepository implements MapRepository {
      */
     @Override
     public void delete(Map map) {
-        try (PreparedStatement statement = connection.prepareStatement(DELETE_MAP)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_MAP)) {
             statement.setInt(1, map.getId());
             statement.executeUpdate();
         } catch (SQLException e) {
@@ -130,7 +151,8 @@ public class JdbcMapRepository implements MapRepository {
      */
     @Override
     public Map get(Integer id) {
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_MAP_BY_ID)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MAP_BY_ID)) {
             statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -143,6 +165,21 @@ public class JdbcMapRepository implements MapRepository {
         return null;
     }
 
+    /**
+     * Retrieves the maps with the given IDs, with one query per {@value JdbcIdLookup#MAX_IDS_PER_QUERY} IDs.
+     *
+     * @param ids the IDs of the maps.
+     * @return the maps found, keyed by ID; IDs without a map are left out.
+     */
+    @Override
+    public java.util.Map<Integer, Map> getAllById(Collection<Integer> ids) {
+        try {
+            return JdbcIdLookup.getAllById(dataSource, SELECT_MAPS_BY_IDS, "map_id", ids, this::mapResultSetToMap);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching maps by IDs", e);
+        }
+    }
+
     /**
      * Retrieves all maps from the database.
      *
@@ -151,7 +188,8 @@ public class JdbcMapRepository implements MapRepository {
     @Override
     public Set<Map> getAll() {
         Set<Map> maps = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL_MAPS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_MAPS)) {
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     maps.add(mapResultSetToMap(resultSet));
@@ -163,6 +201,41 @@ public class JdbcMapRepository implements MapRepository {
         return maps;
     }
 
+    /**
+     * Streams all maps from the database through a forward-only cursor.
+     *
+     * @return a stream of maps that must be closed to release the cursor.
+     */
+    @Override
+    public Stream<Map> stream() {
+        return JdbcCursor.stream(dataSource, SELECT_ALL_MAPS, this::mapResultSetToMap);
+    }
+
+    /**
+     * Retrieves a page of maps ordered by ID, using the primary key as a keyset cursor.
+     *
+     * @param afterId the ID of the last map of the previous page, or null to start from the first one.
+     * @param limit   the maximum number of maps to return.
+     * @return the maps whose ID is greater than afterId, in ascending ID order.
+     */
+    @Override
+    public List<Map> getPage(Integer afterId, int limit) {
+        List<Map> maps = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MAPS_PAGE)) {
+            statement.setInt(1, afterId == null ? Integer.MIN_VALUE : afterId);
+            statement.setInt(2, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    maps.add(mapResultSetToMap(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching map page after ID: " + afterId, e);
+        }
+        return maps;
+    }
+
     /**
      * Helper method to map ResultSet to Map object.
      *
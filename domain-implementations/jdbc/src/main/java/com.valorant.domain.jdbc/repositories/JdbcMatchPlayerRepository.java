@@ -4,9 +4,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import javax.sql.DataSource;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Match;
 
 /**
@@ -15,18 +20,32 @@ import com.valorant.models.Match;
  */
 public class JdbcMatchPlayerRepository {
 
-    private final Connection connection;
+    private static final String SELECT_MATCHES_BY_PLAYER_ID = "SELECT m.* FROM MATCH_PLAYER mp "
+            + "JOIN `MATCH` m ON m.MATCH_ID = mp.MATCH_ID WHERE mp.PLAYER_ID = ?";
+    private static final String SELECT_MATCHES_BY_PLAYER_IDS = "SELECT mp.PLAYER_ID, m.* FROM MATCH_PLAYER mp "
+            + "JOIN `MATCH` m ON m.MATCH_ID = mp.MATCH_ID WHERE mp.PLAYER_ID IN (%s)";
+    private final DataSource dataSource;
     private final JdbcMatchRepository matchRepository;
 
     /**
-     * Constructs a new JdbcMatchPlayerRepository with the given database connection and match repository.
+     * Constructs a new JdbcMatchPlayerRepository that borrows a connection from the given data source for every operation.
+     *
+     * @param dataSource      the data source, usually a connection pool.
+     * @param matchRepository the repository for matches.
+     */
+    public JdbcMatchPlayerRepository(DataSource dataSource, JdbcMatchRepository matchRepository) {
+        this.dataSource = dataSource;
+        this.matchRepository = matchRepository;
+    }
+
+    /**
+     * Constructs a new JdbcMatchPlayerRepository that runs every operation on the given database connection.
      *
      * @param connection      the database connection.
      * @param matchRepository the repository for matches.
      */
     public JdbcMatchPlayerRepository(Connection connection, JdbcMatchRepository matchRepository) {
-        this.connection = connection;
-        this.matchRepository = matchRepository;
+        this(new SingleConnectionDataSource(connection), matchRepository);
     }
 
     /**
@@ -38,7 +57,8 @@ public class JdbcMatchPlayerRepository {
      */
     public void addPlayerToMatch(int playerId, int matchId) throws SQLException {
         String sql = "INSERT INTO match_player (player_id, match_id) VALUES (?, ?)";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, playerId);
             statement.setInt(2, matchId);
             statement.executeUpdate();
@@ -46,7 +66,7 @@ public class JdbcMatchPlayerRepository {
     }
 
     /**
-     * Retrieves matches associated with a player by querying the match_player table.
+     * Retrieves the matches a player has played, joining the match_player and match tables in a single query.
      *
      * @param playerId the ID of the player.
      * @return a set of matches associated with the player.
@@ -54,18 +74,43 @@ public class JdbcMatchPlayerRepository {
      */
     public Set<Match> getMatchesByPlayerId(int playerId) throws SQLException {
         Set<Match> matches = new HashSet<>();
-        String sql = "SELECT * FROM match_player WHERE player_id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MATCHES_BY_PLAYER_ID)) {
             statement.setInt(1, playerId);
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    int matchId = resultSet.getInt("match_id");
-                    // Retrieve the match object from the match repository using its ID
-                    Match match = matchRepository.get(matchId);
-                    matches.add(match);
+                    matches.add(matchRepository.mapResultSetToMatch(resultSet));
                 }
             }
         }
         return matches;
     }
+
+    /**
+     * Retrieves the matches of many players at once, joining the match_player and match tables.
+     * The IDs are sent as by {@link JdbcIdLookup}: in chunks of up to {@value JdbcIdLookup#MAX_IDS_PER_QUERY}
+     * per query, padded to a power of two, all on one connection.
+     * A match played by several of the players is mapped once and shared between their sets.
+     *
+     * @param playerIds the IDs of the players.
+     * @return the matches of each requested player, keyed by player ID; players without matches map to an empty set.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<Integer, Set<Match>> getMatchesByPlayerIds(Collection<Integer> playerIds) throws SQLException {
+        Map<Integer, Set<Match>> matchesByPlayerId = new HashMap<>();
+        for (int playerId : playerIds) {
+            matchesByPlayerId.put(playerId, new HashSet<>());
+        }
+        Map<Integer, Match> matchesById = new HashMap<>();
+        JdbcIdLookup.forEachRow(dataSource, SELECT_MATCHES_BY_PLAYER_IDS, playerIds, resultSet -> {
+            int matchId = resultSet.getInt("MATCH_ID");
+            Match match = matchesById.get(matchId);
+            if (match == null) {
+                match = matchRepository.mapResultSetToMatch(resultSet);
+                matchesById.put(matchId, match);
+            }
+            matchesByPlayerId.get(resultSet.getInt("PLAYER_ID")).add(match);
+        });
+        return matchesByPlayerId;
+    }
 }
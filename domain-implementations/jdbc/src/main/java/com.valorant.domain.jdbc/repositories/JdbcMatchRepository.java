@@ -1,13 +1,21 @@
 package com.valorant.domain.jdbc.repositories;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Match;
 import com.valorant.repositories.MatchRepository;
 import com.valorant.models.MatchImpl;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
 
 /**
  * Repository class for managing matches in the Valorant game using JDBC.
@@ -17,19 +25,34 @@ import java.util.Set;
 public class JdbcMatchRepository implements MatchRepository {
 
     private static final String SELECT_ALL_MATCHES = "SELECT * FROM `MATCH`";
+    private static final String SELECT_MATCHES_PAGE = "SELECT * FROM `MATCH` WHERE MATCH_ID > ? ORDER BY MATCH_ID LIMIT ?";
     private static final String SELECT_MATCH_BY_ID = "SELECT * FROM `MATCH` WHERE MATCH_ID = ?";
+    private static final String SELECT_MATCHES_BY_IDS = "SELECT * FROM `MATCH` WHERE MATCH_ID IN (%s)";
     private static final String INSERT_MATCH = "INSERT INTO `MATCH` (PLAYED_ON, MAP_ID, OUTCOME) VALUES (?, ?, ?)";
     private static final String DELETE_MATCH = "DELETE FROM `MATCH` WHERE MATCH_ID = ?";
     private static final String UPDATE_MATCH = "UPDATE `MATCH` SET PLAYED_ON = ?, MAP_ID = ?, OUTCOME = ? WHERE MATCH_ID = ?";
-    private final Connection connection;
+    private static final String SELECT_MATCHES_BY_PLAYED_ON = "SELECT * FROM `match` WHERE PLAYED_ON = ?";
+    // Served by the IDX_MATCH_PLAYED_ON index
+    private static final String SELECT_MATCHES_PLAYED_BETWEEN = "SELECT * FROM `MATCH` WHERE PLAYED_ON BETWEEN ? AND ? ORDER BY PLAYED_ON, MATCH_ID";
+    private static final String SELECT_MATCHES_BY_MAP_ID = "SELECT * FROM `match` WHERE MAP_ID = ?";
+    private final DataSource dataSource;
 
     /**
-     * Constructs a new JdbcMatchRepository with the given database connection.
+     * Constructs a new JdbcMatchRepository that borrows a connection from the given data source for every operation.
+     *
+     * @param dataSource the data source, usually a connection pool.
+     */
+    public JdbcMatchRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Constructs a new JdbcMatchRepository that runs every operation on the given database connection.
      *
      * @param connection the database connection.
      */
     public JdbcMatchRepository(Connection connection) {
-        this.connection = connection;
+        this(new SingleConnectionDataSource(connection));
     }
 
     @Override
@@ -37,10 +60,9 @@ public class JdbcMatchRepository implements MatchRepository {
         try {
             if (match.getId() == 0) {
                 // Insert a new match
-                try (PreparedStatement statement = connection.prepareStatement(INSERT_MATCH, Statement.RETURN_GENERATED_KEYS)) {
-                    statement.setObject(1, match.getPlayedOn());
-                    statement.setInt(2, match.getMapId());
-                    statement.setString(3, match.getOutcome());
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement statement = connection.prepareStatement(INSERT_MATCH, Statement.RETURN_GENERATED_KEYS)) {
+                    setInsertParameters(statement, match);
                     statement.executeUpdate();
                     ResultSet generatedKeys = statement.getGeneratedKeys();
                     if (generatedKeys.next()) {
@@ -51,11 +73,9 @@ public class JdbcMatchRepository implements MatchRepository {
                 }
             } else {
                 // Update an existing match
-                try (PreparedStatement statement = connection.prepareStatement(UPDATE_MATCH)) {
-                    statement.setObject(1, match.getPlayedOn());
-                    statement.setInt(2, match.getMapId());
-                    statement.setString(3, match.getOutcome());
-                    statement.setInt(4, match.getId());
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement statement = connection.prepareStatement(UPDATE_MATCH)) {
+                    setUpdateParameters(statement, match);
                     statement.executeUpdate();
                 }
             }
@@ -64,10 +84,44 @@ public class JdbcMatchRepository implements MatchRepository {
         }
     }
 
+    /**
+     * Saves matches to the database in batches of {@value JdbcBatch#DEFAULT_BATCH_SIZE}.
+     *
+     * @param matches the matches to save.
+     * @see #saveAll(Collection, int)
+     */
+    @Override
+    public void saveAll(Collection<Match> matches) {
+        saveAll(matches, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Saves matches to the database using JDBC batching, in a single transaction.
+     * New matches (ID 0) are inserted and get their generated IDs assigned, in order; the others are updated.
+     * If the transaction is rolled back, the new matches get their ID reset to 0.
+     *
+     * @param matches   the matches to save.
+     * @param batchSize the number of rows sent to the database per batch.
+     */
+    public void saveAll(Collection<Match> matches, int batchSize) {
+        JdbcBatch.checkBatchSize(batchSize);
+        Map<Boolean, List<Match>> byIsNew = matches.stream().collect(Collectors.partitioningBy(match -> match.getId() == 0));
+        List<Match> newMatches = byIsNew.get(true);
+        try {
+            JdbcBatch.inTransaction(dataSource, connection -> {
+                JdbcBatch.insertAll(connection, INSERT_MATCH, newMatches, batchSize, this::setInsertParameters, Match::setId);
+                JdbcBatch.updateAll(connection, UPDATE_MATCH, byIsNew.get(false), batchSize, this::setUpdateParameters);
+            }, () -> newMatches.forEach(match -> match.setId(0)));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while saving " + matches.size() + " matches", e);
+        }
+    }
+
 
     @Override
     public void delete(Match match) {
-        try (PreparedStatement statement = connection.prepareStatement(DELETE_MATCH)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_MATCH)) {
             statement.setInt(1, match.getId());
             statement.executeUpdate();
         } catch (SQLException e) {
@@ -77,7 +131,8 @@ public class JdbcMatchRepository implements MatchRepository {
 
     @Override
     public Match get(Integer id) {
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_MATCH_BY_ID)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MATCH_BY_ID)) {
             statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -90,10 +145,20 @@ public class JdbcMatchRepository implements MatchRepository {
         return null;
     }
 
+    @Override
+    public Map<Integer, Match> getAllById(Collection<Integer> ids) {
+        try {
+            return JdbcIdLookup.getAllById(dataSource, SELECT_MATCHES_BY_IDS, "MATCH_ID", ids, this::mapResultSetToMatch);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching matches by IDs", e);
+        }
+    }
+
     @Override
     public Set<Match> getAll() {
         Set<Match> matches = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL_MATCHES)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_MATCHES)) {
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     matches.add(mapResultSetToMatch(resultSet));
@@ -105,11 +170,34 @@ public class JdbcMatchRepository implements MatchRepository {
         return matches;
     }
 
+    @Override
+    public Stream<Match> stream() {
+        return JdbcCursor.stream(dataSource, SELECT_ALL_MATCHES, this::mapResultSetToMatch);
+    }
+
+    @Override
+    public List<Match> getPage(Integer afterId, int limit) {
+        List<Match> matches = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MATCHES_PAGE)) {
+            statement.setInt(1, afterId == null ? Integer.MIN_VALUE : afterId);
+            statement.setInt(2, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    matches.add(mapResultSetToMatch(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching match page after ID: " + afterId, e);
+        }
+        return matches;
+    }
+
     @Override
     public Set<Match> getByPlayedOn(LocalDateTime playedOn) {
-        String SELECT_MATCHES_BY_PLAYED_ON = "SELECT * FROM `match` WHERE PLAYED_ON = ?";
         Set<Match> matches = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_MATCHES_BY_PLAYED_ON)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MATCHES_BY_PLAYED_ON)) {
             statement.setObject(1, playedOn);
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
@@ -122,11 +210,34 @@ public class JdbcMatchRepository implements MatchRepository {
         return matches;
     }
 
+    @Override
+    public List<Match> getByPlayedOnBetween(LocalDateTime from, LocalDateTime to) {
+        List<Match> matches = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MATCHES_PLAYED_BETWEEN)) {
+            setPlayedOnRange(statement, from, to);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    matches.add(mapResultSetToMatch(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching matches played between " + from + " and " + to, e);
+        }
+        return matches;
+    }
+
+    @Override
+    public Stream<Match> streamByPlayedOnBetween(LocalDateTime from, LocalDateTime to) {
+        return JdbcCursor.stream(dataSource, SELECT_MATCHES_PLAYED_BETWEEN,
+                statement -> setPlayedOnRange(statement, from, to), this::mapResultSetToMatch);
+    }
+
     @Override
     public Set<Match> getByMapId(int mapId) {
-        String SELECT_MATCHES_BY_MAP_ID = "SELECT * FROM `match` WHERE MAP_ID = ?";
         Set<Match> matches = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_MATCHES_BY_MAP_ID)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_MATCHES_BY_MAP_ID)) {
             statement.setInt(1, mapId);
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
@@ -139,8 +250,32 @@ public class JdbcMatchRepository implements MatchRepository {
         return matches;
     }
 
-    // Helper method to map ResultSet to Match object
-    private Match mapResultSetToMatch(ResultSet resultSet) throws SQLException {
+    @Override
+    public Stream<Match> streamByMapId(int mapId) {
+        return JdbcCursor.stream(dataSource, SELECT_MATCHES_BY_MAP_ID,
+                statement -> statement.setInt(1, mapId), this::mapResultSetToMatch);
+    }
+
+    // Helper method to set the parameters of SELECT_MATCHES_PLAYED_BETWEEN
+    private static void setPlayedOnRange(PreparedStatement statement, LocalDateTime from, LocalDateTime to) throws SQLException {
+        statement.setObject(1, from);
+        statement.setObject(2, to);
+    }
+
+    // Helper methods to set the parameters of INSERT_MATCH and UPDATE_MATCH
+    private void setInsertParameters(PreparedStatement statement, Match match) throws SQLException {
+        statement.setObject(1, match.getPlayedOn());
+        statement.setInt(2, match.getMapId());
+        statement.setString(3, match.getOutcome());
+    }
+
+    private void setUpdateParameters(PreparedStatement statement, Match match) throws SQLException {
+        setInsertParameters(statement, match);
+        statement.setInt(4, match.getId());
+    }
+
+    // Helper method to map ResultSet to Match object, also used by JdbcMatchPlayerRepository for its joins
+    Match mapResultSetToMatch(ResultSet resultSet) throws SQLException {
         Match match = new MatchImpl();
         match.setId(resultSet.getInt("MATCH_ID"));
         match.setPlayedOn(resultSet.getObject("PLAYED_ON", LocalDateTime.class));
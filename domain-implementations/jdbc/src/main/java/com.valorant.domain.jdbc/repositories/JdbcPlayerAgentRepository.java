@@ -5,7 +5,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import javax.sql.DataSource;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Agent;
 
 /**
@@ -14,20 +16,30 @@ import com.valorant.models.Agent;
  */
 public class JdbcPlayerAgentRepository {
 
-    private final Connection connection;
+    private final DataSource dataSource;
     private final JdbcAgentRepository agentRepository;
 
     /**
-     * Constructs a new JdbcPlayerAgentRepository with the given database connection and agent repository.
+     * Constructs a new JdbcPlayerAgentRepository that borrows a connection from the given data source for every operation.
      *
-     * @param connection     The database connection.
+     * @param dataSource      The data source, usually a connection pool.
      * @param agentRepository The repository for accessing agent data.
      */
-    public JdbcPlayerAgentRepository(Connection connection, JdbcAgentRepository agentRepository) {
-        this.connection = connection;
+    public JdbcPlayerAgentRepository(DataSource dataSource, JdbcAgentRepository agentRepository) {
+        this.dataSource = dataSource;
         this.agentRepository = agentRepository;
     }
 
+    /**
+     * Constructs a new JdbcPlayerAgentRepository that runs every operation on the given database connection.
+     *
+     * @param connection      The database connection.
+     * @param agentRepository The repository for accessing agent data.
+     */
+    public JdbcPlayerAgentRepository(Connection connection, JdbcAgentRepository agentRepository) {
+        this(new SingleConnectionDataSource(connection), agentRepository);
+    }
+
     /**
      * Assigns an agent to a player by inserting a record into the player_agent table.
      * If a record already exists for the player, it updates the agent_id.
@@ -38,7 +50,8 @@ public class JdbcPlayerAgentRepository {
      */
     public void assignAgentToPlayer(int playerId, int agentId) throws SQLException {
         String sql = "INSERT INTO player_agent (player_id, agent_id) VALUES (?, ?) ON DUPLICATE KEY UPDATE agent_id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, playerId);
             statement.setInt(2, agentId);
             statement.setInt(3, agentId);
@@ -55,25 +68,26 @@ public class JdbcPlayerAgentRepository {
      */
     public Agent getAgentByPlayerId(int playerId) throws SQLException {
         String sql = "SELECT agent_id FROM player_agent WHERE player_id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        int agentId;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, playerId);
             try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    int agentId = resultSet.getInt("agent_id");
-                    // Retrieve the agent object by its ID using the agentRepository
-                    Agent agent = agentRepository.get(agentId);
-                    if (agent == null) {
-                        System.out.println("Agent with ID " + agentId + " not found.");
-                    }
-                    return agent;
-                } else {
+                if (!resultSet.next()) {
                     System.out.println("No agent assigned to player with ID " + playerId);
+                    return null; // Return null if no agent found for the player
                 }
+                agentId = resultSet.getInt("agent_id");
             }
         } catch (SQLException ex) {
             System.out.println("Error fetching agent by player ID: " + ex.getMessage());
             throw ex; // Rethrow the exception for higher-level handling
         }
-        return null; // Return null if no agent found for the player
+        // Looked up after the connection is returned, so this method never holds two connections at once
+        Agent agent = agentRepository.get(agentId);
+        if (agent == null) {
+            System.out.println("Agent with ID " + agentId + " not found.");
+        }
+        return agent;
     }
 }
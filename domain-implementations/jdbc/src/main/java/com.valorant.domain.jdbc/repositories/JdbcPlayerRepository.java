@@ -1,5 +1,6 @@
 package com.valorant.domain.jdbc.repositories;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Player;
 import com.valorant.models.PlayerImpl;
 import com.valorant.repositories.PlayerRepository;
@@ -8,8 +9,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
 
 /**
  * JDBC implementation of PlayerRepository interface.
@@ -19,19 +27,33 @@ import java.util.Set;
 public class JdbcPlayerRepository implements PlayerRepository {
 
     private static final String SELECT_ALL_PLAYERS = "SELECT * FROM player";
+    private static final String SELECT_PLAYERS_PAGE = "SELECT * FROM player WHERE PLAYER_ID > ? ORDER BY PLAYER_ID LIMIT ?";
     private static final String SELECT_PLAYER_BY_ID = "SELECT * FROM player WHERE PLAYER_ID = ?";
+    private static final String SELECT_PLAYERS_BY_IDS = "SELECT * FROM player WHERE PLAYER_ID IN (%s)";
     private static final String INSERT_PLAYER = "INSERT INTO player (username, display_name, email, region, `rank`) VALUES (?, ?, ?, ?, ?)";
     private static final String DELETE_PLAYER = "DELETE FROM player WHERE PLAYER_ID = ?";
     private static final String UPDATE_PLAYER = "UPDATE player SET username = ?, display_name = ?, email = ?, region = ?, `rank` = ? WHERE PLAYER_ID = ?";
-    private final Connection connection;
+    private static final String SELECT_PLAYER_BY_USERNAME = "SELECT * FROM player WHERE USERNAME = ?";
+    private static final String SELECT_PLAYERS_BY_REGION = "SELECT * FROM player WHERE REGION = ?";
+    private static final String SELECT_PLAYERS_BY_DISPLAY_NAME = "SELECT * FROM player WHERE DISPLAY_NAME = ?";
+    private final DataSource dataSource;
 
     /**
-     * Constructs a new JdbcPlayerRepository with the given database connection.
+     * Constructs a new JdbcPlayerRepository that borrows a connection from the given data source for every operation.
+     *
+     * @param dataSource The data source, usually a connection pool.
+     */
+    public JdbcPlayerRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Constructs a new JdbcPlayerRepository that runs every operation on the given database connection.
      *
      * @param connection The database connection.
      */
     public JdbcPlayerRepository(Connection connection) {
-        this.connection = connection;
+        this(new SingleConnectionDataSource(connection));
     }
 
     /**
@@ -45,12 +67,9 @@ public class JdbcPlayerRepository implements PlayerRepository {
         try {
             if (player.getId() == 0) {
                 // Insert a new player
-                try (PreparedStatement statement = connection.prepareStatement(INSERT_PLAYER, PreparedStatement.RETURN_GENERATED_KEYS)) {
-                    statement.setString(1, player.getUsername());
-                    statement.setString(2, player.getDisplayName());
-                    statement.setString(3, player.getEmail());
-                    statement.setString(4, player.getRegion());
-                    statement.setString(5, player.getRank());
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement statement = connection.prepareStatement(INSERT_PLAYER, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                    setInsertParameters(statement, player);
                     statement.executeUpdate();
                     ResultSet generatedKeys = statement.getGeneratedKeys();
                     if (generatedKeys.next()) {
@@ -61,13 +80,9 @@ public class JdbcPlayerRepository implements PlayerRepository {
                 }
             } else {
                 // Update an existing player
-                try (PreparedStatement statement = connection.prepareStatement(UPDATE_PLAYER)) {
-                    statement.setString(1, player.getUsername());
-                    statement.setString(2, player.getDisplayName());
-                    statement.setString(3, player.getEmail());
-                    statement.setString(4, player.getRegion());
-                    statement.setString(5, player.getRank());
-                    statement.setInt(6, player.getId());
+                try (Connection connection = dataSource.getConnection();
+                     PreparedStatement statement = connection.prepareStatement(UPDATE_PLAYER)) {
+                    setUpdateParameters(statement, player);
                     statement.executeUpdate();
                 }
             }
@@ -76,6 +91,41 @@ public class JdbcPlayerRepository implements PlayerRepository {
         }
     }
 
+    /**
+     * Saves players to the database in batches of {@value JdbcBatch#DEFAULT_BATCH_SIZE}.
+     *
+     * @param players The players to save.
+     * @throws RuntimeException If an error occurs while saving the players.
+     * @see #saveAll(Collection, int)
+     */
+    @Override
+    public void saveAll(Collection<Player> players) {
+        saveAll(players, JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Saves players to the database using JDBC batching, in a single transaction.
+     * New players (ID 0) are inserted and get their generated IDs assigned, in order; the others are updated.
+     * If the transaction is rolled back, the new players get their ID reset to 0.
+     *
+     * @param players   The players to save.
+     * @param batchSize The number of rows sent to the database per batch.
+     * @throws RuntimeException If an error occurs while saving the players.
+     */
+    public void saveAll(Collection<Player> players, int batchSize) {
+        JdbcBatch.checkBatchSize(batchSize);
+        Map<Boolean, List<Player>> byIsNew = players.stream().collect(Collectors.partitioningBy(player -> player.getId() == 0));
+        List<Player> newPlayers = byIsNew.get(true);
+        try {
+            JdbcBatch.inTransaction(dataSource, connection -> {
+                JdbcBatch.insertAll(connection, INSERT_PLAYER, newPlayers, batchSize, this::setInsertParameters, Player::setId);
+                JdbcBatch.updateAll(connection, UPDATE_PLAYER, byIsNew.get(false), batchSize, this::setUpdateParameters);
+            }, () -> newPlayers.forEach(player -> player.setId(0)));
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while saving " + players.size() + " players", e);
+        }
+    }
+
 
     /**
      * Deletes a player from the database.
@@ -85,7 +135,8 @@ public class JdbcPlayerRepository implements PlayerRepository {
      */
     @Override
     public void delete(Player player) {
-        try (PreparedStatement statement = connection.prepareStatement(DELETE_PLAYER)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_PLAYER)) {
             statement.setInt(1, player.getId());
             statement.executeUpdate();
         } catch (SQLException e) {
@@ -102,7 +153,8 @@ public class JdbcPlayerRepository implements PlayerRepository {
      */
     @Override
     public Player get(Integer id) {
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_PLAYER_BY_ID)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_PLAYER_BY_ID)) {
             statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -115,6 +167,21 @@ public class JdbcPlayerRepository implements PlayerRepository {
         return null;
     }
 
+    /**
+     * Retrieves the players with the given IDs, with one query per {@value JdbcIdLookup#MAX_IDS_PER_QUERY} IDs.
+     *
+     * @param ids the IDs of the players.
+     * @return the players found, keyed by ID; IDs without a player are left out.
+     */
+    @Override
+    public Map<Integer, Player> getAllById(Collection<Integer> ids) {
+        try {
+            return JdbcIdLookup.getAllById(dataSource, SELECT_PLAYERS_BY_IDS, "PLAYER_ID", ids, this::mapResultSetToPlayer);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching players by IDs", e);
+        }
+    }
+
     /**
      * Retrieves a player by their username from the database.
      *
@@ -124,8 +191,8 @@ public class JdbcPlayerRepository implements PlayerRepository {
      */
     @Override
     public Player getByUsername(String username) {
-        String SELECT_PLAYER_BY_USERNAME = "SELECT * FROM player WHERE USERNAME = ?";
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_PLAYER_BY_USERNAME)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_PLAYER_BY_USERNAME)) {
             statement.setString(1, username);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -147,9 +214,9 @@ public class JdbcPlayerRepository implements PlayerRepository {
      */
     @Override
     public Set<Player> getByRegion(String region) {
-        String SELECT_PLAYERS_BY_REGION = "SELECT * FROM player WHERE REGION = ?";
         Set<Player> players = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_PLAYERS_BY_REGION)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_PLAYERS_BY_REGION)) {
             statement.setString(1, region);
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
@@ -162,6 +229,18 @@ public class JdbcPlayerRepository implements PlayerRepository {
         return players;
     }
 
+    /**
+     * Streams the players of a region from the database through a forward-only cursor.
+     *
+     * @param region The region of the players to stream.
+     * @return a stream of players that must be closed to release the cursor.
+     */
+    @Override
+    public Stream<Player> streamByRegion(String region) {
+        return JdbcCursor.stream(dataSource, SELECT_PLAYERS_BY_REGION,
+                statement -> statement.setString(1, region), this::mapResultSetToPlayer);
+    }
+
 /**
  * Retrieves a set of players by their display name from the database.
  *
@@ -171,9 +250,9 @@ public class JdbcPlayerRepository implements PlayerRepository {
  */
 @Override
 public Set<Player> getByDisplayName(String displayName) {
-    String SELECT_PLAYERS_BY_DISPLAY_NAME = "SELECT * FROM player WHERE DISPLAY_NAME = ?";
     Set<Player> players = new HashSet<>();
-    try (PreparedStatement statement = connection.prepareStatement(SELECT_PLAYERS_BY_DISPLAY_NAME)) {
+    try (Connection connection = dataSource.getConnection();
+         PreparedStatement statement = connection.prepareStatement(SELECT_PLAYERS_BY_DISPLAY_NAME)) {
         statement.setString(1, displayName);
         try (ResultSet resultSet = statement.executeQuery()) {
             while (resultSet.next()) {
@@ -195,7 +274,8 @@ public Set<Player> getByDisplayName(String displayName) {
     @Override
     public Set<Player> getAll() {
         Set<Player> players = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL_PLAYERS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_PLAYERS)) {
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     players.add(mapResultSetToPlayer(resultSet));
@@ -207,6 +287,55 @@ public Set<Player> getByDisplayName(String displayName) {
         return players;
     }
 
+    /**
+     * Streams all players from the database through a forward-only cursor.
+     *
+     * @return a stream of players that must be closed to release the cursor.
+     */
+    @Override
+    public Stream<Player> stream() {
+        return JdbcCursor.stream(dataSource, SELECT_ALL_PLAYERS, this::mapResultSetToPlayer);
+    }
+
+    /**
+     * Retrieves a page of players ordered by ID, using the primary key as a keyset cursor.
+     *
+     * @param afterId the ID of the last player of the previous page, or null to start from the first one.
+     * @param limit   the maximum number of players to return.
+     * @return the players whose ID is greater than afterId, in ascending ID order.
+     */
+    @Override
+    public List<Player> getPage(Integer afterId, int limit) {
+        List<Player> players = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_PLAYERS_PAGE)) {
+            statement.setInt(1, afterId == null ? Integer.MIN_VALUE : afterId);
+            statement.setInt(2, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    players.add(mapResultSetToPlayer(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching player page after ID: " + afterId, e);
+        }
+        return players;
+    }
+
+    // Helper methods to set the parameters of INSERT_PLAYER and UPDATE_PLAYER
+    private void setInsertParameters(PreparedStatement statement, Player player) throws SQLException {
+        statement.setString(1, player.getUsername());
+        statement.setString(2, player.getDisplayName());
+        statement.setString(3, player.getEmail());
+        statement.setString(4, player.getRegion());
+        statement.setString(5, player.getRank());
+    }
+
+    private void setUpdateParameters(PreparedStatement statement, Player player) throws SQLException {
+        setInsertParameters(statement, player);
+        statement.setInt(6, player.getId());
+    }
+
     // Helper method to map ResultSet to Player object
     private Player mapResultSetToPlayer(ResultSet resultSet) throws SQLException {
         Player player = new PlayerImpl();
@@ -4,7 +4,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import javax.sql.DataSource;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Weapon;
 
 /**
@@ -12,20 +14,30 @@ import com.valorant.models.Weapon;
  */
 public class JdbcPlayerWeaponRepository {
 
-    private final Connection connection;
+    private final DataSource dataSource;
     private final JdbcWeaponRepository weaponRepository;
 
     /**
-     * Initializes a JdbcPlayerWeaponRepository with a database connection and a Weapon repository.
+     * Constructs a new JdbcPlayerWeaponRepository that borrows a connection from the given data source for every operation.
      *
-     * @param connection      The database connection.
+     * @param dataSource       The data source, usually a connection pool.
      * @param weaponRepository The repository for Weapon objects.
      */
-    public JdbcPlayerWeaponRepository(Connection connection, JdbcWeaponRepository weaponRepository) {
-        this.connection = connection;
+    public JdbcPlayerWeaponRepository(DataSource dataSource, JdbcWeaponRepository weaponRepository) {
+        this.dataSource = dataSource;
         this.weaponRepository = weaponRepository;
     }
 
+    /**
+     * Constructs a new JdbcPlayerWeaponRepository that runs every operation on the given database connection.
+     *
+     * @param connection       The database connection.
+     * @param weaponRepository The repository for Weapon objects.
+     */
+    public JdbcPlayerWeaponRepository(Connection connection, JdbcWeaponRepository weaponRepository) {
+        this(new SingleConnectionDataSource(connection), weaponRepository);
+    }
+
     /**
      * Assigns a weapon to a player.
      *
@@ -35,7 +47,8 @@ public class JdbcPlayerWeaponRepository {
      */
     public void assignWeaponToPlayer(int playerId, int weaponId) throws SQLException {
         String sql = "INSERT INTO player_weapon (player_id, weapon_id) VALUES (?, ?) ON DUPLICATE KEY UPDATE weapon_id = VALUES(weapon_id)";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, playerId);
             statement.setInt(2, weaponId);
             statement.executeUpdate();
@@ -55,25 +68,26 @@ public class JdbcPlayerWeaponRepository {
      */
     public Weapon getWeaponByPlayerId(int playerId) throws SQLException {
         String sql = "SELECT weapon_id FROM player_weapon WHERE player_id = ?";
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+        int weaponId;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setInt(1, playerId);
             try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    int weaponId = resultSet.getInt("weapon_id");
-                    // Assuming there's a method to retrieve a Weapon object by its ID
-                    Weapon weapon = weaponRepository.get(weaponId);
-                    if (weapon == null) {
-                        System.out.println("Weapon with ID " + weaponId + " not found.");
-                    }
-                    return weapon;
-                } else {
+                if (!resultSet.next()) {
                     System.out.println("No weapon assigned to player with ID " + playerId);
+                    return null; // Return null if no weapon found for the player
                 }
+                weaponId = resultSet.getInt("weapon_id");
             }
         } catch (SQLException ex) {
             System.out.println("Error fetching weapon by player ID: " + ex.getMessage());
             throw ex; // Rethrow the exception for higher-level handling
         }
-        return null; // Return null if no weapon found for the player
+        // Looked up after the connection is returned, so this method never holds two connections at once
+        Weapon weapon = weaponRepository.get(weaponId);
+        if (weapon == null) {
+            System.out.println("Weapon with ID " + weaponId + " not found.");
+        }
+        return weapon;
     }
 }
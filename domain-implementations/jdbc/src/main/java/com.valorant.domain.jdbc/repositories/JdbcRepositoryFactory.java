@@ -1,21 +1,24 @@
 package com.valorant.domain.jdbc.repositories;
 
+import com.valorant.domain.jdbc.pool.ConnectionPool;
+import com.valorant.domain.jdbc.pool.ConnectionPoolConfig;
 import com.valorant.exceptions.RepositoryException;
 import com.valorant.repositories.*;
 
 import java.io.IOException;
-import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
 
 /**
  * Factory class for JDBC repositories.
+ * The repositories it hands out share a {@link ConnectionPool} configured from {@code datasource.properties}
+ * and borrow a connection from it for every operation.
  * Implements {@link RepositoryFactory}.
  */
-public class JdbcRepositoryFactory implements RepositoryFactory {
+public class JdbcRepositoryFactory implements RepositoryFactory, AutoCloseable {
 
-    private final Connection connection;
+    private final ConnectionPool connectionPool;
 
     /**
      * Initializes a new JdbcRepositoryFactory instance.
@@ -25,13 +28,21 @@ public class JdbcRepositoryFactory implements RepositoryFactory {
             var properties = new Properties();
             properties.load(this.getClass().getResourceAsStream("/datasource.properties"));
 
-            connection = DriverManager.getConnection(String.format("%s:%s://%s/%s",
-                            properties.getProperty("protocol"),
-                            properties.getProperty("subprotocol"),
-                            properties.getProperty("url"),
-                            properties.getProperty("database")),
-                    properties.getProperty("user"),
-                    properties.getProperty("password"));
+            // Optional driver settings, e.g. asking MySQL for server-side prepared statements the pool can cache
+            var parameters = properties.getProperty("parameters", "");
+            var url = String.format("%s:%s://%s/%s%s",
+                    properties.getProperty("protocol"),
+                    properties.getProperty("subprotocol"),
+                    properties.getProperty("url"),
+                    properties.getProperty("database"),
+                    parameters.isEmpty() ? "" : "?" + parameters);
+            var user = properties.getProperty("user");
+            var password = properties.getProperty("password");
+
+            connectionPool = new ConnectionPool(ConnectionPoolConfig.fromProperties(properties),
+                    () -> DriverManager.getConnection(url, user, password));
+            // Fail fast on a wrong configuration, like a direct connection would, and leave one connection idle
+            connectionPool.getConnection().close();
         } catch (SQLException e) {
             throw new RepositoryException(e);
         } catch (IOException e) {
@@ -39,6 +50,23 @@ public class JdbcRepositoryFactory implements RepositoryFactory {
         }
     }
 
+    /**
+     * Retrieves the connection pool shared by the repositories, e.g. to read its metrics.
+     *
+     * @return The connection pool.
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Closes the connection pool.
+     */
+    @Override
+    public void close() {
+        connectionPool.close();
+    }
+
     /**
      * Retrieves the Agent repository.
      *
@@ -46,7 +74,7 @@ public class JdbcRepositoryFactory implements RepositoryFactory {
      */
     @Override
     public AgentRepository getAgentRepository() {
-        return new JdbcAgentRepository(connection);
+        return new JdbcAgentRepository(connectionPool);
     }
 
     /**
@@ -56,7 +84,7 @@ public class JdbcRepositoryFactory implements RepositoryFactory {
      */
     @Override
     public MapRepository getMapRepository() {
-        return new JdbcMapRepository(connection);
+        return new JdbcMapRepository(connectionPool);
     }
 
     /**
@@ -66,7 +94,7 @@ public class JdbcRepositoryFactory implements RepositoryFactory {
      */
     @Override
     public MatchRepository getMatchRepository() {
-        return new JdbcMatchRepository(connection);
+        return new JdbcMatchRepository(connectionPool);
     }
 
     /**
@@ -76,7 +104,7 @@ public class JdbcRepositoryFactory implements RepositoryFactory {
      */
     @Override
     public PlayerRepository getPlayerRepository() {
-        return new JdbcPlayerRepository(connection);
+        return new JdbcPlayerRepository(connectionPool);
     }
 
     /**
@@ -86,6 +114,6 @@ public class JdbcRepositoryFactory implements RepositoryFactory {
      */
     @Override
     public WeaponRepository getWeaponRepository() {
-        return new JdbcWeaponRepository(connection);
+        return new JdbcWeaponRepository(connectionPool);
     }
 }
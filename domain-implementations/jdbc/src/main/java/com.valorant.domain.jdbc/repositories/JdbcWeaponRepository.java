@@ -1,12 +1,19 @@
 package com.valorant.domain.jdbc.repositories;
 
+import com.valorant.domain.jdbc.pool.SingleConnectionDataSource;
 import com.valorant.models.Weapon;
 import com.valorant.models.WeaponImpl;
 import com.valorant.repositories.WeaponRepository;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
 
 /**
  * JDBC implementation of the WeaponRepository interface.
@@ -15,18 +22,30 @@ import java.util.Set;
 public class JdbcWeaponRepository implements WeaponRepository {
 
     private static final String SELECT_ALL_WEAPONS = "SELECT WEAPON_ID, NAME, TYPE FROM weapon";
+    private static final String SELECT_WEAPONS_PAGE = "SELECT WEAPON_ID, NAME, TYPE FROM weapon WHERE WEAPON_ID > ? ORDER BY WEAPON_ID LIMIT ?";
     private static final String SELECT_WEAPON_BY_ID = "SELECT * FROM weapon WHERE WEAPON_ID = ?";
+    private static final String SELECT_WEAPONS_BY_IDS = "SELECT * FROM weapon WHERE WEAPON_ID IN (%s)";
     private static final String DELETE_WEAPON = "DELETE FROM weapon WHERE WEAPON_ID = ?";
     private static final String UPDATE_WEAPON = "UPDATE weapon SET NAME = ?, TYPE = ? WHERE WEAPON_ID = ?";
-    private final Connection connection;
+    private static final String SELECT_WEAPON_BY_NAME = "SELECT * FROM weapon WHERE name = ?";
+    private final DataSource dataSource;
 
     /**
-     * Constructs a new JdbcWeaponRepository with the given database connection.
+     * Constructs a new JdbcWeaponRepository that borrows a connection from the given data source for every operation.
+     *
+     * @param dataSource The data source, usually a connection pool.
+     */
+    public JdbcWeaponRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Constructs a new JdbcWeaponRepository that runs every operation on the given database connection.
      *
      * @param connection The database connection.
      */
     public JdbcWeaponRepository(Connection connection) {
-        this.connection = connection;
+        this(new SingleConnectionDataSource(connection));
     }
 
     /**
@@ -36,7 +55,8 @@ public class JdbcWeaponRepository implements WeaponRepository {
      */
     public void save(Weapon weapon) {
         String sql = "INSERT INTO weapon (name, type) VALUES (?, ?)";
-        try (PreparedStatement statement = connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
             statement.setString(1, weapon.getName());
             statement.setString(2, weapon.getType());
             int affectedRows = statement.executeUpdate();
@@ -62,7 +82,8 @@ public class JdbcWeaponRepository implements WeaponRepository {
      * @param weapon The weapon to update.
      */
     public void update(Weapon weapon) {
-        try (PreparedStatement statement = connection.prepareStatement(UPDATE_WEAPON)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_WEAPON)) {
             statement.setString(1, weapon.getName());
             statement.setString(2, weapon.getType());
             statement.setInt(3, weapon.getId());
@@ -79,7 +100,8 @@ public class JdbcWeaponRepository implements WeaponRepository {
      */
     @Override
     public void delete(Weapon weapon) {
-        try (PreparedStatement statement = connection.prepareStatement(DELETE_WEAPON)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_WEAPON)) {
             statement.setInt(1, weapon.getId());
             statement.executeUpdate();
         } catch (SQLException e) {
@@ -95,7 +117,8 @@ public class JdbcWeaponRepository implements WeaponRepository {
      */
     @Override
     public Weapon get(Integer id) {
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_WEAPON_BY_ID)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_WEAPON_BY_ID)) {
             statement.setInt(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -108,6 +131,21 @@ public class JdbcWeaponRepository implements WeaponRepository {
         return null;
     }
 
+    /**
+     * Retrieves the weapons with the given IDs, with one query per {@value JdbcIdLookup#MAX_IDS_PER_QUERY} IDs.
+     *
+     * @param ids the IDs of the weapons.
+     * @return the weapons found, keyed by ID; IDs without a weapon are left out.
+     */
+    @Override
+    public Map<Integer, Weapon> getAllById(Collection<Integer> ids) {
+        try {
+            return JdbcIdLookup.getAllById(dataSource, SELECT_WEAPONS_BY_IDS, "WEAPON_ID", ids, this::mapResultSetToWeapon);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching weapons by IDs", e);
+        }
+    }
+
     /**
      * Retrieves a weapon from the database by its name.
      *
@@ -116,8 +154,8 @@ public class JdbcWeaponRepository implements WeaponRepository {
      */
     @Override
     public Weapon getByName(String name) {
-        String SELECT_WEAPON_BY_NAME = "SELECT * FROM weapon WHERE name = ?";
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_WEAPON_BY_NAME)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_WEAPON_BY_NAME)) {
             statement.setString(1, name);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
@@ -138,7 +176,8 @@ public class JdbcWeaponRepository implements WeaponRepository {
     @Override
     public Set<Weapon> getAll() {
         Set<Weapon> weapons = new HashSet<>();
-        try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL_WEAPONS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_WEAPONS)) {
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     weapons.add(mapResultSetToWeapon(resultSet));
@@ -150,6 +189,41 @@ public class JdbcWeaponRepository implements WeaponRepository {
         return weapons;
     }
 
+    /**
+     * Streams all weapons from the database through a forward-only cursor.
+     *
+     * @return a stream of weapons that must be closed to release the cursor.
+     */
+    @Override
+    public Stream<Weapon> stream() {
+        return JdbcCursor.stream(dataSource, SELECT_ALL_WEAPONS, this::mapResultSetToWeapon);
+    }
+
+    /**
+     * Retrieves a page of weapons ordered by ID, using the primary key as a keyset cursor.
+     *
+     * @param afterId the ID of the last weapon of the previous page, or null to start from the first one.
+     * @param limit   the maximum number of weapons to return.
+     * @return the weapons whose ID is greater than afterId, in ascending ID order.
+     */
+    @Override
+    public List<Weapon> getPage(Integer afterId, int limit) {
+        List<Weapon> weapons = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_WEAPONS_PAGE)) {
+            statement.setInt(1, afterId == null ? Integer.MIN_VALUE : afterId);
+            statement.setInt(2, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    weapons.add(mapResultSetToWeapon(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error while fetching weapon page after ID: " + afterId, e);
+        }
+        return weapons;
+    }
+
     // Helper method to map ResultSet to Weapon object
     private Weapon mapResultSetToWeapon(ResultSet resultSet) throws SQLException {
         int id = resultSet.getInt("WEAPON_ID");
@@ -0,0 +1,343 @@
+package com.valorant.domain.jdbc.pool;
+
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ConnectionPool. Physical connections are in-memory fakes,
+ * so the pool behaviour is tested without a database.
+ */
+class ConnectionPoolTest {
+
+    private final List<FakeConnection> created = new ArrayList<>();
+    private ConnectionPool pool;
+
+    /**
+     * Closes the pool after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        if (pool != null) pool.close();
+    }
+
+    private ConnectionPool createPool(int maxSize, Duration idleTimeout, Duration leakDetectionThreshold) {
+        return createPool(maxSize, idleTimeout, leakDetectionThreshold, ConnectionPoolConfig.DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    private ConnectionPool createPool(int maxSize, Duration idleTimeout, Duration leakDetectionThreshold,
+                                      int statementCacheSize) {
+        var config = new ConnectionPoolConfig(maxSize, Duration.ofMillis(200), Duration.ofSeconds(1),
+                idleTimeout, leakDetectionThreshold, statementCacheSize);
+        pool = new ConnectionPool(config, () -> {
+            var connection = new FakeConnection();
+            created.add(connection);
+            return connection.proxy;
+        });
+        return pool;
+    }
+
+    /**
+     * Tests for borrowing and returning connections.
+     */
+    @Nested
+    @DisplayName("Borrow Tests")
+    class BorrowTests {
+
+        @Test
+        @DisplayName("Given a returned connection, when borrowed again, then the same physical connection should be reused")
+        void reuseReturnedConnectionTest() throws SQLException {
+            // Arrange
+            createPool(2, Duration.ofMinutes(10), Duration.ZERO);
+            pool.getConnection().close();
+
+            // Act
+            pool.getConnection().close();
+
+            // Assert
+            assertEquals(1, created.size(), "Only one physical connection should be opened");
+            assertEquals(1, pool.getMetrics().getIdleConnections(), "The connection should be back in the pool");
+            assertEquals(0, pool.getMetrics().getActiveConnections(), "No connection should be borrowed");
+            assertEquals(2, pool.getMetrics().getBorrowCount(), "Both borrows should be counted");
+        }
+
+        @Test
+        @DisplayName("Given a full pool, when a connection is borrowed, then it should time out")
+        void borrowTimeoutTest() throws SQLException {
+            // Arrange
+            createPool(2, Duration.ofMinutes(10), Duration.ZERO);
+            pool.getConnection();
+            pool.getConnection();
+
+            // Act & Assert
+            assertThrows(SQLTransientConnectionException.class, pool::getConnection, "The third borrow should time out");
+            assertEquals(2, created.size(), "The pool should not open more connections than its maximum size");
+            assertEquals(2, pool.getMetrics().getActiveConnections(), "Both connections should be borrowed");
+            assertEquals(1, pool.getMetrics().getTimeoutCount(), "The timeout should be counted");
+        }
+
+        @Test
+        @DisplayName("Given a full pool, when a connection is returned, then a waiting borrower should get it")
+        void waitingBorrowerTest() throws Exception {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO);
+            var borrowed = pool.getConnection();
+            var returner = new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                    borrowed.close();
+                } catch (InterruptedException | SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            // Act
+            returner.start();
+            var connection = pool.getConnection();
+            returner.join();
+
+            // Assert
+            assertNotNull(connection, "The waiting borrower should get the returned connection");
+            assertTrue(pool.getMetrics().getMaxWaitTime().toMillis() >= 40, "The wait time should be recorded");
+        }
+
+        @Test
+        @DisplayName("Given a returned connection, when used again through the old handle, then an exception should be thrown")
+        void useAfterCloseTest() throws SQLException {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO);
+            var connection = pool.getConnection();
+
+            // Act
+            connection.close();
+
+            // Assert
+            assertTrue(connection.isClosed(), "The handle should report itself as closed");
+            assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT 1"));
+            assertFalse(created.get(0).closed, "The physical connection should stay open");
+        }
+
+        @Test
+        @DisplayName("Given a connection returned inside a transaction, when returned, then the transaction should be rolled back")
+        void resetOnReturnTest() throws SQLException {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO);
+            var connection = pool.getConnection();
+            connection.setAutoCommit(false);
+
+            // Act
+            connection.close();
+
+            // Assert
+            assertTrue(created.get(0).rolledBack, "The open transaction should be rolled back");
+            assertTrue(created.get(0).autoCommit, "Auto-commit should be restored");
+        }
+    }
+
+    /**
+     * Tests for validation, eviction and leak detection.
+     */
+    @Nested
+    @DisplayName("Maintenance Tests")
+    class MaintenanceTests {
+
+        @Test
+        @DisplayName("Given a broken idle connection, when borrowed, then it should be replaced by a new one")
+        void validationOnBorrowTest() throws Exception {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO);
+            pool.getConnection().close();
+            created.get(0).valid = false;
+            Thread.sleep(600); // Past the window in which returned connections skip validation
+
+            // Act
+            pool.getConnection();
+
+            // Assert
+            assertEquals(2, created.size(), "A new connection should be opened");
+            assertTrue(created.get(0).closed, "The broken connection should be closed");
+        }
+
+        @Test
+        @DisplayName("Given an idle connection, when idle for longer than the idle timeout, then it should be evicted")
+        void idleEvictionTest() throws Exception {
+            // Arrange
+            createPool(1, Duration.ofMillis(200), Duration.ZERO);
+            pool.getConnection().close();
+
+            // Act
+            Thread.sleep(600);
+
+            // Assert
+            assertEquals(0, pool.getMetrics().getIdleConnections(), "The idle connection should be evicted");
+            assertTrue(created.get(0).closed, "The evicted connection should be closed");
+        }
+
+        @Test
+        @DisplayName("Given a connection never returned, when held past the threshold, then a leak should be reported once")
+        void leakDetectionTest() throws Exception {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ofMillis(200));
+            pool.getConnection();
+
+            // Act
+            Thread.sleep(700);
+
+            // Assert
+            assertEquals(1, pool.getMetrics().getLeakCount(), "The leak should be reported exactly once");
+        }
+    }
+
+    /**
+     * Tests for the per-connection prepared statement cache.
+     */
+    @Nested
+    @DisplayName("Statement Cache Tests")
+    class StatementCacheTests {
+
+        @Test
+        @DisplayName("Given a closed statement, when the same SQL is prepared on a later borrow, then the statement should be reused")
+        void reuseStatementAcrossBorrowsTest() throws SQLException {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO);
+            try (var connection = pool.getConnection();
+                 var statement = connection.prepareStatement("SELECT * FROM player WHERE PLAYER_ID = ?")) {
+                statement.setInt(1, 1);
+            }
+
+            // Act
+            try (var connection = pool.getConnection();
+                 var statement = connection.prepareStatement("SELECT * FROM player WHERE PLAYER_ID = ?")) {
+                statement.setInt(1, 2);
+            }
+
+            // Assert
+            var physical = created.get(0);
+            assertEquals(1, physical.statements.size(), "The statement should be prepared only once");
+            assertFalse(physical.statements.get(0).closed, "The cached statement should stay open");
+            assertEquals(2, physical.statements.get(0).clearedParameters, "Parameters should be cleared on every close");
+            assertEquals(1, pool.getMetrics().getStatementCacheHits(), "The second prepare should be a hit");
+            assertEquals(1, pool.getMetrics().getStatementCacheMisses(), "The first prepare should be a miss");
+        }
+
+        @Test
+        @DisplayName("Given a statement in use, when the same SQL is prepared again, then a second statement should be prepared")
+        void statementInUseTest() throws SQLException {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO);
+            var connection = pool.getConnection();
+            var first = connection.prepareStatement("SELECT 1");
+
+            // Act
+            var second = connection.prepareStatement("SELECT 1");
+            first.close();
+            second.close();
+
+            // Assert
+            var physical = created.get(0);
+            assertNotSame(first, second, "Each prepare should get its own statement");
+            assertEquals(2, physical.statements.size(), "Two statements should be prepared");
+            assertEquals(1, physical.statements.stream().filter(statement -> statement.closed).count(),
+                    "Only one of the statements should be kept in the cache");
+            assertThrows(SQLException.class, first::executeQuery, "A closed statement should not be usable");
+        }
+
+        @Test
+        @DisplayName("Given a full cache, when another statement is closed, then the least recently used one should be closed")
+        void evictLeastRecentlyUsedTest() throws SQLException {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO, 2);
+            try (var connection = pool.getConnection()) {
+                connection.prepareStatement("SELECT 1").close();
+                connection.prepareStatement("SELECT 2").close();
+                connection.prepareStatement("SELECT 1").close();
+
+                // Act
+                connection.prepareStatement("SELECT 3").close();
+            }
+
+            // Assert
+            var statements = created.get(0).statements;
+            assertEquals(3, statements.size(), "Each distinct SQL should be prepared once");
+            assertFalse(statements.get(0).closed, "The recently used statement should stay cached");
+            assertTrue(statements.get(1).closed, "The least recently used statement should be closed");
+            assertFalse(statements.get(2).closed, "The newest statement should stay cached");
+        }
+
+        @Test
+        @DisplayName("Given a disabled cache, when a statement is closed, then it should be closed on the connection")
+        void disabledCacheTest() throws SQLException {
+            // Arrange
+            createPool(1, Duration.ofMinutes(10), Duration.ZERO, 0);
+
+            // Act
+            try (var connection = pool.getConnection()) {
+                connection.prepareStatement("SELECT 1").close();
+                connection.prepareStatement("SELECT 1").close();
+            }
+
+            // Assert
+            var statements = created.get(0).statements;
+            assertEquals(2, statements.size(), "Every prepare should reach the connection");
+            assertTrue(statements.stream().allMatch(statement -> statement.closed), "Every statement should be closed");
+            assertEquals(0, pool.getMetrics().getStatementCacheMisses(), "No lookup should be counted");
+        }
+    }
+
+    /**
+     * In-memory stand-in for a physical connection that records what the pool did to it.
+     */
+    private static final class FakeConnection {
+        private final List<FakeStatement> statements = new ArrayList<>();
+        private volatile boolean closed;
+        private volatile boolean valid = true;
+        private volatile boolean autoCommit = true;
+        private volatile boolean rolledBack;
+        private final Connection proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close": closed = true; return null;
+                        case "isClosed": return closed;
+                        case "isValid": return valid && !closed;
+                        case "getAutoCommit": return autoCommit;
+                        case "setAutoCommit": autoCommit = (Boolean) args[0]; return null;
+                        case "rollback": rolledBack = true; return null;
+                        case "prepareStatement":
+                            var statement = new FakeStatement();
+                            statements.add(statement);
+                            return statement.proxy;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        default: return null;
+                    }
+                });
+    }
+
+    /**
+     * In-memory stand-in for a prepared statement that records whether it was closed.
+     */
+    private static final class FakeStatement {
+        private volatile boolean closed;
+        private volatile int clearedParameters;
+        private final PreparedStatement proxy = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close": closed = true; return null;
+                        case "isClosed": return closed;
+                        case "clearParameters": clearedParameters++; return null;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        default: return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,103 @@
+package com.valorant.domain.jdbc.pool;
+
+import com.valorant.domain.jdbc.repositories.JdbcPlayerRepository;
+import com.valorant.models.PlayerImpl;
+import org.junit.jupiter.api.*;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the hot player lookups, {@code get(id)} and {@code getByUsername}, reuse cached prepared statements
+ * against an in-memory H2 database. Their latency with and without the cache is measured by
+ * {@code StatementCacheBenchmark} in the benchmarks project.
+ */
+class StatementCacheTest {
+
+    private static final String URL = "jdbc:h2:mem:statement_cache_test;MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int PLAYERS = 100;
+    private static final int LOOKUPS = 1_000;
+
+    /**
+     * Creates the player table and fills it with test players.
+     *
+     * @throws SQLException if there is an error creating the table
+     */
+    @BeforeAll
+    static void setUp() throws SQLException {
+        try (var connection = DriverManager.getConnection(URL);
+             var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE PLAYER (PLAYER_ID INT PRIMARY KEY AUTO_INCREMENT, "
+                    + "USERNAME VARCHAR(50) NOT NULL, DISPLAY_NAME VARCHAR(50) NOT NULL, EMAIL VARCHAR(100) NOT NULL, "
+                    + "REGION VARCHAR(50), `RANK` VARCHAR(20))");
+        }
+        try (var pool = createPool(0)) {
+            var repository = new JdbcPlayerRepository(pool);
+            for (int i = 0; i < PLAYERS; i++) {
+                var player = new PlayerImpl();
+                player.setUsername("player" + i);
+                player.setDisplayName("Player " + i);
+                player.setEmail("player" + i + "@example.com");
+                player.setRegion("EU");
+                player.setRank("Gold 1");
+                repository.save(player);
+            }
+        }
+    }
+
+    /**
+     * Drops the in-memory database after all tests.
+     *
+     * @throws SQLException if there is an error dropping the database
+     */
+    @AfterAll
+    static void tearDown() throws SQLException {
+        try (var connection = DriverManager.getConnection(URL);
+             var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    private static ConnectionPool createPool(int statementCacheSize) {
+        var config = new ConnectionPoolConfig(1, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                Duration.ofMinutes(10), Duration.ZERO, statementCacheSize);
+        return new ConnectionPool(config, () -> DriverManager.getConnection(URL));
+    }
+
+    // Alternates the two hot lookups over every player
+    private static void lookUp(JdbcPlayerRepository repository, int lookups) {
+        for (int i = 0; i < lookups; i++) {
+            int player = i % PLAYERS;
+            if (i % 2 == 0) {
+                assertNotNull(repository.get(player + 1));
+            } else {
+                assertNotNull(repository.getByUsername("player" + player));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Given the hot player lookups, when run with and without the statement cache, then the cached run should prepare each query once")
+    void statementCacheHitsTest() {
+        // Arrange
+        try (var uncachedPool = createPool(0);
+             var cachedPool = createPool(ConnectionPoolConfig.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            var uncached = new JdbcPlayerRepository(uncachedPool);
+            var cached = new JdbcPlayerRepository(cachedPool);
+
+            // Act
+            lookUp(uncached, LOOKUPS);
+            lookUp(cached, LOOKUPS);
+
+            // Assert
+            var metrics = cachedPool.getMetrics();
+            assertEquals(2, metrics.getStatementCacheMisses(), "Each of the two queries should be prepared once");
+            assertEquals(LOOKUPS - 2, metrics.getStatementCacheHits(),
+                    "Every other lookup should reuse a cached statement");
+            assertEquals(0, uncachedPool.getMetrics().getStatementCacheHits(), "The disabled cache should not be used");
+        }
+    }
+}
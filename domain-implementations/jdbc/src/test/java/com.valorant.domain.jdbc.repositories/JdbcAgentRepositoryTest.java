@@ -7,6 +7,9 @@ import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -279,5 +282,32 @@ class JdbcAgentRepositoryTest {
             // Assert
             assertFalse(agents.isEmpty(), "The set of agents should not be empty");
         }
+
+        /**
+         * Tests if agents are correctly retrieved by many IDs at once, including more IDs than fit in one query.
+         */
+        @Test
+        @DisplayName("Given existing and missing agent IDs, when retrieved together, then only the existing agents should be returned by ID")
+        void getAgentsByIdsTest() {
+            // Arrange
+            Agent agent = new AgentImpl();
+            agent.setName("Fade");
+            agent.setDescription("Turkish bounty hunter Fade unleashes the power of raw nightmares to seize enemy secrets.");
+            agent.setRole("Initiator");
+            agentRepository.save(agent);
+            List<Integer> ids = new ArrayList<>();
+            for (int id = -JdbcIdLookup.MAX_IDS_PER_QUERY; id < 0; id++) {
+                ids.add(id); // IDs that do not exist, filling the first query
+            }
+            ids.add(agent.getId());
+            ids.add(agent.getId());
+
+            // Act
+            Map<Integer, Agent> agents = agentRepository.getAllById(ids);
+
+            // Assert
+            assertEquals(Set.of(agent.getId()), agents.keySet(), "Only the existing agent should be returned");
+            assertEquals("Fade", agents.get(agent.getId()).getName());
+        }
     }
 }
@@ -10,7 +10,9 @@ import org.junit.jupiter.api.*;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -266,6 +268,40 @@ class JdbcMatchRepositoryTest {
             assertFalse(matches.isEmpty(), "The set of matches should not be empty");
         }
 
+        /**
+         * Tests if the matches played in a time range are retrieved in the order they were played.
+         */
+        @Test
+        @DisplayName("Given matches played at different times, when retrieved by playedOn range, then only the matches in the range should be returned in order")
+        void getMatchesByPlayedOnBetweenTest() {
+            // Arrange
+            LocalDateTime start = LocalDateTime.of(1999, 1, 1, 0, 0);
+            Match late = createMatch(start.plusHours(20));
+            Match outside = createMatch(start.plusDays(2));
+            Match early = createMatch(start.plusHours(2));
+
+            // Act
+            List<Match> matches = matchRepository.getByPlayedOnBetween(start, start.plusHours(20));
+            List<Integer> streamedIds;
+            try (Stream<Match> stream = matchRepository.streamByPlayedOnBetween(start, start.plusHours(20))) {
+                streamedIds = stream.map(Match::getId).toList();
+            }
+
+            // Assert
+            assertEquals(List.of(early.getId(), late.getId()), matches.stream().map(Match::getId).toList());
+            assertEquals(List.of(early.getId(), late.getId()), streamedIds);
+            assertFalse(streamedIds.contains(outside.getId()), "Matches outside the range should not be returned");
+        }
+
+        private Match createMatch(LocalDateTime playedOn) {
+            Match match = new MatchImpl();
+            match.setPlayedOn(playedOn);
+            match.setMapId(1); // Assuming map with ID 1 exists
+            match.setOutcome("Victory");
+            matchRepository.save(match);
+            return match;
+        }
+
         /**
          * Tests if matches are correctly retrieved by map ID.
          */
@@ -289,5 +325,25 @@ class JdbcMatchRepositoryTest {
             assertNotNull(matches, "The set of matches should not be null");
             assertFalse(matches.isEmpty(), "The set of matches should not be empty");
         }
+
+        /**
+         * Tests if streaming matches by map ID returns the same matches as retrieving them.
+         */
+        @Test
+        @DisplayName("Given a map ID, when its matches are streamed, then the stream should hold the same matches as getByMapId")
+        void streamMatchesByMapIdTest() {
+            // Arrange
+            Match match = createMatch(LocalDateTime.now());
+
+            // Act
+            List<Integer> streamedIds;
+            try (Stream<Match> stream = matchRepository.streamByMapId(1)) {
+                streamedIds = stream.map(Match::getId).sorted().toList();
+            }
+
+            // Assert
+            assertTrue(streamedIds.contains(match.getId()), "The new match should be streamed");
+            assertEquals(matchRepository.getByMapId(1).stream().map(Match::getId).sorted().toList(), streamedIds);
+        }
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.*;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -166,6 +168,47 @@ class JdbcPlayerRepositoryTest {
             // Assert
             assertTrue(player.getId() > 0, "Player ID should be greater than 0");
         }
+
+        /**
+         * Test saving new and existing players in batches.
+         */
+        @Test
+        @DisplayName("Given new and existing players, when saved in batches, then new players should get IDs in order and existing ones should be updated")
+        void saveAllPlayersTest() {
+            // Arrange
+            Player existingPlayer = new PlayerImpl();
+            existingPlayer.setUsername("batchExisting");
+            existingPlayer.setDisplayName("BatchExisting");
+            existingPlayer.setEmail("batch.existing@gmail.com");
+            existingPlayer.setRegion("EUW");
+            existingPlayer.setRank("Iron 1");
+            playerRepository.save(existingPlayer);
+            existingPlayer.setRank("Radiant");
+
+            List<Player> players = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                Player player = new PlayerImpl();
+                player.setUsername("batchPlayer" + i);
+                player.setDisplayName("BatchPlayer#" + i);
+                player.setEmail("batch.player" + i + "@gmail.com");
+                player.setRegion("NA");
+                player.setRank("Gold 2");
+                players.add(player);
+            }
+            players.add(existingPlayer);
+
+            // Act
+            playerRepository.saveAll(players, 2);
+
+            // Assert
+            for (int i = 0; i < 5; i++) {
+                Player player = players.get(i);
+                assertTrue(player.getId() > existingPlayer.getId(), "New players should get new IDs");
+                assertEquals("batchPlayer" + (i + 1), playerRepository.get(player.getId()).getUsername(),
+                        "Each generated ID should belong to its player");
+            }
+            assertEquals("Radiant", playerRepository.get(existingPlayer.getId()).getRank(), "The existing player should be updated");
+        }
     }
 
     /**
@@ -306,6 +349,34 @@ class JdbcPlayerRepositoryTest {
             assertFalse(players.isEmpty(), "The set of players should not be empty");
         }
 
+        /**
+         * Test retrieving players page by page with a keyset cursor.
+         */
+        @Test
+        @DisplayName("Given pages of players, when retrieved after the last ID of each page, then the pages should be ordered and not overlap")
+        void getPlayerPagesTest() {
+            // Arrange
+            for (int i = 1; i <= 3; i++) {
+                Player player = new PlayerImpl();
+                player.setUsername("pagedPlayer" + i);
+                player.setDisplayName("PagedPlayer#" + i);
+                player.setEmail("paged.player" + i + "@gmail.com");
+                player.setRegion("EUW");
+                player.setRank("Silver 1");
+                playerRepository.save(player);
+            }
+
+            // Act
+            List<Player> firstPage = playerRepository.getPage(null, 2);
+            List<Player> secondPage = playerRepository.getPage(firstPage.get(firstPage.size() - 1).getId(), 2);
+
+            // Assert
+            assertEquals(2, firstPage.size(), "The first page should be full");
+            assertFalse(secondPage.isEmpty(), "The second page should not be empty");
+            assertTrue(firstPage.get(0).getId() < firstPage.get(1).getId(), "Players should be ordered by ID");
+            assertTrue(firstPage.get(1).getId() < secondPage.get(0).getId(), "Pages should not overlap");
+        }
+
         /**
          * Test retrieving a player by username.
          */
@@ -444,6 +515,45 @@ class JdbcPlayerRepositoryTest {
                 fail("SQLException occurred: " + e.getMessage());
             }
         }
+
+        /**
+         * Test retrieving the matches of several players at once.
+         */
+        @Test
+        @DisplayName("Given players sharing a match, when their matches are retrieved together, then each player should get their own matches")
+        void getMatchesByPlayerIdsTest() throws SQLException {
+            // Arrange
+            List<Player> players = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                Player player = new PlayerImpl();
+                player.setUsername("teammate" + i);
+                player.setDisplayName("Teammate#" + i);
+                player.setEmail("teammate" + i + "@gmail.com");
+                player.setRegion("EUW");
+                player.setRank("Diamond 1");
+                playerRepository.save(player);
+                players.add(player);
+            }
+            Match sharedMatch = new MatchImpl();
+            sharedMatch.setPlayedOn(LocalDateTime.now());
+            sharedMatch.setMapId(1); // Assuming map with ID 1 exists
+            sharedMatch.setOutcome("Victory");
+            matchRepository.save(sharedMatch);
+            matchPlayerRepository.addPlayerToMatch(players.get(0).getId(), sharedMatch.getId());
+            matchPlayerRepository.addPlayerToMatch(players.get(1).getId(), sharedMatch.getId());
+
+            // Act
+            java.util.Map<Integer, Set<Match>> matchesByPlayerId = matchPlayerRepository.getMatchesByPlayerIds(
+                    players.stream().map(Player::getId).toList());
+
+            // Assert
+            assertEquals(3, matchesByPlayerId.size(), "Every requested player should have an entry");
+            Match first = matchesByPlayerId.get(players.get(0).getId()).iterator().next();
+            Match second = matchesByPlayerId.get(players.get(1).getId()).iterator().next();
+            assertEquals(sharedMatch.getId(), first.getId(), "The shared match should be returned for the first player");
+            assertSame(first, second, "The shared match should be mapped once");
+            assertTrue(matchesByPlayerId.get(players.get(2).getId()).isEmpty(), "A player without matches should get an empty set");
+        }
     }
 
     /**
@@ -30,6 +30,9 @@ CREATE TABLE `MATCH` (
     FOREIGN KEY (MAP_ID) REFERENCES MAP(MAP_ID) -- Relationship with the map table
 );
 
+-- Index for time-range queries on matches (PLAYED_ON BETWEEN ...)
+CREATE INDEX IDX_MATCH_PLAYED_ON ON `MATCH` (PLAYED_ON);
+
 -- Table to store agent information
 CREATE TABLE AGENT (
     AGENT_ID INT PRIMARY KEY AUTO_INCREMENT, -- Unique identifier for the agent
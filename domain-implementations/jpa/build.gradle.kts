@@ -8,6 +8,7 @@ plugins {
 
 dependencies{
     implementation(project(":domain"))
+    implementation(project(":domain-implementations:jdbc"))
     implementation("com.mysql:mysql-connector-j:8.3.0")
     implementation("com.h2database:h2:1.4.200")
     testImplementation ("org.junit.jupiter:junit-jupiter-api:5.10.0")
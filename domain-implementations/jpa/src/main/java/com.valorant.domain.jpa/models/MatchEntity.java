@@ -6,7 +6,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "`MATCH`")
+@Table(name = "`MATCH`", indexes = @Index(name = "IDX_MATCH_PLAYED_ON", columnList = "PLAYED_ON"))
 public class MatchEntity implements com.valorant.models.Match {
 
     @Id
@@ -6,7 +6,14 @@ import java.util.Set;
 
 @Entity
 @Table(name = "PLAYER")
+// A player with its matches and their maps, all that its model holds, loaded in one statement instead of one per match
+@NamedEntityGraph(
+        name = PlayerEntity.DETAILS_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "matches", subgraph = "matches"),
+        subgraphs = @NamedSubgraph(name = "matches", attributeNodes = @NamedAttributeNode("map"))
+)
 public class PlayerEntity {
+    public static final String DETAILS_GRAPH = "Player.details";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -36,11 +43,12 @@ public class PlayerEntity {
     )
     private Set<MatchEntity> matches = new HashSet<>();
 
-    @ManyToOne
+    // Lazy, as the model holds neither, so that no load joins or selects them
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "AGENT_ID")
     private AgentEntity agent;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "WEAPON_ID")
     private WeaponEntity weapon;
 
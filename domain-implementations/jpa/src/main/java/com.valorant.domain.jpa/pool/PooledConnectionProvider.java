@@ -0,0 +1,87 @@
+package com.valorant.domain.jpa.pool;
+
+import com.valorant.domain.jdbc.pool.ConnectionPool;
+import com.valorant.domain.jdbc.pool.ConnectionPoolConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Hibernate {@link ConnectionProvider} that borrows its connections from a {@link ConnectionPool}, the pool of the
+ * JDBC repositories, rather than from Hibernate's built-in provider, which is not meant for production.
+ * <p>
+ * A persistence unit selects it with {@code hibernate.connection.provider_class}. The pool opens connections to the
+ * {@code jakarta.persistence.jdbc.url} of the unit, as its {@code user} and {@code password}, and reads its own
+ * settings from the {@code pool.*} properties of the unit, see {@link ConnectionPoolConfig#fromProperties}.
+ * Closing the entity manager factory closes the pool.
+ */
+public class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+    private ConnectionPool connectionPool;
+
+    @Override
+    public void configure(Map<String, Object> settings) {
+        var properties = new Properties();
+        settings.forEach((key, value) -> {
+            if (value instanceof String text) properties.setProperty(key, text);
+        });
+        var url = setting(properties, AvailableSettings.JAKARTA_JDBC_URL, AvailableSettings.URL);
+        var user = setting(properties, AvailableSettings.JAKARTA_JDBC_USER, AvailableSettings.USER);
+        var password = setting(properties, AvailableSettings.JAKARTA_JDBC_PASSWORD, AvailableSettings.PASS);
+        connectionPool = new ConnectionPool(ConnectionPoolConfig.fromProperties(properties),
+                () -> DriverManager.getConnection(url, user, password));
+    }
+
+    /**
+     * @return the pool the connections are borrowed from, e.g. to read its metrics.
+     */
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connectionPool.getConnection();
+    }
+
+    // Closing a pooled connection returns it to the pool
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public void stop() {
+        connectionPool.close();
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isAssignableFrom(getClass()) || unwrapType.isAssignableFrom(ConnectionPool.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isAssignableFrom(getClass())) return (T) this;
+        if (unwrapType.isAssignableFrom(ConnectionPool.class)) return (T) connectionPool;
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+
+    // The value of the JPA property, or of its older Hibernate name
+    private static String setting(Properties properties, String name, String hibernateName) {
+        return properties.getProperty(name, properties.getProperty(hibernateName));
+    }
+}
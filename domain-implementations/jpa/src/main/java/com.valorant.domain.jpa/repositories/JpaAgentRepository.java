@@ -4,79 +4,113 @@ import com.valorant.domain.jpa.models.AgentEntity;
 import com.valorant.domain.jpa.models.JpaModelFactory;
 import com.valorant.models.Agent;
 import com.valorant.repositories.AgentRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
-import jakarta.persistence.NoResultException;
+import jakarta.persistence.EntityManagerFactory;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JpaAgentRepository implements AgentRepository {
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public JpaAgentRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    public JpaAgentRepository(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
     public void save(Agent model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            AgentEntity entity = JpaModelFactory.toEntity(model);
-            if (model.getId() <= 0) {
-                entityManager.persist(entity);
-                model.setId(entity.getId());
-            } else if (!entityManager.contains(entity)) {
-                entityManager.merge(entity);
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                AgentEntity entity = JpaModelFactory.toEntity(model);
+                if (model.getId() <= 0) {
+                    entityManager.persist(entity);
+                    model.setId(entity.getId());
+                } else {
+                    entityManager.merge(entity);
+                }
+            });
         } catch (Exception e) {
-            transaction.rollback();
         }
     }
 
     @Override
     public void delete(Agent model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            AgentEntity entity = JpaModelFactory.toEntity(model);
-            entityManager.remove(entityManager.contains(entity) ? entity : entityManager.merge(entity));
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager ->
+                    entityManager.remove(entityManager.merge(JpaModelFactory.toEntity(model))));
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
         }
     }
 
     @Override
     public Agent get(Integer id) {
-        AgentEntity entity = entityManager.find(AgentEntity.class, id);
-        return entity != null ? JpaModelFactory.toModel(entity) : null;
+        return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+            AgentEntity entity = entityManager.find(AgentEntity.class, id);
+            return entity != null ? JpaModelFactory.toModel(entity) : null;
+        });
+    }
+
+    @Override
+    public Map<Integer, Agent> getAllById(Collection<Integer> ids) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    JpaIdLookup.getAllById(entityManager, AgentEntity.class, ids, AgentEntity::getId, JpaModelFactory::toModel));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving agents by IDs", e);
+        }
     }
 
     @Override
     public Set<Agent> getAll() {
         try {
-            return entityManager.createQuery("SELECT a FROM AgentEntity a", AgentEntity.class)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT a FROM AgentEntity a", AgentEntity.class)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving all agents", e);
         }
     }
 
+    @Override
+    public Stream<Agent> stream() {
+        try {
+            return JpaCursor.stream(entityManagerFactory,
+                    entityManager -> entityManager.createQuery("SELECT a FROM AgentEntity a", AgentEntity.class),
+                    JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming all agents", e);
+        }
+    }
+
+    @Override
+    public List<Agent> getPage(Integer afterId, int limit) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT a FROM AgentEntity a WHERE a.id > :afterId ORDER BY a.id", AgentEntity.class)
+                            .setParameter("afterId", afterId == null ? Integer.MIN_VALUE : afterId)
+                            .setMaxResults(limit)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toList()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving agents page", e);
+        }
+    }
+
     @Override
     public Agent getByName(String name) {
         try {
-            List<AgentEntity> entities = entityManager.createQuery("SELECT a FROM AgentEntity a WHERE a.name = :name", AgentEntity.class)
-                    .setParameter("name", name)
-                    .getResultList();
+            List<AgentEntity> entities = JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT a FROM AgentEntity a WHERE a.name = :name", AgentEntity.class)
+                            .setParameter("name", name)
+                            .getResultList());
             if (entities.isEmpty()) {
                 return null;
             }
@@ -0,0 +1,56 @@
+package com.valorant.domain.jpa.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Exposes the results of a query as a lazily evaluated {@link Stream}, through {@link TypedQuery#getResultStream()}.
+ * <p>
+ * The stream has an entity manager of its own, which stays open until the stream is closed. Hibernate reads the rows
+ * through a scrollable result set, {@value #DEFAULT_FETCH_SIZE} at a time, and the query is read-only, so no snapshot
+ * of the entities is kept for dirty checking. Each entity is converted to a model and the persistence context is then
+ * cleared, so it does not grow with the number of rows. Closing the stream closes the result set and the entity
+ * manager.
+ */
+final class JpaCursor {
+    static final int DEFAULT_FETCH_SIZE = 500;
+
+    private JpaCursor() {
+    }
+
+    /**
+     * Executes the query and returns its results, converted to models, as a stream.
+     *
+     * @param entityManagerFactory the factory to open the entity manager of the stream from.
+     * @param queryOf              creates the query to execute with the entity manager of the stream.
+     * @param toModel              converts each entity; it runs before the persistence context is cleared, so it may
+     *                             load associations.
+     * @param <E>                  the type of the entities.
+     * @param <M>                  the type of the models.
+     * @return a stream of models that must be closed by the caller.
+     */
+    static <E, M> Stream<M> stream(EntityManagerFactory entityManagerFactory, Function<EntityManager, TypedQuery<E>> queryOf,
+                                   Function<E, M> toModel) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return queryOf.apply(entityManager)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, DEFAULT_FETCH_SIZE)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()
+                    .map(entity -> {
+                        M model = toModel.apply(entity);
+                        entityManager.clear();
+                        return model;
+                    })
+                    .onClose(entityManager::close);
+        } catch (RuntimeException e) {
+            entityManager.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.valorant.domain.jpa.repositories;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Looks many entities up by ID with {@code WHERE e.id IN :ids} queries, instead of one {@code find} per ID.
+ * <p>
+ * The IDs are sent in chunks of up to {@value #MAX_IDS_PER_QUERY} per query. Hibernate pads the IN list to a power
+ * of two ({@code hibernate.query.in_clause_parameter_padding}), so the few distinct statements can be reused.
+ */
+final class JpaIdLookup {
+
+    /**
+     * IDs bound per query, well below the placeholder limits of common databases.
+     */
+    static final int MAX_IDS_PER_QUERY = 512;
+
+    private JpaIdLookup() {
+    }
+
+    /**
+     * Reads the entities with the given IDs and converts them to models.
+     *
+     * @param entityManager the entity manager to query.
+     * @param entityClass   the class of the entities, whose simple name is their entity name.
+     * @param ids           the IDs to look up; duplicates are looked up once.
+     * @param idOf          the ID of an entity.
+     * @param toModel       converts each entity.
+     * @param <E>           the type of the entities.
+     * @param <M>           the type of the models.
+     * @return the models keyed by ID; IDs without an entity are left out.
+     */
+    static <E, M> Map<Integer, M> getAllById(EntityManager entityManager, Class<E> entityClass, Collection<Integer> ids,
+                                             ToIntFunction<E> idOf, Function<E, M> toModel) {
+        return getAllById(entityManager, entityClass, ids, idOf, toModel, Map.of());
+    }
+
+    /**
+     * Reads the entities with the given IDs, with the given query hints, and converts them to models.
+     *
+     * @param hints the hints of the queries, such as a fetch graph loading the associations toModel reads.
+     * @see #getAllById(EntityManager, Class, Collection, ToIntFunction, Function)
+     */
+    static <E, M> Map<Integer, M> getAllById(EntityManager entityManager, Class<E> entityClass, Collection<Integer> ids,
+                                             ToIntFunction<E> idOf, Function<E, M> toModel, Map<String, Object> hints) {
+        List<Integer> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        Map<Integer, M> modelsById = new HashMap<>();
+        var query = entityManager.createQuery(
+                "SELECT e FROM " + entityClass.getSimpleName() + " e WHERE e.id IN :ids", entityClass);
+        hints.forEach(query::setHint);
+        for (int start = 0; start < distinctIds.size(); start += MAX_IDS_PER_QUERY) {
+            var chunk = distinctIds.subList(start, Math.min(start + MAX_IDS_PER_QUERY, distinctIds.size()));
+            for (E entity : query.setParameter("ids", chunk).getResultList()) {
+                modelsById.put(idOf.applyAsInt(entity), toModel.apply(entity));
+            }
+        }
+        return modelsById;
+    }
+}
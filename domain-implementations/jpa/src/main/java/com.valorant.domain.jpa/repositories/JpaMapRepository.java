@@ -4,86 +4,124 @@ import com.valorant.domain.jpa.models.JpaModelFactory;
 import com.valorant.domain.jpa.models.MapEntity;
 import com.valorant.models.Map;
 import com.valorant.repositories.MapRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JpaMapRepository implements MapRepository {
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public JpaMapRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    public JpaMapRepository(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
     public void save(Map model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            MapEntity entity = JpaModelFactory.toEntity(model);
-            if (model.getId() <= 0) {
-                entityManager.persist(entity);
-                model.setId(entity.getId());
-            } else {
-                entity = entityManager.merge(entity);
-                model.setId(entity.getId());
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                MapEntity entity = JpaModelFactory.toEntity(model);
+                if (model.getId() <= 0) {
+                    entityManager.persist(entity);
+                    model.setId(entity.getId());
+                } else {
+                    entity = entityManager.merge(entity);
+                    model.setId(entity.getId());
+                }
+            });
         } catch (Exception e) {
-            transaction.rollback();
             throw new RuntimeException("Error saving map", e);
         }
     }
 
     @Override
     public void delete(Map model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            MapEntity entity = entityManager.find(MapEntity.class, model.getId());
-            if (entity != null) {
-                entityManager.remove(entity);
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                MapEntity entity = entityManager.find(MapEntity.class, model.getId());
+                if (entity != null) {
+                    entityManager.remove(entity);
+                }
+            });
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Error deleting map", e);
         }
     }
 
     @Override
     public Map get(Integer id) {
-        MapEntity entity = entityManager.find(MapEntity.class, id);
-        return entity != null ? JpaModelFactory.toModel(entity) : null;
+        return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+            MapEntity entity = entityManager.find(MapEntity.class, id);
+            return entity != null ? JpaModelFactory.toModel(entity) : null;
+        });
+    }
+
+    @Override
+    public java.util.Map<Integer, Map> getAllById(Collection<Integer> ids) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    JpaIdLookup.getAllById(entityManager, MapEntity.class, ids, MapEntity::getId, JpaModelFactory::toModel));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving maps by IDs", e);
+        }
     }
 
     @Override
     public Set<Map> getAll() {
         try {
-            return entityManager.createQuery("SELECT m FROM MapEntity m", MapEntity.class)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT m FROM MapEntity m", MapEntity.class)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving all maps", e);
         }
     }
 
+    @Override
+    public Stream<Map> stream() {
+        try {
+            return JpaCursor.stream(entityManagerFactory,
+                    entityManager -> entityManager.createQuery("SELECT m FROM MapEntity m", MapEntity.class),
+                    JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming all maps", e);
+        }
+    }
+
+    @Override
+    public List<Map> getPage(Integer afterId, int limit) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT m FROM MapEntity m WHERE m.id > :afterId ORDER BY m.id", MapEntity.class)
+                            .setParameter("afterId", afterId == null ? Integer.MIN_VALUE : afterId)
+                            .setMaxResults(limit)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toList()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving maps page", e);
+        }
+    }
+
     @Override
     public Map getByName(String name) {
         try {
-            TypedQuery<MapEntity> query = entityManager.createQuery("SELECT m FROM MapEntity m WHERE m.name = :name", MapEntity.class);
-            query.setParameter("name", name);
-            query.setMaxResults(1);
-            MapEntity entity = query.getSingleResult();
-            return JpaModelFactory.toModel(entity);
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+                TypedQuery<MapEntity> query = entityManager.createQuery("SELECT m FROM MapEntity m WHERE m.name = :name", MapEntity.class);
+                query.setParameter("name", name);
+                query.setMaxResults(1);
+                MapEntity entity = query.getSingleResult();
+                return JpaModelFactory.toModel(entity);
+            });
         } catch (NoResultException e) {
             return null;
         } catch (Exception e) {
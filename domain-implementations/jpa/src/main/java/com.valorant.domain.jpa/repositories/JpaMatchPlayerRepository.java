@@ -2,43 +2,44 @@ package com.valorant.domain.jpa.repositories;
 
 import com.valorant.domain.jpa.models.MatchEntity;
 import com.valorant.domain.jpa.models.PlayerEntity;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.EntityManagerFactory;
 
 import java.util.Set;
 
 public class JpaMatchPlayerRepository {
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
     private final JpaMatchRepository matchRepository;
 
-    public JpaMatchPlayerRepository(EntityManager entityManager, JpaMatchRepository matchRepository) {
-        this.entityManager = entityManager;
+    public JpaMatchPlayerRepository(EntityManagerFactory entityManagerFactory, JpaMatchRepository matchRepository) {
+        this.entityManagerFactory = entityManagerFactory;
         this.matchRepository = matchRepository;
     }
 
     public void addPlayerToMatch(int playerId, int matchId) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            MatchEntity match = entityManager.find(MatchEntity.class, matchId);
-            PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
-            if (match != null && player != null) {
-                match.getPlayers().add(player);
-                player.getMatches().add(match); // Ensure bi-directional consistency
-                entityManager.merge(match);
-                entityManager.merge(player); // Merge player as well to ensure changes are reflected
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                MatchEntity match = entityManager.find(MatchEntity.class, matchId);
+                PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
+                if (match != null && player != null) {
+                    match.getPlayers().add(player);
+                    player.getMatches().add(match); // Ensure bi-directional consistency
+                    entityManager.merge(match);
+                    entityManager.merge(player); // Merge player as well to ensure changes are reflected
+                }
+            });
         } catch (Exception e) {
-            transaction.rollback();
             throw new RuntimeException("Error adding player to match", e);
         }
     }
 
+    // Loads the matches with the player, so they can be read once the entity manager is closed
     public Set<MatchEntity> getMatchesByPlayerId(int playerId) {
         try {
-            PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
-            return player != null ? player.getMatches() : null;
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+                PlayerEntity player = entityManager.find(PlayerEntity.class, playerId,
+                        JpaPlayerRepository.detailsHints(entityManager));
+                return player != null ? player.getMatches() : null;
+            });
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving matches by player ID", e);
         }
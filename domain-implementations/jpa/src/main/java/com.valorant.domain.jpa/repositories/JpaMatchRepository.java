@@ -4,102 +4,178 @@ import com.valorant.domain.jpa.models.JpaModelFactory;
 import com.valorant.domain.jpa.models.MatchEntity;
 import com.valorant.models.Match;
 import com.valorant.repositories.MatchRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.EntityManagerFactory;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JpaMatchRepository implements MatchRepository {
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public JpaMatchRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    public JpaMatchRepository(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
     public void save(Match model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            MatchEntity entity = JpaModelFactory.toEntity(model);
-            if (model.getId() <= 0) {
-                entityManager.persist(entity);
-                model.setId(entity.getId());
-            } else {
-                entity = entityManager.merge(entity);
-                model.setId(entity.getId());
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                MatchEntity entity = JpaModelFactory.toEntity(model);
+                if (model.getId() <= 0) {
+                    entityManager.persist(entity);
+                    model.setId(entity.getId());
+                } else {
+                    entity = entityManager.merge(entity);
+                    model.setId(entity.getId());
+                }
+            });
         } catch (Exception e) {
-            transaction.rollback();
             throw new RuntimeException("Error saving match", e);
         }
     }
 
     @Override
     public void delete(Match model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            MatchEntity entity = entityManager.find(MatchEntity.class, model.getId());
-            if (entity != null) {
-                entityManager.remove(entity);
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                MatchEntity entity = entityManager.find(MatchEntity.class, model.getId());
+                if (entity != null) {
+                    entityManager.remove(entity);
+                }
+            });
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Error deleting match", e);
         }
     }
 
     @Override
     public Match get(Integer id) {
-        MatchEntity entity = entityManager.find(MatchEntity.class, id);
-        return entity != null ? JpaModelFactory.toModel(entity) : null;
+        return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+            MatchEntity entity = entityManager.find(MatchEntity.class, id);
+            return entity != null ? JpaModelFactory.toModel(entity) : null;
+        });
+    }
+
+    @Override
+    public Map<Integer, Match> getAllById(Collection<Integer> ids) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    JpaIdLookup.getAllById(entityManager, MatchEntity.class, ids, MatchEntity::getId, JpaModelFactory::toModel));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving matches by IDs", e);
+        }
     }
 
     @Override
     public Set<Match> getAll() {
         try {
-            return entityManager.createQuery("SELECT m FROM MatchEntity m", MatchEntity.class)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT m FROM MatchEntity m", MatchEntity.class)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving all matches", e);
         }
     }
 
+    @Override
+    public Stream<Match> stream() {
+        try {
+            return JpaCursor.stream(entityManagerFactory,
+                    entityManager -> entityManager.createQuery("SELECT m FROM MatchEntity m", MatchEntity.class),
+                    JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming all matches", e);
+        }
+    }
+
+    @Override
+    public List<Match> getPage(Integer afterId, int limit) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.id > :afterId ORDER BY m.id", MatchEntity.class)
+                            .setParameter("afterId", afterId == null ? Integer.MIN_VALUE : afterId)
+                            .setMaxResults(limit)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toList()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving matches page", e);
+        }
+    }
+
     @Override
     public Set<Match> getByPlayedOn(LocalDateTime playedOn) {
         try {
-            return entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.playedOn = :playedOn", MatchEntity.class)
-                    .setParameter("playedOn", playedOn)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.playedOn = :playedOn", MatchEntity.class)
+                            .setParameter("playedOn", playedOn)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving matches by playedOn", e);
         }
     }
 
+    @Override
+    public List<Match> getByPlayedOnBetween(LocalDateTime from, LocalDateTime to) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.playedOn BETWEEN :from AND :to ORDER BY m.playedOn, m.id", MatchEntity.class)
+                            .setParameter("from", from)
+                            .setParameter("to", to)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toList()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving matches by playedOn range", e);
+        }
+    }
+
+    @Override
+    public Stream<Match> streamByPlayedOnBetween(LocalDateTime from, LocalDateTime to) {
+        try {
+            return JpaCursor.stream(entityManagerFactory, entityManager -> entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.playedOn BETWEEN :from AND :to ORDER BY m.playedOn, m.id", MatchEntity.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to), JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming matches by playedOn range", e);
+        }
+    }
+
     @Override
     public Set<Match> getByMapId(int mapId) {
         try {
-            return entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.map.id = :mapId", MatchEntity.class)
-                    .setParameter("mapId", mapId)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.map.id = :mapId", MatchEntity.class)
+                            .setParameter("mapId", mapId)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving matches by mapId", e);
         }
     }
+
+    @Override
+    public Stream<Match> streamByMapId(int mapId) {
+        try {
+            return JpaCursor.stream(entityManagerFactory, entityManager -> entityManager.createQuery("SELECT m FROM MatchEntity m WHERE m.map.id = :mapId", MatchEntity.class)
+                    .setParameter("mapId", mapId), JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming matches by mapId", e);
+        }
+    }
 }
@@ -5,39 +5,43 @@ import com.valorant.domain.jpa.models.JpaModelFactory;
 import com.valorant.domain.jpa.models.PlayerEntity;
 import com.valorant.models.Agent;
 import com.valorant.models.Player;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.EntityManagerFactory;
 
 public class JpaPlayerAgentRepository {
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
     private final JpaAgentRepository agentRepository;
 
-    public JpaPlayerAgentRepository(EntityManager entityManager, JpaAgentRepository agentRepository) {
-        this.entityManager = entityManager;
+    public JpaPlayerAgentRepository(EntityManagerFactory entityManagerFactory, JpaAgentRepository agentRepository) {
+        this.entityManagerFactory = entityManagerFactory;
         this.agentRepository = agentRepository;
     }
 
     public void assignAgentToPlayer(int playerId, int agentId) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
-            AgentEntity agent = entityManager.find(AgentEntity.class, agentId);
-            if (player != null && agent != null) {
-                player.setAgent(agent);
-                entityManager.merge(player);
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
+                AgentEntity agent = entityManager.find(AgentEntity.class, agentId);
+                if (player != null && agent != null) {
+                    player.setAgent(agent);
+                    entityManager.merge(player);
+                }
+            });
         } catch (Exception e) {
-            transaction.rollback();
             throw new RuntimeException("Error assigning agent to player", e);
         }
     }
 
     public Agent getAgentByPlayerId(int playerId) {
         try {
-            PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
-            return player != null ? JpaModelFactory.toModel(player.getAgent()) : null;
+            // Selects the agent itself, since the lazy association of the player could not be read once the entity
+            // manager is closed
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT p.agent FROM PlayerEntity p WHERE p.id = :playerId", AgentEntity.class)
+                            .setParameter("playerId", playerId)
+                            .getResultStream()
+                            .findFirst()
+                            .map(JpaModelFactory::toModel)
+                            .orElse(null));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving agent by player ID", e);
         }
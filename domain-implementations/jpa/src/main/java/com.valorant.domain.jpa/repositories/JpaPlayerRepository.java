@@ -3,89 +3,163 @@ package com.valorant.domain.jpa.repositories;
 import com.valorant.domain.jpa.models.JpaModelFactory;
 import com.valorant.domain.jpa.models.PlayerEntity;
 import com.valorant.models.Player;
+import com.valorant.models.PlayerImpl;
 import com.valorant.repositories.PlayerRepository;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.TypedQuery;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JpaPlayerRepository implements PlayerRepository {
-    private final EntityManager entityManager;
+    // Loads the attributes of the graph given as its value along with the entity, and no other association
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
 
-    public JpaPlayerRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public JpaPlayerRepository(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
     public void save(Player model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            PlayerEntity entity = JpaModelFactory.toEntity(model);
-            if (model.getId() <= 0) {
-                entityManager.persist(entity);
-                model.setId(entity.getId());
-            } else {
-                entity = entityManager.merge(entity);
-                model.setId(entity.getId());
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                PlayerEntity entity = JpaModelFactory.toEntity(model);
+                if (model.getId() <= 0) {
+                    entityManager.persist(entity);
+                    model.setId(entity.getId());
+                } else {
+                    entity = entityManager.merge(entity);
+                    model.setId(entity.getId());
+                }
+            });
         } catch (Exception e) {
-            transaction.rollback();
             throw new RuntimeException("Error saving player", e);
         }
     }
 
     @Override
     public void delete(Player model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            PlayerEntity entity = entityManager.find(PlayerEntity.class, model.getId());
-            if (entity != null) {
-                entityManager.remove(entity);
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                PlayerEntity entity = entityManager.find(PlayerEntity.class, model.getId());
+                if (entity != null) {
+                    entityManager.remove(entity);
+                }
+            });
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Error deleting player", e);
         }
     }
 
     @Override
     public Player get(Integer id) {
-        PlayerEntity entity = entityManager.find(PlayerEntity.class, id);
-        if (entity != null) {
-            entity.getMatches().size(); // Initialize matches collection if it's lazy
+        return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+            PlayerEntity entity = entityManager.find(PlayerEntity.class, id, detailsHints(entityManager));
+            return entity != null ? JpaModelFactory.toModel(entity) : null;
+        });
+    }
+
+    @Override
+    public Map<Integer, Player> getAllById(Collection<Integer> ids) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    JpaIdLookup.getAllById(entityManager, PlayerEntity.class, ids, PlayerEntity::getId, JpaModelFactory::toModel,
+                            detailsHints(entityManager)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving players by IDs", e);
         }
-        return entity != null ? JpaModelFactory.toModel(entity) : null;
     }
 
     @Override
     public Set<Player> getAll() {
         try {
-            return entityManager.createQuery("SELECT p FROM PlayerEntity p", PlayerEntity.class)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    withDetails(entityManager, entityManager.createQuery("SELECT p FROM PlayerEntity p", PlayerEntity.class))
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving all players", e);
         }
     }
 
+    // The rows of a player and its matches must be adjacent for Hibernate to assemble it while scrolling, hence the
+    // order by ID
+    @Override
+    public Stream<Player> stream() {
+        try {
+            return JpaCursor.stream(entityManagerFactory,
+                    entityManager -> withDetails(entityManager,
+                            entityManager.createQuery("SELECT p FROM PlayerEntity p ORDER BY p.id", PlayerEntity.class)),
+                    JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming all players", e);
+        }
+    }
+
+    // Reads the IDs of the page first, since a limit on a query that fetches a collection would be applied in memory
+    // to every player, then the players of the page with their details: two statements whatever the page size.
+    @Override
+    public List<Player> getPage(Integer afterId, int limit) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+                List<Integer> ids = entityManager.createQuery("SELECT p.id FROM PlayerEntity p WHERE p.id > :afterId ORDER BY p.id", Integer.class)
+                        .setParameter("afterId", afterId == null ? Integer.MIN_VALUE : afterId)
+                        .setMaxResults(limit)
+                        .getResultList();
+                if (ids.isEmpty()) return List.<Player>of();
+                return withDetails(entityManager, entityManager.createQuery("SELECT p FROM PlayerEntity p WHERE p.id IN :ids ORDER BY p.id", PlayerEntity.class))
+                        .setParameter("ids", ids)
+                        .getResultList()
+                        .stream()
+                        .map(JpaModelFactory::toModel)
+                        .collect(Collectors.toList());
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving players page", e);
+        }
+    }
+
+    // Selects the columns of the players only, so their matches are not loaded.
+    @Override
+    public List<Player> getSummaryPage(Integer afterId, int limit) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT p.id, p.username, p.displayName, p.email, p.region, p.rank "
+                                    + "FROM PlayerEntity p WHERE p.id > :afterId ORDER BY p.id", Object[].class)
+                            .setParameter("afterId", afterId == null ? Integer.MIN_VALUE : afterId)
+                            .setMaxResults(limit)
+                            .getResultList()
+                            .stream()
+                            .map(JpaPlayerRepository::toSummary)
+                            .collect(Collectors.toList()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving players summary page", e);
+        }
+    }
+
     @Override
     public Player getByUsername(String username) {
         try {
-            TypedQuery<PlayerEntity> query = entityManager.createQuery("SELECT p FROM PlayerEntity p WHERE p.username = :username", PlayerEntity.class);
-            query.setParameter("username", username);
-            query.setMaxResults(1);
-            PlayerEntity entity = query.getSingleResult();
-            return JpaModelFactory.toModel(entity);
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+                // No limit, as it would be applied in memory to a query that fetches a collection
+                TypedQuery<PlayerEntity> query = withDetails(entityManager, entityManager.createQuery(
+                        "SELECT p FROM PlayerEntity p WHERE p.username = :username ORDER BY p.id", PlayerEntity.class));
+                query.setParameter("username", username);
+                return query.getResultList().stream()
+                        .findFirst()
+                        .map(JpaModelFactory::toModel)
+                        .orElse(null);
+            });
         } catch (Exception e) {
             return null;
         }
@@ -94,28 +168,67 @@ public class JpaPlayerRepository implements PlayerRepository {
     @Override
     public Set<Player> getByRegion(String region) {
         try {
-            return entityManager.createQuery("SELECT p FROM PlayerEntity p WHERE p.region = :region", PlayerEntity.class)
-                    .setParameter("region", region)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    withDetails(entityManager, entityManager.createQuery("SELECT p FROM PlayerEntity p WHERE p.region = :region", PlayerEntity.class))
+                            .setParameter("region", region)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving players by region", e);
         }
     }
 
+    // Ordered by ID for the same reason as stream()
+    @Override
+    public Stream<Player> streamByRegion(String region) {
+        try {
+            return JpaCursor.stream(entityManagerFactory, entityManager -> withDetails(entityManager, entityManager.createQuery(
+                            "SELECT p FROM PlayerEntity p WHERE p.region = :region ORDER BY p.id", PlayerEntity.class))
+                    .setParameter("region", region), JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming players by region", e);
+        }
+    }
+
     @Override
     public Set<Player> getByDisplayName(String displayName) {
         try {
-            return entityManager.createQuery("SELECT p FROM PlayerEntity p WHERE p.displayName = :displayName", PlayerEntity.class)
-                    .setParameter("displayName", displayName)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    withDetails(entityManager, entityManager.createQuery("SELECT p FROM PlayerEntity p WHERE p.displayName = :displayName", PlayerEntity.class))
+                            .setParameter("displayName", displayName)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving players by displayName", e);
         }
     }
+
+    private static EntityGraph<?> detailsGraph(EntityManager entityManager) {
+        return entityManager.getEntityGraph(PlayerEntity.DETAILS_GRAPH);
+    }
+
+    // Hints for EntityManager.find that load a player with its details in the same statement
+    static Map<String, Object> detailsHints(EntityManager entityManager) {
+        return Map.of(FETCH_GRAPH, detailsGraph(entityManager));
+    }
+
+    // Loads the players of the query with their details in the same statement
+    private static TypedQuery<PlayerEntity> withDetails(EntityManager entityManager, TypedQuery<PlayerEntity> query) {
+        return query.setHint(FETCH_GRAPH, detailsGraph(entityManager));
+    }
+
+    private static Player toSummary(Object[] row) {
+        Player player = new PlayerImpl();
+        player.setId((Integer) row[0]);
+        player.setUsername((String) row[1]);
+        player.setDisplayName((String) row[2]);
+        player.setEmail((String) row[3]);
+        player.setRegion((String) row[4]);
+        player.setRank((String) row[5]);
+        return player;
+    }
 }
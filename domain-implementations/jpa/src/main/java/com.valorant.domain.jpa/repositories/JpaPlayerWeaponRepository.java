@@ -5,39 +5,43 @@ import com.valorant.domain.jpa.models.PlayerEntity;
 import com.valorant.domain.jpa.models.WeaponEntity;
 import com.valorant.models.Player;
 import com.valorant.models.Weapon;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.EntityManagerFactory;
 
 public class JpaPlayerWeaponRepository {
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
     private final JpaWeaponRepository weaponRepository;
 
-    public JpaPlayerWeaponRepository(EntityManager entityManager, JpaWeaponRepository weaponRepository) {
-        this.entityManager = entityManager;
+    public JpaPlayerWeaponRepository(EntityManagerFactory entityManagerFactory, JpaWeaponRepository weaponRepository) {
+        this.entityManagerFactory = entityManagerFactory;
         this.weaponRepository = weaponRepository;
     }
 
     public void assignWeaponToPlayer(int playerId, int weaponId) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            transaction.begin();
-            PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
-            WeaponEntity weapon = entityManager.find(WeaponEntity.class, weaponId);
-            if (player != null && weapon != null) {
-                player.setWeapon(weapon);
-                entityManager.merge(player);
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
+                WeaponEntity weapon = entityManager.find(WeaponEntity.class, weaponId);
+                if (player != null && weapon != null) {
+                    player.setWeapon(weapon);
+                    entityManager.merge(player);
+                }
+            });
         } catch (Exception e) {
-            transaction.rollback();
             throw new RuntimeException("Error assigning weapon to player", e);
         }
     }
 
     public Weapon getWeaponByPlayerId(int playerId) {
         try {
-            PlayerEntity player = entityManager.find(PlayerEntity.class, playerId);
-            return player != null ? JpaModelFactory.toModel(player.getWeapon()) : null;
+            // Selects the weapon itself, since the lazy association of the player could not be read once the entity
+            // manager is closed
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT p.weapon FROM PlayerEntity p WHERE p.id = :playerId", WeaponEntity.class)
+                            .setParameter("playerId", playerId)
+                            .getResultStream()
+                            .findFirst()
+                            .map(JpaModelFactory::toModel)
+                            .orElse(null));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving weapon by player ID", e);
         }
@@ -1,38 +1,38 @@
 package com.valorant.domain.jpa.repositories;
 
 import com.valorant.repositories.*;
-import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 
 public class JpaRepositoryFactory implements RepositoryFactory {
 
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public JpaRepositoryFactory(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    public JpaRepositoryFactory(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
     public AgentRepository getAgentRepository() {
-        return new JpaAgentRepository(entityManager);
+        return new JpaAgentRepository(entityManagerFactory);
     }
 
     @Override
     public MapRepository getMapRepository() {
-        return new JpaMapRepository(entityManager);
+        return new JpaMapRepository(entityManagerFactory);
     }
 
     @Override
     public MatchRepository getMatchRepository() {
-        return new JpaMatchRepository(entityManager);
+        return new JpaMatchRepository(entityManagerFactory);
     }
 
     @Override
     public PlayerRepository getPlayerRepository() {
-        return new JpaPlayerRepository(entityManager);
+        return new JpaPlayerRepository(entityManagerFactory);
     }
 
     @Override
     public WeaponRepository getWeaponRepository() {
-        return new JpaWeaponRepository(entityManager);
+        return new JpaWeaponRepository(entityManagerFactory);
     }
 }
@@ -0,0 +1,66 @@
+package com.valorant.domain.jpa.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs each repository operation in an {@link EntityManager} of its own, opened from the shared
+ * {@link EntityManagerFactory} and closed when the operation ends.
+ * <p>
+ * An entity manager is not thread-safe and keeps every entity it loads until it is closed or cleared, so none is
+ * shared between operations: the repositories can be called from many threads at once, and a persistence context
+ * lives no longer than the operation that filled it. The factory is thread-safe, and {@code persistence.xml} has it
+ * borrow connections from a {@link com.valorant.domain.jpa.pool.PooledConnectionProvider}, so an operation reuses
+ * an open connection instead of connecting again. Whatever the operation returns must not need the entity manager
+ * afterwards, so entities are converted to models inside it.
+ */
+final class JpaUnitOfWork {
+
+    private JpaUnitOfWork() {
+    }
+
+    /**
+     * Runs a read-only operation and closes its entity manager.
+     *
+     * @param entityManagerFactory the factory to open the entity manager from.
+     * @param work                 the operation.
+     * @param <T>                  the type of the result.
+     * @return the result of the operation.
+     */
+    static <T> T read(EntityManagerFactory entityManagerFactory, Function<EntityManager, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return work.apply(entityManager);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Runs an operation in a transaction, commits it and closes its entity manager.
+     *
+     * @param entityManagerFactory the factory to open the entity manager from.
+     * @param work                 the operation.
+     * @throws RuntimeException if the operation or the commit fails; the transaction is rolled back.
+     */
+    static void write(EntityManagerFactory entityManagerFactory, Consumer<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        EntityTransaction transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            work.accept(entityManager);
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
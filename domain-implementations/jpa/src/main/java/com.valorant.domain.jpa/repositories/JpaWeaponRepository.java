@@ -4,92 +4,125 @@ import com.valorant.domain.jpa.models.JpaModelFactory;
 import com.valorant.domain.jpa.models.WeaponEntity;
 import com.valorant.models.Weapon;
 import com.valorant.repositories.WeaponRepository;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JpaWeaponRepository implements WeaponRepository {
-    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public JpaWeaponRepository(EntityManager entityManager) {
-        this.entityManager = entityManager;
+    public JpaWeaponRepository(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Override
     public void save(Weapon model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            if (!transaction.isActive()) {
-                transaction.begin();
-            }
-            WeaponEntity entity = JpaModelFactory.toEntity(model);
-            if (model.getId() <= 0) {
-                entityManager.persist(entity);
-                model.setId(entity.getId());
-            } else {
-                entity = entityManager.merge(entity);
-                model.setId(entity.getId());
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                WeaponEntity entity = JpaModelFactory.toEntity(model);
+                if (model.getId() <= 0) {
+                    entityManager.persist(entity);
+                    model.setId(entity.getId());
+                } else {
+                    entity = entityManager.merge(entity);
+                    model.setId(entity.getId());
+                }
+            });
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Error saving weapon", e);
         }
     }
 
     @Override
     public void delete(Weapon model) {
-        EntityTransaction transaction = entityManager.getTransaction();
         try {
-            if (!transaction.isActive()) {
-                transaction.begin();
-            }
-            WeaponEntity entity = entityManager.find(WeaponEntity.class, model.getId());
-            if (entity != null) {
-                entityManager.remove(entity);
-            }
-            transaction.commit();
+            JpaUnitOfWork.write(entityManagerFactory, entityManager -> {
+                WeaponEntity entity = entityManager.find(WeaponEntity.class, model.getId());
+                if (entity != null) {
+                    entityManager.remove(entity);
+                }
+            });
         } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Error deleting weapon", e);
         }
     }
 
     @Override
     public Weapon get(Integer id) {
-        WeaponEntity entity = entityManager.find(WeaponEntity.class, id);
-        return entity != null ? JpaModelFactory.toModel(entity) : null;
+        return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+            WeaponEntity entity = entityManager.find(WeaponEntity.class, id);
+            return entity != null ? JpaModelFactory.toModel(entity) : null;
+        });
+    }
+
+    @Override
+    public Map<Integer, Weapon> getAllById(Collection<Integer> ids) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    JpaIdLookup.getAllById(entityManager, WeaponEntity.class, ids, WeaponEntity::getId, JpaModelFactory::toModel));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving weapons by IDs", e);
+        }
     }
 
     @Override
     public Set<Weapon> getAll() {
         try {
-            return entityManager.createQuery("SELECT w FROM WeaponEntity w", WeaponEntity.class)
-                    .getResultList()
-                    .stream()
-                    .map(JpaModelFactory::toModel)
-                    .collect(Collectors.toSet());
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT w FROM WeaponEntity w", WeaponEntity.class)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toSet()));
         } catch (Exception e) {
             throw new RuntimeException("Error retrieving all weapons", e);
         }
     }
 
+    @Override
+    public Stream<Weapon> stream() {
+        try {
+            return JpaCursor.stream(entityManagerFactory,
+                    entityManager -> entityManager.createQuery("SELECT w FROM WeaponEntity w", WeaponEntity.class),
+                    JpaModelFactory::toModel);
+        } catch (Exception e) {
+            throw new RuntimeException("Error streaming all weapons", e);
+        }
+    }
+
+    @Override
+    public List<Weapon> getPage(Integer afterId, int limit) {
+        try {
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager ->
+                    entityManager.createQuery("SELECT w FROM WeaponEntity w WHERE w.id > :afterId ORDER BY w.id", WeaponEntity.class)
+                            .setParameter("afterId", afterId == null ? Integer.MIN_VALUE : afterId)
+                            .setMaxResults(limit)
+                            .getResultList()
+                            .stream()
+                            .map(JpaModelFactory::toModel)
+                            .collect(Collectors.toList()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error retrieving weapons page", e);
+        }
+    }
+
     @Override
     public Weapon getByName(String name) {
         try {
-            TypedQuery<WeaponEntity> query = entityManager.createQuery("SELECT w FROM WeaponEntity w WHERE w.name = :name", WeaponEntity.class);
-            query.setParameter("name", name);
-            query.setMaxResults(1);
-            WeaponEntity entity = query.getSingleResult();
-            return JpaModelFactory.toModel(entity);
+            return JpaUnitOfWork.read(entityManagerFactory, entityManager -> {
+                TypedQuery<WeaponEntity> query = entityManager.createQuery("SELECT w FROM WeaponEntity w WHERE w.name = :name", WeaponEntity.class);
+                query.setParameter("name", name);
+                query.setMaxResults(1);
+                WeaponEntity entity = query.getSingleResult();
+                return JpaModelFactory.toModel(entity);
+            });
         } catch (NoResultException e) {
             return null;
         } catch (Exception e) {
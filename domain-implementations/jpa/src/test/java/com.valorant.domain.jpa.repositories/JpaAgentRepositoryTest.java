@@ -2,9 +2,7 @@ package com.valorant.domain.jpa.repositories;
 
 import com.valorant.models.Agent;
 import com.valorant.models.AgentImpl;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
 import org.junit.jupiter.api.*;
 
@@ -15,7 +13,6 @@ import static org.junit.jupiter.api.Assertions.*;
 class JpaAgentRepositoryTest {
 
     private static EntityManagerFactory entityManagerFactory;
-    private EntityManager entityManager;
     private JpaAgentRepository agentRepository;
 
     @BeforeAll
@@ -32,21 +29,7 @@ class JpaAgentRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        entityManager = entityManagerFactory.createEntityManager();
-        entityManager.getTransaction().begin();
-        entityManager.getTransaction().commit();
-        agentRepository = new JpaAgentRepository(entityManager);
-    }
-
-    @AfterEach
-    void tearDown() {
-        if (entityManager != null) {
-            EntityTransaction transaction = entityManager.getTransaction();
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            entityManager.close();
-        }
+        agentRepository = new JpaAgentRepository(entityManagerFactory);
     }
 
     @Nested
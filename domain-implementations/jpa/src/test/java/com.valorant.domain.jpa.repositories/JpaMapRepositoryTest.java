@@ -2,9 +2,7 @@ package com.valorant.domain.jpa.repositories;
 
 import com.valorant.models.Map;
 import com.valorant.models.MapImpl;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
 import org.junit.jupiter.api.*;
 
@@ -15,7 +13,6 @@ import static org.junit.jupiter.api.Assertions.*;
 class JpaMapRepositoryTest {
 
     private static EntityManagerFactory entityManagerFactory;
-    private EntityManager entityManager;
     private JpaMapRepository mapRepository;
 
     @BeforeAll
@@ -32,21 +29,7 @@ class JpaMapRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        entityManager = entityManagerFactory.createEntityManager();
-        entityManager.getTransaction().begin();
-        entityManager.getTransaction().commit();
-        mapRepository = new JpaMapRepository(entityManager);
-    }
-
-    @AfterEach
-    void tearDown() {
-        if (entityManager != null) {
-            EntityTransaction transaction = entityManager.getTransaction();
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            entityManager.close();
-        }
+        mapRepository = new JpaMapRepository(entityManagerFactory);
     }
 
     @Nested
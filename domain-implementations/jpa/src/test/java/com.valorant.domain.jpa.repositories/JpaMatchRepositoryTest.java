@@ -4,21 +4,20 @@ import com.valorant.models.Map;
 import com.valorant.models.MapImpl;
 import com.valorant.models.Match;
 import com.valorant.models.MatchImpl;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class JpaMatchRepositoryTest {
 
     private static EntityManagerFactory entityManagerFactory;
-    private EntityManager entityManager;
     private JpaMatchRepository matchRepository;
     private JpaMapRepository mapRepository;
 
@@ -37,28 +36,12 @@ class JpaMatchRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        entityManager = entityManagerFactory.createEntityManager();
-        matchRepository = new JpaMatchRepository(entityManager);
-        mapRepository = new JpaMapRepository(entityManager);
-    }
-
-    @AfterEach
-    void tearDown() {
-        if (entityManager != null) {
-            EntityTransaction transaction = entityManager.getTransaction();
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            entityManager.close();
-        }
+        matchRepository = new JpaMatchRepository(entityManagerFactory);
+        mapRepository = new JpaMapRepository(entityManagerFactory);
     }
 
     private static void insertMapsIfNotExist() {
-        EntityManager em = entityManagerFactory.createEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-        transaction.begin();
-
-        Set<Map> maps = new JpaMapRepository(em).getAll();
+        Set<Map> maps = new JpaMapRepository(entityManagerFactory).getAll();
         if (maps.isEmpty()) {
             // Insert some default maps
             Map map1 = new MapImpl();
@@ -73,13 +56,10 @@ class JpaMatchRepositoryTest {
             map3.setName("IceBox");
             map3.setType("Spike Rush");
 
-            new JpaMapRepository(em).save(map1);
-            new JpaMapRepository(em).save(map2);
-            new JpaMapRepository(em).save(map3);
+            new JpaMapRepository(entityManagerFactory).save(map1);
+            new JpaMapRepository(entityManagerFactory).save(map2);
+            new JpaMapRepository(entityManagerFactory).save(map3);
         }
-
-        transaction.commit();
-        em.close();
     }
 
     @Nested
@@ -235,6 +215,32 @@ class JpaMatchRepositoryTest {
             assertFalse(matches.isEmpty(), "The set of matches should not be empty");
         }
 
+        @Test
+        @DisplayName("Given matches played at different times, when retrieved by playedOn range, then only the matches in the range should be returned in order")
+        void getMatchesByPlayedOnBetweenTest() {
+            // Arrange
+            LocalDateTime start = LocalDateTime.of(1999, 1, 1, 0, 0);
+            Match late = createMatch(start.plusHours(20));
+            Match outside = createMatch(start.plusDays(2));
+            Match early = createMatch(start.plusHours(2));
+
+            // Act
+            List<Match> matches = matchRepository.getByPlayedOnBetween(start, start.plusHours(20));
+
+            // Assert
+            assertEquals(List.of(early.getId(), late.getId()), matches.stream().map(Match::getId).toList());
+            assertTrue(matches.stream().noneMatch(match -> match.getId() == outside.getId()));
+        }
+
+        private Match createMatch(LocalDateTime playedOn) {
+            Match match = new MatchImpl();
+            match.setPlayedOn(playedOn);
+            match.setMapId(1); // Ensure map with ID 1 exists
+            match.setOutcome("Victory");
+            matchRepository.save(match);
+            return match;
+        }
+
         @Test
         @DisplayName("Given a map ID, when retrieved, then the correct matches should be returned")
         void getMatchesByMapIdTest() {
@@ -255,5 +261,43 @@ class JpaMatchRepositoryTest {
             assertNotNull(matches, "The set of matches should not be null");
             assertFalse(matches.isEmpty(), "The set of matches should not be empty");
         }
+
+        @Test
+        @DisplayName("Given matches on different maps, when streamed by map ID, then only the matches of the map should be streamed")
+        void streamMatchesByMapIdTest() {
+            // Arrange
+            Map map = new MapImpl();
+            map.setName("Sunset");
+            map.setType("Competitive");
+            mapRepository.save(map);
+
+            Map otherMap = new MapImpl();
+            otherMap.setName("Abyss");
+            otherMap.setType("Competitive");
+            mapRepository.save(otherMap);
+
+            Match onMap = new MatchImpl();
+            onMap.setPlayedOn(LocalDateTime.now());
+            onMap.setMapId(map.getId());
+            onMap.setOutcome("Victory");
+            matchRepository.save(onMap);
+
+            Match onOtherMap = new MatchImpl();
+            onOtherMap.setPlayedOn(LocalDateTime.now());
+            onOtherMap.setMapId(otherMap.getId());
+            onOtherMap.setOutcome("Defeat");
+            matchRepository.save(onOtherMap);
+
+            // Act
+            List<Match> matches;
+            try (Stream<Match> stream = matchRepository.streamByMapId(map.getId())) {
+                matches = stream.toList();
+            }
+
+            // Assert
+            assertTrue(matches.stream().anyMatch(match -> match.getId() == onMap.getId()), "The match on the map should be streamed");
+            assertTrue(matches.stream().allMatch(match -> match.getMapId() == map.getId()), "Only matches on the map should be streamed");
+            assertTrue(matches.stream().noneMatch(match -> match.getId() == onOtherMap.getId()));
+        }
     }
 }
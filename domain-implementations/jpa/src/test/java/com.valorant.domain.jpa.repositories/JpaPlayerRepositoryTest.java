@@ -1,23 +1,32 @@
 package com.valorant.domain.jpa.repositories;
 
+import com.valorant.domain.jpa.models.JpaModelFactory;
 import com.valorant.domain.jpa.models.MatchEntity;
 import com.valorant.domain.jpa.models.PlayerEntity;
 import com.valorant.models.*;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class JpaPlayerRepositoryTest {
 
     private static EntityManagerFactory entityManagerFactory;
-    private EntityManager entityManager;
     private JpaPlayerRepository playerRepository;
     private JpaWeaponRepository weaponRepository;
     private JpaAgentRepository agentRepository;
@@ -42,26 +51,14 @@ class JpaPlayerRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        entityManager = entityManagerFactory.createEntityManager();
-        playerRepository = new JpaPlayerRepository(entityManager);
-        weaponRepository = new JpaWeaponRepository(entityManager);
-        agentRepository = new JpaAgentRepository(entityManager);
-        matchRepository = new JpaMatchRepository(entityManager);
-        mapRepository = new JpaMapRepository(entityManager);
-        matchPlayerRepository = new JpaMatchPlayerRepository(entityManager, matchRepository);
-        playerAgentRepository = new JpaPlayerAgentRepository(entityManager, agentRepository);
-        playerWeaponRepository = new JpaPlayerWeaponRepository(entityManager, weaponRepository);
-    }
-
-    @AfterEach
-    void tearDown() {
-        if (entityManager != null) {
-            EntityTransaction transaction = entityManager.getTransaction();
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            entityManager.close();
-        }
+        playerRepository = new JpaPlayerRepository(entityManagerFactory);
+        weaponRepository = new JpaWeaponRepository(entityManagerFactory);
+        agentRepository = new JpaAgentRepository(entityManagerFactory);
+        matchRepository = new JpaMatchRepository(entityManagerFactory);
+        mapRepository = new JpaMapRepository(entityManagerFactory);
+        matchPlayerRepository = new JpaMatchPlayerRepository(entityManagerFactory, matchRepository);
+        playerAgentRepository = new JpaPlayerAgentRepository(entityManagerFactory, agentRepository);
+        playerWeaponRepository = new JpaPlayerWeaponRepository(entityManagerFactory, weaponRepository);
     }
 
     private static void insertDataIfNotExist() {
@@ -72,125 +69,61 @@ class JpaPlayerRepositoryTest {
     }
 
     private static void insertWeaponsIfNotExist() {
-        EntityManager em = entityManagerFactory.createEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-
-        try {
-            transaction.begin();
-
-            Set<Weapon> weapons = new JpaWeaponRepository(em).getAll();
-            if (weapons.isEmpty()) {
-                Weapon weapon1 = new WeaponImpl(0, "Phantom", "Rifle");
-                Weapon weapon2 = new WeaponImpl(0, "Vandal", "Rifle");
-                Weapon weapon3 = new WeaponImpl(0, "Operator", "Sniper Rifle");
-
-                JpaWeaponRepository weaponRepo = new JpaWeaponRepository(em);
-                weaponRepo.save(weapon1);
-                weaponRepo.save(weapon2);
-                weaponRepo.save(weapon3);
-            }
-
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            throw new RuntimeException("Error saving weapon", e);
-        } finally {
-            em.close();
+        Set<Weapon> weapons = new JpaWeaponRepository(entityManagerFactory).getAll();
+        if (weapons.isEmpty()) {
+            Weapon weapon1 = new WeaponImpl(0, "Phantom", "Rifle");
+            Weapon weapon2 = new WeaponImpl(0, "Vandal", "Rifle");
+            Weapon weapon3 = new WeaponImpl(0, "Operator", "Sniper Rifle");
+
+            JpaWeaponRepository weaponRepo = new JpaWeaponRepository(entityManagerFactory);
+            weaponRepo.save(weapon1);
+            weaponRepo.save(weapon2);
+            weaponRepo.save(weapon3);
         }
     }
 
 
     private static void insertAgentsIfNotExist() {
-        EntityManager em = entityManagerFactory.createEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-
-        try {
-            transaction.begin();
-
-            Set<Agent> agents = new JpaAgentRepository(em).getAll();
-            if (agents.isEmpty()) {
-                Agent agent1 = new AgentImpl();
-                agent1.setName("Jett");
-                agent1.setDescription("Representing her home country of South Korea, Jett's agile and evasive fighting style lets her take risks no one else can. She runs circles around every skirmish, cutting enemies before they even know what hit them.");
-                agent1.setRole("Duelist");
-
-                Agent agent2 = new AgentImpl();
-                agent2.setName("Sage");
-                agent2.setDescription("The stronghold of China, Sage creates safety for herself and her team wherever she goes. Able to revive fallen friends and stave off aggressive pushes, she provides a calm center to a hellish fight.");
-                agent2.setRole("Sentinel");
-
-                JpaAgentRepository agentRepo = new JpaAgentRepository(em);
-                agentRepo.save(agent1);
-                agentRepo.save(agent2);
-            }
-
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            throw new RuntimeException("Error saving agent", e);
-        } finally {
-            em.close();
+        Set<Agent> agents = new JpaAgentRepository(entityManagerFactory).getAll();
+        if (agents.isEmpty()) {
+            Agent agent1 = new AgentImpl();
+            agent1.setName("Jett");
+            agent1.setDescription("Representing her home country of South Korea, Jett's agile and evasive fighting style lets her take risks no one else can. She runs circles around every skirmish, cutting enemies before they even know what hit them.");
+            agent1.setRole("Duelist");
+
+            Agent agent2 = new AgentImpl();
+            agent2.setName("Sage");
+            agent2.setDescription("The stronghold of China, Sage creates safety for herself and her team wherever she goes. Able to revive fallen friends and stave off aggressive pushes, she provides a calm center to a hellish fight.");
+            agent2.setRole("Sentinel");
+
+            JpaAgentRepository agentRepo = new JpaAgentRepository(entityManagerFactory);
+            agentRepo.save(agent1);
+            agentRepo.save(agent2);
         }
     }
 
 
     private static void insertMapsIfNotExist() {
-        EntityManager em = entityManagerFactory.createEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-
-        try {
-            transaction.begin();
-
-            Set<Map> maps = new JpaMapRepository(em).getAll();
-            if (maps.isEmpty()) {
-                Map map1 = new MapImpl();
-                map1.setName("Ascent");
-                map1.setType("Competitive");
+        Set<Map> maps = new JpaMapRepository(entityManagerFactory).getAll();
+        if (maps.isEmpty()) {
+            Map map1 = new MapImpl();
+            map1.setName("Ascent");
+            map1.setType("Competitive");
 
-                new JpaMapRepository(em).save(map1);
-            }
-
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            throw new RuntimeException("Error saving map", e);
-        } finally {
-            em.close();
+            new JpaMapRepository(entityManagerFactory).save(map1);
         }
     }
 
 
     private static void insertMatchesIfNotExist() {
-        EntityManager em = entityManagerFactory.createEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-
-        try {
-            transaction.begin();
-
-            Set<Match> matches = new JpaMatchRepository(em).getAll();
-            if (matches.isEmpty()) {
-                Match match1 = new MatchImpl();
-                match1.setPlayedOn(LocalDateTime.now());
-                match1.setMapId(1); // Assuming map with ID 1 exists
-                match1.setOutcome("Victory");
-
-                new JpaMatchRepository(em).save(match1);
-            }
-
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            throw new RuntimeException("Error saving match", e);
-        } finally {
-            em.close();
+        Set<Match> matches = new JpaMatchRepository(entityManagerFactory).getAll();
+        if (matches.isEmpty()) {
+            Match match1 = new MatchImpl();
+            match1.setPlayedOn(LocalDateTime.now());
+            match1.setMapId(1); // Assuming map with ID 1 exists
+            match1.setOutcome("Victory");
+
+            new JpaMatchRepository(entityManagerFactory).save(match1);
         }
     }
 
@@ -412,6 +345,71 @@ class JpaPlayerRepositoryTest {
             assertNotNull(players, "The set of players should not be null");
             assertFalse(players.isEmpty(), "The set of players should not be empty");
         }
+
+        /**
+         * Test to verify that a summary page lists players in ID order without their matches.
+         */
+        @Test
+        @DisplayName("Given players, when a summary page is retrieved, then players come in ID order without matches")
+        void getSummaryPageTest() {
+            // Arrange
+            Player player1 = new PlayerImpl();
+            player1.setUsername("summaryplayer1");
+            player1.setDisplayName("SummaryOne");
+            player1.setEmail("summaryone@gmail.com");
+            player1.setRegion("EUW");
+            player1.setRank("Silver 1");
+
+            Player player2 = new PlayerImpl();
+            player2.setUsername("summaryplayer2");
+            player2.setDisplayName("SummaryTwo");
+            player2.setEmail("summarytwo@gmail.com");
+            player2.setRegion("NA");
+            player2.setRank("Silver 2");
+
+            playerRepository.save(player1);
+            playerRepository.save(player2);
+
+            // Act
+            var page = playerRepository.getSummaryPage(player1.getId() - 1, 2);
+
+            // Assert
+            assertEquals(2, page.size(), "The page should hold both players");
+            assertEquals(player1.getId(), page.get(0).getId(), "Players should come in ID order");
+            assertEquals(player2.getId(), page.get(1).getId(), "Players should come in ID order");
+            assertEquals("SummaryOne", page.get(0).getDisplayName(), "The columns of the player should be read");
+            assertTrue(page.get(0).getMatches().isEmpty(), "Matches should not be loaded");
+        }
+
+        /**
+         * Test to verify that the repository can be shared by threads, since each operation has its own entity manager.
+         */
+        @Test
+        @DisplayName("Given a player, when retrieved from many threads at once, then every thread should get the player")
+        void getPlayerConcurrentlyTest() throws Exception {
+            // Arrange
+            Player player = new PlayerImpl();
+            player.setUsername("concurrentplayer");
+            player.setDisplayName("Concurrent");
+            player.setEmail("concurrent@gmail.com");
+            player.setRegion("EUW");
+            player.setRank("Gold 1");
+            playerRepository.save(player);
+
+            // Act
+            List<Future<Player>> results;
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                results = executor.invokeAll(Collections.nCopies(32, () -> playerRepository.get(player.getId())));
+            } finally {
+                executor.shutdown();
+            }
+
+            // Assert
+            for (Future<Player> result : results) {
+                assertEquals("concurrentplayer", result.get().getUsername(), "Every thread should get the player");
+            }
+        }
     }
 
     @Nested
@@ -451,6 +449,117 @@ class JpaPlayerRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Stream Player Tests")
+    class StreamPlayerTests {
+
+        private static final int MATCHES_PER_PLAYER = 3;
+
+        /**
+         * Test to verify that streamed players come with all their matches, although the stream reads players and
+         * matches from one scrolled result set and clears the persistence context after each player.
+         */
+        @Test
+        @DisplayName("Given players with several matches, when streamed by region, then each player should have all its matches")
+        void streamPlayersByRegionTest() {
+            // Arrange
+            java.util.Map<Integer, Set<Integer>> expected = savePlayersWithMatches("streambyregion", "STREAM1");
+
+            // Act
+            List<Player> players;
+            try (Stream<Player> stream = playerRepository.streamByRegion("STREAM1")) {
+                players = stream.toList();
+            }
+
+            // Assert
+            assertEquals(expected.keySet(), players.stream().map(Player::getId).collect(Collectors.toSet()),
+                    "Every player of the region should be streamed once");
+            for (Player player : players) {
+                assertEquals(expected.get(player.getId()), matchIds(player), "Each player should have all its matches");
+            }
+        }
+
+        /**
+         * Test to verify that players streamed from the whole table come with all their matches.
+         */
+        @Test
+        @DisplayName("Given players with several matches, when all players are streamed, then each player should have all its matches")
+        void streamAllPlayersTest() {
+            // Arrange
+            java.util.Map<Integer, Set<Integer>> expected = savePlayersWithMatches("streamall", "STREAM2");
+
+            // Act
+            List<Player> players;
+            try (Stream<Player> stream = playerRepository.stream()) {
+                players = stream.filter(player -> expected.containsKey(player.getId())).toList();
+            }
+
+            // Assert
+            assertEquals(expected.size(), players.size(), "Every player should be streamed once");
+            for (Player player : players) {
+                assertEquals(expected.get(player.getId()), matchIds(player), "Each player should have all its matches");
+            }
+        }
+
+        /**
+         * Test to verify that a stream keeps its entity manager open while it is read and closes it with the stream,
+         * even when it was not read to the end.
+         */
+        @Test
+        @DisplayName("Given a stream read partly, when closed, then its entity manager should be closed")
+        void closeStreamTest() {
+            // Arrange
+            savePlayersWithMatches("streamclose", "STREAM3");
+            List<EntityManager> entityManagers = new ArrayList<>();
+
+            // Act
+            try (Stream<Player> stream = JpaCursor.stream(entityManagerFactory, entityManager -> {
+                entityManagers.add(entityManager);
+                return entityManager.createQuery("SELECT p FROM PlayerEntity p WHERE p.region = :region ORDER BY p.id",
+                        PlayerEntity.class).setParameter("region", "STREAM3");
+            }, JpaModelFactory::toModel)) {
+                assertEquals(1, stream.limit(1).count(), "The stream should have players");
+                assertTrue(entityManagers.get(0).isOpen(), "The entity manager should be open while the stream is");
+            }
+
+            // Assert
+            assertEquals(1, entityManagers.size(), "The stream should open one entity manager");
+            assertFalse(entityManagers.get(0).isOpen(), "Closing the stream should close its entity manager");
+        }
+
+        // Saves three players of the region, each in MATCHES_PER_PLAYER matches, and returns their match IDs by player ID.
+        // Matches are saved for each player in turn, so the rows of a player are not next to each other in the tables.
+        private java.util.Map<Integer, Set<Integer>> savePlayersWithMatches(String username, String region) {
+            java.util.Map<Integer, Set<Integer>> matchIdsByPlayerId = new HashMap<>();
+            for (int i = 1; i <= 3; i++) {
+                Player player = new PlayerImpl();
+                player.setUsername(username + i);
+                player.setDisplayName(username + i);
+                player.setEmail(username + i + "@gmail.com");
+                player.setRegion(region);
+                player.setRank("Gold 1");
+                playerRepository.save(player);
+                matchIdsByPlayerId.put(player.getId(), new HashSet<>());
+            }
+            for (int j = 0; j < MATCHES_PER_PLAYER; j++) {
+                for (var entry : matchIdsByPlayerId.entrySet()) {
+                    Match match = new MatchImpl();
+                    match.setPlayedOn(LocalDateTime.now());
+                    match.setMapId(1); // Assuming map with ID 1 exists
+                    match.setOutcome("Victory");
+                    matchRepository.save(match);
+                    matchPlayerRepository.addPlayerToMatch(entry.getKey(), match.getId());
+                    entry.getValue().add(match.getId());
+                }
+            }
+            return matchIdsByPlayerId;
+        }
+
+        private Set<Integer> matchIds(Player player) {
+            return player.getMatches().stream().map(Match::getId).collect(Collectors.toSet());
+        }
+    }
+
     @Nested
     @DisplayName("Player Agent Relationship Tests")
     class PlayerAgentRelationshipTests {
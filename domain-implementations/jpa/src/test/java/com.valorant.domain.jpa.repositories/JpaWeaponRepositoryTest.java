@@ -2,9 +2,7 @@ package com.valorant.domain.jpa.repositories;
 
 import com.valorant.models.Weapon;
 import com.valorant.models.WeaponImpl;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
 import org.junit.jupiter.api.*;
 
@@ -15,7 +13,6 @@ import static org.junit.jupiter.api.Assertions.*;
 class JpaWeaponRepositoryTest {
 
     private static EntityManagerFactory entityManagerFactory;
-    private EntityManager entityManager;
     private JpaWeaponRepository weaponRepository;
 
     @BeforeAll
@@ -32,45 +29,19 @@ class JpaWeaponRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        entityManager = entityManagerFactory.createEntityManager();
-        weaponRepository = new JpaWeaponRepository(entityManager);
+        weaponRepository = new JpaWeaponRepository(entityManagerFactory);
         insertSampleData();
     }
 
-    @AfterEach
-    void tearDown() {
-        if (entityManager != null) {
-            EntityTransaction transaction = entityManager.getTransaction();
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            entityManager.close();
-        }
-    }
-
     private void insertSampleData() {
-        EntityTransaction transaction = entityManager.getTransaction();
-        try {
-            if (!transaction.isActive()) {
-                transaction.begin();
-            }
-
-            Set<Weapon> weapons = weaponRepository.getAll();
-            if (weapons.isEmpty()) {
-                // Insert sample weapon data
-                Weapon weapon1 = new WeaponImpl(0, "Phantom", "Rifle");
-                Weapon weapon2 = new WeaponImpl(0, "Vandal", "Rifle");
-
-                weaponRepository.save(weapon1);
-                weaponRepository.save(weapon2);
-            }
-
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            throw new RuntimeException("Error saving weapon", e);
+        Set<Weapon> weapons = weaponRepository.getAll();
+        if (weapons.isEmpty()) {
+            // Insert sample weapon data
+            Weapon weapon1 = new WeaponImpl(0, "Phantom", "Rifle");
+            Weapon weapon2 = new WeaponImpl(0, "Vandal", "Rifle");
+
+            weaponRepository.save(weapon1);
+            weaponRepository.save(weapon2);
         }
     }
 
@@ -3,7 +3,9 @@ package com.valorant.repositories;
 import com.valorant.models.Match;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 // This interface defines operations to be performed on Match entities in the repository.
 public interface MatchRepository extends Repository<Integer, Match> {
@@ -27,6 +29,21 @@ public interface MatchRepository extends Repository<Integer, Match> {
     // Retrieve matches played on the specified date and time.
     Set<Match> getByPlayedOn(LocalDateTime playedOn);
 
+    // Retrieve the matches played between from and to, both inclusive, ordered by when they were played (then by ID).
+    List<Match> getByPlayedOnBetween(LocalDateTime from, LocalDateTime to);
+
+    // Stream the matches of getByPlayedOnBetween one at a time, in the same order.
+    // The stream may hold resources such as a database cursor, so callers must close it (try-with-resources).
+    default Stream<Match> streamByPlayedOnBetween(LocalDateTime from, LocalDateTime to) {
+        return getByPlayedOnBetween(from, to).stream();
+    }
+
     // Retrieve matches played on the map with the specified ID.
     Set<Match> getByMapId(int mapId);
+
+    // Stream the matches of getByMapId one at a time.
+    // The stream may hold resources such as a database cursor, so callers must close it (try-with-resources).
+    default Stream<Match> streamByMapId(int mapId) {
+        return getByMapId(mapId).stream();
+    }
 }
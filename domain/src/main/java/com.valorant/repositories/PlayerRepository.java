@@ -2,7 +2,9 @@ package com.valorant.repositories;
 
 import com.valorant.models.Player;
 
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface PlayerRepository extends Repository<Integer, Player> {
 
@@ -18,9 +20,21 @@ public interface PlayerRepository extends Repository<Integer, Player> {
     @Override
     Set<Player> getAll();
 
+    // Retrieve a page of players like getPage, for listings that do not show their matches.
+    // The players may come without their matches; backends that load them separately override this to skip them.
+    default List<Player> getSummaryPage(Integer afterId, int limit) {
+        return getPage(afterId, limit);
+    }
+
     Player getByUsername(String username);
 
     Set<Player> getByRegion(String region);
 
+    // Stream the players of getByRegion one at a time.
+    // The stream may hold resources such as a database cursor, so callers must close it (try-with-resources).
+    default Stream<Player> streamByRegion(String region) {
+        return getByRegion(region).stream();
+    }
+
     Set<Player> getByDisplayName(String displayName);
 }
@@ -1,6 +1,11 @@
 package com.valorant.repositories;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 // This interface defines basic CRUD operations for entities in a repository.
 // K represents the type of the key (usually an identifier) and V represents the type of the value (entity).
@@ -9,6 +14,14 @@ public interface Repository<K, V> {
     // Save a new or existing entity to the repository.
     void save(V model);
 
+    // Save all the given entities, as save would one by one, including assigning keys to new entities.
+    // Backends that can write in bulk override this; the default saves each entity on its own.
+    default void saveAll(Collection<V> models) {
+        for (V model : models) {
+            save(model);
+        }
+    }
+
     // Delete the specified entity from the repository.
     void delete(V model);
 
@@ -17,4 +30,26 @@ public interface Repository<K, V> {
 
     // Retrieve all entities stored in the repository.
     Set<V> getAll();
+
+    // Retrieve the entities with the given identifiers, keyed by identifier. Identifiers without an entity are left out.
+    // Backends that can look many identifiers up at once override this; the default gets each entity on its own.
+    default Map<K, V> getAllById(Collection<K> ids) {
+        Map<K, V> models = new HashMap<>();
+        for (K id : ids) {
+            if (models.containsKey(id)) continue;
+            V model = get(id);
+            if (model != null) models.put(id, model);
+        }
+        return models;
+    }
+
+    // Retrieve a page of at most limit entities whose key is greater than afterId, ordered by key.
+    // Pass null as afterId to get the first page, then the key of the last entity of each page to get the next one.
+    List<V> getPage(K afterId, int limit);
+
+    // Stream all entities stored in the repository, one at a time, without materializing them all.
+    // The stream may hold resources such as a database cursor, so callers must close it (try-with-resources).
+    default Stream<V> stream() {
+        return getAll().stream();
+    }
 }
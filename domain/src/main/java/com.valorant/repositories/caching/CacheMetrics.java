@@ -0,0 +1,73 @@
+package com.valorant.repositories.caching;
+
+/**
+ * Point-in-time snapshot of the size and counters of the cache of one repository.
+ */
+public class CacheMetrics {
+
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    CacheMetrics(int size, int maxSize, long hits, long misses, long evictions) {
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return the number of results currently cached.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of reads answered from the cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of reads that went to the underlying repository.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of results dropped because the cache was full.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the fraction of reads answered from the cache, or 0 if there were none.
+     */
+    public double getHitRatio() {
+        long reads = hits + misses;
+        return reads == 0 ? 0 : (double) hits / reads;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMetrics{" +
+                "size=" + size +
+                ", maxSize=" + maxSize +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", hitRatio=" + String.format("%.2f", getHitRatio()) +
+                ", evictions=" + evictions +
+                '}';
+    }
+}
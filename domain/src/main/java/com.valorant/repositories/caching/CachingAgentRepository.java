@@ -0,0 +1,19 @@
+package com.valorant.repositories.caching;
+
+import com.valorant.models.Agent;
+import com.valorant.repositories.AgentRepository;
+
+/**
+ * Agent repository whose reads are cached, see {@link CachingRepository}.
+ */
+final class CachingAgentRepository extends CachingRepository<Agent, AgentRepository> implements AgentRepository {
+
+    CachingAgentRepository(AgentRepository delegate, EntityCache cache) {
+        super(delegate, cache);
+    }
+
+    @Override
+    public Agent getByName(String name) {
+        return getByName(name, () -> delegate.getByName(name));
+    }
+}
@@ -0,0 +1,19 @@
+package com.valorant.repositories.caching;
+
+import com.valorant.models.Map;
+import com.valorant.repositories.MapRepository;
+
+/**
+ * Map repository whose reads are cached, see {@link CachingRepository}.
+ */
+final class CachingMapRepository extends CachingRepository<Map, MapRepository> implements MapRepository {
+
+    CachingMapRepository(MapRepository delegate, EntityCache cache) {
+        super(delegate, cache);
+    }
+
+    @Override
+    public Map getByName(String name) {
+        return getByName(name, () -> delegate.getByName(name));
+    }
+}
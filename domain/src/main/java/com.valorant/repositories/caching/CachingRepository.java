@@ -0,0 +1,111 @@
+package com.valorant.repositories.caching;
+
+import com.valorant.repositories.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of a repository of named entities.
+ * <p>
+ * {@code get(id)}, {@code getAllById}, {@code getByName} and {@code getAll} are answered from the cache; pages and
+ * streams always go to the underlying repository. {@code getAllById} shares its entries with {@code get(id)} and
+ * loads all the IDs it misses with one call to the underlying repository. Any save or delete empties the cache,
+ * since it may change the result of every cached read. Cached models are shared between callers, who must save a
+ * model they change.
+ *
+ * @param <V> the type of the entities.
+ * @param <R> the type of the underlying repository.
+ */
+abstract class CachingRepository<V, R extends Repository<Integer, V>> implements Repository<Integer, V> {
+
+    private static final Object ALL = new Object();
+
+    protected final R delegate;
+    private final EntityCache cache;
+
+    CachingRepository(R delegate, EntityCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void save(V model) {
+        try {
+            delegate.save(model);
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<V> models) {
+        try {
+            delegate.saveAll(models);
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void delete(V model) {
+        try {
+            delegate.delete(model);
+        } finally {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public V get(Integer id) {
+        return cache.get(new ById(id), () -> delegate.get(id));
+    }
+
+    @Override
+    public Map<Integer, V> getAllById(Collection<Integer> ids) {
+        return cache.getAll(ids, ById::new, delegate::getAllById);
+    }
+
+    @Override
+    public Set<V> getAll() {
+        return cache.get(ALL, () -> Set.copyOf(delegate.getAll()));
+    }
+
+    @Override
+    public List<V> getPage(Integer afterId, int limit) {
+        return delegate.getPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<V> stream() {
+        return delegate.stream();
+    }
+
+    /**
+     * Looks an entity up by name through the cache.
+     *
+     * @param name   the name to look up.
+     * @param loader reads the entity from the underlying repository.
+     * @return the entity with the given name, or null if there is none.
+     */
+    protected V getByName(String name, Supplier<V> loader) {
+        return cache.get(new ByName(name), loader);
+    }
+
+    /**
+     * @return a snapshot of the size and counters of the cache of this repository.
+     */
+    CacheMetrics getMetrics() {
+        return cache.getMetrics();
+    }
+
+    private record ById(Integer id) {
+    }
+
+    private record ByName(String name) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.valorant.repositories.caching;
+
+import com.valorant.repositories.AgentRepository;
+import com.valorant.repositories.MapRepository;
+import com.valorant.repositories.MatchRepository;
+import com.valorant.repositories.PlayerRepository;
+import com.valorant.repositories.RepositoryFactory;
+import com.valorant.repositories.WeaponRepository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wraps any {@link RepositoryFactory} so that reads of the entities that hardly ever change — agents, maps and
+ * weapons — are served from memory instead of the underlying backend.
+ * <p>
+ * Each of those repositories gets its own bounded cache of {@code get(id)}, {@code getByName} and {@code getAll}
+ * results, evicted in least-recently-used order and expired after a fixed time, and emptied whenever the
+ * repository saves or deletes. The repositories are created once and shared by every caller, so that they share
+ * their caches. Matches and players change all the time and are returned uncached.
+ */
+public class CachingRepositoryFactory implements RepositoryFactory {
+
+    /**
+     * Maximum number of cached results per repository when none is given.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /**
+     * How long a result stays cached when no time is given. Bounds how stale a read can be when the data is
+     * changed by another process, which does not invalidate the cache.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private final RepositoryFactory delegate;
+    private final CachingAgentRepository agentRepository;
+    private final CachingMapRepository mapRepository;
+    private final CachingWeaponRepository weaponRepository;
+
+    /**
+     * Creates a caching factory with caches of {@value #DEFAULT_MAX_SIZE} results that expire after five minutes.
+     *
+     * @param delegate the factory of the underlying repositories.
+     */
+    public CachingRepositoryFactory(RepositoryFactory delegate) {
+        this(delegate, DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * @param delegate the factory of the underlying repositories.
+     * @param maxSize  the maximum number of cached results per repository.
+     * @param ttl      how long a result stays cached after it was read.
+     */
+    public CachingRepositoryFactory(RepositoryFactory delegate, int maxSize, Duration ttl) {
+        this.delegate = delegate;
+        this.agentRepository = new CachingAgentRepository(delegate.getAgentRepository(),
+                new EntityCache(maxSize, ttl, System::nanoTime));
+        this.mapRepository = new CachingMapRepository(delegate.getMapRepository(),
+                new EntityCache(maxSize, ttl, System::nanoTime));
+        this.weaponRepository = new CachingWeaponRepository(delegate.getWeaponRepository(),
+                new EntityCache(maxSize, ttl, System::nanoTime));
+    }
+
+    @Override
+    public AgentRepository getAgentRepository() {
+        return agentRepository;
+    }
+
+    @Override
+    public MapRepository getMapRepository() {
+        return mapRepository;
+    }
+
+    @Override
+    public MatchRepository getMatchRepository() {
+        return delegate.getMatchRepository();
+    }
+
+    @Override
+    public PlayerRepository getPlayerRepository() {
+        return delegate.getPlayerRepository();
+    }
+
+    @Override
+    public WeaponRepository getWeaponRepository() {
+        return weaponRepository;
+    }
+
+    /**
+     * @return a snapshot of the cache of every cached repository, keyed by entity name ("agent", "map", "weapon").
+     */
+    public Map<String, CacheMetrics> getMetrics() {
+        var metrics = new LinkedHashMap<String, CacheMetrics>();
+        metrics.put("agent", agentRepository.getMetrics());
+        metrics.put("map", mapRepository.getMetrics());
+        metrics.put("weapon", weaponRepository.getMetrics());
+        return metrics;
+    }
+}
@@ -0,0 +1,19 @@
+package com.valorant.repositories.caching;
+
+import com.valorant.models.Weapon;
+import com.valorant.repositories.WeaponRepository;
+
+/**
+ * Weapon repository whose reads are cached, see {@link CachingRepository}.
+ */
+final class CachingWeaponRepository extends CachingRepository<Weapon, WeaponRepository> implements WeaponRepository {
+
+    CachingWeaponRepository(WeaponRepository delegate, EntityCache cache) {
+        super(delegate, cache);
+    }
+
+    @Override
+    public Weapon getByName(String name) {
+        return getByName(name, () -> delegate.getByName(name));
+    }
+}
@@ -0,0 +1,151 @@
+package com.valorant.repositories.caching;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the results of the read operations of one repository, keyed by operation and argument.
+ * <p>
+ * Entries are evicted in least-recently-used order once the cache is full, and expire a fixed time after they
+ * were loaded. Null results are not cached. {@link #clear()} is called on every write to the repository; a value
+ * that was being loaded while the cache was cleared is returned to its caller but not cached, so a read racing
+ * with a write cannot put the old value back.
+ */
+final class EntityCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LinkedHashMap<Object, Entry> entries;
+    private long generation;
+
+    /**
+     * @param maxSize  the maximum number of cached results.
+     * @param ttl      how long a result stays cached after it was loaded.
+     * @param nanoTime the clock entries expire by, {@link System#nanoTime()} outside tests.
+     */
+    EntityCache(int maxSize, Duration ttl, LongSupplier nanoTime) {
+        if (maxSize < 1) throw new IllegalArgumentException("Cache size must be at least 1: " + maxSize);
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() <= EntityCache.this.maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the given key, or loads and caches it.
+     *
+     * @param key    the operation and argument the result belongs to.
+     * @param loader reads the result from the underlying repository.
+     * @param <T>    the type of the result.
+     * @return the cached or loaded result.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Object key, Supplier<T> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null && nanoTime.getAsLong() - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                return (T) entry.value;
+            }
+            if (entry != null) entries.remove(key);
+            loadGeneration = generation;
+        }
+        misses.increment();
+        T value = loader.get();
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) entries.put(key, new Entry(value, nanoTime.getAsLong()));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached results for the given arguments, and loads all the missing ones with a single call.
+     *
+     * @param arguments the arguments to look up.
+     * @param keyOf     the key of the result for an argument, as {@link #get} would use it.
+     * @param loader    reads the results of the missing arguments from the underlying repository, leaving out the
+     *                  ones without a result.
+     * @param <A>       the type of the arguments.
+     * @param <T>       the type of the results.
+     * @return the cached and loaded results, keyed by argument.
+     */
+    @SuppressWarnings("unchecked")
+    <A, T> Map<A, T> getAll(Collection<A> arguments, Function<A, Object> keyOf,
+                            Function<Collection<A>, Map<A, T>> loader) {
+        Map<A, T> results = new HashMap<>();
+        List<A> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            long now = nanoTime.getAsLong();
+            for (A argument : new LinkedHashSet<>(arguments)) {
+                var key = keyOf.apply(argument);
+                var entry = entries.get(key);
+                if (entry != null && now - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    results.put(argument, (T) entry.value);
+                } else {
+                    if (entry != null) entries.remove(key);
+                    missing.add(argument);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) return results;
+        misses.add(missing.size());
+        Map<A, T> loaded = loader.apply(missing);
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                long loadedAt = nanoTime.getAsLong();
+                loaded.forEach((argument, value) -> entries.put(keyOf.apply(argument), new Entry(value, loadedAt)));
+            }
+        }
+        results.putAll(loaded);
+        return results;
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+
+    /**
+     * @return a snapshot of the size and counters of this cache.
+     */
+    CacheMetrics getMetrics() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new CacheMetrics(size, maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private record Entry(Object value, long loadedAt) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.valorant.repositories.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Proxy around a repository that records the latency, outcome and number of rows of every call.
+ * <p>
+ * A returned collection counts as its size, any other model as one row. The latency of a method returning a
+ * stream only covers opening the stream; its rows are counted as they are consumed.
+ */
+final class InstrumentedRepository implements InvocationHandler {
+
+    private final Object delegate;
+    private final String name;
+    private final RepositoryMetrics metrics;
+
+    private InstrumentedRepository(Object delegate, String name, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param type       the repository interface to instrument.
+     * @param repository the repository to instrument.
+     * @param name       the repository name the metrics are recorded under.
+     * @param metrics    the registry to record into.
+     * @return a proxy implementing the repository interface.
+     */
+    static <R> R wrap(Class<R> type, R repository, String name, RepositoryMetrics metrics) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new InstrumentedRepository(repository, name, metrics)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "Instrumented[" + delegate + "]";
+            };
+        }
+        var methodMetrics = metrics.forMethod(name, method.getName());
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            methodMetrics.recordCall(System.nanoTime() - start, true);
+            throw e.getCause();
+        }
+        methodMetrics.recordCall(System.nanoTime() - start, false);
+        if (result instanceof Stream<?> stream) {
+            // A filter rather than peek: count() skips peek and map on a stream whose size is known up front
+            return stream.filter(row -> {
+                methodMetrics.recordRows(1);
+                return true;
+            });
+        }
+        methodMetrics.recordRows(rowsOf(result, method));
+        return result;
+    }
+
+    private static long rowsOf(Object result, Method method) {
+        if (method.getReturnType() == void.class || result == null) return 0;
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Map<?, ?> map) return map.size();
+        return 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.valorant.repositories.metrics;
+
+import com.valorant.repositories.AgentRepository;
+import com.valorant.repositories.MapRepository;
+import com.valorant.repositories.MatchRepository;
+import com.valorant.repositories.PlayerRepository;
+import com.valorant.repositories.RepositoryFactory;
+import com.valorant.repositories.WeaponRepository;
+
+/**
+ * Wraps any {@link RepositoryFactory} so that every call to its repositories is counted and timed in a
+ * {@link RepositoryMetrics} registry, under the repository names "agent", "map", "match", "player" and "weapon".
+ */
+public class InstrumentedRepositoryFactory implements RepositoryFactory {
+
+    private final RepositoryFactory delegate;
+    private final RepositoryMetrics metrics;
+
+    /**
+     * @param delegate the factory of the repositories to instrument.
+     * @param metrics  the registry the calls are recorded into.
+     */
+    public InstrumentedRepositoryFactory(RepositoryFactory delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public AgentRepository getAgentRepository() {
+        return InstrumentedRepository.wrap(AgentRepository.class, delegate.getAgentRepository(), "agent", metrics);
+    }
+
+    @Override
+    public MapRepository getMapRepository() {
+        return InstrumentedRepository.wrap(MapRepository.class, delegate.getMapRepository(), "map", metrics);
+    }
+
+    @Override
+    public MatchRepository getMatchRepository() {
+        return InstrumentedRepository.wrap(MatchRepository.class, delegate.getMatchRepository(), "match", metrics);
+    }
+
+    @Override
+    public PlayerRepository getPlayerRepository() {
+        return InstrumentedRepository.wrap(PlayerRepository.class, delegate.getPlayerRepository(), "player", metrics);
+    }
+
+    @Override
+    public WeaponRepository getWeaponRepository() {
+        return InstrumentedRepository.wrap(WeaponRepository.class, delegate.getWeaponRepository(), "weapon", metrics);
+    }
+
+    public RepositoryMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,92 @@
+package com.valorant.repositories.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram of one method of one repository.
+ */
+public class MethodMetrics implements MethodMetricsMXBean {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    MethodMetrics() {
+    }
+
+    void recordCall(long nanos, boolean failed) {
+        calls.increment();
+        if (failed) errors.increment();
+        latencies.record(nanos);
+    }
+
+    void recordRows(long count) {
+        rows.add(count);
+    }
+
+    /**
+     * @return the number of calls, failed ones included.
+     */
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return the number of calls that threw an exception.
+     */
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return the number of models returned, counting a collection as its size and a single model as one.
+     */
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /**
+     * @param quantile the quantile, between 0 and 1 (0.99 for the 99th percentile).
+     * @return the latency in nanoseconds below which the given fraction of the calls completed.
+     */
+    public long getLatencyNanos(double quantile) {
+        return latencies.getValueAtQuantile(quantile);
+    }
+
+    /**
+     * @return the total latency of the calls in nanoseconds.
+     */
+    public long getLatencySumNanos() {
+        return latencies.getSum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latencies.getMean() / 1_000;
+    }
+
+    @Override
+    public long getP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(getLatencyNanos(0.5));
+    }
+
+    @Override
+    public long getP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(getLatencyNanos(0.99));
+    }
+
+    @Override
+    public long getP999Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(getLatencyNanos(0.999));
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(latencies.getMax());
+    }
+}
@@ -0,0 +1,24 @@
+package com.valorant.repositories.metrics;
+
+/**
+ * JMX view of the metrics of one repository method, registered as
+ * {@code com.valorant:type=RepositoryMetrics,repository=<repository>,method=<method>}.
+ */
+public interface MethodMetricsMXBean {
+
+    long getCalls();
+
+    long getErrors();
+
+    long getRows();
+
+    double getMeanMicros();
+
+    long getP50Micros();
+
+    long getP99Micros();
+
+    long getP999Micros();
+
+    long getMaxMicros();
+}
@@ -0,0 +1,135 @@
+package com.valorant.repositories.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the {@link MethodMetrics} of every instrumented repository method, keyed by repository and method name.
+ * <p>
+ * The metrics can be published as MXBeans on the platform MBean server with {@link #registerWithJmx()}, and
+ * rendered in the Prometheus text format with {@link #toPrometheusText()}.
+ */
+public class RepositoryMetrics {
+
+    private static final String JMX_DOMAIN = "com.valorant";
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final Map<Key, MethodMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile MBeanServer mBeanServer;
+
+    /**
+     * @return the metrics of the given method, created the first time they are asked for.
+     */
+    public MethodMetrics forMethod(String repository, String method) {
+        var key = new Key(repository, method);
+        var existing = metrics.get(key);
+        if (existing != null) return existing;
+        var created = new MethodMetrics();
+        existing = metrics.putIfAbsent(key, created);
+        if (existing != null) return existing;
+        var server = mBeanServer;
+        if (server != null) register(server, key, created);
+        return created;
+    }
+
+    /**
+     * @return every method's metrics, sorted by repository then method.
+     */
+    public Map<String, Map<String, MethodMetrics>> getMetrics() {
+        var sorted = new TreeMap<String, Map<String, MethodMetrics>>();
+        metrics.forEach((key, value) -> sorted.computeIfAbsent(key.repository, k -> new TreeMap<>()).put(key.method, value));
+        return sorted;
+    }
+
+    /**
+     * Publishes the metrics of every method, current and future, on the platform MBean server.
+     */
+    public void registerWithJmx() {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        mBeanServer = server;
+        metrics.forEach((key, value) -> register(server, key, value));
+    }
+
+    /**
+     * Removes the MXBeans published by {@link #registerWithJmx()}.
+     */
+    public void unregisterFromJmx() {
+        var server = mBeanServer;
+        if (server == null) return;
+        mBeanServer = null;
+        for (var key : metrics.keySet()) {
+            try {
+                server.unregisterMBean(objectName(key));
+            } catch (InstanceNotFoundException e) {
+                // Never registered, or already removed
+            } catch (JMException e) {
+                throw new RuntimeException("Error while unregistering metrics of " + key, e);
+            }
+        }
+    }
+
+    /**
+     * Renders the metrics in the Prometheus text exposition format: call, error and row counters, and a latency
+     * summary in seconds with its 0.5, 0.99 and 0.999 quantiles, sum and count, labelled by repository and method.
+     */
+    public String toPrometheusText() {
+        var text = new StringBuilder();
+        text.append("# TYPE repository_calls_total counter\n");
+        forEachSorted((labels, value) -> line(text, "repository_calls_total", labels, value.getCalls()));
+        text.append("# TYPE repository_errors_total counter\n");
+        forEachSorted((labels, value) -> line(text, "repository_errors_total", labels, value.getErrors()));
+        text.append("# TYPE repository_rows_total counter\n");
+        forEachSorted((labels, value) -> line(text, "repository_rows_total", labels, value.getRows()));
+        text.append("# TYPE repository_latency_seconds summary\n");
+        forEachSorted((labels, value) -> {
+            for (double quantile : QUANTILES) {
+                line(text, "repository_latency_seconds", labels + ",quantile=\"" + quantile + "\"",
+                        seconds(value.getLatencyNanos(quantile)));
+            }
+            line(text, "repository_latency_seconds_sum", labels, seconds(value.getLatencySumNanos()));
+            line(text, "repository_latency_seconds_count", labels, value.getCalls());
+        });
+        return text.toString();
+    }
+
+    private void forEachSorted(BiConsumer<String, MethodMetrics> action) {
+        getMetrics().forEach((repository, methods) -> methods.forEach((method, value) ->
+                action.accept("repository=\"" + repository + "\",method=\"" + method + "\"", value)));
+    }
+
+    private static void line(StringBuilder text, String name, String labels, Object value) {
+        text.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static void register(MBeanServer server, Key key, MethodMetrics value) {
+        try {
+            server.registerMBean(value, objectName(key));
+        } catch (InstanceAlreadyExistsException e) {
+            // Another registry published the same method; keep the first one
+        } catch (JMException e) {
+            throw new RuntimeException("Error while registering metrics of " + key, e);
+        }
+    }
+
+    private static ObjectName objectName(Key key) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=RepositoryMetrics,repository=" + ObjectName.quote(key.repository)
+                + ",method=" + ObjectName.quote(key.method));
+    }
+
+    private record Key(String repository, String method) {
+    }
+}
@@ -0,0 +1,301 @@
+package com.valorant.repositories.caching;
+
+import com.valorant.models.Agent;
+import com.valorant.models.AgentImpl;
+import com.valorant.repositories.AgentRepository;
+import com.valorant.repositories.MapRepository;
+import com.valorant.repositories.MatchRepository;
+import com.valorant.repositories.PlayerRepository;
+import com.valorant.repositories.RepositoryFactory;
+import com.valorant.repositories.WeaponRepository;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CachingRepositoryFactory. The underlying agent repository is an in-memory fake
+ * that counts the reads reaching it.
+ */
+class CachingRepositoryFactoryTest {
+
+    private FakeAgentRepository agents;
+    private CachingRepositoryFactory factory;
+
+    /**
+     * Creates a caching factory over a fake agent repository holding one agent.
+     */
+    @BeforeEach
+    void setUp() {
+        agents = new FakeAgentRepository();
+        agents.save(createAgent("Sage"));
+        factory = new CachingRepositoryFactory(new FakeRepositoryFactory(agents), 10, Duration.ofMinutes(5));
+    }
+
+    /**
+     * Tests for reads served from the cache.
+     */
+    @Nested
+    @DisplayName("Read-Through Tests")
+    class ReadThroughTests {
+
+        @Test
+        @DisplayName("Given a cached agent, when read again by ID, name or as part of all agents, then the repository should be read only once per operation")
+        void cacheReadsTest() {
+            // Arrange
+            var repository = factory.getAgentRepository();
+
+            // Act
+            for (int i = 0; i < 3; i++) {
+                repository.get(1);
+                repository.getByName("Sage");
+                repository.getAll();
+            }
+
+            // Assert
+            assertEquals(3, agents.reads, "Each operation should reach the repository once");
+            assertSame(repository, factory.getAgentRepository(), "The caching repository should be shared");
+            var metrics = factory.getMetrics().get("agent");
+            assertEquals(6, metrics.getHits());
+            assertEquals(3, metrics.getMisses());
+            assertEquals(2.0 / 3, metrics.getHitRatio(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Given a missing agent, when read twice, then the repository should be read both times")
+        void doNotCacheMissingTest() {
+            // Arrange
+            var repository = factory.getAgentRepository();
+
+            // Act
+            repository.get(42);
+            repository.get(42);
+
+            // Assert
+            assertEquals(2, agents.reads, "Null results should not be cached");
+        }
+
+        @Test
+        @DisplayName("Given some cached agents, when several are read by IDs, then the missing ones should be read with one call and cached for get")
+        void cacheReadsByIdsTest() {
+            // Arrange
+            var repository = factory.getAgentRepository();
+            agents.save(createAgent("Jett"));
+            agents.save(createAgent("Omen"));
+            repository.get(1);
+
+            // Act
+            var found = repository.getAllById(List.of(1, 2, 3, 42, 2));
+            var again = repository.getAllById(List.of(3, 1));
+            var single = repository.get(2);
+
+            // Assert
+            assertEquals(Set.of(1, 2, 3), found.keySet(), "Missing IDs should be left out");
+            assertEquals("Omen", found.get(3).getName());
+            assertEquals(2, again.size());
+            assertSame(found.get(2), single, "Entries loaded by IDs should be shared with get");
+            assertEquals(2, agents.reads, "One read for get and one for the missing IDs");
+            assertEquals(List.of(2, 3, 42), agents.lastIds, "Each missing ID should be requested once");
+        }
+    }
+
+    /**
+     * Tests for invalidation on writes.
+     */
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Given cached reads, when an agent is saved or deleted, then the next reads should see the change")
+        void invalidateOnWriteTest() {
+            // Arrange
+            var repository = factory.getAgentRepository();
+            var sage = repository.get(1);
+            assertEquals(1, repository.getAll().size());
+
+            // Act
+            var renamed = createAgent("Sova");
+            renamed.setId(sage.getId());
+            repository.save(renamed);
+            var jett = createAgent("Jett");
+            repository.save(jett);
+
+            // Assert
+            assertEquals("Sova", repository.get(1).getName());
+            assertNull(repository.getByName("Sage"));
+            assertEquals(2, repository.getAll().size());
+
+            // Act
+            repository.delete(jett);
+
+            // Assert
+            assertNull(repository.getByName("Jett"));
+            assertEquals(1, repository.getAll().size());
+        }
+    }
+
+    /**
+     * Tests for the bounds of a single cache.
+     */
+    @Nested
+    @DisplayName("EntityCache Tests")
+    class EntityCacheTests {
+
+        private long now;
+
+        @Test
+        @DisplayName("Given a cached value, when read after its time to live, then it should be loaded again")
+        void expireAfterTtlTest() {
+            // Arrange
+            var cache = new EntityCache(10, Duration.ofSeconds(1), () -> now);
+            cache.get("key", () -> "first");
+
+            // Act
+            now += Duration.ofMillis(999).toNanos();
+            var beforeExpiry = cache.get("key", () -> "second");
+            now += Duration.ofMillis(1).toNanos();
+            var afterExpiry = cache.get("key", () -> "third");
+
+            // Assert
+            assertEquals("first", beforeExpiry);
+            assertEquals("third", afterExpiry);
+        }
+
+        @Test
+        @DisplayName("Given a full cache, when a value is added, then the least recently used value should be evicted")
+        void evictLeastRecentlyUsedTest() {
+            // Arrange
+            var cache = new EntityCache(2, Duration.ofMinutes(5), () -> now);
+            cache.get("a", () -> "a");
+            cache.get("b", () -> "b");
+            cache.get("a", () -> "reloaded");
+
+            // Act
+            cache.get("c", () -> "c");
+
+            // Assert
+            assertEquals("a", cache.get("a", () -> "reloaded"), "The recently used value should be kept");
+            assertEquals("reloaded", cache.get("b", () -> "reloaded"), "The least recently used value should be evicted");
+            assertTrue(cache.getMetrics().getEvictions() >= 1);
+            assertEquals(2, cache.getMetrics().getSize());
+        }
+
+        @Test
+        @DisplayName("Given a value being loaded, when the cache is cleared meanwhile, then the value should not be cached")
+        void discardLoadRacingWithClearTest() {
+            // Arrange
+            var cache = new EntityCache(10, Duration.ofMinutes(5), () -> now);
+
+            // Act
+            var loaded = cache.get("key", () -> {
+                cache.clear();
+                return "stale";
+            });
+
+            // Assert
+            assertEquals("stale", loaded);
+            assertEquals("fresh", cache.get("key", () -> "fresh"));
+        }
+    }
+
+    private static Agent createAgent(String name) {
+        var agent = new AgentImpl();
+        agent.setName(name);
+        agent.setRole("Sentinel");
+        return agent;
+    }
+
+    /**
+     * In-memory agent repository counting the reads that reach it.
+     */
+    private static final class FakeAgentRepository implements AgentRepository {
+        private final TreeMap<Integer, Agent> agents = new TreeMap<>();
+        private int reads;
+        private List<Integer> lastIds;
+
+        @Override
+        public void save(Agent model) {
+            if (model.getId() == 0) model.setId(agents.isEmpty() ? 1 : agents.lastKey() + 1);
+            agents.put(model.getId(), model);
+        }
+
+        @Override
+        public void delete(Agent model) {
+            agents.remove(model.getId());
+        }
+
+        @Override
+        public Agent get(Integer id) {
+            reads++;
+            return agents.get(id);
+        }
+
+        @Override
+        public Map<Integer, Agent> getAllById(Collection<Integer> ids) {
+            reads++;
+            lastIds = List.copyOf(ids);
+            var found = new HashMap<Integer, Agent>();
+            ids.forEach(id -> {
+                if (agents.containsKey(id)) found.put(id, agents.get(id));
+            });
+            return found;
+        }
+
+        @Override
+        public Set<Agent> getAll() {
+            reads++;
+            return new HashSet<>(agents.values());
+        }
+
+        @Override
+        public List<Agent> getPage(Integer afterId, int limit) {
+            reads++;
+            return agents.tailMap(afterId == null ? Integer.MIN_VALUE : afterId, false).values().stream().limit(limit).toList();
+        }
+
+        @Override
+        public Agent getByName(String name) {
+            reads++;
+            return agents.values().stream().filter(agent -> agent.getName().equals(name)).findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * Factory of the fake agent repository; the other repositories are not used by these tests.
+     */
+    private record FakeRepositoryFactory(AgentRepository agentRepository) implements RepositoryFactory {
+        @Override
+        public AgentRepository getAgentRepository() {
+            return agentRepository;
+        }
+
+        @Override
+        public MapRepository getMapRepository() {
+            return null;
+        }
+
+        @Override
+        public MatchRepository getMatchRepository() {
+            return null;
+        }
+
+        @Override
+        public PlayerRepository getPlayerRepository() {
+            return null;
+        }
+
+        @Override
+        public WeaponRepository getWeaponRepository() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.valorant.repositories.metrics;
+
+import com.valorant.models.Agent;
+import com.valorant.models.AgentImpl;
+import com.valorant.repositories.AgentRepository;
+import com.valorant.repositories.MapRepository;
+import com.valorant.repositories.MatchRepository;
+import com.valorant.repositories.PlayerRepository;
+import com.valorant.repositories.RepositoryFactory;
+import com.valorant.repositories.WeaponRepository;
+import org.junit.jupiter.api.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for InstrumentedRepositoryFactory and the metrics it records.
+ * The instrumented agent repository is an in-memory fake.
+ */
+class InstrumentedRepositoryFactoryTest {
+
+    private RepositoryMetrics metrics;
+    private AgentRepository repository;
+
+    /**
+     * Instruments a fake agent repository holding two agents.
+     */
+    @BeforeEach
+    void setUp() {
+        var agents = new FakeAgentRepository();
+        agents.save(createAgent("Sage"));
+        agents.save(createAgent("Jett"));
+        metrics = new RepositoryMetrics();
+        repository = new InstrumentedRepositoryFactory(new FakeRepositoryFactory(agents), metrics).getAgentRepository();
+    }
+
+    /**
+     * Removes the MXBeans registered by a test.
+     */
+    @AfterEach
+    void tearDown() {
+        metrics.unregisterFromJmx();
+    }
+
+    /**
+     * Tests for the counters recorded per method.
+     */
+    @Nested
+    @DisplayName("Counter Tests")
+    class CounterTests {
+
+        @Test
+        @DisplayName("Given calls to a repository, when they complete, then calls and returned rows should be counted per method")
+        void countCallsAndRowsTest() {
+            // Act
+            repository.get(1);
+            repository.get(42);
+            repository.getAll();
+
+            // Assert
+            var get = metrics.forMethod("agent", "get");
+            var getAll = metrics.forMethod("agent", "getAll");
+            assertEquals(2, get.getCalls());
+            assertEquals(1, get.getRows(), "A missing agent should not count as a row");
+            assertEquals(1, getAll.getCalls());
+            assertEquals(2, getAll.getRows());
+            assertEquals(0, get.getErrors());
+        }
+
+        @Test
+        @DisplayName("Given a failing call, when it throws, then the error should be counted and the exception rethrown")
+        void countErrorsTest() {
+            // Act
+            var exception = assertThrows(IllegalStateException.class, () -> repository.getByName(null));
+
+            // Assert
+            assertEquals("Name is required", exception.getMessage());
+            assertEquals(1, metrics.forMethod("agent", "getByName").getCalls());
+            assertEquals(1, metrics.forMethod("agent", "getByName").getErrors());
+        }
+
+        @Test
+        @DisplayName("Given a stream, when consumed, then its rows should be counted as they are read")
+        void countStreamedRowsTest() {
+            // Act
+            long count;
+            try (var agents = repository.stream()) {
+                count = agents.count();
+            }
+
+            // Assert
+            assertEquals(2, count);
+            assertEquals(2, metrics.forMethod("agent", "stream").getRows());
+        }
+    }
+
+    /**
+     * Tests for publishing the metrics.
+     */
+    @Nested
+    @DisplayName("Exposition Tests")
+    class ExpositionTests {
+
+        @Test
+        @DisplayName("Given recorded calls, when rendered as Prometheus text, then counters, quantiles, sum and count should be listed per method")
+        void prometheusTextTest() {
+            // Arrange
+            repository.get(1);
+
+            // Act
+            var text = metrics.toPrometheusText();
+
+            // Assert
+            assertTrue(text.contains("repository_calls_total{repository=\"agent\",method=\"get\"} 1\n"), text);
+            assertTrue(text.contains("repository_rows_total{repository=\"agent\",method=\"get\"} 1\n"), text);
+            assertTrue(text.contains("repository_latency_seconds{repository=\"agent\",method=\"get\",quantile=\"0.99\"} "), text);
+            assertTrue(text.contains("repository_latency_seconds_sum{repository=\"agent\",method=\"get\"} "), text);
+            assertTrue(text.contains("repository_latency_seconds_count{repository=\"agent\",method=\"get\"} 1\n"), text);
+        }
+
+        @Test
+        @DisplayName("Given metrics registered with JMX, when a method is called, then its MXBean should report the calls")
+        void jmxTest() throws Exception {
+            // Arrange
+            metrics.registerWithJmx();
+
+            // Act
+            repository.get(1);
+            repository.get(2);
+
+            // Assert
+            var name = new ObjectName("com.valorant:type=RepositoryMetrics,repository=\"agent\",method=\"get\"");
+            assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Calls"));
+        }
+    }
+
+    /**
+     * Tests for the latency histogram.
+     */
+    @Nested
+    @DisplayName("LatencyHistogram Tests")
+    class LatencyHistogramTests {
+
+        @Test
+        @DisplayName("Given recorded latencies, when quantiles are read, then they should be within the bucket precision")
+        void quantilesTest() {
+            // Arrange
+            var histogram = new LatencyHistogram();
+            for (long micros = 1; micros <= 1000; micros++) {
+                histogram.record(micros * 1000);
+            }
+
+            // Act
+            long p50 = histogram.getValueAtQuantile(0.5);
+            long p99 = histogram.getValueAtQuantile(0.99);
+            long p999 = histogram.getValueAtQuantile(0.999);
+
+            // Assert
+            assertEquals(500_000, p50, 500_000 * 0.016);
+            assertEquals(990_000, p99, 990_000 * 0.016);
+            assertEquals(999_000, p999, 999_000 * 0.016);
+            assertEquals(1_000_000, histogram.getMax());
+            assertEquals(1000, histogram.getCount());
+        }
+
+        @Test
+        @DisplayName("Given any value, when bucketed, then the bucket should contain it and buckets should be contiguous")
+        void bucketBoundariesTest() {
+            // Assert
+            for (long value : new long[]{0, 127, 128, 129, 255, 256, 1_000_000, LatencyHistogram.MAX_VALUE}) {
+                int index = LatencyHistogram.bucketIndex(value);
+                assertTrue(LatencyHistogram.highestValueIn(index) >= value, "Bucket of " + value + " too low");
+                assertTrue(index == 0 || LatencyHistogram.highestValueIn(index - 1) < value, "Bucket of " + value + " too high");
+            }
+        }
+    }
+
+    private static Agent createAgent(String name) {
+        var agent = new AgentImpl();
+        agent.setName(name);
+        return agent;
+    }
+
+    /**
+     * In-memory agent repository; looking an agent up by a null name fails.
+     */
+    private static final class FakeAgentRepository implements AgentRepository {
+        private final TreeMap<Integer, Agent> agents = new TreeMap<>();
+
+        @Override
+        public void save(Agent model) {
+            if (model.getId() == 0) model.setId(agents.isEmpty() ? 1 : agents.lastKey() + 1);
+            agents.put(model.getId(), model);
+        }
+
+        @Override
+        public void delete(Agent model) {
+            agents.remove(model.getId());
+        }
+
+        @Override
+        public Agent get(Integer id) {
+            return agents.get(id);
+        }
+
+        @Override
+        public Set<Agent> getAll() {
+            return new HashSet<>(agents.values());
+        }
+
+        @Override
+        public List<Agent> getPage(Integer afterId, int limit) {
+            return agents.tailMap(afterId == null ? Integer.MIN_VALUE : afterId, false).values().stream().limit(limit).toList();
+        }
+
+        @Override
+        public Agent getByName(String name) {
+            if (name == null) throw new IllegalStateException("Name is required");
+            return agents.values().stream().filter(agent -> agent.getName().equals(name)).findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * Factory of the fake agent repository; the other repositories are not used by these tests.
+     */
+    private record FakeRepositoryFactory(AgentRepository agentRepository) implements RepositoryFactory {
+        @Override
+        public AgentRepository getAgentRepository() {
+            return agentRepository;
+        }
+
+        @Override
+        public MapRepository getMapRepository() {
+            return null;
+        }
+
+        @Override
+        public MatchRepository getMatchRepository() {
+            return null;
+        }
+
+        @Override
+        public PlayerRepository getPlayerRepository() {
+            return null;
+        }
+
+        @Override
+        public WeaponRepository getWeaponRepository() {
+            return null;
+        }
+    }
+}
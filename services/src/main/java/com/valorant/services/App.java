@@ -1,20 +1,38 @@
 package com.valorant.services;
 
 import com.valorant.domain.jdbc.repositories.JdbcRepositoryFactory;
+import com.valorant.repositories.caching.CachingRepositoryFactory;
+import com.valorant.repositories.metrics.InstrumentedRepositoryFactory;
+import com.valorant.repositories.metrics.RepositoryMetrics;
 import com.valorant.services.controllers.*;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 public class App {
     public static void main(String[] args) throws IOException {
-        var repositoryFactory = new JdbcRepositoryFactory();
-        var agentController = new AgentController(repositoryFactory.getAgentRepository());
-        var mapController = new MapController(repositoryFactory.getMapRepository());
-        var matchController = new MatchController(repositoryFactory.getMatchRepository());
-        var playerController = new PlayerController(repositoryFactory.getPlayerRepository());
-        var weaponController = new WeaponController(repositoryFactory.getWeaponRepository());
+        var properties = new Properties();
+        properties.load(App.class.getResourceAsStream("/server.properties"));
+
+        var jdbcRepositoryFactory = new JdbcRepositoryFactory();
+        // Every call reaching the database is counted and timed, published over JMX and at /metrics
+        var repositoryMetrics = new RepositoryMetrics();
+        repositoryMetrics.registerWithJmx();
+        var instrumentedRepositoryFactory = new InstrumentedRepositoryFactory(jdbcRepositoryFactory, repositoryMetrics);
+        // Agents, maps and weapons hardly ever change, so their reads are served from memory
+        var repositoryFactory = new CachingRepositoryFactory(instrumentedRepositoryFactory,
+                Integer.parseInt(properties.getProperty("cache.maxSize", String.valueOf(CachingRepositoryFactory.DEFAULT_MAX_SIZE))),
+                Duration.ofSeconds(Long.parseLong(properties.getProperty("cache.ttlSeconds",
+                        String.valueOf(CachingRepositoryFactory.DEFAULT_TTL.toSeconds())))));
+        var jsonMappers = new JsonMapperRegistry();
+        var agentController = new AgentController(repositoryFactory.getAgentRepository(), jsonMappers);
+        var mapController = new MapController(repositoryFactory.getMapRepository(), jsonMappers);
+        var matchController = new MatchController(repositoryFactory.getMatchRepository(), jsonMappers);
+        var playerController = new PlayerController(repositoryFactory.getPlayerRepository(), jsonMappers);
+        var weaponController = new WeaponController(repositoryFactory.getWeaponRepository(), jsonMappers);
 
         Map<String, Controller> controllers = new HashMap<>();
         controllers.put("agent", agentController);
@@ -23,9 +41,31 @@ public class App {
         controllers.put("player", playerController);
         controllers.put("weapon", weaponController);
 
-
-        var requestRouter = new RequestRouterImpl(controllers);
-        var server = new Server(requestRouter);
+        var requestRouter = new MetricsRouter(new RequestRouterImpl(controllers, jsonMappers),
+                repositoryMetrics::toPrometheusText);
+        int port = Integer.parseInt(properties.getProperty("port", String.valueOf(Server.PORT)));
+        var shutdownTimeout = Duration.ofSeconds(Long.parseLong(properties.getProperty("shutdownTimeoutSeconds",
+                String.valueOf(Server.DEFAULT_SHUTDOWN_TIMEOUT.toSeconds()))));
+        var keepAliveTimeout = Duration.ofSeconds(Long.parseLong(properties.getProperty("keepAliveTimeoutSeconds",
+                String.valueOf(Server.DEFAULT_KEEP_ALIVE_TIMEOUT.toSeconds()))));
+        // "nio" serves many idle keep-alive connections from a few selector threads instead of a thread each
+        HttpServer server = switch (properties.getProperty("mode", "blocking")) {
+            case "blocking" -> new Server(requestRouter, port,
+                    Integer.parseInt(properties.getProperty("maxConcurrency", String.valueOf(Server.DEFAULT_MAX_CONCURRENCY))),
+                    shutdownTimeout, keepAliveTimeout);
+            case "nio" -> new NioServer(requestRouter, port,
+                    Integer.parseInt(properties.getProperty("eventLoopThreads", String.valueOf(NioServer.DEFAULT_EVENT_LOOP_THREADS))),
+                    Integer.parseInt(properties.getProperty("workerThreads", String.valueOf(NioServer.DEFAULT_WORKER_THREADS))),
+                    shutdownTimeout, keepAliveTimeout);
+            default -> throw new IllegalArgumentException("Unknown server mode: " + properties.getProperty("mode"));
+        };
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            // Only release the database connections once in-flight requests have drained
+            System.out.println("Repository caches on shutdown: " + repositoryFactory.getMetrics());
+            System.out.println("Connection pool on shutdown: " + jdbcRepositoryFactory.getConnectionPool().getMetrics());
+            jdbcRepositoryFactory.close();
+        }));
         server.start();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.valorant.services;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of fixed-size direct {@link ByteBuffer}s that responses are encoded into.
+ * <p>
+ * Direct buffers are written to sockets without the copy into a temporary native buffer that the JDK makes for
+ * heap buffers, but they are slow to allocate and only freed by the garbage collector, so they are recycled
+ * instead of allocated per response. When the pool is empty a new buffer is allocated; buffers released while
+ * the pool already holds its maximum are left to the garbage collector, so memory use is bounded by the busiest
+ * moment rather than growing with it. Thread-safe.
+ */
+public class BufferPool {
+    public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+    public static final int DEFAULT_MAX_POOLED = 1024;
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final LongAdder allocated = new LongAdder();
+
+    public BufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+    }
+
+    /**
+     * @param bufferSize the capacity of every buffer, in bytes.
+     * @param maxPooled  the maximum number of idle buffers kept for reuse.
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1");
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * @return an empty buffer of {@link #getBufferSize()} bytes, ready to be written to.
+     */
+    public ByteBuffer acquire() {
+        var buffer = buffers.poll();
+        if (buffer == null) {
+            allocated.increment();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Hands a buffer back for reuse. The caller must not touch it afterwards. Buffers that did not come from
+     * a pool of this size, such as heap buffers, are ignored.
+     */
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) return;
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buffers.add(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of idle buffers waiting to be reused.
+     */
+    public int getPooled() {
+        return pooled.get();
+    }
+
+    /**
+     * @return the number of buffers allocated because the pool was empty, since it was created.
+     */
+    public long getAllocated() {
+        return allocated.sum();
+    }
+}
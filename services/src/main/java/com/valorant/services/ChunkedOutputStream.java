@@ -0,0 +1,85 @@
+package com.valorant.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Output stream that frames everything written to it as HTTP/1.1 chunks.
+ * Data is buffered and emitted as one chunk per full buffer or per {@link #flush()}.
+ * {@link #finish()} writes the terminating zero-length chunk; closing the stream
+ * only flushes it, so an aborted body is never mistaken for a complete one.
+ * The underlying stream is never closed.
+ */
+class ChunkedOutputStream extends OutputStream {
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count;
+    private boolean finished;
+
+    ChunkedOutputStream(OutputStream out) {
+        this(out, DEFAULT_CHUNK_SIZE);
+    }
+
+    ChunkedOutputStream(OutputStream out, int chunkSize) {
+        this.out = out;
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) writeBufferedChunk();
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len >= buffer.length) {
+            // Large writes go out as their own chunk without being copied into the buffer
+            writeBufferedChunk();
+            writeChunk(b, off, len);
+            return;
+        }
+        if (len > buffer.length - count) writeBufferedChunk();
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBufferedChunk();
+        out.flush();
+    }
+
+    /**
+     * Writes any buffered data followed by the last chunk, completing the message body.
+     */
+    void finish() throws IOException {
+        if (finished) return;
+        writeBufferedChunk();
+        out.write(LAST_CHUNK);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void writeBufferedChunk() throws IOException {
+        writeChunk(buffer, 0, count);
+        count = 0;
+    }
+
+    private void writeChunk(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return;
+        out.write(Integer.toHexString(len).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+        out.write(b, off, len);
+        out.write(CRLF);
+    }
+}
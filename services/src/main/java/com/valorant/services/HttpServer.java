@@ -0,0 +1,30 @@
+package com.valorant.services;
+
+/**
+ * An HTTP server that answers requests with a {@link RequestRouter}. Both implementations keep connections
+ * alive between requests and answer pipelined requests in order:
+ * <ul>
+ *     <li>{@link Server} serves every connection on its own virtual thread, with blocking sockets;</li>
+ *     <li>{@link NioServer} multiplexes all connections over a few selector threads and only uses a worker
+ *     thread while a request is being answered, so idle connections cost no thread.</li>
+ * </ul>
+ */
+public interface HttpServer {
+
+    /**
+     * Starts accepting connections. Blocks the calling thread until {@link #stop()} is called.
+     */
+    void start();
+
+    /**
+     * Stops accepting new connections and waits for in-flight requests to complete, up to a timeout.
+     */
+    void stop();
+
+    boolean isRunning();
+
+    /**
+     * @return the port the server is bound to, or -1 if it has not started yet.
+     */
+    int getLocalPort();
+}
@@ -0,0 +1,131 @@
+package com.valorant.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.valorant.models.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.stream.Stream;
+
+/**
+ * Shared registry of pre-built Jackson readers and writers for the domain models.
+ * <p>
+ * The {@link ObjectMapper}, the abstract-type mappings (interface to {@code *Impl} class) and the
+ * {@link JavaTimeModule} are configured once; the readers and writers handed out are immutable and
+ * thread-safe, so a single registry is meant to be created at startup and shared by the router and
+ * every controller. This keeps Jackson's serializer and deserializer caches warm across requests.
+ */
+public class JsonMapperRegistry {
+    private final ObjectMapper mapper;
+    private final java.util.Map<Class<?>, ObjectReader> readers = new HashMap<>();
+    private final java.util.Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+    private final java.util.Map<Class<?>, ObjectWriter> collectionWriters = new HashMap<>();
+    private final java.util.Map<Class<?>, ObjectWriter> elementWriters = new HashMap<>();
+
+    public JsonMapperRegistry() {
+        this(new Module[0]);
+    }
+
+    /**
+     * Creates a registry whose mapper also registers the given modules, for instance one that replaces
+     * reflection with generated accessors.
+     *
+     * @param extraModules the Jackson modules to register after the model mappings and {@link JavaTimeModule}.
+     */
+    public JsonMapperRegistry(Module... extraModules) {
+        var module = new SimpleModule();
+        module.addAbstractTypeMapping(Agent.class, AgentImpl.class);
+        module.addAbstractTypeMapping(Map.class, MapImpl.class);
+        module.addAbstractTypeMapping(Match.class, MatchImpl.class);
+        module.addAbstractTypeMapping(Player.class, PlayerImpl.class);
+        module.addAbstractTypeMapping(Weapon.class, WeaponImpl.class);
+
+        // Static typing serializes models through their domain interface, whatever the backend implementation is
+        mapper = JsonMapper.builder()
+                .enable(MapperFeature.USE_STATIC_TYPING)
+                .addModule(module)
+                .addModule(new JavaTimeModule())
+                .addModules(extraModules)
+                .build();
+
+        register(Agent.class);
+        register(Map.class);
+        register(Match.class);
+        register(Player.class);
+        register(Weapon.class);
+    }
+
+    private void register(Class<?> type) {
+        readers.put(type, mapper.readerFor(type));
+        writers.put(type, mapper.writerFor(type));
+        collectionWriters.put(type, mapper.writerFor(mapper.getTypeFactory().constructCollectionType(Collection.class, type)));
+        // Writes array elements into a shared generator, leaving flushing to the generator's buffer
+        elementWriters.put(type, mapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+    }
+
+    /**
+     * @return the reader that deserializes JSON into the given model type.
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return lookup(readers, type);
+    }
+
+    /**
+     * @return the writer that serializes a single instance of the given model type.
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+        return lookup(writers, type);
+    }
+
+    /**
+     * @return the writer that serializes a collection of the given model type.
+     */
+    public ObjectWriter collectionWriterFor(Class<?> type) {
+        return lookup(collectionWriters, type);
+    }
+
+    /**
+     * Writes the values as a JSON array straight to the output stream, serializing one element at a time,
+     * so memory use does not depend on how many values the stream produces. The output stream is not closed.
+     *
+     * @param type         the model type of the values.
+     * @param values       the values to write.
+     * @param outputStream the stream to write the JSON array to.
+     * @throws IOException if writing to the output stream fails.
+     */
+    public void writeArray(Class<?> type, Stream<?> values, OutputStream outputStream) throws IOException {
+        var elementWriter = lookup(elementWriters, type);
+        try (var generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (var iterator = values.iterator(); iterator.hasNext(); ) {
+                elementWriter.writeValue(generator, iterator.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * @return the underlying mapper, for callers that need lower-level access such as a {@code JsonGenerator}.
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    private static <T> T lookup(java.util.Map<Class<?>, T> registry, Class<?> type) {
+        var value = registry.get(type);
+        if (value == null) throw new IllegalArgumentException("No JSON mapping registered for " + type.getName());
+        return value;
+    }
+}
@@ -0,0 +1,59 @@
+package com.valorant.services;
+
+import rawhttp.core.HttpVersion;
+import rawhttp.core.RawHttpHeaders;
+import rawhttp.core.RawHttpRequest;
+import rawhttp.core.RawHttpResponse;
+import rawhttp.core.StatusLine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Router that answers {@code GET /metrics} with the text produced by a metrics source, in the Prometheus text
+ * exposition format, and hands every other request to the router it wraps.
+ * <p>
+ * The text is encoded once, into a {@link PooledBody}, and sent by the server like the other responses.
+ */
+public class MetricsRouter implements RequestRouter {
+
+    private static final StatusLine OK = new StatusLine(HttpVersion.HTTP_1_1, 200, "OK");
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private final RequestRouter delegate;
+    private final Supplier<String> metrics;
+    private final BufferPool bufferPool;
+
+    public MetricsRouter(RequestRouter delegate, Supplier<String> metrics) {
+        this(delegate, metrics, new BufferPool());
+    }
+
+    /**
+     * @param delegate   the router of every request other than {@code GET /metrics}.
+     * @param metrics    renders the current metrics.
+     * @param bufferPool the pool the metrics are encoded into.
+     */
+    public MetricsRouter(RequestRouter delegate, Supplier<String> metrics, BufferPool bufferPool) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public RawHttpResponse<?> execRequest(RawHttpRequest request) {
+        if (!"GET".equals(request.getMethod()) || !"/metrics".equals(request.getUri().getPath())) {
+            return delegate.execRequest(request);
+        }
+        var text = metrics.get().getBytes(StandardCharsets.UTF_8);
+        try {
+            var body = PooledBody.write(bufferPool, outputStream -> outputStream.write(text));
+            var headers = RawHttpHeaders.newBuilder()
+                    .with("Content-Type", CONTENT_TYPE)
+                    .with("Content-Length", Long.toString(body.length()))
+                    .build();
+            return new RawHttpResponse<>(body, request, OK, headers, null);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while encoding the metrics", e);
+        }
+    }
+}
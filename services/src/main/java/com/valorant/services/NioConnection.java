@@ -0,0 +1,350 @@
+package com.valorant.services;
+
+import rawhttp.core.RawHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * A client connection of the {@link NioServer}: the bytes received that have not been answered yet, and the
+ * response bytes waiting to be written.
+ * <p>
+ * Received bytes are split into complete requests, using the {@code Content-Length} header to find where each
+ * one ends, before they are parsed. An idle connection keeps no buffer at all. Responses are written by a worker
+ * thread into {@link #responseStream()}, or handed over as they are when already encoded in a {@link PooledBody},
+ * and sent by the event loop with gathering writes as the socket accepts them; a worker that gets more than
+ * {@value #MAX_QUEUED_BYTES} bytes ahead of the client waits for them to be sent.
+ * <p>
+ * Unless stated otherwise, methods must be called on the event loop thread the connection belongs to.
+ */
+final class NioConnection {
+    static final int MAX_HEADER_SIZE = 16 * 1024;
+    static final int MAX_BODY_SIZE = 1024 * 1024;
+    static final int MAX_QUEUED_BYTES = 256 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int WRITE_BUFFER_SIZE = 8192;
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+    private static final int MAX_GATHERED_BUFFERS = 16;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final Executor eventLoop;
+    private final Runnable onClose;
+
+    // Received bytes not yet split into requests, in write mode; null while there are none
+    private ByteBuffer received;
+    // Where to resume looking for the end of the headers, so slowly arriving headers are not scanned again
+    private int headerSearchFrom;
+
+    // Whether a request is being answered; the next one is only dispatched once its response has been queued
+    boolean busy;
+    // Whether the client shut down its side of the connection
+    boolean inputClosed;
+    // Whether to close the connection once the queued response bytes have been sent
+    boolean closeAfterWrite;
+    long lastActivityNanos = System.nanoTime();
+
+    // Guarded by this, as workers add to it and the event loop drains it
+    private final ArrayDeque<Pending> writeQueue = new ArrayDeque<>();
+    private final ByteBuffer[] gathered = new ByteBuffer[MAX_GATHERED_BUFFERS];
+    private long queuedBytes;
+    private boolean closed;
+
+    /**
+     * @param onClose run once when the connection is closed, whichever thread or path closes it.
+     */
+    NioConnection(SocketChannel channel, SelectionKey key, Executor eventLoop, Runnable onClose) {
+        this.channel = channel;
+        this.key = key;
+        this.eventLoop = eventLoop;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Reads what the client sent into the shared read buffer and keeps it until it is split into requests.
+     *
+     * @return false if the client closed its side of the connection.
+     */
+    boolean read(ByteBuffer readBuffer) throws IOException {
+        readBuffer.clear();
+        int count = channel.read(readBuffer);
+        if (count < 0) {
+            inputClosed = true;
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            return false;
+        }
+        lastActivityNanos = System.nanoTime();
+        readBuffer.flip();
+        if (received == null) {
+            received = ByteBuffer.allocate(Math.max(INITIAL_BUFFER_SIZE, count));
+        } else if (received.remaining() < count) {
+            received = ByteBuffer.allocate(Math.max(received.capacity() * 2, received.position() + count))
+                    .put(received.flip());
+        }
+        received.put(readBuffer);
+        // Pipelined requests wait for the one being answered; stop reading rather than buffering without bound
+        if (busy && received.position() >= MAX_HEADER_SIZE + MAX_BODY_SIZE) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+        return true;
+    }
+
+    /**
+     * Takes the next complete request out of the received bytes.
+     *
+     * @return the bytes of the request, headers and body, or null if it has not been received completely yet.
+     * @throws ProtocolException if the request cannot be framed; its message is the status line to answer with.
+     */
+    byte[] nextRequest() throws ProtocolException {
+        if (received == null) return null;
+        byte[] bytes = received.array();
+        int length = received.position();
+        int headerEnd = indexOf(bytes, headerSearchFrom, length, HEADER_END);
+        if (headerEnd < 0) {
+            if (length > MAX_HEADER_SIZE) throw new ProtocolException("431 Request Header Fields Too Large");
+            headerSearchFrom = Math.max(0, length - HEADER_END.length + 1);
+            return null;
+        }
+        int bodyStart = headerEnd + HEADER_END.length;
+        long bodyLength = bodyLength(new String(bytes, 0, headerEnd, StandardCharsets.ISO_8859_1));
+        if (length < bodyStart + bodyLength) return null;
+
+        byte[] request = Arrays.copyOf(bytes, bodyStart + (int) bodyLength);
+        received.flip().position(request.length);
+        received.compact();
+        if (received.position() == 0) received = null;
+        headerSearchFrom = 0;
+        return request;
+    }
+
+    /**
+     * Resumes reading after it was paused because too many pipelined requests were waiting.
+     */
+    void resumeReading() {
+        if (!inputClosed && key.isValid()) key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+    }
+
+    /**
+     * Queues a response that does not need a worker, such as an error found while framing a request,
+     * and closes the connection once it is sent.
+     */
+    void reject(String status) {
+        var response = "HTTP/1.1 " + status + "\r\nContent-Length: 0\r\nConnection: close\r\n\r\n";
+        received = null;
+        closeAfterWrite = true;
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        var bytes = ByteBuffer.wrap(response.getBytes(StandardCharsets.US_ASCII));
+        synchronized (this) {
+            writeQueue.add(new Pending(bytes, null));
+            queuedBytes += bytes.remaining();
+        }
+        write();
+    }
+
+    /**
+     * May be called from any thread.
+     *
+     * @return a stream the response is written to; flushing it hands the bytes written so far to the event loop.
+     */
+    OutputStream responseStream() {
+        return new ResponseStream();
+    }
+
+    /**
+     * Queues a response whose body is already encoded, without copying it. May be called from any thread.
+     *
+     * @throws IOException if the connection was closed, or the thread interrupted while waiting for the client.
+     */
+    void send(RawHttpResponse<?> response, PooledBody body) throws IOException {
+        var buffers = body.encode(response);
+        synchronized (this) {
+            try {
+                awaitQueueSpace();
+            } catch (IOException e) {
+                for (var buffer : buffers) {
+                    body.release(buffer);
+                }
+                throw e;
+            }
+            for (var buffer : buffers) {
+                writeQueue.add(new Pending(buffer, body));
+                queuedBytes += buffer.remaining();
+            }
+        }
+        eventLoop.execute(this::write);
+    }
+
+    /**
+     * Sends as many queued bytes as the socket takes, and asks to be told when it takes more if any are left.
+     */
+    void write() {
+        boolean drained;
+        try {
+            synchronized (this) {
+                while (!writeQueue.isEmpty()) {
+                    // One gathering write for the head and body buffers of as many queued responses as fit
+                    int count = 0;
+                    for (var pending : writeQueue) {
+                        if (count == gathered.length) break;
+                        gathered[count++] = pending.buffer();
+                    }
+                    queuedBytes -= channel.write(gathered, 0, count);
+                    Arrays.fill(gathered, 0, count, null);
+                    int sent = 0;
+                    while (!writeQueue.isEmpty() && !writeQueue.peek().buffer().hasRemaining()) {
+                        writeQueue.poll().release();
+                        sent++;
+                    }
+                    if (sent < count) break;
+                }
+                drained = writeQueue.isEmpty();
+                notifyAll();
+            }
+        } catch (IOException e) {
+            close();
+            return;
+        }
+        if (!key.isValid()) return;
+        if (drained) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            if (closeAfterWrite && !busy) close();
+        } else {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+    }
+
+    synchronized boolean hasQueuedBytes() {
+        return !writeQueue.isEmpty();
+    }
+
+    boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    /**
+     * Closes the connection, dropping any queued bytes and releasing a worker waiting to queue more, then runs the
+     * close callback. May be called from any thread, any number of times; only the first call has an effect.
+     */
+    void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            for (Pending pending; (pending = writeQueue.poll()) != null; ) {
+                pending.release();
+            }
+            queuedBytes = 0;
+            notifyAll();
+        }
+        onClose.run();
+    }
+
+    // Called by workers: queues the bytes, waiting while the client is too far behind, and wakes the event loop
+    private void enqueue(ByteBuffer buffer) throws IOException {
+        synchronized (this) {
+            awaitQueueSpace();
+            writeQueue.add(new Pending(buffer, null));
+            queuedBytes += buffer.remaining();
+        }
+        eventLoop.execute(this::write);
+    }
+
+    // Called holding the lock
+    private void awaitQueueSpace() throws IOException {
+        try {
+            while (queuedBytes > MAX_QUEUED_BYTES && !closed) wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the client to read the response");
+        }
+        if (closed) throw new IOException("Connection closed");
+    }
+
+    // Length of the body announced by the headers; requests without Content-Length have none
+    private static long bodyLength(String headers) throws ProtocolException {
+        long length = 0;
+        for (var line : headers.split("\r\n")) {
+            int separator = line.indexOf(':');
+            if (separator < 0) continue;
+            var name = line.substring(0, separator).trim();
+            var value = line.substring(separator + 1).trim();
+            if (name.equalsIgnoreCase("Transfer-Encoding") && !value.equalsIgnoreCase("identity")) {
+                throw new ProtocolException("411 Length Required");
+            }
+            if (name.equalsIgnoreCase("Content-Length")) {
+                try {
+                    length = Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    throw new ProtocolException("400 Bad Request");
+                }
+                if (length < 0) throw new ProtocolException("400 Bad Request");
+                if (length > MAX_BODY_SIZE) throw new ProtocolException("413 Content Too Large");
+            }
+        }
+        return length;
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte[] target) {
+        outer:
+        for (int i = from; i <= to - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // A buffer waiting to be written, and the pooled body to hand it back to once written, if any
+    private record Pending(ByteBuffer buffer, PooledBody owner) {
+        void release() {
+            if (owner != null) owner.release(buffer);
+        }
+    }
+
+    // Buffers what a worker writes and queues it one buffer at a time
+    private final class ResponseStream extends OutputStream {
+        private byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+        private int count;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) flush();
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > buffer.length - count) flush();
+            if (len >= buffer.length) {
+                enqueue(ByteBuffer.wrap(Arrays.copyOfRange(b, off, off + len)));
+                return;
+            }
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (count == 0) return;
+            // The queued buffer is handed over as it is, so the next writes go to a new one
+            enqueue(ByteBuffer.wrap(buffer, 0, count));
+            buffer = new byte[WRITE_BUFFER_SIZE];
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.valorant.services;
+
+import com.valorant.services.exception.ServerException;
+import rawhttp.core.RawHttp;
+import rawhttp.core.RawHttpHeaders;
+import rawhttp.core.RawHttpOptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP server built on non-blocking channels, for many mostly idle keep-alive connections.
+ * <p>
+ * A few event loop threads, each with its own {@link Selector}, read from and write to every connection; accepted
+ * connections are spread over them in turn. Received bytes are split into requests on the event loop, and each
+ * complete request is parsed and answered by {@link RequestRouter#execRequest} on a fixed pool of worker threads,
+ * so the number of threads does not depend on the number of connections, and an idle connection only costs its
+ * socket and a few objects.
+ * <p>
+ * Like {@link Server}, connections are kept alive until the client sends {@code Connection: close} or stays idle
+ * for longer than the keep-alive timeout, pipelined requests are answered one by one in the order they arrived,
+ * and {@link StreamingBody} responses are written with chunked transfer-encoding as the body is produced.
+ * {@link PooledBody} responses are queued as they are, without copying. Request bodies must have a
+ * {@code Content-Length}, of at most one megabyte.
+ */
+public class NioServer implements HttpServer {
+    public static final int DEFAULT_EVENT_LOOP_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    public static final int DEFAULT_WORKER_THREADS = 64;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int ACCEPT_BACKLOG = 1024;
+    private static final RawHttpHeaders CONNECTION_CLOSE = RawHttpHeaders.newBuilder().with("Connection", "close").build();
+    private static final System.Logger LOGGER = System.getLogger(NioServer.class.getName());
+
+    private final RequestRouter requestRouter;
+    private final RawHttp rawHttp = new RawHttp(RawHttpOptions.newBuilder().doNotInsertHostHeaderIfMissing().build());
+    private final int port;
+    private final int eventLoopThreads;
+    private final int workerThreads;
+    private final Duration shutdownTimeout;
+    private final Duration keepAliveTimeout;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private volatile boolean isRunning;
+    private volatile ServerSocketChannel serverChannel;
+    private volatile ExecutorService workers;
+    private volatile List<EventLoop> eventLoops = List.of();
+
+    public NioServer(RequestRouter requestRouter) {
+        this(requestRouter, Server.PORT, DEFAULT_EVENT_LOOP_THREADS, DEFAULT_WORKER_THREADS,
+                Server.DEFAULT_SHUTDOWN_TIMEOUT, Server.DEFAULT_KEEP_ALIVE_TIMEOUT);
+    }
+
+    /**
+     * @param requestRouter    router that turns requests into responses.
+     * @param port             port to listen on, or 0 to pick an ephemeral port.
+     * @param eventLoopThreads number of threads reading from and writing to the connections.
+     * @param workerThreads    maximum number of requests answered at the same time.
+     * @param shutdownTimeout  how long {@link #stop()} waits for in-flight requests to drain.
+     * @param keepAliveTimeout how long an idle persistent connection is kept open.
+     */
+    public NioServer(RequestRouter requestRouter, int port, int eventLoopThreads, int workerThreads,
+                     Duration shutdownTimeout, Duration keepAliveTimeout) {
+        if (eventLoopThreads < 1) {
+            throw new IllegalArgumentException("eventLoopThreads must be at least 1");
+        }
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("workerThreads must be at least 1");
+        }
+        this.requestRouter = requestRouter;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+        this.workerThreads = workerThreads;
+        this.shutdownTimeout = shutdownTimeout;
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    /**
+     * Starts accepting connections. Blocks the calling thread, which accepts them, until {@link #stop()} is called.
+     */
+    @Override
+    public void start() {
+        var threadCount = new AtomicInteger();
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+            workers = Executors.newFixedThreadPool(workerThreads,
+                    runnable -> new Thread(runnable, "nio-worker-" + threadCount.incrementAndGet()));
+            var eventLoops = new ArrayList<EventLoop>();
+            for (int i = 0; i < eventLoopThreads; i++) {
+                var eventLoop = new EventLoop(Selector.open(), "nio-event-loop-" + (i + 1));
+                eventLoops.add(eventLoop);
+                eventLoop.thread.start();
+            }
+            this.eventLoops = eventLoops;
+            this.serverChannel = serverChannel;
+            isRunning = true;
+
+            for (int next = 0; isRunning; next = (next + 1) % eventLoops.size()) {
+                SocketChannel channel;
+                try {
+                    channel = serverChannel.accept();
+                } catch (ClosedChannelException e) {
+                    if (!isRunning) break;
+                    throw e;
+                }
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                eventLoops.get(next).register(channel);
+            }
+        } catch (IOException e) {
+            throw new ServerException(e);
+        } finally {
+            isRunning = false;
+        }
+    }
+
+    /**
+     * Stops accepting new connections and waits up to the shutdown timeout for in-flight requests to complete.
+     * Idle keep-alive connections are closed right away; requests still running after the timeout are
+     * interrupted.
+     */
+    @Override
+    public void stop() {
+        isRunning = false;
+        try {
+            if (serverChannel != null) serverChannel.close();
+        } catch (IOException e) {
+            throw new ServerException(e);
+        }
+        eventLoops.forEach(eventLoop -> eventLoop.execute(eventLoop::closeIdleConnections));
+
+        var workers = this.workers;
+        if (workers == null) return;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        eventLoops.forEach(EventLoop::shutdown);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    @Override
+    public int getLocalPort() {
+        var serverChannel = this.serverChannel;
+        if (serverChannel == null) return -1;
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the number of open client connections, idle or not.
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * A selector thread and the connections registered with it. Connection state is only touched on this
+     * thread; other threads hand it tasks through {@link #execute}.
+     */
+    private final class EventLoop {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        // Shared by all the connections of the loop, so that idle connections hold no read buffer
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private final long keepAliveNanos = keepAliveTimeout.toNanos();
+        private final long idleCheckMillis = Math.max(10, Math.min(1000, keepAliveTimeout.toMillis() / 2));
+        private volatile boolean open = true;
+
+        EventLoop(Selector selector, String name) {
+            this.selector = selector;
+            this.thread = new Thread(this::run, name);
+        }
+
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        void register(SocketChannel channel) {
+            execute(() -> {
+                try {
+                    var key = channel.register(selector, SelectionKey.OP_READ);
+                    key.attach(new NioConnection(channel, key, this::execute, openConnections::decrementAndGet));
+                    openConnections.incrementAndGet();
+                } catch (IOException e) {
+                    closeQuietly(channel);
+                }
+            });
+        }
+
+        void shutdown() {
+            open = false;
+            selector.wakeup();
+            try {
+                thread.join(shutdownTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void run() {
+            long nextIdleCheck = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(idleCheckMillis);
+            try {
+                while (open) {
+                    selector.select(this::onReady, idleCheckMillis);
+                    for (Runnable task; (task = tasks.poll()) != null; ) {
+                        task.run();
+                    }
+                    if (System.nanoTime() - nextIdleCheck >= 0) {
+                        closeExpiredConnections();
+                        nextIdleCheck = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(idleCheckMillis);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Event loop failed", e);
+            } finally {
+                for (var key : selector.keys()) {
+                    if (key.attachment() instanceof NioConnection connection) connection.close();
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // Nothing left to release
+                }
+            }
+        }
+
+        private void onReady(SelectionKey key) {
+            var connection = (NioConnection) key.attachment();
+            if (connection == null) return;
+            try {
+                if (key.isValid() && key.isReadable()) {
+                    if (connection.read(readBuffer)) {
+                        if (!connection.busy) dispatchNextRequest(connection);
+                    } else if (!connection.busy) {
+                        // A request the client sent just before shutting down its output is still answered
+                        dispatchNextRequest(connection);
+                        if (!connection.busy && !connection.hasQueuedBytes()) connection.close();
+                    }
+                }
+                if (key.isValid() && key.isWritable()) connection.write();
+            } catch (IOException e) {
+                connection.close();
+            }
+        }
+
+        private void dispatchNextRequest(NioConnection connection) {
+            byte[] request;
+            try {
+                request = connection.nextRequest();
+            } catch (ProtocolException e) {
+                connection.reject(e.getMessage());
+                return;
+            }
+            if (request == null) return;
+            if (!isRunning) {
+                connection.close();
+                return;
+            }
+            connection.busy = true;
+            try {
+                workers.execute(() -> handleRequest(connection, request));
+            } catch (RejectedExecutionException e) {
+                connection.close();
+            }
+        }
+
+        // Runs on a worker thread
+        private void handleRequest(NioConnection connection, byte[] bytes) {
+            boolean keepAlive;
+            try {
+                var request = rawHttp.parseRequest(new ByteArrayInputStream(bytes)).eagerly();
+                keepAlive = isRunning && Server.isKeepAlive(request);
+
+                var response = requestRouter.execRequest(request);
+                if (!keepAlive) {
+                    response = response.withHeaders(CONNECTION_CLOSE);
+                }
+                if (response.getLibResponse().orElse(null) instanceof PooledBody body) {
+                    connection.send(response, body);
+                } else {
+                    var outputStream = connection.responseStream();
+                    response.writeTo(outputStream);
+                    if (response.getLibResponse().orElse(null) instanceof StreamingBody body) {
+                        var chunkedStream = new ChunkedOutputStream(outputStream);
+                        body.writeTo(chunkedStream);
+                        chunkedStream.finish();
+                    }
+                    outputStream.flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                if (isRunning && connection.isOpen()) LOGGER.log(System.Logger.Level.WARNING, "Error handling connection", e);
+                execute(connection::close);
+                return;
+            }
+            execute(() -> onResponseQueued(connection, keepAlive));
+        }
+
+        private void onResponseQueued(NioConnection connection, boolean keepAlive) {
+            connection.busy = false;
+            connection.lastActivityNanos = System.nanoTime();
+            if (!keepAlive || connection.inputClosed) {
+                connection.closeAfterWrite = true;
+                if (!connection.hasQueuedBytes()) connection.close();
+                return;
+            }
+            connection.resumeReading();
+            dispatchNextRequest(connection);
+        }
+
+        // Closes the connections that are not answering a request, for a graceful shutdown
+        private void closeIdleConnections() {
+            for (var key : selector.keys()) {
+                if (key.attachment() instanceof NioConnection connection && !connection.busy
+                        && !connection.hasQueuedBytes()) {
+                    connection.close();
+                }
+            }
+        }
+
+        // Closes the connections that have been waiting for a request for longer than the keep-alive timeout
+        private void closeExpiredConnections() {
+            long now = System.nanoTime();
+            for (var key : selector.keys()) {
+                if (key.attachment() instanceof NioConnection connection && !connection.busy
+                        && now - connection.lastActivityNanos > keepAliveNanos && !connection.hasQueuedBytes()) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.valorant.services;
+
+import rawhttp.core.RawHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+
+/**
+ * Response body encoded into direct buffers taken from a {@link BufferPool}.
+ * <p>
+ * A {@link rawhttp.core.RawHttpResponse} carrying a {@code PooledBody} as its library response is sent by
+ * {@link Server} and {@link NioServer} without copying the body again: the status line and headers are encoded
+ * into a buffer of their own, and head and body go to the socket together with a gathering write. The buffers
+ * return to the pool once written. The body is complete before the response is sent, so its
+ * {@code Content-Length} is known, and the response must carry it.
+ * <p>
+ * A body is sent once; a body that is never sent leaves its buffers to the garbage collector.
+ */
+public final class PooledBody {
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] HEADER_SEPARATOR = {':', ' '};
+
+    private final BufferPool pool;
+    private ByteBuffer[] buffers;
+    private final long length;
+
+    private PooledBody(BufferPool pool, ByteBuffer[] buffers, long length) {
+        this.pool = pool;
+        this.buffers = buffers;
+        this.length = length;
+    }
+
+    /**
+     * Encodes a body into pooled buffers.
+     *
+     * @param pool the pool the buffers are taken from, and returned to once written.
+     * @param body writes the body; the stream it is given does not need to be closed.
+     * @throws IOException if writing the body fails.
+     */
+    public static PooledBody write(BufferPool pool, StreamingBody body) throws IOException {
+        var outputStream = new PooledOutputStream(pool);
+        try {
+            body.writeTo(outputStream);
+        } catch (IOException | RuntimeException e) {
+            outputStream.release();
+            throw e;
+        }
+        return new PooledBody(pool, outputStream.toBuffers(), outputStream.length);
+    }
+
+    /**
+     * @return the length of the body in bytes, to be sent as its {@code Content-Length}.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Encodes the status line and headers of the response and hands them, followed by the body, to the caller.
+     * From then on the caller owns the buffers and hands each one back with {@link #release(ByteBuffer)} once
+     * it has been written.
+     *
+     * @param response the response this body belongs to.
+     * @return the buffers to write, in order, ready to be read.
+     */
+    ByteBuffer[] encode(RawHttpResponse<?> response) {
+        if (buffers == null) throw new IllegalStateException("The body has already been sent");
+        var head = new PooledOutputStream(pool);
+        var statusLine = response.getStartLine();
+        head.putAscii(statusLine.getHttpVersion().toString());
+        head.write(' ');
+        head.putAscii(Integer.toString(statusLine.getStatusCode()));
+        head.write(' ');
+        head.putAscii(statusLine.getReason());
+        head.write(CRLF, 0, CRLF.length);
+        response.getHeaders().forEach((name, value) -> {
+            head.putAscii(name);
+            head.write(HEADER_SEPARATOR, 0, HEADER_SEPARATOR.length);
+            head.putAscii(value);
+            head.write(CRLF, 0, CRLF.length);
+        });
+        head.write(CRLF, 0, CRLF.length);
+
+        var headBuffers = head.toBuffers();
+        var all = Arrays.copyOf(headBuffers, headBuffers.length + buffers.length);
+        System.arraycopy(buffers, 0, all, headBuffers.length, buffers.length);
+        buffers = null;
+        return all;
+    }
+
+    /**
+     * Writes the response, head and body, to a blocking channel and returns the buffers to the pool.
+     *
+     * @param response the response this body belongs to.
+     * @param channel  the channel to write to, in blocking mode.
+     * @throws IOException if writing to the channel fails.
+     */
+    public void writeTo(RawHttpResponse<?> response, GatheringByteChannel channel) throws IOException {
+        var all = encode(response);
+        try {
+            int first = 0;
+            while (first < all.length) {
+                channel.write(all, first, all.length - first);
+                while (first < all.length && !all[first].hasRemaining()) first++;
+            }
+        } finally {
+            for (var buffer : all) {
+                pool.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Hands back a buffer returned by {@link #encode} once it has been written.
+     */
+    void release(ByteBuffer buffer) {
+        pool.release(buffer);
+    }
+
+    // Appends to a list of pooled buffers, taking a new one whenever the last is full
+    private static final class PooledOutputStream extends OutputStream {
+        private final BufferPool pool;
+        private ByteBuffer[] buffers = new ByteBuffer[4];
+        private int count;
+        private ByteBuffer current;
+        private long length;
+
+        PooledOutputStream(BufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void write(int b) {
+            if (current == null || !current.hasRemaining()) next();
+            current.put((byte) b);
+            length++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                if (current == null || !current.hasRemaining()) next();
+                int n = Math.min(len, current.remaining());
+                current.put(b, off, n);
+                off += n;
+                len -= n;
+                length += n;
+            }
+        }
+
+        // Header names and values are ASCII, so each char is one byte
+        void putAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                write(value.charAt(i));
+            }
+        }
+
+        ByteBuffer[] toBuffers() {
+            var result = Arrays.copyOf(buffers, count);
+            for (var buffer : result) {
+                buffer.flip();
+            }
+            return result;
+        }
+
+        void release() {
+            for (int i = 0; i < count; i++) {
+                pool.release(buffers[i]);
+            }
+        }
+
+        private void next() {
+            if (count == buffers.length) buffers = Arrays.copyOf(buffers, count * 2);
+            current = pool.acquire();
+            buffers[count++] = current;
+        }
+    }
+}
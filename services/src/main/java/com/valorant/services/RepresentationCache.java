@@ -0,0 +1,120 @@
+package com.valorant.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Serialized responses of one resource, with their strong entity tags, for conditional GET requests.
+ * <p>
+ * Representations are cached by request target (path and query) together with the version of the resource they
+ * were serialized from. Every change made through the router bumps the version and drops them all, so a
+ * representation is only served while nothing has been written through it since it was built; one built while a
+ * write was running is stored with the old version and rebuilt on its next request. Entity tags hash the
+ * serialized bytes, so a client holding a tag from before a restart still gets {@code 304 Not Modified} if the
+ * content is the same.
+ * <p>
+ * Only writes through the router bump the version; other processes, such as the back-office app, write to the
+ * repositories directly. Each representation is therefore also rebuilt once it is older than {@code ttl}, which
+ * bounds how long such a change goes unnoticed.
+ * <p>
+ * At most {@code maxEntries} targets are kept; beyond that, new targets are serialized on every request until
+ * the next change clears the cache. Thread-safe.
+ */
+final class RepresentationCache {
+    static final int DEFAULT_MAX_ENTRIES = 256;
+    /**
+     * How long a representation is served when no time is given, as for the repository caches.
+     */
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentHashMap<String, Representation> representations = new ConcurrentHashMap<>();
+
+    RepresentationCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, System::nanoTime);
+    }
+
+    /**
+     * @param maxEntries the number of targets whose representation is kept.
+     * @param ttl        how long a representation is served after it was built.
+     * @param nanoTime   the clock representations expire by, {@link System#nanoTime()} outside tests.
+     */
+    RepresentationCache(int maxEntries, Duration ttl, LongSupplier nanoTime) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * A serialized response body and its entity tag, quoted as sent in the {@code ETag} header.
+     */
+    record Representation(long version, long builtAt, byte[] body, String entityTag) {
+    }
+
+    /**
+     * Returns the cached representation of the target, or serializes the body and caches it.
+     *
+     * @param target the request target, path and query, the representation is cached under.
+     * @param body   writes the current representation; only called when none is cached.
+     * @throws IOException if writing the body fails.
+     */
+    Representation get(String target, StreamingBody body) throws IOException {
+        long current = version.get();
+        long now = nanoTime.getAsLong();
+        var cached = representations.get(target);
+        if (cached != null && cached.version() == current && now - cached.builtAt() < ttlNanos) return cached;
+
+        var outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+        var bytes = outputStream.toByteArray();
+        var representation = new Representation(current, now, bytes, entityTag(bytes));
+        if (representations.size() < maxEntries || representations.containsKey(target)) {
+            representations.put(target, representation);
+        }
+        return representation;
+    }
+
+    /**
+     * Drops every cached representation, after the resource was created, updated or deleted.
+     */
+    void invalidate() {
+        version.incrementAndGet();
+        representations.clear();
+    }
+
+    /**
+     * @param ifNoneMatch the value of an {@code If-None-Match} header: {@code *} or a list of entity tags.
+     * @param entityTag   the quoted entity tag of the current representation.
+     * @return true if the client already has the current representation. As required for {@code If-None-Match},
+     * weak tags are compared as if they were strong.
+     */
+    static boolean matches(String ifNoneMatch, String entityTag) {
+        for (var candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*")) return true;
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals(entityTag)) return true;
+        }
+        return false;
+    }
+
+    // Strong tag from the first 128 bits of the SHA-256 of the body
+    private static String entityTag(byte[] body) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,149 +1,267 @@
 package com.valorant.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.valorant.models.*;
 import com.valorant.services.controllers.Controller;
+import com.valorant.services.controllers.MatchController;
+import com.valorant.services.controllers.PlayerController;
+import com.valorant.services.exception.BadRequestException;
 import com.valorant.services.exception.ResourceNotFoundException;
 import com.valorant.services.exception.ServerErrorException;
-import rawhttp.core.RawHttp;
+import rawhttp.core.HttpVersion;
+import rawhttp.core.RawHttpHeaders;
 import rawhttp.core.RawHttpRequest;
 import rawhttp.core.RawHttpResponse;
+import rawhttp.core.StatusLine;
 
 import java.io.IOException;
+import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
 
 public class RequestRouterImpl implements RequestRouter {
 
-    private static final RawHttp rawHttp = new RawHttp();
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    // Reference data that hardly ever changes, re-downloaded by every dashboard refresh
+    public static final Set<String> DEFAULT_CACHED_RESOURCES = Set.of("agent", "map", "weapon");
+    private static final RawHttpHeaders STREAMING_JSON_HEADERS = RawHttpHeaders.newBuilder()
+            .with("Content-Type", "application/json")
+            .with("Transfer-Encoding", "chunked")
+            .build();
+    private static final StreamingBody EMPTY_BODY = outputStream -> {};
+    private static final java.util.Map<String, Class<?>> MODEL_TYPES = java.util.Map.of(
+            "agent", Agent.class,
+            "map", Map.class,
+            "match", Match.class,
+            "player", Player.class,
+            "weapon", Weapon.class);
     private final java.util.Map<String, Controller> controllers;
+    private final JsonMapperRegistry jsonMappers;
+    private final BufferPool bufferPool;
+    private final Set<String> cachedResources;
+    private final RouteTable<RouteHandler> routes = new RouteTable<>();
 
-    public RequestRouterImpl(java.util.Map<String, Controller> controllers) {
-        this.controllers = controllers;
+    public RequestRouterImpl(java.util.Map<String, Controller> controllers, JsonMapperRegistry jsonMappers) {
+        this(controllers, jsonMappers, new BufferPool(), DEFAULT_CACHED_RESOURCES);
     }
 
-    public RawHttpResponse<?> execRequest(RawHttpRequest request) {
-        var path = request.getUri().getPath();
-        var method = request.getMethod();
-        var pathParts = path.split("/");
-
-        if (pathParts.length < 2) {
-            throw new ResourceNotFoundException("Invalid request path");
+    /**
+     * @param controllers     the controller of every resource, by the first segment of its path.
+     * @param jsonMappers     the readers of request bodies.
+     * @param bufferPool      the pool response bodies are encoded into.
+     * @param cachedResources the resources whose GET responses are cached with an {@code ETag} and answered with
+     *                        {@code 304 Not Modified} when the client already has them.
+     */
+    public RequestRouterImpl(java.util.Map<String, Controller> controllers, JsonMapperRegistry jsonMappers,
+                             BufferPool bufferPool, Set<String> cachedResources) {
+        this.controllers = controllers;
+        this.jsonMappers = jsonMappers;
+        this.bufferPool = bufferPool;
+        this.cachedResources = cachedResources;
+        controllers.forEach((name, controller) -> addResourceRoutes(name, controller));
+        if (controllers.get("player") instanceof PlayerController playerController) {
+            routes.add("GET", "/player/{id}/matches", (request, match) ->
+                    ok(request, outputStream -> playerController.writeMatches(match.intParameter(0), outputStream)));
         }
+    }
 
-        var controllerName = pathParts[1];
-        var responseJsonBody = "";
-        RawHttpResponse<?> response;
-
+    public RawHttpResponse<?> execRequest(RawHttpRequest request) {
+        var match = routes.match(request.getMethod(), request.getUri().getPath());
         try {
-            switch (controllerName) {
-                case "agent":
-                    responseJsonBody = manageAgent(request, method, pathParts);
-                    break;
-                case "map":
-                    responseJsonBody = manageMap(request, method, pathParts);
-                    break;
-                case "match":
-                    responseJsonBody = manageMatch(request, method, pathParts);
-                    break;
-                case "player":
-                    responseJsonBody = managePlayer(request, method, pathParts);
-                    break;
-                case "weapon":
-                    responseJsonBody = manageWeapon(request, method, pathParts);
-                    break;
-                default:
-                    throw new ResourceNotFoundException("Controller not found");
+            if (match.isMethodNotAllowed()) {
+                return textResponse(request, 405, "Method Not Allowed", "Method not allowed")
+                        .withHeaders(RawHttpHeaders.newBuilder().with("Allow", match.allowedMethods()).build());
             }
-
-            response = rawHttp.parseResponse("HTTP/1.1 200 OK\r\n" +
-                    "Content-Type: application/json\r\n" +
-                    "Content-Length: " + responseJsonBody.length() + "\r\n" +
-                    "\r\n" +
-                    responseJsonBody);
+            if (match.handler() == null) throw new ResourceNotFoundException("Resource not found");
+            return match.handler().handle(request, match);
+        } catch (BadRequestException e) {
+            return textResponse(request, 400, "Bad Request", e.getMessage());
         } catch (ResourceNotFoundException e) {
-            response = rawHttp.parseResponse("HTTP/1.1 404 Not Found\r\n" +
-                    "Content-Type: text/plain\r\n" +
-                    "Content-Length: " + e.getMessage().length() + "\r\n" +
-                    "\r\n" +
-                    e.getMessage());
+            return textResponse(request, 404, "Not Found", e.getMessage());
         } catch (Exception e) {
-            response = rawHttp.parseResponse("HTTP/1.1 500 Internal Server Error\r\n" +
-                    "Content-Type: text/plain\r\n" +
-                    "Content-Length: " + e.getMessage().length() + "\r\n" +
-                    "\r\n" +
-                    e.getMessage());
+            return textResponse(request, 500, "Internal Server Error", e.getMessage());
         }
-
-        return response;
     }
 
-    // Manage requests related to Agent
-    private String manageAgent(RawHttpRequest request, String method, String[] pathParts) {
-        return manageRequest(request, method, pathParts, "agent", Agent.class, AgentImpl.class);
+    // Handles the requests of one route
+    @FunctionalInterface
+    private interface RouteHandler {
+        RawHttpResponse<?> handle(RawHttpRequest request, RouteTable.RouteMatch<RouteHandler> match) throws IOException;
     }
 
-    // Manage requests related to Map
-    private String manageMap(RawHttpRequest request, String method, String[] pathParts) {
-        return manageRequest(request, method, pathParts, "map", Map.class, MapImpl.class);
-    }
+    // Register the routes of an entity: its collection, and each resource by id
+    @SuppressWarnings("unchecked")
+    private void addResourceRoutes(String name, Controller controller) {
+        var modelType = MODEL_TYPES.get(name);
+        if (modelType == null) throw new IllegalArgumentException("No model type for controller " + name);
+        var reader = jsonMappers.readerFor(modelType);
+        var collection = "/" + name;
+        var resource = collection + "/{id}";
+        var cache = cachedResources.contains(name) ? new RepresentationCache() : null;
 
-    // Manage requests related to Match
-    private String manageMatch(RawHttpRequest request, String method, String[] pathParts) {
-        return manageRequest(request, method, pathParts, "match", Match.class, MatchImpl.class);
+        routes.add("GET", collection, (request, match) -> cache != null
+                ? conditional(request, cache, collectionBody(request, controller))
+                : getCollection(request, controller));
+        routes.add("POST", collection, (request, match) -> {
+            try {
+                controller.post(readEntity(request, reader));
+            } finally {
+                if (cache != null) cache.invalidate();
+            }
+            return ok(request, EMPTY_BODY);
+        });
+        routes.add("GET", resource, (request, match) -> {
+            var entityId = match.intParameter(0);
+            StreamingBody body = outputStream -> controller.writeTo(entityId, outputStream);
+            return cache != null ? conditional(request, cache, body) : ok(request, body);
+        });
+        routes.add("PUT", resource, (request, match) -> {
+            try {
+                controller.put(match.intParameter(0), readEntity(request, reader));
+            } finally {
+                if (cache != null) cache.invalidate();
+            }
+            return ok(request, EMPTY_BODY);
+        });
+        routes.add("DELETE", resource, (request, match) -> {
+            try {
+                controller.delete(match.intParameter(0));
+            } finally {
+                if (cache != null) cache.invalidate();
+            }
+            return ok(request, EMPTY_BODY);
+        });
     }
 
-    // Manage requests related to Player
-    private String managePlayer(RawHttpRequest request, String method, String[] pathParts) {
-        return manageRequest(request, method, pathParts, "player", Player.class, PlayerImpl.class);
+    private RawHttpResponse<?> getCollection(RawHttpRequest request, Controller<Integer, ?> controller) throws IOException {
+        // Collections are streamed straight to the client instead of being serialized into a buffer first
+        if (request.getUri().getRawQuery() == null && supportsChunkedEncoding(request)) {
+            return streamingResponse(request, controller::streamAll);
+        }
+        return ok(request, collectionBody(request, controller));
     }
 
-    // Manage requests related to Weapon
-    private String manageWeapon(RawHttpRequest request, String method, String[] pathParts) {
-        return manageRequest(request, method, pathParts, "weapon", Weapon.class, WeaponImpl.class);
+    private StreamingBody collectionBody(RawHttpRequest request, Controller<Integer, ?> controller) {
+        var rawQuery = request.getUri().getRawQuery();
+        if (rawQuery == null) {
+            return controller::writeAll;
+        }
+        var query = parseQuery(rawQuery);
+        // Time-range queries such as /match?playedFrom=2024-05-01T00:00&playedTo=2024-05-02T00:00
+        if (controller instanceof MatchController matchController
+                && (query.containsKey("playedFrom") || query.containsKey("playedTo"))) {
+            var from = parseDateTime(query.get("playedFrom"), "playedFrom");
+            var to = parseDateTime(query.get("playedTo"), "playedTo");
+            return outputStream -> matchController.writeByPlayedOnBetween(from, to, outputStream);
+        }
+        var after = query.containsKey("after") ? parseInt(query.get("after"), "after") : null;
+        var limit = query.containsKey("limit") ? parseInt(query.get("limit"), "limit") : DEFAULT_PAGE_SIZE;
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return outputStream -> controller.writePage(after, limit, outputStream);
     }
 
-    // Generic method to manage the requests for each entity
-    @SuppressWarnings("unchecked")
-    private <T> String manageRequest(RawHttpRequest request, String method, String[] pathParts, String controllerName, Class<T> clazz, Class<? extends T> implClazz) {
-        var controller = controllers.get(controllerName);
-        var responseJsonBody = "";
+    // Serves the cached representation with its ETag, or 304 Not Modified if the client already has it
+    private RawHttpResponse<?> conditional(RawHttpRequest request, RepresentationCache cache, StreamingBody body)
+            throws IOException {
+        var uri = request.getUri();
+        var target = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        var representation = cache.get(target, body);
+        var ifNoneMatch = request.getHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch.isPresent() && RepresentationCache.matches(ifNoneMatch.get(), representation.entityTag())) {
+            var headers = RawHttpHeaders.newBuilder().with("ETag", representation.entityTag()).build();
+            var statusLine = new StatusLine(HttpVersion.HTTP_1_1, 304, "Not Modified");
+            return new RawHttpResponse<Void>(null, request, statusLine, headers, null);
+        }
+        return pooledResponse(request, 200, "OK", "application/json",
+                outputStream -> outputStream.write(representation.body()), representation.entityTag());
+    }
 
+    private static <T> T readEntity(RawHttpRequest request, ObjectReader reader) throws IOException {
+        var json = request.getBody().orElseThrow(() -> new BadRequestException("A JSON body is required"))
+                .decodeBodyToString(Charset.defaultCharset());
         try {
-            var mapper = new ObjectMapper();
-            SimpleModule module = new SimpleModule();
-            module.addAbstractTypeMapping(clazz, implClazz);
-            mapper.registerModule(module);
-            // Register JavaTimeModule to handle LocalDateTime
-
-            if ("POST".equals(method)) {
-                var json = request.getBody().get().decodeBodyToString(Charset.defaultCharset());
-                var entity = mapper.readValue(json, clazz);
-                controller.post(entity);
-
-            } else if ("PUT".equals(method) && pathParts.length == 3) {
-                var entityId = Integer.parseInt(pathParts[2]);
-                var json = request.getBody().get().decodeBodyToString(Charset.defaultCharset());
-                var entity = mapper.readValue(json, clazz);
-                controller.put(entityId, entity);
-
-            } else if ("DELETE".equals(method) && pathParts.length == 3) {
-                var entityId = Integer.parseInt(pathParts[2]);
-                controller.delete(entityId);
-
-            } else if ("GET".equals(method) && pathParts.length == 3) {
-                responseJsonBody = controller.get(Integer.parseInt(pathParts[2]));
-
-            } else if ("GET".equals(method)) {
-                responseJsonBody = controller.get();
-            }
+            return reader.readValue(json);
         } catch (JsonProcessingException e) {
             throw new ServerErrorException("Failed to process JSON", e);
+        }
+    }
+
+    // The controller writes the JSON straight into pooled buffers, which the server sends as they are
+    private RawHttpResponse<PooledBody> ok(RawHttpRequest request, StreamingBody body) throws IOException {
+        return pooledResponse(request, 200, "OK", "application/json", body);
+    }
+
+    private RawHttpResponse<PooledBody> pooledResponse(RawHttpRequest request, int statusCode, String reason,
+                                                       String contentType, StreamingBody body) throws IOException {
+        return pooledResponse(request, statusCode, reason, contentType, body, null);
+    }
+
+    private RawHttpResponse<PooledBody> pooledResponse(RawHttpRequest request, int statusCode, String reason,
+                                                       String contentType, StreamingBody body, String entityTag)
+            throws IOException {
+        var pooledBody = PooledBody.write(bufferPool, body);
+        var headersBuilder = RawHttpHeaders.newBuilder()
+                .with("Content-Type", contentType)
+                .with("Content-Length", Long.toString(pooledBody.length()));
+        if (entityTag != null) headersBuilder.with("ETag", entityTag);
+        var headers = headersBuilder.build();
+        var statusLine = new StatusLine(HttpVersion.HTTP_1_1, statusCode, reason);
+        return new RawHttpResponse<>(pooledBody, request, statusLine, headers, null);
+    }
+
+    private RawHttpResponse<PooledBody> textResponse(RawHttpRequest request, int statusCode, String reason, String message) {
+        try {
+            return pooledResponse(request, statusCode, reason, "text/plain",
+                    outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new RuntimeException("Error while encoding the error response", e);
         }
+    }
+
+    private static RawHttpResponse<StreamingBody> streamingResponse(RawHttpRequest request, StreamingBody body) {
+        var statusLine = new StatusLine(HttpVersion.HTTP_1_1, 200, "OK");
+        return new RawHttpResponse<>(body, request, statusLine, STREAMING_JSON_HEADERS, null);
+    }
 
-        return responseJsonBody;
+    // HTTP/1.0 clients do not understand chunked transfer-encoding, so they get a buffered response
+    private static boolean supportsChunkedEncoding(RawHttpRequest request) {
+        return !request.getStartLine().getHttpVersion().isOlderThan(HttpVersion.HTTP_1_1);
+    }
+
+    // Split a raw query string such as "after=10&limit=20" into its parameters
+    private static java.util.Map<String, String> parseQuery(String rawQuery) {
+        var parameters = new java.util.HashMap<String, String>();
+        for (var parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) continue;
+            var separator = parameter.indexOf('=');
+            var name = separator < 0 ? parameter : parameter.substring(0, separator);
+            var value = separator < 0 ? "" : parameter.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static LocalDateTime parseDateTime(String value, String parameterName) {
+        if (value == null) throw new BadRequestException(parameterName + " is required");
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(parameterName + " must be a date and time such as 2024-05-01T00:00");
+        }
+    }
+
+    private static int parseInt(String value, String parameterName) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(parameterName + " must be an integer");
+        }
     }
 }
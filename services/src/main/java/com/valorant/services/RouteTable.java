@@ -0,0 +1,207 @@
+package com.valorant.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/**
+ * Routes requests to handlers by method and path, through a trie of path segments built once at startup.
+ * <p>
+ * Patterns are made of literal segments and integer parameters written as {@code {name}}, for instance
+ * {@code /player/{id}/matches}. Matching walks the path once, comparing each segment in place with the literal
+ * children of the current node and parsing parameters straight from the path, so it takes no regular expression,
+ * no split and no substring; its cost depends on the depth of the path, not on the number of routes. A segment
+ * that matches a literal is never taken as a parameter. Empty segments, as in a trailing slash, are skipped.
+ * <p>
+ * Routes are added before the table is shared; matching is thread-safe.
+ *
+ * @param <H> the type of the handlers.
+ */
+final class RouteTable<H> {
+    static final int MAX_PARAMETERS = 4;
+
+    private final Node<H> root = new Node<>(null);
+
+    /**
+     * Adds a route.
+     *
+     * @param method  the request method, such as {@code GET}.
+     * @param pattern the path, with {@code {name}} for an integer parameter.
+     * @param handler the handler of the requests that match.
+     * @return this table.
+     * @throws IllegalArgumentException if the pattern has too many parameters, or the route already exists.
+     */
+    RouteTable<H> add(String method, String pattern, H handler) {
+        var node = root;
+        int parameters = 0;
+        for (var segment : pattern.split("/")) {
+            if (segment.isEmpty()) continue;
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (++parameters > MAX_PARAMETERS) {
+                    throw new IllegalArgumentException("At most " + MAX_PARAMETERS + " parameters per route: " + pattern);
+                }
+                if (node.parameter == null) node.parameter = new Node<>(null);
+                node = node.parameter;
+            } else {
+                node = node.literal(segment);
+            }
+        }
+        if (node.handlers.putIfAbsent(method, handler) != null) {
+            throw new IllegalArgumentException("Duplicate route: " + method + " " + pattern);
+        }
+        node.methodNotAllowed = RouteMatch.methodNotAllowed(String.join(", ", new TreeSet<>(node.handlers.keySet())));
+        return this;
+    }
+
+    /**
+     * @return the handler and parameters of the route matching the request, {@link RouteMatch#NOT_FOUND} if no route
+     * has this path, or a match without handler whose {@link RouteMatch#allowedMethods()} lists the methods of the
+     * path if routes have this path but not this method.
+     */
+    @SuppressWarnings("unchecked")
+    RouteMatch<H> match(String method, String path) {
+        var node = root;
+        // Parameters are kept in locals rather than an array, so a match allocates nothing but its result
+        int p0 = 0, p1 = 0, p2 = 0, p3 = 0;
+        int parameterCount = 0;
+        int length = path.length();
+        int start = 0;
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) end = length;
+            if (end > start) {
+                var next = node.findLiteral(path, start, end - start);
+                if (next == null && node.parameter != null) {
+                    long value = parseInt(path, start, end);
+                    if (value >= 0) {
+                        switch (parameterCount++) {
+                            case 0 -> p0 = (int) value;
+                            case 1 -> p1 = (int) value;
+                            case 2 -> p2 = (int) value;
+                            default -> p3 = (int) value;
+                        }
+                        next = node.parameter;
+                    }
+                }
+                if (next == null) return (RouteMatch<H>) RouteMatch.NOT_FOUND;
+                node = next;
+            }
+            start = end + 1;
+        }
+        var handler = node.handlers.get(method);
+        if (handler != null) return new RouteMatch<>(handler, p0, p1, p2, p3);
+        return node.methodNotAllowed != null ? node.methodNotAllowed : (RouteMatch<H>) RouteMatch.NOT_FOUND;
+    }
+
+    // Value of a segment made only of digits that fits in an int, or -1
+    private static long parseInt(String path, int start, int end) {
+        if (end - start > 10) return -1;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value <= Integer.MAX_VALUE ? value : -1;
+    }
+
+    /**
+     * The outcome of matching a request: the handler of its route and the values of the path parameters,
+     * in the order they appear in the pattern.
+     */
+    static final class RouteMatch<H> {
+        static final RouteMatch<?> NOT_FOUND = new RouteMatch<>(null, null, 0, 0, 0, 0);
+
+        private final H handler;
+        private final String allowedMethods;
+        private final int p0, p1, p2, p3;
+
+        private RouteMatch(H handler, String allowedMethods, int p0, int p1, int p2, int p3) {
+            this.handler = handler;
+            this.allowedMethods = allowedMethods;
+            this.p0 = p0;
+            this.p1 = p1;
+            this.p2 = p2;
+            this.p3 = p3;
+        }
+
+        private RouteMatch(H handler, int p0, int p1, int p2, int p3) {
+            this(handler, null, p0, p1, p2, p3);
+        }
+
+        // Built once per path, when its routes are added, so a 405 allocates nothing either
+        private static <H> RouteMatch<H> methodNotAllowed(String allowedMethods) {
+            return new RouteMatch<>(null, allowedMethods, 0, 0, 0, 0);
+        }
+
+        H handler() {
+            return handler;
+        }
+
+        /**
+         * @return whether routes have the path of the request, but none has its method.
+         */
+        boolean isMethodNotAllowed() {
+            return allowedMethods != null;
+        }
+
+        /**
+         * @return the methods the path has routes for, as the value of an {@code Allow} header such as
+         * {@code GET, POST}, when the method of the request is not allowed; null otherwise.
+         */
+        String allowedMethods() {
+            return allowedMethods;
+        }
+
+        /**
+         * @return the value of the index-th parameter of the route, counting from 0.
+         */
+        int intParameter(int index) {
+            return switch (index) {
+                case 0 -> p0;
+                case 1 -> p1;
+                case 2 -> p2;
+                case 3 -> p3;
+                default -> throw new IndexOutOfBoundsException(index);
+            };
+        }
+    }
+
+    private static final class Node<H> {
+        private final String segment;
+        // Few children per node, so a linear scan with in-place comparison beats hashing a substring
+        private Node<H>[] literals = newArray(0);
+        private Node<H> parameter;
+        private final HashMap<String, H> handlers = new HashMap<>();
+        // The outcome of requests for this path with a method it has no route for; null while it has no routes
+        private RouteMatch<H> methodNotAllowed;
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        Node<H> literal(String segment) {
+            var child = findLiteral(segment, 0, segment.length());
+            if (child == null) {
+                child = new Node<>(segment);
+                literals = Arrays.copyOf(literals, literals.length + 1);
+                literals[literals.length - 1] = child;
+            }
+            return child;
+        }
+
+        Node<H> findLiteral(String path, int start, int length) {
+            for (var child : literals) {
+                if (child.segment.length() == length && path.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <H> Node<H>[] newArray(int length) {
+            return (Node<H>[]) new Node<?>[length];
+        }
+    }
+}
@@ -1,33 +1,268 @@
 package com.valorant.services;
 
 import com.valorant.services.exception.ServerException;
+import rawhttp.core.HttpVersion;
 import rawhttp.core.RawHttp;
+import rawhttp.core.RawHttpHeaders;
 import rawhttp.core.RawHttpOptions;
+import rawhttp.core.RawHttpRequest;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
-public class Server {
+/**
+ * HTTP server that dispatches every accepted connection to its own virtual thread.
+ * The number of requests processed at the same time is bounded by {@code maxConcurrency};
+ * once the limit is reached a connection with a new request waits until an in-flight request
+ * finishes. Idle keep-alive connections hold no permit, so they never keep new clients out.
+ * <p>
+ * Connections are persistent (HTTP/1.1 keep-alive): requests are read from the same socket
+ * until the client sends {@code Connection: close} or stays idle for longer than the
+ * keep-alive timeout. Pipelined requests are answered one by one, in the order they arrived.
+ * Responses whose body is a {@link StreamingBody} are written with chunked transfer-encoding
+ * as the body is produced; those whose body is a {@link PooledBody} are written straight from
+ * its buffers to the socket channel.
+ */
+public class Server implements HttpServer {
     public static final int PORT = 80;
+    public static final int DEFAULT_MAX_CONCURRENCY = 256;
+    public static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_KEEP_ALIVE_TIMEOUT = Duration.ofSeconds(15);
+    private static final RawHttpHeaders CONNECTION_CLOSE = RawHttpHeaders.newBuilder().with("Connection", "close").build();
+    private static final System.Logger LOGGER = System.getLogger(Server.class.getName());
+
     private final RequestRouter requestRouter;
+    private final RawHttp rawHttp = new RawHttp(RawHttpOptions.newBuilder().doNotInsertHostHeaderIfMissing().build());
+    private final int port;
+    private final int maxConcurrency;
+    private final Duration shutdownTimeout;
+    private final Duration keepAliveTimeout;
+    private final Semaphore permits;
+    // Open client sockets, mapped to whether a request is currently being processed on them. A socket is
+    // claimed for a request, or by stop() to close it while idle, by atomically replacing its idle entry.
+    private final Map<Socket, Boolean> connections = new ConcurrentHashMap<>();
     private volatile boolean isRunning;
+    private volatile ServerSocket serverSocket;
+    private volatile ExecutorService executor;
 
     public Server(RequestRouter requestRouter) {
+        this(requestRouter, PORT, DEFAULT_MAX_CONCURRENCY, DEFAULT_SHUTDOWN_TIMEOUT, DEFAULT_KEEP_ALIVE_TIMEOUT);
+    }
+
+    /**
+     * @param requestRouter    router that turns requests into responses.
+     * @param port             port to listen on, or 0 to pick an ephemeral port.
+     * @param maxConcurrency   maximum number of requests processed at the same time.
+     * @param shutdownTimeout  how long {@link #stop()} waits for in-flight requests to drain.
+     * @param keepAliveTimeout how long an idle persistent connection is kept open.
+     */
+    public Server(RequestRouter requestRouter, int port, int maxConcurrency, Duration shutdownTimeout, Duration keepAliveTimeout) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
         this.requestRouter = requestRouter;
+        this.port = port;
+        this.maxConcurrency = maxConcurrency;
+        this.shutdownTimeout = shutdownTimeout;
+        this.keepAliveTimeout = keepAliveTimeout;
+        this.permits = new Semaphore(maxConcurrency);
     }
 
+    /**
+     * Starts accepting connections. Blocks the calling thread until {@link #stop()} is called.
+     */
+    @Override
     public void start() {
-        try (ServerSocket serverSocket = new ServerSocket(PORT)) {
-            while (!isRunning) {
-                try (var clientSocket = serverSocket.accept()) {
-                    RawHttp rawHttp = new RawHttp(RawHttpOptions.newBuilder().doNotInsertHostHeaderIfMissing().build());
-                    var request = rawHttp.parseRequest(clientSocket.getInputStream());
-                    var response = requestRouter.execRequest(request);
-                    response.writeTo(clientSocket.getOutputStream());
+        // Opened through a channel, so that accepted sockets have one to write pooled bodies to
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var serverSocket = serverChannel.socket();
+            serverSocket.bind(new InetSocketAddress(port));
+            this.serverSocket = serverSocket;
+            this.executor = executor;
+            isRunning = true;
+
+            while (isRunning) {
+                Socket clientSocket;
+                try {
+                    clientSocket = serverSocket.accept();
+                } catch (SocketException | ClosedChannelException e) {
+                    if (!isRunning) break;
+                    throw e;
                 }
+                executor.submit(() -> handleConnection(clientSocket));
             }
         } catch (IOException e) {
             throw new ServerException(e);
+        } finally {
+            isRunning = false;
+        }
+    }
+
+    /**
+     * Stops accepting new connections and waits up to the shutdown timeout for in-flight
+     * requests to complete. Idle keep-alive connections are closed right away; connections
+     * still running after the timeout are interrupted.
+     */
+    @Override
+    public void stop() {
+        isRunning = false;
+        try {
+            if (serverSocket != null) serverSocket.close();
+        } catch (IOException e) {
+            throw new ServerException(e);
+        }
+        for (var socket : connections.keySet()) {
+            // Fails if the socket was claimed for a request, which then completes and closes it
+            if (connections.remove(socket, false)) closeQuietly(socket);
+        }
+
+        var executor = this.executor;
+        if (executor == null) return;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * @return the port the server is bound to, or -1 if it has not started yet.
+     */
+    @Override
+    public int getLocalPort() {
+        var serverSocket = this.serverSocket;
+        return serverSocket != null ? serverSocket.getLocalPort() : -1;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return the number of requests currently being processed.
+     */
+    public int getActiveRequests() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of open client connections, idle ones included.
+     */
+    public int getOpenConnections() {
+        return connections.size();
+    }
+
+    private void handleConnection(Socket clientSocket) {
+        connections.put(clientSocket, false);
+        try (clientSocket) {
+            clientSocket.setSoTimeout((int) keepAliveTimeout.toMillis());
+            var inputStream = new BufferedInputStream(clientSocket.getInputStream());
+            var outputStream = new BufferedOutputStream(clientSocket.getOutputStream());
+
+            boolean keepAlive = true;
+            while (keepAlive && isRunning && awaitNextRequest(inputStream)) {
+                // Claimed before the request is parsed, so stop() can no longer close the socket under it;
+                // if stop() closed it first, the request arrived after the server stopped and is dropped
+                if (!connections.replace(clientSocket, false, true)) break;
+                permits.acquire();
+                try {
+                    keepAlive = handleRequest(clientSocket, inputStream, outputStream);
+                } finally {
+                    permits.release();
+                }
+                connections.put(clientSocket, false);
+            }
+            outputStream.flush();
+        } catch (SocketTimeoutException e) {
+            // Idle keep-alive connection expired
+        } catch (IOException | RuntimeException e) {
+            if (isRunning) LOGGER.log(System.Logger.Level.WARNING, "Error handling connection", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(clientSocket);
+        }
+    }
+
+    // Reads, routes and answers one request; returns whether the connection stays open afterwards
+    private boolean handleRequest(Socket clientSocket, BufferedInputStream inputStream, BufferedOutputStream outputStream)
+            throws IOException {
+        // Read the body eagerly so the stream is positioned at the next pipelined request
+        var request = rawHttp.parseRequest(inputStream).eagerly();
+        boolean keepAlive = isRunning && isKeepAlive(request);
+
+        var response = requestRouter.execRequest(request);
+        if (!keepAlive) {
+            response = response.withHeaders(CONNECTION_CLOSE);
+        }
+        if (response.getLibResponse().orElse(null) instanceof PooledBody body) {
+            // Head and body go out in one gathering write, after anything still buffered
+            outputStream.flush();
+            body.writeTo(response, clientSocket.getChannel());
+        } else {
+            response.writeTo(outputStream);
+        }
+        if (response.getLibResponse().orElse(null) instanceof StreamingBody body) {
+            // The terminating chunk is only written once the body completed, so a failure
+            // mid-stream closes the connection and the client sees a truncated response
+            var chunkedStream = new ChunkedOutputStream(outputStream);
+            body.writeTo(chunkedStream);
+            chunkedStream.finish();
+        }
+        // Only flush once every pipelined request already received has been answered
+        if (!keepAlive || inputStream.available() == 0) {
+            outputStream.flush();
+        }
+        return keepAlive;
+    }
+
+    // Blocks until the next request starts arriving; returns false if the client closed the connection
+    private static boolean awaitNextRequest(BufferedInputStream inputStream) throws IOException {
+        inputStream.mark(1);
+        if (inputStream.read() == -1) return false;
+        inputStream.reset();
+        return true;
+    }
+
+    // Whether to keep the connection open after the response: the default for HTTP/1.1, only on request for HTTP/1.0
+    static boolean isKeepAlive(RawHttpRequest request) {
+        var connection = request.getHeaders().getFirst("Connection").orElse("");
+        if (request.getStartLine().getHttpVersion().isOlderThan(HttpVersion.HTTP_1_1)) {
+            return connection.equalsIgnoreCase("keep-alive");
+        }
+        return !connection.equalsIgnoreCase("close");
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
         }
     }
 }
@@ -0,0 +1,14 @@
+package com.valorant.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Response body that is written straight to the client connection instead of being built in memory.
+ * A {@link rawhttp.core.RawHttpResponse} carrying a {@code StreamingBody} as its library response is sent
+ * by {@link Server} with chunked transfer-encoding.
+ */
+@FunctionalInterface
+public interface StreamingBody {
+    void writeTo(OutputStream outputStream) throws IOException;
+}
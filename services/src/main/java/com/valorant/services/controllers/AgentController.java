@@ -1,31 +1,48 @@
 package com.valorant.services.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.valorant.models.Agent;
 import com.valorant.repositories.AgentRepository;
+import com.valorant.services.JsonMapperRegistry;
 import com.valorant.services.exception.ResourceNotFoundException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public class AgentController implements Controller<Integer, Agent> {
     private final AgentRepository repository;
-    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final ObjectWriter collectionWriter;
+    private final JsonMapperRegistry jsonMappers;
 
-    public AgentController(AgentRepository repository) {
+    public AgentController(AgentRepository repository, JsonMapperRegistry jsonMappers) {
         this.repository = repository;
-        this.mapper = new ObjectMapper();
+        this.writer = jsonMappers.writerFor(Agent.class);
+        this.collectionWriter = jsonMappers.collectionWriterFor(Agent.class);
+        this.jsonMappers = jsonMappers;
+    }
+
+    @Override
+    public void writeTo(Integer id, OutputStream outputStream) throws IOException {
+        var resource = repository.get(id);
+        if (resource == null) throw new ResourceNotFoundException("Agent not found");
+        writer.writeValue(outputStream, resource);
+    }
+
+    @Override
+    public void writeAll(OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getAll());
     }
 
     @Override
-    public String get(Integer id) {
-        return findResource(id, Agent.class);
+    public void writePage(Integer after, int limit, OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getPage(after, limit));
     }
 
     @Override
-    public String get() {
-        try {
-            return mapper.writeValueAsString(repository.getAll());
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    public void streamAll(OutputStream outputStream) throws IOException {
+        try (var agents = repository.stream()) {
+            jsonMappers.writeArray(Agent.class, agents, outputStream);
         }
     }
 
@@ -46,16 +63,6 @@ public class AgentController implements Controller<Integer, Agent> {
         repository.delete(repository.get(key));
     }
 
-    private String findResource(Integer id, Class<?> clazz) {
-        var resource = repository.get(id);
-        if (resource == null) throw new ResourceNotFoundException(clazz.getSimpleName() + " not found");
-        try {
-            return mapper.writeValueAsString(resource);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private void validateResourceExists(Integer id) {
         if (repository.get(id) == null) throw new ResourceNotFoundException("Agent with id " + id + " not found");
     }
@@ -1,8 +1,13 @@
 package com.valorant.services.controllers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface Controller<K, V> {
-    String get(K key);  // Get a single resource by key
-    String get();       // Get all resources
+    void streamAll(OutputStream outputStream) throws IOException; // Write all resources as a JSON array, one at a time
+    void writeTo(K key, OutputStream outputStream) throws IOException; // Write a single resource by key as JSON
+    void writeAll(OutputStream outputStream) throws IOException;       // Write all resources as a JSON array
+    void writePage(K after, int limit, OutputStream outputStream) throws IOException; // Write a page of resources as a JSON array
     void post(V value); // Create a new resource
     void put(K key, V value); // Update an existing resource
     void delete(K key); // Delete a resource by key
@@ -1,31 +1,48 @@
 package com.valorant.services.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.valorant.models.Map;
 import com.valorant.repositories.MapRepository;
+import com.valorant.services.JsonMapperRegistry;
 import com.valorant.services.exception.ResourceNotFoundException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public class MapController implements Controller<Integer, Map> {
     private final MapRepository repository;
-    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final ObjectWriter collectionWriter;
+    private final JsonMapperRegistry jsonMappers;
 
-    public MapController(MapRepository repository) {
+    public MapController(MapRepository repository, JsonMapperRegistry jsonMappers) {
         this.repository = repository;
-        this.mapper = new ObjectMapper();
+        this.writer = jsonMappers.writerFor(Map.class);
+        this.collectionWriter = jsonMappers.collectionWriterFor(Map.class);
+        this.jsonMappers = jsonMappers;
+    }
+
+    @Override
+    public void writeTo(Integer id, OutputStream outputStream) throws IOException {
+        var resource = repository.get(id);
+        if (resource == null) throw new ResourceNotFoundException("Map not found");
+        writer.writeValue(outputStream, resource);
+    }
+
+    @Override
+    public void writeAll(OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getAll());
     }
 
     @Override
-    public String get(Integer id) {
-        return findResource(id, Map.class);
+    public void writePage(Integer after, int limit, OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getPage(after, limit));
     }
 
     @Override
-    public String get() {
-        try {
-            return mapper.writeValueAsString(repository.getAll());
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    public void streamAll(OutputStream outputStream) throws IOException {
+        try (var maps = repository.stream()) {
+            jsonMappers.writeArray(Map.class, maps, outputStream);
         }
     }
 
@@ -46,16 +63,6 @@ public class MapController implements Controller<Integer, Map> {
         repository.delete(repository.get(key));
     }
 
-    private String findResource(Integer id, Class<?> clazz) {
-        var resource = repository.get(id);
-        if (resource == null) throw new ResourceNotFoundException(clazz.getSimpleName() + " not found");
-        try {
-            return mapper.writeValueAsString(resource);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private void validateResourceExists(Integer id) {
         if (repository.get(id) == null) throw new ResourceNotFoundException("Map with id " + id + " not found");
     }
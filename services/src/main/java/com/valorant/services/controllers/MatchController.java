@@ -1,40 +1,54 @@
 package com.valorant.services.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.valorant.models.Match;
 import com.valorant.repositories.MatchRepository;
+import com.valorant.services.JsonMapperRegistry;
 import com.valorant.services.exception.ResourceNotFoundException;
 
-import java.util.Set;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 
 public class MatchController implements Controller<Integer, Match> {
     private final MatchRepository repository;
-    private final ObjectMapper jsonMapper;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter collectionWriter;
+    private final JsonMapperRegistry jsonMappers;
 
-    public MatchController(MatchRepository repository) {
+    public MatchController(MatchRepository repository, JsonMapperRegistry jsonMappers) {
         this.repository = repository;
-        this.jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        this.jsonWriter = jsonMappers.writerFor(Match.class);
+        this.collectionWriter = jsonMappers.collectionWriterFor(Match.class);
+        this.jsonMappers = jsonMappers;
     }
 
     @Override
-    public String get(Integer id) {
+    public void writeTo(Integer id, OutputStream outputStream) throws IOException {
         var match = repository.get(id);
         if (match == null) throw new ResourceNotFoundException("Match ID " + id + " not found");
-        try {
-            return jsonMapper.writeValueAsString(match);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("JSON serialization error", e);
-        }
+        jsonWriter.writeValue(outputStream, match);
+    }
+
+    @Override
+    public void writeAll(OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getAll());
+    }
+
+    @Override
+    public void writePage(Integer after, int limit, OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getPage(after, limit));
+    }
+
+    // Write the matches played between from and to, both inclusive, ordered by when they were played
+    public void writeByPlayedOnBetween(LocalDateTime from, LocalDateTime to, OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getByPlayedOnBetween(from, to));
     }
 
     @Override
-    public String get() {
-        try {
-            return jsonMapper.writeValueAsString(repository.getAll());
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing matches to JSON", e);
+    public void streamAll(OutputStream outputStream) throws IOException {
+        try (var matches = repository.stream()) {
+            jsonMappers.writeArray(Match.class, matches, outputStream);
         }
     }
 
@@ -1,37 +1,61 @@
 package com.valorant.services.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.valorant.models.Match;
 import com.valorant.models.Player;
 import com.valorant.repositories.PlayerRepository;
+import com.valorant.services.JsonMapperRegistry;
 import com.valorant.services.exception.ResourceNotFoundException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
 public class PlayerController implements Controller<Integer, Player> {
     private final PlayerRepository repository;
-    private final ObjectMapper jsonMapper;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter collectionWriter;
+    private final ObjectWriter matchCollectionWriter;
+    private final JsonMapperRegistry jsonMappers;
 
-    public PlayerController(PlayerRepository repository) {
+    public PlayerController(PlayerRepository repository, JsonMapperRegistry jsonMappers) {
         this.repository = repository;
-        this.jsonMapper = new ObjectMapper();
+        this.jsonWriter = jsonMappers.writerFor(Player.class);
+        this.collectionWriter = jsonMappers.collectionWriterFor(Player.class);
+        this.matchCollectionWriter = jsonMappers.collectionWriterFor(Match.class);
+        this.jsonMappers = jsonMappers;
     }
 
     @Override
-    public String get(Integer id) {
+    public void writeTo(Integer id, OutputStream outputStream) throws IOException {
         var player = repository.get(id);
         if (player == null) throw new ResourceNotFoundException("Player ID " + id + " not found");
-        try {
-            return jsonMapper.writeValueAsString(player);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing player to JSON", e);
-        }
+        jsonWriter.writeValue(outputStream, player);
+    }
+
+    @Override
+    public void writeAll(OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getAll());
+    }
+
+    // Pages list players without their matches, which are served by GET /player/{id}/matches
+    @Override
+    public void writePage(Integer after, int limit, OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getSummaryPage(after, limit));
+    }
+
+    // Write the matches the player took part in
+    public void writeMatches(Integer id, OutputStream outputStream) throws IOException {
+        var player = repository.get(id);
+        if (player == null) throw new ResourceNotFoundException("Player ID " + id + " not found");
+        var matches = player.getMatches();
+        matchCollectionWriter.writeValue(outputStream, matches != null ? matches : Set.of());
     }
 
     @Override
-    public String get() {
-        try {
-            return jsonMapper.writeValueAsString(repository.getAll());
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing player list to JSON", e);
+    public void streamAll(OutputStream outputStream) throws IOException {
+        try (var players = repository.stream()) {
+            jsonMappers.writeArray(Player.class, players, outputStream);
         }
     }
 
@@ -1,31 +1,48 @@
 package com.valorant.services.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.valorant.models.Weapon;
 import com.valorant.repositories.WeaponRepository;
+import com.valorant.services.JsonMapperRegistry;
 import com.valorant.services.exception.ResourceNotFoundException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public class WeaponController implements Controller<Integer, Weapon> {
     private final WeaponRepository repository;
-    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final ObjectWriter collectionWriter;
+    private final JsonMapperRegistry jsonMappers;
 
-    public WeaponController(WeaponRepository repository) {
+    public WeaponController(WeaponRepository repository, JsonMapperRegistry jsonMappers) {
         this.repository = repository;
-        this.mapper = new ObjectMapper();
+        this.writer = jsonMappers.writerFor(Weapon.class);
+        this.collectionWriter = jsonMappers.collectionWriterFor(Weapon.class);
+        this.jsonMappers = jsonMappers;
+    }
+
+    @Override
+    public void writeTo(Integer id, OutputStream outputStream) throws IOException {
+        var resource = repository.get(id);
+        if (resource == null) throw new ResourceNotFoundException("Weapon not found");
+        writer.writeValue(outputStream, resource);
+    }
+
+    @Override
+    public void writeAll(OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getAll());
     }
 
     @Override
-    public String get(Integer id) {
-        return findResource(id, Weapon.class);
+    public void writePage(Integer after, int limit, OutputStream outputStream) throws IOException {
+        collectionWriter.writeValue(outputStream, repository.getPage(after, limit));
     }
 
     @Override
-    public String get() {
-        try {
-            return mapper.writeValueAsString(repository.getAll());
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    public void streamAll(OutputStream outputStream) throws IOException {
+        try (var weapons = repository.stream()) {
+            jsonMappers.writeArray(Weapon.class, weapons, outputStream);
         }
     }
 
@@ -46,16 +63,6 @@ public class WeaponController implements Controller<Integer, Weapon> {
         repository.delete(repository.get(key));
     }
 
-    private String findResource(Integer id, Class<?> clazz) {
-        var resource = repository.get(id);
-        if (resource == null) throw new ResourceNotFoundException(clazz.getSimpleName() + " not found");
-        try {
-            return mapper.writeValueAsString(resource);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private void validateResourceExists(Integer id) {
         if (repository.get(id) == null) throw new ResourceNotFoundException("Weapon with id " + id + " not found");
     }
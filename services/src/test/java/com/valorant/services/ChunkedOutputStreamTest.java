@@ -0,0 +1,62 @@
+package com.valorant.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the HTTP/1.1 chunk framing written by {@link ChunkedOutputStream}.
+ */
+class ChunkedOutputStreamTest {
+
+    @Test
+    @DisplayName("Given buffered writes, when finished, then one chunk and the last chunk are written")
+    void writesSingleChunkAndTerminator() throws IOException {
+        // Arrange
+        var target = new ByteArrayOutputStream();
+        var chunked = new ChunkedOutputStream(target, 16);
+
+        // Act
+        chunked.write("[1,".getBytes(StandardCharsets.US_ASCII));
+        chunked.write("2]".getBytes(StandardCharsets.US_ASCII));
+        chunked.finish();
+
+        // Assert
+        assertEquals("5\r\n[1,2]\r\n0\r\n\r\n", target.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Given more data than the chunk size, when finished, then the data is split into several chunks")
+    void splitsDataIntoChunks() throws IOException {
+        // Arrange
+        var target = new ByteArrayOutputStream();
+        var chunked = new ChunkedOutputStream(target, 4);
+
+        // Act
+        for (var b : "abcdefghij".getBytes(StandardCharsets.US_ASCII)) chunked.write(b);
+        chunked.finish();
+
+        // Assert
+        assertEquals("4\r\nabcd\r\n4\r\nefgh\r\n2\r\nij\r\n0\r\n\r\n", target.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Given an unfinished stream, when closed, then buffered data is flushed without the last chunk")
+    void closeDoesNotTerminateBody() throws IOException {
+        // Arrange
+        var target = new ByteArrayOutputStream();
+        var chunked = new ChunkedOutputStream(target, 16);
+
+        // Act
+        chunked.write("[1,".getBytes(StandardCharsets.US_ASCII));
+        chunked.close();
+
+        // Assert
+        assertEquals("3\r\n[1,\r\n", target.toString(StandardCharsets.US_ASCII));
+    }
+}
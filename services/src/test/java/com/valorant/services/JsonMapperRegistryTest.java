@@ -0,0 +1,47 @@
+package com.valorant.services;
+
+import com.valorant.models.Match;
+import com.valorant.models.MatchImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the readers and writers shared by {@link JsonMapperRegistry}. How much cheaper they are than
+ * a new {@code ObjectMapper} per request is measured by {@code JsonMapperRegistryBenchmark} in the
+ * benchmarks project.
+ */
+class JsonMapperRegistryTest {
+
+    @Test
+    @DisplayName("Given a type, when its reader and writer are requested again, then the pre-built ones are reused")
+    void registryReusesReadersAndWriters() {
+        var registry = new JsonMapperRegistry();
+
+        assertSame(registry.readerFor(Match.class), registry.readerFor(Match.class));
+        assertSame(registry.writerFor(Match.class), registry.writerFor(Match.class));
+        assertSame(registry.collectionWriterFor(Match.class), registry.collectionWriterFor(Match.class));
+    }
+
+    @Test
+    @DisplayName("Given a match, when written and read back through the registry, then the fields are preserved")
+    void registryRoundTripsModels() throws Exception {
+        var registry = new JsonMapperRegistry();
+        var match = new MatchImpl();
+        match.setId(7);
+        match.setPlayedOn(LocalDateTime.of(2024, 10, 20, 10, 0));
+        match.setMapId(1);
+        match.setOutcome("Victory");
+
+        var json = registry.writerFor(Match.class).writeValueAsString(match);
+        Match read = registry.readerFor(Match.class).readValue(json);
+
+        assertEquals(MatchImpl.class, read.getClass());
+        assertEquals(7, read.getId());
+        assertEquals(match.getPlayedOn(), read.getPlayedOn());
+        assertEquals("Victory", read.getOutcome());
+    }
+}
@@ -0,0 +1,224 @@
+package com.valorant.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rawhttp.core.RawHttp;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link NioServer}: the same keep-alive and pipelining behaviour as {@link Server}, plus request
+ * framing and many idle connections on a fixed number of threads.
+ * The router echoes the request path and body so responses can be matched to requests.
+ */
+class NioServerTest {
+    private static final RawHttp rawHttp = new RawHttp();
+    private static final int EVENT_LOOP_THREADS = 2;
+    private static final int WORKER_THREADS = 4;
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private NioServer server;
+    private Thread serverThread;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        RequestRouter echoRouter = request -> {
+            handled.incrementAndGet();
+            var body = request.getUri().getPath();
+            if (request.getBody().isPresent()) {
+                try {
+                    body += request.getBody().get().decodeBodyToString(StandardCharsets.US_ASCII);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return rawHttp.parseResponse("HTTP/1.1 200 OK\r\n" +
+                    "Content-Type: text/plain\r\n" +
+                    "Content-Length: " + body.length() + "\r\n" +
+                    "\r\n" +
+                    body);
+        };
+        server = new NioServer(echoRouter, 0, EVENT_LOOP_THREADS, WORKER_THREADS,
+                Duration.ofSeconds(5), Duration.ofMillis(500));
+        serverThread = new Thread(server::start);
+        serverThread.start();
+        while (server.getLocalPort() <= 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        server.stop();
+        serverThread.join(5_000);
+    }
+
+    @Test
+    @DisplayName("Given a keep-alive connection, when several requests are sent one after another, then all are served on the same socket")
+    void sequentialRequestsReuseConnection() throws IOException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            var in = new BufferedInputStream(socket.getInputStream());
+            for (var path : new String[]{"/match", "/player", "/match/1"}) {
+                // Act
+                socket.getOutputStream().write(request(path, false));
+                var response = rawHttp.parseResponse(in).eagerly();
+
+                // Assert
+                assertEquals(200, response.getStatusCode());
+                assertEquals(path, response.getBody().get().decodeBodyToString(StandardCharsets.US_ASCII));
+            }
+        }
+        assertEquals(3, handled.get());
+    }
+
+    @Test
+    @DisplayName("Given pipelined requests with bodies, when written in a single burst, then responses come back in request order")
+    void pipelinedRequestsAreAnsweredInOrder() throws IOException {
+        var paths = new String[]{"/agent", "/map", "/weapon", "/player/2", "/match/3"};
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            // Act
+            var burst = new StringBuilder();
+            for (var path : paths) {
+                burst.append(new String(request(path, "{\"id\":1}"), StandardCharsets.US_ASCII));
+            }
+            socket.getOutputStream().write(burst.toString().getBytes(StandardCharsets.US_ASCII));
+
+            // Assert
+            var in = new BufferedInputStream(socket.getInputStream());
+            for (var path : paths) {
+                var response = rawHttp.parseResponse(in).eagerly();
+                assertEquals(path + "{\"id\":1}", response.getBody().get().decodeBodyToString(StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Given a request split over several writes, when the last part arrives, then it is answered once")
+    void requestSplitOverWritesIsReassembled() throws IOException, InterruptedException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            var bytes = request("/player", "{\"username\":\"split\"}");
+
+            // Act
+            for (int i = 0; i < bytes.length; i += 7) {
+                socket.getOutputStream().write(bytes, i, Math.min(7, bytes.length - i));
+                socket.getOutputStream().flush();
+                Thread.sleep(2);
+            }
+            var response = rawHttp.parseResponse(new BufferedInputStream(socket.getInputStream())).eagerly();
+
+            // Assert
+            assertEquals("/player{\"username\":\"split\"}",
+                    response.getBody().get().decodeBodyToString(StandardCharsets.US_ASCII));
+        }
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    @DisplayName("Given Connection: close, when the response is written, then the server closes the socket and stops counting it")
+    void connectionCloseEndsConnection() throws IOException, InterruptedException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            // Act
+            socket.getOutputStream().write(request("/agent", true));
+            var raw = new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+
+            // Assert
+            assertTrue(raw.startsWith("HTTP/1.1 200"));
+            assertTrue(raw.contains("Connection: close"));
+        }
+        assertNoOpenConnections();
+    }
+
+    @Test
+    @DisplayName("Given a chunked request body, when it is received, then it is rejected with 411 and the socket closed and no longer counted")
+    void chunkedRequestBodyIsRejected() throws IOException, InterruptedException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            // Act
+            socket.getOutputStream().write(("POST /player HTTP/1.1\r\n" +
+                    "Host: localhost\r\n" +
+                    "Transfer-Encoding: chunked\r\n" +
+                    "\r\n" +
+                    "0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            var raw = new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+
+            // Assert
+            assertTrue(raw.startsWith("HTTP/1.1 411"));
+        }
+        assertEquals(0, handled.get());
+        assertNoOpenConnections();
+    }
+
+    @Test
+    @DisplayName("Given an idle connection, when the keep-alive timeout passes, then the server closes it")
+    void idleConnectionTimesOut() throws IOException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            socket.setSoTimeout(5_000);
+
+            // Act & Assert
+            assertEquals(-1, socket.getInputStream().read(), "Server should close the idle connection");
+        }
+    }
+
+    @Test
+    @DisplayName("Given a thousand open connections, when each sends a request, then all are answered by a fixed number of threads")
+    void manyConnectionsShareFewThreads() throws IOException {
+        int connections = 1000;
+        int threadsBefore = Thread.activeCount();
+        var sockets = new ArrayList<Socket>();
+        try {
+            // Act: the responses are only read once every connection is open and has sent its request
+            for (int i = 0; i < connections; i++) {
+                var socket = new Socket("localhost", server.getLocalPort());
+                sockets.add(socket);
+                socket.getOutputStream().write(request("/player/" + i, false));
+            }
+
+            // Assert
+            for (int i = 0; i < connections; i++) {
+                var response = rawHttp.parseResponse(new BufferedInputStream(sockets.get(i).getInputStream())).eagerly();
+                assertEquals("/player/" + i, response.getBody().get().decodeBodyToString(StandardCharsets.US_ASCII));
+            }
+            assertTrue(Thread.activeCount() - threadsBefore <= WORKER_THREADS,
+                    "Threads should not grow with the number of connections");
+        } finally {
+            for (var socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    // The socket is closed before the connection stops being counted, so give the count time to catch up
+    private void assertNoOpenConnections() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.getOpenConnections() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, server.getOpenConnections(), "Closed connections should no longer be counted");
+    }
+
+    private static byte[] request(String path, boolean close) {
+        return ("GET " + path + " HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                (close ? "Connection: close\r\n" : "") +
+                "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] request(String path, String body) {
+        return ("POST " + path + " HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Content-Type: application/json\r\n" +
+                "Content-Length: " + body.length() + "\r\n" +
+                "\r\n" +
+                body).getBytes(StandardCharsets.US_ASCII);
+    }
+}
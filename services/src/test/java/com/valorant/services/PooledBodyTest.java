@@ -0,0 +1,166 @@
+package com.valorant.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rawhttp.core.HttpVersion;
+import rawhttp.core.RawHttpHeaders;
+import rawhttp.core.RawHttpResponse;
+import rawhttp.core.StatusLine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for encoding responses into pooled direct buffers with {@link PooledBody} and writing them with
+ * gathering writes, including how much the encoding allocates per response once the pool is warm.
+ */
+class PooledBodyTest {
+    private static final int BODY_SIZE = 64 * 1024;
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    @Test
+    @DisplayName("Given a body spanning several buffers, when written, then head and body arrive intact and the buffers return to the pool")
+    void writesHeadAndBodyAndReleasesBuffers() throws IOException {
+        // Arrange
+        var pool = new BufferPool(1024, 16);
+        var json = new byte[3000];
+        Arrays.fill(json, (byte) 'x');
+        var body = PooledBody.write(pool, outputStream -> outputStream.write(json));
+        var channel = new CapturingChannel();
+
+        // Act
+        body.writeTo(response(body.length()), channel);
+
+        // Assert
+        var expected = "HTTP/1.1 200 OK\r\n" +
+                "Content-Type: application/json\r\n" +
+                "Content-Length: 3000\r\n" +
+                "\r\n" +
+                new String(json, StandardCharsets.US_ASCII);
+        assertEquals(expected, channel.bytes.toString(StandardCharsets.US_ASCII));
+        assertEquals(4, pool.getAllocated(), "One buffer for the head and three for the body");
+        assertEquals(4, pool.getPooled());
+    }
+
+    @Test
+    @DisplayName("Given a body that has been sent, when sent again, then it is rejected")
+    void bodyIsSentOnce() throws IOException {
+        // Arrange
+        var pool = new BufferPool();
+        var body = PooledBody.write(pool, outputStream -> outputStream.write('1'));
+        body.writeTo(response(1), new CapturingChannel());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> body.writeTo(response(1), new CapturingChannel()));
+    }
+
+    @Test
+    @DisplayName("Given a warm pool, when many responses are encoded and written, then each allocates a tiny fraction of its body")
+    void allocatesAlmostNothingPerResponse() throws IOException {
+        // Arrange
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeAllocationCounting(threads);
+        var pool = new BufferPool();
+        var json = new byte[BODY_SIZE];
+        Arrays.fill(json, (byte) 'x');
+        StreamingBody jsonBody = outputStream -> outputStream.write(json);
+        var response = response(BODY_SIZE);
+        var channel = new DiscardingChannel();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            PooledBody.write(pool, jsonBody).writeTo(response, channel);
+        }
+        long buffersBefore = pool.getAllocated();
+
+        // Act
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            PooledBody.write(pool, jsonBody).writeTo(response, channel);
+        }
+        long bytesPerResponse = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / MEASURED_ITERATIONS;
+
+        // Assert
+        assertEquals(buffersBefore, pool.getAllocated(), "Every buffer should come from the pool once it is warm");
+        assertTrue(bytesPerResponse < 2048, "Expected under 2 KB allocated per response, got " + bytesPerResponse);
+        assertEquals((long) (WARMUP_ITERATIONS + MEASURED_ITERATIONS) * (BODY_SIZE + headLength()), channel.written);
+    }
+
+    private static RawHttpResponse<Void> response(long contentLength) {
+        var headers = RawHttpHeaders.newBuilder()
+                .with("Content-Type", "application/json")
+                .with("Content-Length", Long.toString(contentLength))
+                .build();
+        return new RawHttpResponse<>(null, null, new StatusLine(HttpVersion.HTTP_1_1, 200, "OK"), headers, null);
+    }
+
+    private static int headLength() {
+        return ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + BODY_SIZE + "\r\n\r\n").length();
+    }
+
+    private static void assumeAllocationCounting(com.sun.management.ThreadMXBean threads) {
+        assumeTrue(threads.isThreadAllocatedMemorySupported(),
+                "The JVM does not count allocated bytes per thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    // Gathering channel that keeps everything written to it
+    private static class CapturingChannel extends DiscardingChannel {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long count = 0;
+            for (int i = offset; i < offset + length; i++) {
+                var chunk = new byte[srcs[i].remaining()];
+                srcs[i].get(chunk);
+                bytes.write(chunk, 0, chunk.length);
+                count += chunk.length;
+            }
+            written += count;
+            return count;
+        }
+    }
+
+    // Gathering channel that accepts and drops everything, without allocating
+    private static class DiscardingChannel implements GatheringByteChannel {
+        long written;
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long count = 0;
+            for (int i = offset; i < offset + length; i++) {
+                count += srcs[i].remaining();
+                srcs[i].position(srcs[i].limit());
+            }
+            written += count;
+            return count;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.valorant.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for caching serialized representations with {@link RepresentationCache}, and for matching their
+ * entity tags against {@code If-None-Match}.
+ */
+class RepresentationCacheTest {
+    private final AtomicInteger serializations = new AtomicInteger();
+    private String content = "[{\"id\":1,\"name\":\"Jett\"}]";
+
+    private final StreamingBody body = outputStream -> {
+        serializations.incrementAndGet();
+        outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    @DisplayName("Given a cached target, when requested again, then the representation is served without serializing again")
+    void reusesRepresentationUntilInvalidated() throws IOException {
+        // Arrange
+        var cache = new RepresentationCache();
+
+        // Act
+        var first = cache.get("/agent", body);
+        var second = cache.get("/agent", body);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, serializations.get());
+        assertEquals(content, new String(second.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Given a change to the resource, when the target is requested, then it is serialized again")
+    void invalidateForcesNewSerialization() throws IOException {
+        // Arrange
+        var cache = new RepresentationCache();
+        var before = cache.get("/agent", body);
+
+        // Act
+        content = "[{\"id\":1,\"name\":\"Jett\"},{\"id\":2,\"name\":\"Sage\"}]";
+        cache.invalidate();
+        var after = cache.get("/agent", body);
+
+        // Assert
+        assertEquals(2, serializations.get());
+        assertNotEquals(before.entityTag(), after.entityTag());
+    }
+
+    @Test
+    @DisplayName("Given a change made outside the router, when the representation is older than the TTL, then it is serialized again")
+    void expiresAfterTtl() throws IOException {
+        // Arrange
+        var now = new AtomicLong();
+        var cache = new RepresentationCache(RepresentationCache.DEFAULT_MAX_ENTRIES, Duration.ofMinutes(5), now::get);
+        var before = cache.get("/agent", body);
+
+        // Act
+        content = "[{\"id\":1,\"name\":\"Jett\"},{\"id\":2,\"name\":\"Sage\"}]";
+        now.addAndGet(Duration.ofMinutes(4).toNanos());
+        var stale = cache.get("/agent", body);
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        var after = cache.get("/agent", body);
+
+        // Assert
+        assertSame(before, stale);
+        assertEquals(2, serializations.get());
+        assertNotEquals(before.entityTag(), after.entityTag());
+    }
+
+    @Test
+    @DisplayName("Given the same content, when serialized after a change that did not alter it, then the entity tag is the same")
+    void entityTagDependsOnContentOnly() throws IOException {
+        // Arrange
+        var cache = new RepresentationCache();
+        var before = cache.get("/agent", body);
+
+        // Act
+        cache.invalidate();
+        var after = cache.get("/agent", body);
+
+        // Assert
+        assertEquals(before.entityTag(), after.entityTag());
+        assertTrue(after.entityTag().matches("\"[0-9a-f]{32}\""), "Strong quoted tag expected, got " + after.entityTag());
+    }
+
+    @Test
+    @DisplayName("Given a full cache, when a new target is requested, then it is served but not kept")
+    void doesNotGrowPastMaxEntries() throws IOException {
+        // Arrange
+        var cache = new RepresentationCache(1, RepresentationCache.DEFAULT_TTL, System::nanoTime);
+        cache.get("/agent", body);
+
+        // Act
+        cache.get("/agent/1", body);
+        cache.get("/agent/1", body);
+
+        // Assert
+        assertEquals(3, serializations.get());
+        cache.get("/agent", body);
+        assertEquals(3, serializations.get());
+    }
+
+    @Test
+    @DisplayName("Given If-None-Match values, when compared with the current tag, then lists, wildcards and weak tags match")
+    void matchesIfNoneMatch() {
+        // Arrange
+        var tag = "\"0123456789abcdef0123456789abcdef\"";
+
+        // Act & Assert
+        assertTrue(RepresentationCache.matches(tag, tag));
+        assertTrue(RepresentationCache.matches("\"other\", " + tag, tag));
+        assertTrue(RepresentationCache.matches("W/" + tag, tag));
+        assertTrue(RepresentationCache.matches("*", tag));
+        assertFalse(RepresentationCache.matches("\"other\"", tag));
+        assertFalse(RepresentationCache.matches("0123456789abcdef0123456789abcdef", tag));
+    }
+}
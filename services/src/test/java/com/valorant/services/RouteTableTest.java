@@ -0,0 +1,111 @@
+package com.valorant.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for matching request paths against the routes of a {@link RouteTable}.
+ * Handlers are plain strings naming the route, so matches can be checked by equality.
+ */
+class RouteTableTest {
+    private RouteTable<String> routes;
+
+    @BeforeEach
+    void setUp() {
+        routes = new RouteTable<String>()
+                .add("GET", "/player", "players")
+                .add("POST", "/player", "create player")
+                .add("GET", "/player/{id}", "player")
+                .add("PUT", "/player/{id}", "update player")
+                .add("GET", "/player/{id}/matches", "player matches")
+                .add("GET", "/player/{id}/matches/{matchId}", "player match")
+                .add("GET", "/player/top", "top players")
+                .add("GET", "/match", "matches");
+    }
+
+    @Test
+    @DisplayName("Given literal routes, when a path matches, then the handler for the method is returned")
+    void matchesLiteralPathByMethod() {
+        // Act & Assert
+        assertEquals("players", routes.match("GET", "/player").handler());
+        assertEquals("create player", routes.match("POST", "/player").handler());
+        assertEquals("matches", routes.match("GET", "/match").handler());
+    }
+
+    @Test
+    @DisplayName("Given parameterized routes, when a path matches, then the parameters are parsed as integers in order")
+    void extractsIntegerParameters() {
+        // Act
+        var player = routes.match("GET", "/player/42");
+        var playerMatch = routes.match("GET", "/player/7/matches/1234567");
+
+        // Assert
+        assertEquals("player", player.handler());
+        assertEquals(42, player.intParameter(0));
+        assertEquals("player match", playerMatch.handler());
+        assertEquals(7, playerMatch.intParameter(0));
+        assertEquals(1234567, playerMatch.intParameter(1));
+    }
+
+    @Test
+    @DisplayName("Given a literal and a parameter at the same level, when the segment is the literal, then the literal wins")
+    void prefersLiteralOverParameter() {
+        // Act & Assert
+        assertEquals("top players", routes.match("GET", "/player/top").handler());
+        assertEquals("player matches", routes.match("GET", "/player/3/matches").handler());
+    }
+
+    @Test
+    @DisplayName("Given a parameter segment that is not an integer, when matched, then no route is found")
+    void rejectsNonIntegerParameters() {
+        // Act & Assert
+        assertSame(RouteTable.RouteMatch.NOT_FOUND, routes.match("GET", "/player/abc"));
+        assertSame(RouteTable.RouteMatch.NOT_FOUND, routes.match("GET", "/player/-1"));
+        assertSame(RouteTable.RouteMatch.NOT_FOUND, routes.match("GET", "/player/99999999999"));
+    }
+
+    @Test
+    @DisplayName("Given unknown paths, when matched, then no route is found")
+    void unknownPathsAreNotFound() {
+        // Act & Assert
+        assertSame(RouteTable.RouteMatch.NOT_FOUND, routes.match("GET", "/"));
+        assertSame(RouteTable.RouteMatch.NOT_FOUND, routes.match("GET", "/weapon"));
+        assertSame(RouteTable.RouteMatch.NOT_FOUND, routes.match("GET", "/player/1/agents"));
+        assertSame(RouteTable.RouteMatch.NOT_FOUND, routes.match("GET", "/players"));
+    }
+
+    @Test
+    @DisplayName("Given a known path, when the method has no route, then the match says the method is not allowed and lists the allowed ones")
+    void unknownMethodIsNotAllowed() {
+        // Act
+        var resource = routes.match("DELETE", "/player/1");
+        var collection = routes.match("PUT", "/player");
+
+        // Assert
+        assertTrue(resource.isMethodNotAllowed());
+        assertNull(resource.handler());
+        assertEquals("GET, PUT", resource.allowedMethods());
+        assertTrue(collection.isMethodNotAllowed());
+        assertEquals("GET, POST", collection.allowedMethods());
+        assertFalse(routes.match("GET", "/player").isMethodNotAllowed());
+        assertFalse(RouteTable.RouteMatch.NOT_FOUND.isMethodNotAllowed());
+    }
+
+    @Test
+    @DisplayName("Given a trailing or doubled slash, when matched, then empty segments are skipped")
+    void skipsEmptySegments() {
+        // Act & Assert
+        assertEquals("players", routes.match("GET", "/player/").handler());
+        assertEquals(5, routes.match("GET", "//player//5").intParameter(0));
+    }
+
+    @Test
+    @DisplayName("Given a route that already exists, when added again, then it is rejected")
+    void rejectsDuplicateRoutes() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> routes.add("GET", "/player/{playerId}", "again"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.valorant.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rawhttp.core.RawHttp;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for persistent connections and request pipelining in {@link Server}.
+ * The router echoes the request path so responses can be matched to requests.
+ */
+class ServerKeepAliveTest {
+    private static final RawHttp rawHttp = new RawHttp();
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private Server server;
+    private Thread serverThread;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        RequestRouter echoRouter = request -> {
+            handled.incrementAndGet();
+            var body = request.getUri().getPath();
+            return rawHttp.parseResponse("HTTP/1.1 200 OK\r\n" +
+                    "Content-Type: text/plain\r\n" +
+                    "Content-Length: " + body.length() + "\r\n" +
+                    "\r\n" +
+                    body);
+        };
+        server = new Server(echoRouter, 0, 16, Duration.ofSeconds(5), Duration.ofMillis(500));
+        serverThread = new Thread(server::start);
+        serverThread.start();
+        while (server.getLocalPort() <= 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        server.stop();
+        serverThread.join(5_000);
+    }
+
+    @Test
+    @DisplayName("Given a keep-alive connection, when several requests are sent one after another, then all are served on the same socket")
+    void sequentialRequestsReuseConnection() throws IOException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            var in = new BufferedInputStream(socket.getInputStream());
+            for (var path : new String[]{"/match", "/player", "/match/1"}) {
+                // Act
+                socket.getOutputStream().write(request(path, false));
+                var response = rawHttp.parseResponse(in).eagerly();
+
+                // Assert
+                assertEquals(200, response.getStatusCode());
+                assertEquals(path, response.getBody().get().decodeBodyToString(StandardCharsets.US_ASCII));
+            }
+        }
+        assertEquals(3, handled.get());
+    }
+
+    @Test
+    @DisplayName("Given pipelined requests, when written in a single burst, then responses come back in request order")
+    void pipelinedRequestsAreAnsweredInOrder() throws IOException {
+        var paths = new String[]{"/agent", "/map", "/weapon", "/player/2", "/match/3"};
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            // Act
+            var burst = new StringBuilder();
+            for (var path : paths) {
+                burst.append(new String(request(path, false), StandardCharsets.US_ASCII));
+            }
+            socket.getOutputStream().write(burst.toString().getBytes(StandardCharsets.US_ASCII));
+
+            // Assert
+            var in = new BufferedInputStream(socket.getInputStream());
+            for (var path : paths) {
+                var response = rawHttp.parseResponse(in).eagerly();
+                assertEquals(path, response.getBody().get().decodeBodyToString(StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Given Connection: close, when the response is written, then the server closes the socket")
+    void connectionCloseEndsConnection() throws IOException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            // Act
+            socket.getOutputStream().write(request("/agent", true));
+            var raw = new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+
+            // Assert
+            assertTrue(raw.startsWith("HTTP/1.1 200"));
+            assertTrue(raw.contains("Connection: close"));
+        }
+    }
+
+    @Test
+    @DisplayName("Given an idle connection, when the keep-alive timeout passes, then the server closes it")
+    void idleConnectionTimesOut() throws IOException {
+        try (var socket = new Socket("localhost", server.getLocalPort())) {
+            socket.setSoTimeout(5_000);
+
+            // Act & Assert
+            assertEquals(-1, socket.getInputStream().read(), "Server should close the idle connection");
+        }
+    }
+
+    private static byte[] request(String path, boolean close) {
+        return ("GET " + path + " HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                (close ? "Connection: close\r\n" : "") +
+                "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+}
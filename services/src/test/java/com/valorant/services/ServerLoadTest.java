@@ -0,0 +1,190 @@
+package com.valorant.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rawhttp.core.RawHttp;
+import rawhttp.core.RawHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load tests for {@link Server}: concurrent clients, the concurrency limit and draining on stop.
+ * The assertions count requests in flight rather than time them; throughput is measured by
+ * {@code ServerBenchmark} in the benchmarks project.
+ */
+class ServerLoadTest {
+    private static final RawHttp rawHttp = new RawHttp();
+    private static final long ROUTER_LATENCY_MS = 20;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    private Server server;
+    private Thread serverThread;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (server != null) {
+            server.stop();
+            serverThread.join(5_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Given several clients, when they send requests at once, then the requests are served at the same time")
+    void servesClientsConcurrently() throws Exception {
+        // Arrange
+        var clients = 8;
+        var allInFlight = new CountDownLatch(clients);
+        startServer(request -> {
+            allInFlight.countDown();
+            try {
+                // Only returns once every client's request is in the router, which a serial server never reaches
+                assertTrue(allInFlight.await(5, TimeUnit.SECONDS), "Requests were not served concurrently");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return okResponse();
+        }, 256);
+
+        // Act
+        sendRequests(clients, 1);
+
+        // Assert
+        assertEquals(0, allInFlight.getCount());
+    }
+
+    @Test
+    @DisplayName("No more than maxConcurrency requests are in flight at once")
+    void maxConcurrencyIsEnforced() throws Exception {
+        // Arrange
+        var inFlight = new AtomicInteger();
+        var peak = new AtomicInteger();
+        startServer(slowRouter(inFlight, peak), 4);
+
+        // Act
+        sendRequests(16, REQUESTS_PER_CLIENT);
+
+        // Assert
+        assertTrue(peak.get() <= 4, "Peak in-flight requests was " + peak.get());
+        assertEquals(4, peak.get(), "All permits should have been used under load");
+    }
+
+    @Test
+    @DisplayName("Given idle keep-alive connections up to maxConcurrency, when a new client connects, then it is served right away")
+    void idleConnectionsDoNotHoldPermits() throws Exception {
+        // Arrange
+        startServer(slowRouter(new AtomicInteger(), new AtomicInteger()), 2);
+        var idle = new ArrayList<Socket>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                var socket = new Socket("localhost", server.getLocalPort());
+                idle.add(socket);
+                socket.getOutputStream().write("GET /agent HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                assertEquals(200, rawHttp.parseResponse(socket.getInputStream()).eagerly().getStatusCode());
+            }
+
+            // Act
+            var response = CompletableFuture.supplyAsync(() -> sendRequest(server.getLocalPort()));
+
+            // Assert
+            // Well within the 5 s keep-alive timeout, after which the idle connections would have been closed anyway
+            assertTrue(response.get(2, TimeUnit.SECONDS).startsWith("HTTP/1.1 200"));
+            assertTrue(server.getOpenConnections() >= 2, "The idle connections should still be open");
+        } finally {
+            for (var socket : idle) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Stopping the server drains in-flight requests")
+    void stopDrainsInFlightRequests() throws Exception {
+        // Arrange
+        var inFlight = new AtomicInteger();
+        startServer(slowRouter(inFlight, new AtomicInteger()), 16);
+        var response = CompletableFuture.supplyAsync(() -> sendRequest(server.getLocalPort()));
+        while (inFlight.get() == 0) {
+            Thread.sleep(1);
+        }
+
+        // Act
+        server.stop();
+
+        // Assert
+        assertTrue(response.get(5, TimeUnit.SECONDS).startsWith("HTTP/1.1 200"), "In-flight request should complete");
+        assertFalse(server.isRunning());
+    }
+
+    private void startServer(RequestRouter router, int maxConcurrency) throws InterruptedException {
+        server = new Server(router, 0, maxConcurrency, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        serverThread = new Thread(server::start);
+        serverThread.start();
+        while (server.getLocalPort() <= 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static RequestRouter slowRouter(AtomicInteger inFlight, AtomicInteger peak) {
+        return request -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(ROUTER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return okResponse();
+        };
+    }
+
+    private static RawHttpResponse<?> okResponse() {
+        return rawHttp.parseResponse("HTTP/1.1 200 OK\r\n" +
+                "Content-Type: application/json\r\n" +
+                "Content-Length: 2\r\n" +
+                "\r\n" +
+                "[]");
+    }
+
+    // Sends the given number of requests from each client, all clients at once, and checks every response
+    private void sendRequests(int clients, int requestsPerClient) throws Exception {
+        var port = server.getLocalPort();
+        try (var pool = Executors.newFixedThreadPool(clients)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(pool.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        assertTrue(sendRequest(port).startsWith("HTTP/1.1 200"));
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static String sendRequest(int port) {
+        try (var socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /agent HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -11,4 +11,4 @@ plugins {
 }
 
 rootProject.name = "valorant"
-include("app", "domain", "utilities", ":domain-implementations:file", ":domain-implementations:jdbc", ":domain-implementations:jpa", "services")
\ No newline at end of file
+include("app", "domain", "utilities", ":domain-implementations:file", ":domain-implementations:jdbc", ":domain-implementations:jpa", "services", "benchmarks")
\ No newline at end of file